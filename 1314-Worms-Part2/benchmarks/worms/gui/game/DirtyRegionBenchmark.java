@@ -0,0 +1,111 @@
+package worms.gui.game;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.List;
+
+import worms.gui.GUIOptions;
+import worms.gui.GameState;
+import worms.gui.Level;
+import worms.gui.WormsGUI;
+import worms.gui.game.sprites.WormSprite;
+import worms.model.Facade;
+
+/**
+ * Compares painting every frame of a PlayGameScreen completely with only repainting its dirty regions, while the selected worm
+ * walks across the level as it does when moving and the other worms stand still. Both are painted into an image of the
+ * screen, the images must be equal after every frame.
+ * Prints the time per frame of both, the average amount of dirty pixels per frame and whether the images agree.
+ *
+ * No screen is needed. Run from the project directory: java -Djava.awt.headless=true worms.gui.game.DirtyRegionBenchmark [level] [frames]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class DirtyRegionBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int frames = (args.length > 1) ? Integer.parseInt(args[1]) : 300;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		GameState state = new GameState(new Facade(), SEED, level);
+		state.createWorld();
+		PlayGameScreen screen = PlayGameScreen.create(new WormsGUI(state.getFacade(), new GUIOptions()), state, false);
+		screen.getContents().setSize(WIDTH, HEIGHT);
+		for(int i = 0; i < WORMS; i++)
+			state.getFacade().addNewWorm(state.getWorld());
+		for(int i = 0; i < FOOD; i++)
+			state.getFacade().addNewFood(state.getWorld());
+		screen.startGame();
+		screen.updateSprites();
+
+		BufferedImage full = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		BufferedImage partial = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		DirtyRegions regions = new DirtyRegions();
+		List<WormSprite> worms = screen.getSpritesOfType(WormSprite.class);
+		WormSprite walker = screen.getSelectedWormSprite();
+		double startX = walker.getCenterX();
+
+		long fullTime = 0;
+		long partialTime = 0;
+		long dirtyPixels = 0;
+		int agreeing = 0;
+		for(int frame = 0; frame < frames; frame++) {
+			walker.setCenterLocation(startX + (frame % 200) * STEP, walker.getCenterY());
+
+			long start = System.nanoTime();
+			Graphics2D g = full.createGraphics();
+			screen.paintFrame(g);
+			g.dispose();
+			fullTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			regions.setScreenSize(WIDTH, HEIGHT);
+			screen.painter.collectDirtyRegions(regions);
+			for(Rectangle region : regions.getRegions()) {
+				g = partial.createGraphics();
+				g.clip(region);
+				screen.paintFrame(g);
+				g.dispose();
+				dirtyPixels += (long) region.width * region.height;
+			}
+			regions.clear();
+			partialTime += System.nanoTime() - start;
+
+			if(equal(full, partial))
+				agreeing++;
+		}
+
+		System.out.println("Level " + levelName + " at " + WIDTH + "x" + HEIGHT + ": " + worms.size() + " worms, " + frames
+				+ " frames");
+		System.out.printf("full frames:   %8.2f ms per frame%n", fullTime / 1E6 / frames);
+		System.out.printf("dirty regions: %8.2f ms per frame, %.1f%% of the screen%n", partialTime / 1E6 / frames,
+				100.0 * dirtyPixels / frames / (WIDTH * HEIGHT));
+		System.out.printf("images agree: %d of %d frames%n", agreeing, frames);
+	}
+
+	private static boolean equal(BufferedImage first, BufferedImage second) {
+		for(int y = 0; y < first.getHeight(); y++)
+			for(int x = 0; x < first.getWidth(); x++)
+				if(first.getRGB(x, y) != second.getRGB(x, y))
+					return false;
+		return true;
+	}
+
+	private static final long SEED = 3;
+
+	private static final int WIDTH = 1920;
+
+	private static final int HEIGHT = 1080;
+
+	private static final int WORMS = 12;
+
+	private static final int FOOD = 10;
+
+	private static final double STEP = 2;
+
+}
@@ -0,0 +1,113 @@
+package worms.gui.game;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Compares getting the images of worm sprites through the SpriteImageCache with the way ImageSprite got them before:
+ * reading the file for every sprite, and scaling and flipping the image again whenever the scale of a sprite changes.
+ * A number of worms is added, after which worms eat food (growing by 10%) and turn around. Prints the time spent,
+ * the amount of files decoded and the hits and misses of the cache.
+ *
+ * No screen is needed. Run from the project directory: java -Djava.awt.headless=true worms.gui.game.SpriteCacheBenchmark [worms] [meals]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class SpriteCacheBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		int worms = (args.length > 0) ? Integer.parseInt(args[0]) : 50;
+		int meals = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+		//Warm up both versions before measuring.
+		runUncached(worms, meals);
+		runCached(new SpriteImageCache(CACHE_SIZE), worms, meals);
+
+		long start = System.nanoTime();
+		int uncachedDecodes = runUncached(worms, meals);
+		long uncachedTime = System.nanoTime() - start;
+
+		SpriteImageCache cache = new SpriteImageCache(CACHE_SIZE);
+		start = System.nanoTime();
+		runCached(cache, worms, meals);
+		long cachedTime = System.nanoTime() - start;
+
+		System.out.println(worms + " worms, " + meals + " meals");
+		System.out.printf("uncached: %8.2f ms, %d files decoded%n", uncachedTime / 1E6, uncachedDecodes);
+		System.out.printf("cached:   %8.2f ms, %d files decoded, %d hits, %d misses, %d evicted%n", cachedTime / 1E6,
+				cache.getDecodes(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+	}
+
+	private static int runUncached(int worms, int meals) throws IOException {
+		int decodes = 0;
+		double[] radii = new double[worms];
+		BufferedImage[] originals = new BufferedImage[worms];
+		for(int i = 0; i < worms; i++) {
+			originals[i] = ImageIO.read(new File(FILENAME));
+			decodes++;
+			radii[i] = RADIUS;
+			scale(originals[i], getScale(originals[i], radii[i]), i % 2 == 0);
+		}
+		Random random = new Random(SEED);
+		for(int meal = 0; meal < meals; meal++) {
+			int i = random.nextInt(worms);
+			radii[i] *= GROWTH;
+			scale(originals[i], getScale(originals[i], radii[i]), random.nextBoolean());
+		}
+		return decodes;
+	}
+
+	private static void runCached(SpriteImageCache cache, int worms, int meals) {
+		double[] radii = new double[worms];
+		for(int i = 0; i < worms; i++) {
+			radii[i] = RADIUS;
+			BufferedImage original = cache.getImage(FILENAME);
+			double scale = getScale(original, radii[i]);
+			cache.getImage(FILENAME, (int) (scale * original.getWidth()), (int) (scale * original.getHeight()), i % 2 == 0);
+		}
+		Random random = new Random(SEED);
+		for(int meal = 0; meal < meals; meal++) {
+			int i = random.nextInt(worms);
+			radii[i] *= GROWTH;
+			BufferedImage original = cache.getImage(FILENAME);
+			double scale = getScale(original, radii[i]);
+			cache.getImage(FILENAME, (int) (scale * original.getWidth()), (int) (scale * original.getHeight()),
+					random.nextBoolean());
+		}
+	}
+
+	/**
+	 * The scale of a worm sprite with the given radius, as computed by WormSprite.setRadius.
+	 */
+	private static double getScale(BufferedImage image, double radius) {
+		return 0.8 * 2 * radius / (image.getHeight() * METERS_PER_PIXEL);
+	}
+
+	/**
+	 * Scale and flip an image as ImageSprite.setScale did before.
+	 */
+	private static BufferedImage scale(BufferedImage original, double scale, boolean hflipped) {
+		BufferedImage scaled = ImageSprite.toBufferedImage(original.getScaledInstance((int) (scale * original.getWidth()),
+				(int) (scale * original.getHeight()), Image.SCALE_SMOOTH));
+		return hflipped ? ImageSprite.hflip(scaled) : scaled;
+	}
+
+	private static final String FILENAME = "images/worm.png";
+
+	private static final double RADIUS = 0.5;
+
+	private static final double GROWTH = 1.1;
+
+	private static final double METERS_PER_PIXEL = 0.02;
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final long SEED = 7357;
+
+}
@@ -0,0 +1,138 @@
+package worms.gui.game;
+
+import java.awt.Graphics2D;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compares looking up the sprite of every worm and food, as PlayGameScreen.updateSprites does every frame, through the
+ * SpriteRegistry with the way PlayGameScreen looked them up before: filtering all sprites of a type into a new set and
+ * searching it for the object. Prints the time per update for an increasing amount of objects.
+ *
+ * No screen is needed. Run from the project directory: java worms.gui.game.SpriteLookupBenchmark [updates]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class SpriteLookupBenchmark {
+
+	public static void main(String[] args) {
+		int updates = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+
+		//Warm up both versions before measuring.
+		measure(100, updates);
+
+		for(int objects = 25; objects <= 1600; objects *= 2) {
+			long[] times = measure(objects, updates);
+			System.out.printf("%5d objects: set search %10.2f us, registry %8.2f us per update%n", objects,
+					times[0] / 1E3 / updates, times[1] / 1E3 / updates);
+		}
+	}
+
+	private static long[] measure(int objects, int updates) {
+		Object[] worms = new Object[objects / 2];
+		Object[] food = new Object[objects - worms.length];
+		Set<Sprite<?>> set = new HashSet<Sprite<?>>();
+		SpriteRegistry registry = new SpriteRegistry();
+		for(int i = 0; i < worms.length; i++) {
+			worms[i] = new Object();
+			Sprite<?> sprite = new TestWormSprite(worms[i]);
+			set.add(sprite);
+			registry.add(sprite);
+		}
+		for(int i = 0; i < food.length; i++) {
+			food[i] = new Object();
+			Sprite<?> sprite = new TestFoodSprite(food[i]);
+			set.add(sprite);
+			registry.add(sprite);
+		}
+
+		int found = 0;
+		long start = System.nanoTime();
+		for(int update = 0; update < updates; update++) {
+			for(Object worm : worms)
+				if(searchSet(set, TestWormSprite.class, worm) != null)
+					found++;
+			for(Object object : food)
+				if(searchSet(set, TestFoodSprite.class, object) != null)
+					found++;
+		}
+		long setTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for(int update = 0; update < updates; update++) {
+			for(Object worm : worms)
+				if(registry.get(TestWormSprite.class, worm) != null)
+					found++;
+			for(Object object : food)
+				if(registry.get(TestFoodSprite.class, object) != null)
+					found++;
+		}
+		long registryTime = System.nanoTime() - start;
+
+		if(found != 2 * objects * updates)
+			throw new IllegalStateException("Not every sprite was found.");
+		return new long[] { setTime, registryTime };
+	}
+
+	/**
+	 * Look up the sprite for the given object as PlayGameScreen.getSpriteOfTypeFor did before.
+	 */
+	private static <S extends Sprite<Object>> S searchSet(Set<Sprite<?>> sprites, Class<S> type, Object object) {
+		Set<S> ofType = new HashSet<S>();
+		for(Sprite<?> sprite : sprites)
+			if(type.isInstance(sprite))
+				ofType.add(type.cast(sprite));
+		for(S sprite : ofType)
+			if(object.equals(sprite.getObject()))
+				return sprite;
+		return null;
+	}
+
+	private static abstract class TestSprite extends Sprite<Object> {
+
+		private TestSprite(Object object) {
+			super(null);
+			this.object = object;
+		}
+
+		private final Object object;
+
+		@Override
+		public Object getObject() {
+			return object;
+		}
+
+		@Override
+		public boolean isObjectAlive() {
+			return true;
+		}
+
+		@Override
+		public void draw(Graphics2D g) {
+		}
+
+		@Override
+		public double getHeight(Graphics2D g) {
+			return 0;
+		}
+
+		@Override
+		public double getWidth(Graphics2D g) {
+			return 0;
+		}
+	}
+
+	private static class TestWormSprite extends TestSprite {
+		private TestWormSprite(Object object) {
+			super(object);
+		}
+	}
+
+	private static class TestFoodSprite extends TestSprite {
+		private TestFoodSprite(Object object) {
+			super(object);
+		}
+	}
+
+}
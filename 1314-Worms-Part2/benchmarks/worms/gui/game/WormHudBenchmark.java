@@ -0,0 +1,162 @@
+package worms.gui.game;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import worms.gui.GUIOptions;
+import worms.gui.GameState;
+import worms.gui.Level;
+import worms.gui.WormsGUI;
+import worms.gui.game.sprites.WormSprite;
+import worms.model.Facade;
+import worms.model.ModelException;
+
+/**
+ * Compares painting the name, action points bar and hit points bar of every worm with the cached WormHud to the way
+ * PlayGameScreenPainter painted them before: measuring the label, querying the team name and creating the shapes again
+ * for every worm in every frame. Full frames of a level with many worms are painted by both painters.
+ * Prints the time and the amount of bytes allocated per frame by both.
+ *
+ * No screen is needed. Run from the project directory: java -Djava.awt.headless=true worms.gui.game.WormHudBenchmark [level] [worms] [frames]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class WormHudBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int worms = (args.length > 1) ? Integer.parseInt(args[1]) : 120;
+		int frames = (args.length > 2) ? Integer.parseInt(args[2]) : 200;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		GameState state = new GameState(new Facade(), SEED, level);
+		state.createWorld();
+		WormsGUI gui = new WormsGUI(state.getFacade(), new GUIOptions());
+		PlayGameScreen cached = PlayGameScreen.create(gui, state, false);
+		PlayGameScreen uncached = new PlayGameScreen(gui, state) {
+			@Override
+			protected PlayGameScreenPainter createPainter() {
+				return new UncachedPainter(this);
+			}
+		};
+		cached.getContents().setSize(WIDTH, HEIGHT);
+		uncached.getContents().setSize(WIDTH, HEIGHT);
+		for(int i = 0; i < worms; i++)
+			state.getFacade().addNewWorm(state.getWorld());
+		cached.startGame();
+		cached.updateSprites();
+		uncached.updateSprites();
+
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+		//Warm up both versions before measuring.
+		paint(uncached, image, frames / 4);
+		paint(cached, image, frames / 4);
+
+		long[] before = paint(uncached, image, frames);
+		long[] after = paint(cached, image, frames);
+
+		System.out.println("Level " + levelName + " at " + WIDTH + "x" + HEIGHT + ": "
+				+ cached.getSpritesOfType(WormSprite.class).size() + " worms, " + frames + " frames");
+		System.out.printf("uncached: %8.2f ms, %10d bytes allocated per frame%n", before[0] / 1E6 / frames, before[1] / frames);
+		System.out.printf("cached:   %8.2f ms, %10d bytes allocated per frame%n", after[0] / 1E6 / frames, after[1] / frames);
+	}
+
+	/**
+	 * Paint the given amount of full frames of the given screen, and return the time it took and the amount of bytes allocated.
+	 */
+	private static long[] paint(PlayGameScreen screen, BufferedImage image, int frames) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long allocated = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for(int frame = 0; frame < frames; frame++) {
+			Graphics2D g = image.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			screen.paintScreen(g);
+			g.dispose();
+		}
+		long time = System.nanoTime() - start;
+		return new long[] { time, threads.getThreadAllocatedBytes(thread) - allocated };
+	}
+
+	/**
+	 * Paints the name and bars of worms as PlayGameScreenPainter did before.
+	 */
+	private static class UncachedPainter extends PlayGameScreenPainter {
+
+		private UncachedPainter(PlayGameScreen screen) {
+			super(screen);
+		}
+
+		@Override
+		protected void drawName(WormSprite sprite) {
+			final double voffset = sprite.getHeight(currentGraphics) / 2;
+			String name = getFacade().getName(sprite.getWorm());
+			if (name == null)
+				name = "(null)";
+			String teamName = null;
+			try {
+				teamName = getFacade().getTeamName(sprite.getWorm());
+			} catch (ModelException e) {
+				// no team
+			}
+			if (teamName != null)
+				name += " (" + teamName + ")";
+
+			Rectangle2D bounds = currentGraphics.getFontMetrics().getStringBounds(name, currentGraphics);
+			final double stringWidth = bounds.getWidth();
+			final double stringHeight = bounds.getHeight();
+			final double x = sprite.getCenterX() - stringWidth / 2;
+			final double y = sprite.getCenterY() - voffset - TEXT_BAR_V_OFFSET;
+
+			RoundRectangle2D nameBarFill = new RoundRectangle2D.Double(x - TEXT_BAR_H_MARGIN, y - stringHeight - TEXT_BAR_V_MARGIN,
+					stringWidth + 2 * TEXT_BAR_H_MARGIN, stringHeight + 2 * TEXT_BAR_V_MARGIN, 5, 5);
+			currentGraphics.setColor(NAME_BAR_BACKGROUND);
+			currentGraphics.fill(nameBarFill);
+			currentGraphics.setColor(NAME_BAR_TEXT);
+			currentGraphics.drawString(name, (float) x, (float) (y));
+		}
+
+		@Override
+		protected void drawActionBar(WormSprite sprite) {
+			drawBar(sprite, 0, getFacade().getActionPoints(sprite.getWorm()),
+					getFacade().getMaxActionPoints(sprite.getWorm()));
+		}
+
+		@Override
+		protected void drawHitpointsBar(WormSprite sprite) {
+			drawBar(sprite, ACTION_BAR_HEIGHT, getFacade().getHitPoints(sprite.getWorm()),
+					getFacade().getMaxHitPoints(sprite.getWorm()));
+		}
+
+		private void drawBar(WormSprite sprite, double offset, double points, double maxPoints) {
+			double x = sprite.getCenterX();
+			double y = sprite.getCenterY() + sprite.getHeight(currentGraphics) / 2 + offset;
+
+			RoundRectangle2D barFill = new RoundRectangle2D.Double(x - ACTION_BAR_WIDTH / 2, y,
+					points * ACTION_BAR_WIDTH / maxPoints, ACTION_BAR_HEIGHT, 5, 5);
+			currentGraphics.setColor(offset == 0 ? ACTION_POINTS_COLOR : HIT_POINTS_COLOR);
+			currentGraphics.fill(barFill);
+
+			RoundRectangle2D bar = new RoundRectangle2D.Double(x - ACTION_BAR_WIDTH / 2, y, ACTION_BAR_WIDTH,
+					ACTION_BAR_HEIGHT, 5, 5);
+			currentGraphics.setColor(BAR_OUTLINE_COLOR);
+			currentGraphics.draw(bar);
+		}
+	}
+
+	private static final long SEED = 3;
+
+	private static final int WIDTH = 1920;
+
+	private static final int HEIGHT = 1080;
+
+}
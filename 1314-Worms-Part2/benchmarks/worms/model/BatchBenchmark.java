@@ -0,0 +1,50 @@
+package worms.model;
+
+import java.io.File;
+
+import worms.gui.Level;
+
+/**
+ * Plays a batch of games on a level with the BatchRunner, once on a single worker and once on a worker per processor,
+ * all games sharing the terrain of the level. Prints the statistics of both batches, whether they agree and the speedup.
+ *
+ * Run from the project directory: java worms.model.BatchBenchmark [level] [games] [workers]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class BatchBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int games = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+		int workers = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		BatchRunner runner = new BatchRunner(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), 
+				new RandomTurnScript(3), 2, 4, 5, 500);
+
+		//Warm up before measuring.
+		runner.run(-games, games / 4, workers);
+
+		BatchReport sequential = runner.run(0, games, 1);
+		BatchReport parallel = runner.run(0, games, workers);
+
+		int agreeing = 0;
+		for(int game = 0; game < games; game++) {
+			SimulationReport expected = sequential.getReports().get(game);
+			SimulationReport actual = parallel.getReports().get(game);
+			if(expected.getTurns() == actual.getTurns() && expected.getTerrainProbes() == actual.getTerrainProbes()
+					&& expected.getShots() == actual.getShots() && expected.isGameFinished() == actual.isGameFinished())
+				agreeing++;
+		}
+
+		System.out.println("Level " + levelName + ": " + games + " games of 2 teams of 4 worms, at most 500 turns");
+		System.out.print("1 worker: " + sequential);
+		System.out.print(workers + " workers: " + parallel);
+		System.out.printf("games agreeing: %d of %d, speedup: %.2fx%n", agreeing, games, 
+				(double) sequential.getElapsedNanos() / parallel.getElapsedNanos());
+	}
+
+}
@@ -0,0 +1,58 @@
+package worms.model;
+
+import java.io.File;
+
+import worms.gui.Level;
+import worms.model.world.TerrainQueryMode;
+
+/**
+ * Plays complete games on a level with the SimulationEngine, without a screen, every game with its own seed
+ * and the RandomTurnScript. Prints the throughput over all games: games per minute, turns and terrain probes per second.
+ *
+ * Run from the project directory: java worms.model.SimulationBenchmark [level] [games] [terrain query mode]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class SimulationBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int games = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+		TerrainQueryMode mode = (args.length > 2) ? TerrainQueryMode.valueOf(args[2]) : TerrainQueryMode.PYRAMID;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		IFacade facade = new Facade();
+
+		SimulationReport total = null;
+		int finished = 0;
+		long start = System.nanoTime();
+		for(int game = 0; game < games; game++) {
+			SimulationEngine engine = new SimulationEngine(facade, level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), game);
+			engine.getWorld().setTerrainQueryMode(mode);
+			engine.setUp(TEAMS, WORMS_PER_TEAM, FOOD);
+			SimulationReport report = engine.run(new RandomTurnScript(MOVES_PER_TURN), MAX_TURNS);
+			if(report.isGameFinished())
+				finished++;
+			total = (total == null) ? report : total.plus(report);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("Level " + levelName + " (" + mode + "): " + games + " games of " + TEAMS + " teams of " + WORMS_PER_TEAM 
+				+ " worms, at most " + MAX_TURNS + " turns, " + finished + " finished");
+		System.out.println(total);
+		System.out.printf("%.0f games/minute (set up included)%n", games / (elapsed / 6E10));
+	}
+
+	private static final int TEAMS = 2;
+
+	private static final int WORMS_PER_TEAM = 4;
+
+	private static final int FOOD = 5;
+
+	private static final int MOVES_PER_TURN = 3;
+
+	private static final int MAX_TURNS = 500;
+
+}
@@ -0,0 +1,108 @@
+package worms.model.world;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import worms.gui.Level;
+import worms.model.Facade;
+import worms.model.RandomTurnScript;
+import worms.model.SimulationEngine;
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * Measures taking and restoring a WorldSnapshot of a world with 100 worms, against setting up a new world through the Facade,
+ * the only way to get back to an earlier state before. A snapshot is taken after a few turns, more turns are played
+ * and the snapshot is restored, after which every worm must be back in the recorded state.
+ * Prints the size of a snapshot, the time per snapshot, per restore and per set up, and whether the restored states agree.
+ *
+ * Run from the project directory: java worms.model.world.SnapshotBenchmark [level] [rounds]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class SnapshotBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 2000;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+
+		SimulationEngine engine = createEngine(level);
+		World world = engine.getWorld();
+		RandomTurnScript script = new RandomTurnScript(MOVES_PER_TURN);
+		for(int turn = 0; turn < TURNS_BEFORE_SNAPSHOT; turn++)
+			engine.playTurn(script);
+
+		WorldSnapshot snapshot = world.createSnapshot();
+		List<Worm> worms = new ArrayList<Worm>(world.getWorms());
+		List<Position> positions = new ArrayList<Position>();
+		List<Integer> hitPoints = new ArrayList<Integer>();
+		for(Worm worm : worms) {
+			positions.add(worm.getPosition());
+			hitPoints.add(worm.getCurrentHitPoints());
+		}
+		Worm activeWorm = world.getActiveWorm();
+
+		//Play on and roll back, the restored states are checked every round.
+		int agreeing = 0;
+		long snapshotTime = 0;
+		long restoreTime = 0;
+		for(int round = 0; round < rounds; round++) {
+			for(int turn = 0; turn < TURNS_PER_ROUND && !engine.isGameFinished(); turn++)
+				engine.playTurn(script);
+
+			long start = System.nanoTime();
+			world.restore(snapshot);
+			restoreTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			world.createSnapshot();
+			snapshotTime += System.nanoTime() - start;
+
+			boolean agrees = world.getActiveWorm() == activeWorm && world.getWorms().size() == worms.size();
+			for(int i = 0; i < worms.size() && agrees; i++)
+				agrees = worms.get(i).getPosition() == positions.get(i) && worms.get(i).getCurrentHitPoints() == hitPoints.get(i);
+			if(agrees)
+				agreeing++;
+		}
+
+		long start = System.nanoTime();
+		int setUps = Math.max(1, rounds / 100);
+		for(int i = 0; i < setUps; i++)
+			createEngine(level);
+		long setUpTime = System.nanoTime() - start;
+
+		System.out.println("Level " + levelName + ": " + snapshot.getWormCount() + " worms, " + snapshot.getGameObjectCount()
+				+ " game objects, " + rounds + " rounds of " + TURNS_PER_ROUND + " turns");
+		System.out.printf("snapshot size: %d bytes (terrain shared: %d bytes)%n", snapshot.getMemoryFootprint(),
+				world.getTerrainMemoryFootprint());
+		System.out.printf("snapshot: %10.2f us%n", snapshotTime / 1E3 / rounds);
+		System.out.printf("restore:  %10.2f us%n", restoreTime / 1E3 / rounds);
+		System.out.printf("set up through the facade: %10.2f us%n", setUpTime / 1E3 / setUps);
+		System.out.printf("restored states agree: %d of %d%n", agreeing, rounds);
+	}
+
+	private static SimulationEngine createEngine(Level level) {
+		SimulationEngine engine = new SimulationEngine(new Facade(), level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), SEED);
+		engine.setUp(TEAMS, WORMS_PER_TEAM, FOOD);
+		return engine;
+	}
+
+	private static final long SEED = 7357;
+
+	private static final int TEAMS = 10;
+
+	private static final int WORMS_PER_TEAM = 10;
+
+	private static final int FOOD = 20;
+
+	private static final int MOVES_PER_TURN = 3;
+
+	private static final int TURNS_BEFORE_SNAPSHOT = 20;
+
+	private static final int TURNS_PER_ROUND = 3;
+
+}
@@ -0,0 +1,119 @@
+package worms.model.world.entity;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.gui.Level;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Measures the memory allocated by the jump and move loops for worms dropped on random places of a level,
+ * using the allocation counter of the current thread. For both the LandingSolver and the MovePlanner the bytes
+ * per step of the fixed step loop, which creates a position for every step, are compared with the bytes per step of
+ * the solver, which follows the coordinates. The solver only allocates a fixed amount per call, so its bytes per
+ * call don't grow with the steps of the jump or move.
+ *
+ * Run from the project directory: java worms.model.world.entity.AllocationBenchmark [level] [worms]
+ * Needs a JVM that counts allocated bytes per thread (com.sun.management.ThreadMXBean).
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class AllocationBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int amount = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		Random random = new Random(42);
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), random);
+
+		List<Worm> worms = new ArrayList<Worm>();
+		while(worms.size() < amount) {
+			double radius = 0.25 + random.nextDouble() * 0.5;
+			Position position = world.getRandomPassablePos(radius);
+			if(position == null)
+				continue;
+			Worm worm = new Worm(world, position, random.nextDouble() * Math.PI, radius, "Worm");
+			worm.fall();
+			if(worm.getWorld() != null)
+				worms.add(worm);
+		}
+
+		System.out.println("Level " + levelName + ": " + amount + " worms");
+
+		//The steps of a jump are its time steps, the steps of a move are its probes.
+		long jumpSteps = 0;
+		long moveSteps = 0;
+		for(Worm worm : worms) {
+			jumpSteps += Math.round(new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP).solveFixedStep() / GUIConstants.JUMP_TIME_STEP) + 2;
+			MovePlanner planner = new MovePlanner(worm);
+			planner.planFixedStep();
+			moveSteps += planner.getProbeCount();
+		}
+
+		//Let the compiler settle before counting.
+		for(int round = 0; round < 10; round++) {
+			jump(worms, true);
+			jump(worms, false);
+			move(worms, true);
+			move(worms, false);
+		}
+
+		report("jump fixed step", jump(worms, true), amount, jumpSteps);
+		report("jump solver    ", jump(worms, false), amount, jumpSteps);
+		report("move fixed step", move(worms, true), amount, moveSteps);
+		report("move planner   ", move(worms, false), amount, moveSteps);
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread while solving the jump of every worm.
+	 */
+	private static long jump(List<Worm> worms, boolean fixedStep) {
+		List<LandingSolver> solvers = new ArrayList<LandingSolver>(worms.size());
+		for(Worm worm : worms)
+			solvers.add(new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP));
+		long before = getAllocatedBytes();
+		for(LandingSolver solver : solvers) {
+			if(fixedStep)
+				solver.solveFixedStep();
+			else
+				solver.solve();
+		}
+		return getAllocatedBytes() - before;
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread while planning the move of every worm.
+	 */
+	private static long move(List<Worm> worms, boolean fixedStep) {
+		List<MovePlanner> planners = new ArrayList<MovePlanner>(worms.size());
+		for(Worm worm : worms)
+			planners.add(new MovePlanner(worm));
+		long before = getAllocatedBytes();
+		for(MovePlanner planner : planners) {
+			if(fixedStep)
+				planner.planFixedStep();
+			else
+				planner.plan();
+		}
+		return getAllocatedBytes() - before;
+	}
+
+	private static void report(String name, long bytes, int calls, long steps) {
+		System.out.printf("%s: %10.1f bytes/call, %8.3f bytes/step%n", name, (double) bytes / calls, (double) bytes / steps);
+	}
+
+	private static long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
@@ -0,0 +1,96 @@
+package worms.model.world.entity;
+
+import java.io.File;
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.gui.Level;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Plays turns on a level and counts how often the worms compute their mass (and the maximum action and hit points
+ * derived from it) and how often projectiles compute their radius. Every turn the active worm turns, moves
+ * while it can and then jumps or shoots, while the screen reads the points of every worm a number of frames.
+ *
+ * Run from the project directory: java worms.model.world.entity.DerivedQuantityBenchmark [level] [turns]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class DerivedQuantityBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int turns = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		Random random = new Random(42);
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), random);
+
+		Worm[] worms = new Worm[WORMS];
+		for(int i = 0; i < WORMS; i++) {
+			Position position = null;
+			while(position == null)
+				position = world.getRandomPassablePos(0.25 + random.nextDouble() * 0.25);
+			worms[i] = new Worm(world, position, random.nextDouble() * Math.PI, 0.25 + random.nextDouble() * 0.25, "Worm " + i);
+			worms[i].fall();
+		}
+		world.startGame();
+
+		long massComputations = 0;
+		long radiusComputations = 0;
+		int played = 0;
+		long checksum = 0;
+		for(; played < turns && !world.gameEnded(); played++) {
+			Worm worm = world.getActiveWorm();
+			long before = sumMassComputations(worms);
+
+			for(int frame = 0; frame < FRAMES_PER_TURN; frame++) {
+				for(Worm each : worms)
+					checksum += each.getCurrentActionPoints() + each.getMaximumActionPoints()
+							+ each.getCurrentHitPoints() + each.getMaximumHitPoints();
+			}
+
+			double angle = (random.nextDouble() - 0.5) * Math.PI;
+			if(worm.canTurn(angle))
+				worm.turn(angle);
+			for(int step = 0; step < 3 && worm.getWorld() != null && worm.canMove(worm.getMovePosition()); step++) {
+				worm.move();
+				worm.fall();
+			}
+			if(worm.getWorld() != null && world.getActiveWorm() == worm) {
+				if(played % 2 == 0) {
+					worm.jump(GUIConstants.JUMP_TIME_STEP);
+					worm.fall();
+				} else {
+					worm.shoot(random.nextInt(101));
+					Projectile projectile = world.getLivingProjectile();
+					if(projectile != null)
+						radiusComputations += projectile.getRadiusComputationCount();
+				}
+			}
+
+			massComputations += sumMassComputations(worms) - before;
+			if(world.getActiveWorm() == worm)
+				world.nextTurn();
+		}
+
+		System.out.println("Level " + levelName + ": " + WORMS + " worms, " + played + " turns, " + FRAMES_PER_TURN + " frames per turn (" + checksum + ")");
+		System.out.printf("worm mass computations:       %10.1f per turn%n", (double) massComputations / played);
+		System.out.printf("projectile radius computations: %8.1f per shot%n", (double) radiusComputations / (played / 2));
+	}
+
+	private static long sumMassComputations(Worm[] worms) {
+		long sum = 0;
+		for(Worm worm : worms)
+			sum += worm.getMassComputationCount();
+		return sum;
+	}
+
+	private static final int WORMS = 8;
+
+	private static final int FRAMES_PER_TURN = 30;
+
+}
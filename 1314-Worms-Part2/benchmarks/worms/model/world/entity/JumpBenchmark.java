@@ -0,0 +1,86 @@
+package worms.model.world.entity;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.gui.Level;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Compares the fixed step jump with the LandingSolver for worms dropped on random places of a level,
+ * jumping at random angles. Prints the time and the terrain probes per jump and whether the results agree.
+ * 
+ * Run from the project directory: java worms.model.world.entity.JumpBenchmark [level] [jumps]
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class JumpBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int jumps = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		Random random = new Random(42);
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), random);
+
+		List<Worm> worms = new ArrayList<Worm>();
+		while(worms.size() < jumps) {
+			Position position = world.getRandomPassablePos(0.25);
+			if(position == null)
+				continue;
+			Worm worm = new Worm(world, position, random.nextDouble() * Math.PI, 0.25, "Jumper");
+			worm.fall();
+			if(worm.getWorld() != null)
+				worms.add(worm);
+		}
+
+		System.out.println("Level " + levelName + ": " + jumps + " jumps, time step " + GUIConstants.JUMP_TIME_STEP);
+
+		//Warm up both versions before measuring.
+		for(Worm worm : worms.subList(0, Math.min(20, jumps))) {
+			new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP).solveFixedStep();
+			new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP).solve();
+		}
+
+		double[] fixedStepTimes = new double[jumps];
+		long fixedStepProbes = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < jumps; i++) {
+			LandingSolver solver = new LandingSolver(worms.get(i), GUIConstants.JUMP_TIME_STEP);
+			fixedStepTimes[i] = solver.solveFixedStep();
+			fixedStepProbes += solver.getProbeCount();
+		}
+		long fixedStepTime = System.nanoTime() - start;
+
+		double[] solvedTimes = new double[jumps];
+		long solvedProbes = 0;
+		start = System.nanoTime();
+		for(int i = 0; i < jumps; i++) {
+			LandingSolver solver = new LandingSolver(worms.get(i), GUIConstants.JUMP_TIME_STEP);
+			solvedTimes[i] = solver.solve();
+			solvedProbes += solver.getProbeCount();
+		}
+		long solvedTime = System.nanoTime() - start;
+
+		int agreeing = 0;
+		double totalJumpTime = 0;
+		for(int i = 0; i < jumps; i++) {
+			if(fixedStepTimes[i] == solvedTimes[i])
+				agreeing++;
+			totalJumpTime += fixedStepTimes[i];
+		}
+
+		System.out.printf("average jump: %.3f s%n", totalJumpTime / jumps);
+		System.out.printf("fixed step: %10.3f ms/jump, %8.1f probes/jump%n", fixedStepTime / 1E6 / jumps, (double) fixedStepProbes / jumps);
+		System.out.printf("solver:     %10.3f ms/jump, %8.1f probes/jump%n", solvedTime / 1E6 / jumps, (double) solvedProbes / jumps);
+		System.out.printf("speedup: %.1fx, identical results: %d of %d%n", (double) fixedStepTime / solvedTime, agreeing, jumps);
+	}
+
+}
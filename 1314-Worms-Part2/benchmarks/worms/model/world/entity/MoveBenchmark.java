@@ -0,0 +1,83 @@
+package worms.model.world.entity;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import worms.gui.Level;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Compares checking every probe of a move with the MovePlanner for worms dropped on random places of a level,
+ * facing random angles. Prints the time and the terrain probes per move and whether the results agree.
+ * 
+ * Run from the project directory: java worms.model.world.entity.MoveBenchmark [level] [moves]
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class MoveBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int moves = (args.length > 1) ? Integer.parseInt(args[1]) : 500;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		Random random = new Random(42);
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), random);
+
+		List<Worm> worms = new ArrayList<Worm>();
+		while(worms.size() < moves) {
+			double radius = 0.25 + random.nextDouble() * 0.5;
+			Position position = world.getRandomPassablePos(radius);
+			if(position == null)
+				continue;
+			Worm worm = new Worm(world, position, random.nextDouble() * 2 * Math.PI, radius, "Mover");
+			worm.fall();
+			if(worm.getWorld() != null)
+				worms.add(worm);
+		}
+
+		System.out.println("Level " + levelName + ": " + moves + " moves");
+
+		//Warm up both versions before measuring.
+		for(Worm worm : worms.subList(0, Math.min(50, moves))) {
+			new MovePlanner(worm).planFixedStep();
+			new MovePlanner(worm).plan();
+		}
+
+		Position[] fixedStepPositions = new Position[moves];
+		long fixedStepProbes = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < moves; i++) {
+			MovePlanner planner = new MovePlanner(worms.get(i));
+			fixedStepPositions[i] = planner.planFixedStep();
+			fixedStepProbes += planner.getProbeCount();
+		}
+		long fixedStepTime = System.nanoTime() - start;
+
+		Position[] plannedPositions = new Position[moves];
+		long plannedProbes = 0;
+		start = System.nanoTime();
+		for(int i = 0; i < moves; i++) {
+			MovePlanner planner = new MovePlanner(worms.get(i));
+			plannedPositions[i] = planner.plan();
+			plannedProbes += planner.getProbeCount();
+		}
+		long plannedTime = System.nanoTime() - start;
+
+		int agreeing = 0;
+		for(int i = 0; i < moves; i++) {
+			if(fixedStepPositions[i].getX() == plannedPositions[i].getX() && fixedStepPositions[i].getY() == plannedPositions[i].getY())
+				agreeing++;
+		}
+
+		System.out.printf("fixed step: %10.3f ms/move, %8.1f probes/move%n", fixedStepTime / 1E6 / moves, (double) fixedStepProbes / moves);
+		System.out.printf("planner:    %10.3f ms/move, %8.1f probes/move%n", plannedTime / 1E6 / moves, (double) plannedProbes / moves);
+		System.out.printf("speedup: %.1fx, identical results: %d of %d%n", (double) fixedStepTime / plannedTime, agreeing, moves);
+	}
+
+}
@@ -0,0 +1,109 @@
+package worms.model.world.entity;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.gui.Level;
+import worms.model.Constants;
+import worms.model.equipment.weapons.Bazooka;
+import worms.model.equipment.weapons.Rifle;
+import worms.model.equipment.weapons.Weapon;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Compares the fixed step flight of weapon projectiles with the ImpactSolver on a level filled with worms.
+ * Prints the time and the terrain probes per shot, how many shots hit a worm and whether the results agree.
+ * 
+ * Run from the project directory: java worms.model.world.entity.ShotBenchmark [level] [worms] [shots]
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class ShotBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int wormAmount = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+		int shots = (args.length > 2) ? Integer.parseInt(args[2]) : 300;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		Random random = new Random(42);
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), random);
+
+		List<Worm> worms = new ArrayList<Worm>();
+		while(worms.size() < wormAmount) {
+			Position position = world.getRandomPassablePos(0.25);
+			if(position == null)
+				continue;
+			Worm worm = new Worm(world, position, 0, 0.25, "Target");
+			worm.fall();
+			if(worm.getWorld() != null)
+				worms.add(worm);
+		}
+
+		List<WeaponProjectile> projectiles = new ArrayList<WeaponProjectile>();
+		while(projectiles.size() < shots) {
+			Worm owner = worms.get(random.nextInt(worms.size()));
+			double angle = random.nextDouble() * Math.PI;
+			Weapon weapon = random.nextBoolean() ? new Bazooka(owner) : new Rifle(owner);
+			Position position = new Position(owner.getPosition().getX() + owner.getRadius() * Math.cos(angle),
+					owner.getPosition().getY() + owner.getRadius() * Math.sin(angle));
+			if(world.liesWithinBoundaries(position, 0.1))
+				projectiles.add(new WeaponProjectile(position, angle, Constants.FORCE_TIME, random.nextInt(101), weapon));
+		}
+
+		System.out.println("Level " + levelName + ": " + wormAmount + " worms, " + shots + " shots, time step " + GUIConstants.JUMP_TIME_STEP);
+
+		//Warm up both versions before measuring.
+		for(WeaponProjectile projectile : projectiles.subList(0, Math.min(20, shots))) {
+			new ImpactSolver(projectile, GUIConstants.JUMP_TIME_STEP).solveFixedStep();
+			new ImpactSolver(projectile, GUIConstants.JUMP_TIME_STEP).solve();
+		}
+
+		double[] fixedStepTimes = new double[shots];
+		long fixedStepProbes = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < shots; i++) {
+			ImpactSolver solver = new ImpactSolver(projectiles.get(i), GUIConstants.JUMP_TIME_STEP);
+			fixedStepTimes[i] = solver.solveFixedStep();
+			fixedStepProbes += solver.getProbeCount();
+		}
+		long fixedStepTime = System.nanoTime() - start;
+
+		double[] solvedTimes = new double[shots];
+		long solvedProbes = 0;
+		start = System.nanoTime();
+		for(int i = 0; i < shots; i++) {
+			ImpactSolver solver = new ImpactSolver(projectiles.get(i), GUIConstants.JUMP_TIME_STEP);
+			solvedTimes[i] = solver.solve();
+			solvedProbes += solver.getProbeCount();
+		}
+		long solvedTime = System.nanoTime() - start;
+
+		int agreeing = 0;
+		int hits = 0;
+		for(int i = 0; i < shots; i++) {
+			if(fixedStepTimes[i] == solvedTimes[i])
+				agreeing++;
+			WeaponProjectile projectile = projectiles.get(i);
+			Position end = projectile.jumpStep(fixedStepTimes[i] - GUIConstants.JUMP_TIME_STEP);
+			for(Worm worm : world.hitsWorm(end, projectile.getRadius())) {
+				if(worm != projectile.getUsedWeapon().getOwner()) {
+					hits++;
+					break;
+				}
+			}
+		}
+
+		System.out.printf("shots hitting a worm: %d of %d%n", hits, shots);
+		System.out.printf("fixed step: %10.3f ms/shot, %8.1f probes/shot%n", fixedStepTime / 1E6 / shots, (double) fixedStepProbes / shots);
+		System.out.printf("solver:     %10.3f ms/shot, %8.1f probes/shot%n", solvedTime / 1E6 / shots, (double) solvedProbes / shots);
+		System.out.printf("speedup: %.1fx, identical results: %d of %d%n", (double) fixedStepTime / solvedTime, agreeing, shots);
+	}
+
+}
@@ -0,0 +1,187 @@
+package worms.model.world.terrain;
+
+import java.io.File;
+import java.util.Random;
+
+import worms.gui.Level;
+import worms.model.world.TerrainQueryMode;
+import worms.model.world.World;
+import worms.util.Position;
+import worms.util.Util;
+
+/**
+ * Compares the sampled impassable check World used to do with the pixel exact TerrainGrid.overlapsDisc kernel
+ * and with the DistanceField of the terrain, on the Skulls level. 
+ * Prints the time per query of each, how often they agree and what the distance field costs.
+ * Also compares asking isImpassable and isAdjacent separately with a single World.classify.
+ * 
+ * Run from the project directory: java worms.model.world.terrain.DiscOverlapBenchmark [level] [queries]
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class DiscOverlapBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int queries = (args.length > 1) ? Integer.parseInt(args[1]) : 200000;
+
+		Level level = new Level(new File("levels", levelName + ".lvl"));
+		level.load();
+		World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), new Random(0));
+		world.setTerrainQueryMode(TerrainQueryMode.SCAN);
+		boolean[][] invertedMap = invert(level.getPassableMap());
+		double scale = world.getScale();
+
+		//Radii of worms (0.25m and more) and projectiles, positions all over the map.
+		Random random = new Random(42);
+		Position[] positions = new Position[queries];
+		double[] radii = new double[queries];
+		for(int i = 0; i < queries; i++) {
+			positions[i] = new Position(random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight());
+			radii[i] = 0.02 + random.nextDouble() * 0.5;
+		}
+
+		System.out.println("Level " + levelName + ": " + level.getMapWidth() + "x" + level.getMapHeight() 
+				+ " pixels, " + queries + " queries");
+
+		long start = System.nanoTime();
+		DistanceField field = new DistanceField(world.getTerrain());
+		long buildTime = System.nanoTime() - start;
+		World fieldWorld = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), new Random(0));
+		fieldWorld.setTerrainQueryMode(TerrainQueryMode.DISTANCE_FIELD);
+
+		//Warm up all versions before measuring.
+		for(int round = 0; round < 3; round++) {
+			sampled(invertedMap, scale, positions, radii);
+			exact(world, positions, radii);
+			exact(fieldWorld, positions, radii);
+		}
+
+		start = System.nanoTime();
+		boolean[] sampledResults = sampled(invertedMap, scale, positions, radii);
+		long sampledTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		boolean[] exactResults = exact(world, positions, radii);
+		long exactTime = System.nanoTime() - start;
+
+		//The samples lie 0.1 * radius apart, so the sampled check can miss pixels the exact kernel does find.
+		start = System.nanoTime();
+		boolean[] fieldResults = exact(fieldWorld, positions, radii);
+		long fieldTime = System.nanoTime() - start;
+
+		int agreeing = 0;
+		int onlyExact = 0;
+		for(int i = 0; i < queries; i++) {
+			if(sampledResults[i] == exactResults[i])
+				agreeing++;
+			else if(exactResults[i])
+				onlyExact++;
+		}
+		int fieldAgreeing = 0;
+		for(int i = 0; i < queries; i++) {
+			if(fieldResults[i] == exactResults[i])
+				fieldAgreeing++;
+		}
+
+		System.out.printf("sampled: %10.1f ns/query%n", (double) sampledTime / queries);
+		System.out.printf("exact:   %10.1f ns/query%n", (double) exactTime / queries);
+		System.out.printf("field:   %10.1f ns/query%n", (double) fieldTime / queries);
+		System.out.printf("speedup: %10.1fx (exact), %.1fx (field)%n", (double) sampledTime / exactTime, (double) sampledTime / fieldTime);
+		System.out.printf("agreement: %.4f%% (%d only impassable for the exact kernel, %d only for the sampled check)%n", 
+				100.0 * agreeing / queries, onlyExact, queries - agreeing - onlyExact);
+		System.out.printf("field agrees with exact: %d of %d%n", fieldAgreeing, queries);
+
+		for(int round = 0; round < 3; round++) {
+			separate(world, positions, radii);
+			classified(world, positions, radii);
+		}
+		start = System.nanoTime();
+		TerrainContact[] separateResults = separate(world, positions, radii);
+		long separateTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		TerrainContact[] classifiedResults = classified(world, positions, radii);
+		long classifiedTime = System.nanoTime() - start;
+		int classifiedAgreeing = 0;
+		for(int i = 0; i < queries; i++) {
+			if(separateResults[i] == classifiedResults[i])
+				classifiedAgreeing++;
+		}
+		System.out.printf("isImpassable + isAdjacent: %10.1f ns/query%n", (double) separateTime / queries);
+		System.out.printf("classify:                  %10.1f ns/query (agrees: %d of %d)%n", 
+				(double) classifiedTime / queries, classifiedAgreeing, queries);
+
+		System.out.printf("field: built in %.1f ms, %d bytes (grid: %d bytes)%n", buildTime / 1E6, 
+				field.getMemoryFootprint(), world.getTerrain().getMemoryFootprint());
+	}
+
+	private static boolean[] exact(World world, Position[] positions, double[] radii) {
+		boolean[] results = new boolean[positions.length];
+		for(int i = 0; i < positions.length; i++)
+			results[i] = world.isImpassable(positions[i], radii[i]);
+		return results;
+	}
+
+	private static TerrainContact[] separate(World world, Position[] positions, double[] radii) {
+		TerrainContact[] results = new TerrainContact[positions.length];
+		for(int i = 0; i < positions.length; i++) {
+			if(world.isImpassable(positions[i], radii[i]))
+				results[i] = TerrainContact.IMPASSABLE;
+			else if(world.isAdjacent(positions[i], radii[i]))
+				results[i] = TerrainContact.ADJACENT;
+			else
+				results[i] = TerrainContact.FREE;
+		}
+		return results;
+	}
+
+	private static TerrainContact[] classified(World world, Position[] positions, double[] radii) {
+		TerrainContact[] results = new TerrainContact[positions.length];
+		for(int i = 0; i < positions.length; i++)
+			results[i] = world.classify(positions[i], radii[i]);
+		return results;
+	}
+
+	private static boolean[] sampled(boolean[][] passableMap, double scale, Position[] positions, double[] radii) {
+		boolean[] results = new boolean[positions.length];
+		for(int i = 0; i < positions.length; i++)
+			results[i] = isImpassableSampled(passableMap, scale, positions[i], radii[i]);
+		return results;
+	}
+
+	/**
+	 * The check World.isImpassable(Position, double) used before the TerrainGrid kernel, kept as reference.
+	 */
+	private static boolean isImpassableSampled(boolean[][] passableMap, double scale, Position position, double radius) {
+		double step = 0.1 * radius;
+		double startRow = (position.getY() - radius);
+		double startColumn = (position.getX() - radius);
+		double endRow = (position.getY() + radius);
+		double endColumn = (position.getX() + radius);
+
+		for (double row = Math.max(startRow, 0); Math.floor(row) <= Math.floor(endRow) && Math.floor(row/scale) < passableMap.length; row += step) {
+			for (double column = Math.max(startColumn, 0); Math.floor(column) <= Math.floor(endColumn) && Math.floor(column/scale) < passableMap[0].length; column += step) {
+				if (!passableMap[(int) Math.floor(row/scale)][(int) Math.floor(column/scale)]) {
+					if(Util.fuzzyLessThanOrEqualTo(Math.pow(row - position.getY(), 2)
+							+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-15) 
+								&& !Util.fuzzyEquals(Math.pow(row - position.getY(), 2)
+									+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-16)) {
+						return true;
+					}
+				} else {
+					column = column + step*Math.floor((Math.ceil(column/scale) - column/scale) / step);
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean[][] invert(boolean[][] map) {
+		boolean[][] inverted = new boolean[map.length][];
+		for(int row = 0; row < map.length; row++)
+			inverted[row] = map[map.length - row - 1];
+		return inverted;
+	}
+
+}
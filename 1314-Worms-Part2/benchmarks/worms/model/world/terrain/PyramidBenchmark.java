@@ -0,0 +1,104 @@
+package worms.model.world.terrain;
+
+import java.io.File;
+import java.util.Random;
+
+import worms.gui.Level;
+import worms.model.world.TerrainQueryMode;
+import worms.model.world.World;
+
+/**
+ * Compares the terrain query modes of World on a full resolution level and on its low resolution version:
+ * the same circles, given in meters, are classified with every mode on both levels.
+ * Prints the time per query, whether the modes agree on the same level and what the pyramid costs.
+ * The pyramid should make the full resolution level about as fast as the low resolution one.
+ * 
+ * Run from the project directory: java worms.model.world.terrain.PyramidBenchmark [level] [queries]
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class PyramidBenchmark {
+
+	public static void main(String[] args) {
+		String levelName = (args.length > 0) ? args[0] : "Skulls";
+		int queries = (args.length > 1) ? Integer.parseInt(args[1]) : 200000;
+
+		Level full = new Level(new File("levels", levelName + ".lvl"));
+		full.load();
+		Level low = new Level(new File("levels", levelName + "-lowres.lvl"));
+		low.load();
+
+		//Radii of worms (0.25m and more) and projectiles, positions all over the map.
+		Random random = new Random(42);
+		double[] xs = new double[queries];
+		double[] ys = new double[queries];
+		double[] radii = new double[queries];
+		for(int i = 0; i < queries; i++) {
+			xs[i] = random.nextDouble() * full.getWorldWidth();
+			ys[i] = random.nextDouble() * full.getWorldHeight();
+			radii[i] = 0.02 + random.nextDouble() * 0.5;
+		}
+
+		for(Level level : new Level[] { low, full }) {
+			System.out.println(level.getName() + ": " + level.getMapWidth() + "x" + level.getMapHeight() + " pixels, " + queries + " queries");
+			TerrainContact[] scanResults = null;
+			boolean[] scanImpassable = null;
+			for(TerrainQueryMode mode : TerrainQueryMode.values()) {
+				World world = new World(level.getWorldWidth(), level.getWorldHeight(), level.getTerrain(), new Random(0));
+				long start = System.nanoTime();
+				world.setTerrainQueryMode(mode);
+				long buildTime = System.nanoTime() - start;
+
+				//Warm up before measuring, then keep the fastest of a few rounds.
+				for(int round = 0; round < 3; round++) {
+					classify(world, xs, ys, radii);
+					impassable(world, xs, ys, radii);
+				}
+				TerrainContact[] results = null;
+				boolean[] impassableResults = null;
+				long classifyTime = Long.MAX_VALUE;
+				long impassableTime = Long.MAX_VALUE;
+				for(int round = 0; round < 5; round++) {
+					start = System.nanoTime();
+					results = classify(world, xs, ys, radii);
+					classifyTime = Math.min(classifyTime, System.nanoTime() - start);
+					start = System.nanoTime();
+					impassableResults = impassable(world, xs, ys, radii);
+					impassableTime = Math.min(impassableTime, System.nanoTime() - start);
+				}
+
+				if(scanResults == null) {
+					scanResults = results;
+					scanImpassable = impassableResults;
+				}
+				int agreeing = 0;
+				for(int i = 0; i < queries; i++) {
+					if(results[i] == scanResults[i] && impassableResults[i] == scanImpassable[i])
+						agreeing++;
+				}
+				System.out.printf("  %-14s classify %8.1f ns/query, isImpassable %8.1f ns/query, agrees with scan: %d of %d, "
+						+ "set up in %.1f ms%n", mode, (double) classifyTime / queries, (double) impassableTime / queries, 
+						agreeing, queries, buildTime / 1E6);
+			}
+			TerrainGrid terrain = level.getTerrain();
+			System.out.printf("  grid: %d bytes, distance field: %d bytes, pyramid: %d bytes%n", terrain.getMemoryFootprint(),
+					terrain.getDistanceField().getMemoryFootprint(), terrain.getPyramid().getMemoryFootprint());
+		}
+	}
+
+	private static TerrainContact[] classify(World world, double[] xs, double[] ys, double[] radii) {
+		TerrainContact[] results = new TerrainContact[xs.length];
+		for(int i = 0; i < xs.length; i++)
+			results[i] = world.classify(xs[i], ys[i], radii[i]);
+		return results;
+	}
+
+	private static boolean[] impassable(World world, double[] xs, double[] ys, double[] radii) {
+		boolean[] results = new boolean[xs.length];
+		for(int i = 0; i < xs.length; i++)
+			results[i] = world.isImpassable(xs[i], ys[i], radii[i]);
+		return results;
+	}
+
+}
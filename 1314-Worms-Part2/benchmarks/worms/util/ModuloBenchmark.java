@@ -0,0 +1,86 @@
+package worms.util;
+
+import java.util.Random;
+
+/**
+ * Compares Util.modulo with the modulo by repeated subtraction it replaced: for the angles a worm reaches by turning,
+ * as Worm.turn wraps them, and for large angles such as accumulated by a bot turning millions of times.
+ * Prints the time per call and whether the results agree.
+ *
+ * Run: java worms.util.ModuloBenchmark [turns]
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class ModuloBenchmark {
+
+	public static void main(String[] args) {
+		int turns = (args.length > 0) ? Integer.parseInt(args[0]) : 5000000;
+		Random random = new Random(42);
+		double[] angles = new double[turns];
+		for(int i = 0; i < turns; i++)
+			angles[i] = random.nextDouble() * 2 * Math.PI + (random.nextDouble() - 0.5) * 2 * Math.PI + 2 * Math.PI;
+
+		//Warm up both versions before measuring.
+		for(int round = 0; round < 3; round++) {
+			subtract(angles);
+			remainder(angles);
+		}
+
+		long start = System.nanoTime();
+		double[] subtracted = subtract(angles);
+		long subtractTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		double[] remainders = remainder(angles);
+		long remainderTime = System.nanoTime() - start;
+
+		int agreeing = 0;
+		for(int i = 0; i < turns; i++) {
+			if(subtracted[i] == remainders[i])
+				agreeing++;
+		}
+		System.out.println(turns + " turns");
+		System.out.printf("subtraction: %8.2f ns/call%n", (double) subtractTime / turns);
+		System.out.printf("remainder:   %8.2f ns/call%n", (double) remainderTime / turns);
+		System.out.printf("identical results: %d of %d%n", agreeing, turns);
+
+		for(double large = 1E5; large <= 1E9; large *= 100) {
+			start = System.nanoTime();
+			double subtractedLarge = subtractingModulo(large, 2 * Math.PI);
+			subtractTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			double remainderLarge = Util.modulo(large, 2 * Math.PI);
+			remainderTime = System.nanoTime() - start;
+			System.out.printf("angle %.0e: subtraction %12.3f ms (%.12f), remainder %8.3f ms (%.12f)%n", large,
+					subtractTime / 1E6, subtractedLarge, remainderTime / 1E6, remainderLarge);
+		}
+	}
+
+	private static double[] subtract(double[] angles) {
+		double[] result = new double[angles.length];
+		for(int i = 0; i < angles.length; i++)
+			result[i] = subtractingModulo(angles[i], 2 * Math.PI);
+		return result;
+	}
+
+	private static double[] remainder(double[] angles) {
+		double[] result = new double[angles.length];
+		for(int i = 0; i < angles.length; i++)
+			result[i] = Util.modulo(angles[i], 2 * Math.PI);
+		return result;
+	}
+
+	/**
+	 * The modulo as Util computed it before, by subtracting the divisor until the rest is small enough.
+	 */
+	private static double subtractingModulo(double dividend, double divisor) {
+		while(Math.abs(dividend / divisor) >= 1) {
+			if(dividend / divisor >= 1)
+				dividend -= divisor;
+			else if(dividend / divisor <= -1)
+				dividend += divisor;
+		}
+		return dividend;
+	}
+
+}
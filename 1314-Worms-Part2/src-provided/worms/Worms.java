@@ -22,6 +22,12 @@ public class Worms {
 				options.randomSeed = randomSeed;
 			} else if ("-clickselect".equals(arg)) {
 				options.enableClickToSelect = true;
+			} else if ("-activerendering".equals(arg)) {
+				options.activeRendering = true;
+			} else if ("-fps".equals(arg)) {
+				options.targetFramerate = Integer.parseInt(args[++i]);
+			} else if ("-showdirtyregions".equals(arg)) {
+				options.showDirtyRegions = true;
 			}
 		}
 
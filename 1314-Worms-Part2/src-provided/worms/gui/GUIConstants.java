@@ -17,6 +17,19 @@ public final class GUIConstants {
 	 */
 	public static final int FRAMERATE = 15; // fps
 
+	/**
+	 * Rate at which the game state is evolved when active rendering is
+	 * enabled, in updates per (real) second, independent of the framerate
+	 */
+	public static final int UPDATE_RATE = 60; // updates per second
+
+	/**
+	 * Maximal amount of updates between two frames when active rendering is
+	 * enabled; when the game falls further behind, the remaining time is
+	 * dropped rather than caught up with
+	 */
+	public static final int MAX_UPDATES_PER_FRAME = 5;
+
 	/**
 	 * Time (in worm-seconds) that elapses in 1 real second
 	 */
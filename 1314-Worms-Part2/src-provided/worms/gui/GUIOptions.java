@@ -25,4 +25,31 @@ public class GUIOptions {
 	 * Can also be enabled from the command line with the -clickselect argument
 	 */
 	public boolean enableClickToSelect = false;
+
+	/**
+	 * Run the game from a dedicated game thread that evolves the game state
+	 * with a fixed time step and draws every frame itself, instead of from a
+	 * Swing timer
+	 * Default: false
+	 * 
+	 * Can also be enabled from the command line with the -activerendering argument
+	 */
+	public boolean activeRendering = false;
+
+	/**
+	 * Amount of frames per (real) second drawn when active rendering is enabled
+	 * Default: 60
+	 * 
+	 * Can also be set from the command line with the -fps argument
+	 */
+	public int targetFramerate = 60;
+
+	/**
+	 * Outline the regions of the game screen that are repainted in every
+	 * frame, to see what the dirty region tracking repaints
+	 * Default: false
+	 * 
+	 * Can also be enabled from the command line with the -showdirtyregions argument
+	 */
+	public boolean showDirtyRegions = false;
 }
\ No newline at end of file
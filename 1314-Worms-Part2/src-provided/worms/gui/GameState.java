@@ -30,8 +30,8 @@ public class GameState {
 
 	public void createWorld() {
 		level.load();
-		world = facade.createWorld(level.getWorldWidth(),
-				level.getWorldHeight(), level.getPassableMap(), random);
+		world = facade.createWorldOnTerrain(level.getWorldWidth(),
+				level.getWorldHeight(), level.getTerrain(), random);
 	}
 
 	public IFacade getFacade() {
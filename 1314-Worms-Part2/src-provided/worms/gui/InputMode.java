@@ -1,6 +1,7 @@
 package worms.gui;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
@@ -33,6 +34,15 @@ public class InputMode<ScreenType extends Screen> implements KeyListener, MouseL
 	public void paintOverlay(Graphics2D g) {
 	}
 
+	/**
+	 * The region (in pixels) in which paintOverlay paints, or null if it
+	 * paints nothing. Screens that only repaint what changed rely on this, so
+	 * modes that paint an overlay must override it as well.
+	 */
+	public Rectangle2D getOverlayBounds() {
+		return null;
+	}
+
 	@Override
 	public void keyPressed(KeyEvent e) {
 	}
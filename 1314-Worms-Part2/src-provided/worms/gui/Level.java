@@ -11,6 +11,8 @@ import java.util.Arrays;
 
 import javax.imageio.ImageIO;
 
+import worms.model.world.terrain.TerrainGrid;
+
 public class Level {
 
 	private static final String LEVEL_FILE_EXTENSION = ".lvl";
@@ -53,6 +55,7 @@ public class Level {
 
 	private final File file;
 	private BufferedImage mapImage;
+	private TerrainGrid terrain;
 
 	private double scale;
 
@@ -76,6 +79,7 @@ public class Level {
 	}
 
 	protected void readFile(BufferedReader reader) throws IOException {
+		this.terrain = null;
 		this.mapImage = ImageIO.read(new File(file.getParentFile(),
 				readAsKeyVal(reader, "map")));
 		try {
@@ -155,6 +159,17 @@ public class Level {
 		return result;
 	}
 
+	/**
+	 * The terrain of this level, decoded once per load and shared by every
+	 * world created from it.
+	 */
+	public TerrainGrid getTerrain() {
+		if (terrain == null) {
+			terrain = new TerrainGrid(getPassableMap());
+		}
+		return terrain;
+	}
+
 	/**
 	 * map width / map height
 	 */
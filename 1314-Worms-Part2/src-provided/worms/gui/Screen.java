@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 
 import javax.swing.JPanel;
@@ -47,21 +48,28 @@ public abstract class Screen {
 			@Override
 			public void paint(Graphics g) {
 				super.paint(g);
-				Graphics2D graphics = (Graphics2D) g;
-				graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-						RenderingHints.VALUE_ANTIALIAS_ON);
-
-				Screen.this.paintScreen(graphics);
-
-				Screen.this.paintMessage(graphics);
-
-				getCurrentInputMode().paintOverlay(graphics);
+				Screen.this.paintFrame((Graphics2D) g);
 			}
 		};
 		result.setBackground(Color.BLACK);
 		return result;
 	}
 
+	/**
+	 * Paint everything on top of the background: the screen itself, the
+	 * current message and the overlay of the current input mode.
+	 */
+	protected void paintFrame(Graphics2D graphics) {
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+
+		paintScreen(graphics);
+
+		paintMessage(graphics);
+
+		getCurrentInputMode().paintOverlay(graphics);
+	}
+
 	public WormsGUI getGUI() {
 		return gui;
 	}
@@ -92,12 +100,30 @@ public abstract class Screen {
 	}
 
 	protected void paintMessage(Graphics2D g) {
-		Message message = messageDisplay.getMessage();
+		Message message = getCurrentMessage();
 		if (message != null && messagePainter != null) {
 			messagePainter.paintMessage(g, message);
 		}
 	}
 
+	/**
+	 * The message that is displayed now, or null if there is none.
+	 */
+	protected Message getCurrentMessage() {
+		return messageDisplay.getMessage();
+	}
+
+	/**
+	 * The region in which the given message is painted, or null if messages
+	 * aren't painted.
+	 */
+	protected Rectangle getMessageBounds(Message message) {
+		if (message == null || messagePainter == null) {
+			return null;
+		}
+		return messagePainter.getMessageBounds(message);
+	}
+
 	public void addMessage(String message, MessageType type) {
 		messageDisplay.addMessage(message, type);
 		getContents().repaint();
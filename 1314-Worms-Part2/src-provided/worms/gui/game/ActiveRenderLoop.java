@@ -0,0 +1,131 @@
+package worms.gui.game;
+
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import worms.gui.GUIConstants;
+
+/**
+ * Runs a PlayGameScreen from a dedicated game thread, as an alternative to
+ * the Swing timer.
+ * 
+ * The game state is evolved with a fixed time step of 1 / UPDATE_RATE real
+ * seconds, however long drawing takes, and every frame is drawn directly into
+ * a BufferStrategy of the screen's canvas (backed by accelerated VolatileImages
+ * where available) at the target framerate. Both happen while holding the
+ * lock of the canvas, which also guards the input events.
+ */
+class ActiveRenderLoop implements Runnable {
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private final PlayGameScreen screen;
+	private final GameCanvas canvas;
+	private final long frameNanos;
+
+	private BufferStrategy strategy;
+	private Thread thread;
+	private boolean running;
+
+	ActiveRenderLoop(PlayGameScreen screen, GameCanvas canvas, int framerate) {
+		if (framerate <= 0) {
+			throw new IllegalArgumentException(
+					"The target framerate must be positive.");
+		}
+		this.screen = screen;
+		this.canvas = canvas;
+		this.frameNanos = NANOS_PER_SECOND / framerate;
+	}
+
+	/**
+	 * Start the game thread. The canvas must be displayable.
+	 */
+	void start() {
+		canvas.createBufferStrategy(2);
+		strategy = canvas.getBufferStrategy();
+		synchronized (canvas.getLock()) {
+			running = true;
+		}
+		thread = new Thread(this, "Worms game loop");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stop the game thread. No frame is drawn nor update done after this
+	 * returns, also when called while handling an input event.
+	 */
+	void stop() {
+		synchronized (canvas.getLock()) {
+			running = false;
+		}
+		if (thread != null && thread != Thread.currentThread()) {
+			thread.interrupt();
+		}
+	}
+
+	@Override
+	public void run() {
+		long updateNanos = NANOS_PER_SECOND / GUIConstants.UPDATE_RATE;
+		double dt = (double) updateNanos / NANOS_PER_SECOND
+				* GUIConstants.TIME_SCALE;
+
+		long previous = System.nanoTime();
+		long lag = 0;
+		long nextFrame = previous;
+		while (true) {
+			long now = System.nanoTime();
+			lag += now - previous;
+			previous = now;
+
+			synchronized (canvas.getLock()) {
+				if (!running) {
+					return;
+				}
+				int updates = 0;
+				while (lag >= updateNanos
+						&& updates < GUIConstants.MAX_UPDATES_PER_FRAME) {
+					screen.getGameState().evolve(dt);
+					lag -= updateNanos;
+					updates++;
+				}
+				// too far behind: drop the time rather than catch up with it
+				lag %= updateNanos;
+				render();
+			}
+
+			nextFrame += frameNanos;
+			long sleep = nextFrame - System.nanoTime();
+			if (sleep <= 0) {
+				// late: don't rush the next frames to make up for it
+				nextFrame = System.nanoTime();
+				Thread.yield();
+			} else {
+				try {
+					Thread.sleep(sleep / 1000000, (int) (sleep % 1000000));
+				} catch (InterruptedException e) {
+					// stopped, checked above
+				}
+			}
+		}
+	}
+
+	private void render() {
+		do {
+			do {
+				Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					g.setColor(canvas.getBackground());
+					g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+					screen.paintActiveFrame(g);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+}
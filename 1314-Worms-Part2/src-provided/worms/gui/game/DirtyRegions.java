@@ -0,0 +1,137 @@
+package worms.gui.game;
+
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parts of a screen that must be repainted for the next frame.
+ *
+ * Regions are rounded outwards to whole pixels, grown by a margin for
+ * antialiasing and merged with the regions they overlap. When there are too
+ * many regions, or they cover most of the screen, the whole screen is
+ * repainted instead.
+ */
+public class DirtyRegions {
+
+	/**
+	 * Pixels added around every region, for antialiased edges and outlines
+	 */
+	private static final int MARGIN = 2;
+
+	private static final int MAX_REGIONS = 16;
+
+	/**
+	 * Fraction of the screen beyond which it's cheaper to repaint everything
+	 */
+	private static final double MAX_COVERED_FRACTION = 0.5;
+
+	private final List<Rectangle> regions = new ArrayList<Rectangle>();
+
+	private int screenWidth;
+	private int screenHeight;
+	private boolean full;
+
+	/**
+	 * Set the size of the screen the regions are on. The whole screen is dirty
+	 * when its size changed.
+	 */
+	public void setScreenSize(int width, int height) {
+		if (width != screenWidth || height != screenHeight) {
+			this.screenWidth = width;
+			this.screenHeight = height;
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * Mark the whole screen as dirty.
+	 */
+	public void invalidateAll() {
+		full = true;
+		regions.clear();
+	}
+
+	/**
+	 * Mark the given region (in pixels) as dirty. Null is ignored.
+	 */
+	public void add(Rectangle2D region) {
+		if (full || region == null || region.isEmpty()) {
+			return;
+		}
+		int x1 = Math.max(0, (int) Math.floor(region.getMinX()) - MARGIN);
+		int y1 = Math.max(0, (int) Math.floor(region.getMinY()) - MARGIN);
+		int x2 = Math.min(screenWidth, (int) Math.ceil(region.getMaxX())
+				+ MARGIN);
+		int y2 = Math.min(screenHeight, (int) Math.ceil(region.getMaxY())
+				+ MARGIN);
+		if (x2 <= x1 || y2 <= y1) {
+			// not on the screen
+			return;
+		}
+		Rectangle added = new Rectangle(x1, y1, x2 - x1, y2 - y1);
+
+		// merging may make the result overlap regions it didn't before
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = regions.size() - 1; i >= 0; i--) {
+				if (regions.get(i).intersects(added)) {
+					added.add(regions.remove(i));
+					merged = true;
+				}
+			}
+		}
+		regions.add(added);
+
+		if (regions.size() > MAX_REGIONS
+				|| getCoveredArea() > MAX_COVERED_FRACTION * screenWidth
+						* screenHeight) {
+			invalidateAll();
+		}
+	}
+
+	private long getCoveredArea() {
+		long area = 0;
+		for (Rectangle region : regions) {
+			area += (long) region.width * region.height;
+		}
+		return area;
+	}
+
+	/**
+	 * Whether the whole screen is dirty.
+	 */
+	public boolean isFull() {
+		return full;
+	}
+
+	/**
+	 * Whether nothing needs to be repainted.
+	 */
+	public boolean isEmpty() {
+		return !full && regions.isEmpty();
+	}
+
+	/**
+	 * The dirty regions, which don't overlap; a single region covering the
+	 * screen when the whole screen is dirty.
+	 */
+	public List<Rectangle> getRegions() {
+		if (full) {
+			return Collections.singletonList(new Rectangle(0, 0, screenWidth,
+					screenHeight));
+		}
+		return Collections.unmodifiableList(regions);
+	}
+
+	/**
+	 * Forget all regions, after they were repainted.
+	 */
+	public void clear() {
+		full = false;
+		regions.clear();
+	}
+}
@@ -0,0 +1,79 @@
+package worms.gui.game;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the time between the most recent frames, to report percentiles of
+ * the frame time. Times are measured with System.nanoTime.
+ */
+public class FrameTimer {
+
+	private final long[] frameTimes;
+	private int recorded;
+	private int next;
+	private long lastFrame;
+
+	public FrameTimer(int sampleCount) {
+		if (sampleCount <= 0) {
+			throw new IllegalArgumentException(
+					"A frame timer needs room for at least one frame time.");
+		}
+		this.frameTimes = new long[sampleCount];
+	}
+
+	/**
+	 * Record that a frame was shown at the given time. The first frame only
+	 * starts the clock.
+	 */
+	public synchronized void frameShown(long now) {
+		if (lastFrame != 0) {
+			frameTimes[next] = now - lastFrame;
+			next = (next + 1) % frameTimes.length;
+			recorded = Math.min(recorded + 1, frameTimes.length);
+		}
+		lastFrame = now;
+	}
+
+	/**
+	 * Forget all frames, e.g. after the game was paused.
+	 */
+	public synchronized void reset() {
+		recorded = 0;
+		next = 0;
+		lastFrame = 0;
+	}
+
+	public synchronized int getSampleCount() {
+		return recorded;
+	}
+
+	/**
+	 * The frame time (in milliseconds) that the given fraction of the
+	 * recorded frames didn't exceed, or 0 if no frames were recorded.
+	 */
+	public synchronized double getPercentile(double fraction) {
+		if (recorded == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(frameTimes, recorded);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(fraction * recorded) - 1;
+		index = Math.max(0, Math.min(recorded - 1, index));
+		return sorted[index] / 1E6;
+	}
+
+	/**
+	 * The average amount of frames per second over the recorded frames.
+	 */
+	public synchronized double getFramerate() {
+		if (recorded == 0) {
+			return 0;
+		}
+		long total = 0;
+		for (int i = 0; i < recorded; i++) {
+			total += frameTimes[i];
+		}
+		return recorded * 1E9 / total;
+	}
+
+}
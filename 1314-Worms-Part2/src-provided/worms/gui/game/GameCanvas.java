@@ -0,0 +1,49 @@
+package worms.gui.game;
+
+import java.awt.AWTEvent;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+
+/**
+ * The contents of a PlayGameScreen with active rendering: a canvas that is
+ * only drawn by the game loop, and that handles its input events while
+ * holding the lock of the game loop, so the game state is never accessed by
+ * the event dispatch thread and the game thread at the same time.
+ */
+@SuppressWarnings("serial")
+class GameCanvas extends Canvas {
+
+	private final Object lock = new Object();
+
+	GameCanvas() {
+		setBackground(Color.BLACK);
+		setIgnoreRepaint(true);
+	}
+
+	/**
+	 * The lock held while evolving the game state, drawing a frame or
+	 * handling an input event.
+	 */
+	Object getLock() {
+		return lock;
+	}
+
+	@Override
+	public void paint(Graphics g) {
+		// drawn by the game loop
+	}
+
+	@Override
+	public void update(Graphics g) {
+		// drawn by the game loop
+	}
+
+	@Override
+	protected void processEvent(AWTEvent e) {
+		synchronized (lock) {
+			super.processEvent(e);
+		}
+	}
+
+}
@@ -3,19 +3,18 @@ package worms.gui.game;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-
-import javax.imageio.ImageIO;
 
 public abstract class ImageSprite<T> extends Sprite<T> {
 
+	// file of the image, images are shared through the SpriteImageCache
+	private final String filename;
+
 	// original image, at original scale
 	private final BufferedImage originalImage;
 
-	// only created when scale != 1.0
+	// only differs from the original when scale != 1.0
 	private BufferedImage scaledImage;
-	// only create when necessary
+	// only looked up when necessary
 	private BufferedImage scaledImageHflipped;
 
 	private boolean hflipped = false;
@@ -25,6 +24,7 @@ public abstract class ImageSprite<T> extends Sprite<T> {
 	protected ImageSprite(PlayGameScreen screen, String filename) {
 		super(screen);
 		this.scale = 1.0;
+		this.filename = filename;
 		this.originalImage = loadImage(filename);
 		this.scaledImage = originalImage;
 	}
@@ -54,19 +54,24 @@ public abstract class ImageSprite<T> extends Sprite<T> {
 		
 		this.scale = newScale;
 		if (newScale != 1.0) {
-			this.scaledImage = toBufferedImage(originalImage.getScaledInstance(
-					(int) (newScale * originalImage.getWidth()),
-					(int) (newScale * originalImage.getHeight()),
-					Image.SCALE_SMOOTH));
+			this.scaledImage = getImageCache().getImage(filename,
+					getScaledWidth(), getScaledHeight(), false);
 		} else {
 			this.scaledImage = originalImage;
 		}
+		this.scaledImageHflipped = null;
+	}
 
-		if (isHflipped()) {
-			this.scaledImageHflipped = hflip(this.scaledImage);
-		} else {
-			this.scaledImageHflipped = null;
-		}
+	private int getScaledWidth() {
+		return (int) (scale * originalImage.getWidth());
+	}
+
+	private int getScaledHeight() {
+		return (int) (scale * originalImage.getHeight());
+	}
+
+	protected SpriteImageCache getImageCache() {
+		return SpriteImageCache.getInstance();
 	}
 
 	public double getScale() {
@@ -77,7 +82,8 @@ public abstract class ImageSprite<T> extends Sprite<T> {
 		Image imageToDraw = scaledImage;
 		if (isHflipped()) {
 			if (scaledImageHflipped == null) {
-				scaledImageHflipped = hflip(scaledImage);
+				scaledImageHflipped = getImageCache().getImage(filename,
+						scaledImage.getWidth(), scaledImage.getHeight(), true);
 			}
 			imageToDraw = scaledImageHflipped;
 		}
@@ -85,12 +91,7 @@ public abstract class ImageSprite<T> extends Sprite<T> {
 	}
 
 	protected BufferedImage loadImage(String filename) {
-		try {
-			return ImageIO.read(new File(filename));
-		} catch (IOException e) {
-			throw new RuntimeException(
-					"Could not read file '" + filename + "'", e);
-		}
+		return getImageCache().getImage(filename);
 	}
 
 	public void setHflipped(boolean value) {
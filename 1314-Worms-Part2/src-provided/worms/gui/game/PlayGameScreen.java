@@ -1,14 +1,20 @@
 package worms.gui.game;
 
+import java.awt.Color;
+import java.awt.Component;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
 import worms.gui.GUIConstants;
@@ -31,6 +37,7 @@ import worms.gui.game.modes.GameOverMode;
 import worms.gui.game.modes.SetupInputMode;
 import worms.gui.game.sprites.FoodSprite;
 import worms.gui.game.sprites.WormSprite;
+import worms.gui.messages.Message;
 import worms.gui.messages.MessageType;
 import worms.model.IFacade;
 import worms.model.ModelException;
@@ -43,7 +50,29 @@ public class PlayGameScreen extends Screen {
 	final PlayGameScreenPainter painter;
 	private final GameState gameState;
 
-	private final Set<Sprite<?>> sprites = new HashSet<Sprite<?>>();
+	private final SpriteRegistry sprites = new SpriteRegistry();
+
+	private static final int FRAME_TIME_SAMPLES = 240;
+
+	private final FrameTimer frameTimer = new FrameTimer(FRAME_TIME_SAMPLES);
+
+	private ActiveRenderLoop activeLoop;
+
+	private static final Color DIRTY_REGION_COLOR = new Color(0xccff00ff,
+			true);
+
+	private final DirtyRegions dirtyRegions = new DirtyRegions();
+
+	// the message and overlay on the screen, to know where they were when
+	// they change
+	private Message shownMessage;
+	private Rectangle shownMessageBounds;
+	private Rectangle2D shownOverlayBounds;
+
+	// the dirty regions of the frame being painted, and those of the previous
+	// frame, when they are outlined
+	private List<Rectangle> outlinedRegions = Collections.emptyList();
+	private boolean paintingDirtyRegions;
 
 	public PlayGameScreen(WormsGUI gui, GameState state) {
 		super(gui);
@@ -56,9 +85,33 @@ public class PlayGameScreen extends Screen {
 		return new SetupInputMode(this, null);
 	}
 
+	/**
+	 * With active rendering, the contents are a canvas drawn by the game loop
+	 * rather than a panel repainted by Swing.
+	 */
+	@Override
+	protected Component createContents() {
+		if (getGUI().getOptions().activeRendering) {
+			return new GameCanvas();
+		}
+		return super.createContents();
+	}
+
 	@Override
 	public void screenStarted() {
-		runGameLoop();
+		if (getContents() instanceof GameCanvas) {
+			runActiveGameLoop();
+		} else {
+			runGameLoop();
+		}
+	}
+
+	@Override
+	public void screenStopped() {
+		if (activeLoop != null) {
+			activeLoop.stop();
+		}
+		super.screenStopped();
 	}
 
 	final AtomicLong lastUpdateTimestamp = new AtomicLong();
@@ -71,7 +124,7 @@ public class PlayGameScreen extends Screen {
 					long delta = now - lastUpdateTimestamp.getAndSet(now);
 					double dt = delta / 1000.0 * GUIConstants.TIME_SCALE;
 					gameState.evolve(dt);
-					repaint();
+					repaintDirtyRegions();
 				}
 			});
 
@@ -89,6 +142,112 @@ public class PlayGameScreen extends Screen {
 		timer.start();
 	}
 
+	private void runActiveGameLoop() {
+		activeLoop = new ActiveRenderLoop(this, (GameCanvas) getContents(),
+				getGUI().getOptions().targetFramerate);
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread t, final Throwable e) {
+				activeLoop.stop();
+				e.printStackTrace();
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						getGUI().showError(
+								e.getClass().getName() + ": " + e.getMessage());
+					}
+				});
+			}
+		});
+		activeLoop.start();
+	}
+
+	/**
+	 * Draw a frame for the active game loop, which holds the lock of the
+	 * canvas.
+	 */
+	void paintActiveFrame(Graphics2D g) {
+		paintFrame(g);
+		frameTimer.frameShown(System.nanoTime());
+	}
+
+	/**
+	 * Repaint only the regions of the screen that changed since the previous
+	 * frame: where sprites moved or changed, and where the message and the
+	 * overlay of the input mode are or were.
+	 * 
+	 * This is only done for the panel repainted by Swing; the active game loop
+	 * always draws whole frames, as the back buffers of its BufferStrategy
+	 * don't keep their contents.
+	 */
+	private void repaintDirtyRegions() {
+		if (!(getContents() instanceof JComponent)) {
+			repaint();
+			return;
+		}
+		JComponent contents = (JComponent) getContents();
+		dirtyRegions.setScreenSize(getScreenWidth(), getScreenHeight());
+		painter.collectDirtyRegions(dirtyRegions);
+
+		Message message = getCurrentMessage();
+		if (message != shownMessage) {
+			dirtyRegions.add(shownMessageBounds);
+			shownMessage = message;
+			shownMessageBounds = getMessageBounds(message);
+			dirtyRegions.add(shownMessageBounds);
+		}
+
+		// overlays may change in every frame, e.g. while turning
+		dirtyRegions.add(shownOverlayBounds);
+		InputMode<PlayGameScreen> mode = getCurrentInputMode();
+		shownOverlayBounds = (mode == null) ? null : mode.getOverlayBounds();
+		dirtyRegions.add(shownOverlayBounds);
+
+		List<Rectangle> previousOutlines = outlinedRegions;
+		if (getGUI().getOptions().showDirtyRegions) {
+			outlinedRegions = new ArrayList<Rectangle>(
+					dirtyRegions.getRegions());
+			// erase the outlines of the previous frame
+			for (Rectangle region : previousOutlines) {
+				dirtyRegions.add(region);
+			}
+		}
+
+		paintingDirtyRegions = true;
+		try {
+			for (Rectangle region : dirtyRegions.getRegions()) {
+				contents.paintImmediately(region);
+			}
+		} finally {
+			paintingDirtyRegions = false;
+		}
+		dirtyRegions.clear();
+		frameTimer.frameShown(System.nanoTime());
+	}
+
+	@Override
+	protected void paintFrame(Graphics2D graphics) {
+		super.paintFrame(graphics);
+		if (paintingDirtyRegions) {
+			paintDirtyRegionOutlines(graphics);
+		}
+	}
+
+	private void paintDirtyRegionOutlines(Graphics2D graphics) {
+		graphics.setColor(DIRTY_REGION_COLOR);
+		for (Rectangle region : outlinedRegions) {
+			graphics.drawRect(region.x, region.y, region.width - 1,
+					region.height - 1);
+		}
+	}
+
+	/**
+	 * The times between the most recently painted frames.
+	 */
+	public FrameTimer getFrameTimer() {
+		return frameTimer;
+	}
+
 	public void gameFinished() {
 		addMessage(
 				"Game over! The winner is "
@@ -102,15 +261,21 @@ public class PlayGameScreen extends Screen {
 	public void updateSprites() {
 		removeInactiveSprites();
 		addNewSprites();
-		for (Sprite<?> sprite : sprites) {
-			sprite.update();
+		for (List<Sprite<?>> bucket : sprites.getBuckets()) {
+			for (Sprite<?> sprite : bucket) {
+				sprite.update();
+			}
 		}
 	}
 
 	protected void removeInactiveSprites() {
-		for (Sprite<?> sprite : new ArrayList<Sprite<?>>(sprites)) {
-			if (!sprite.isObjectAlive()) {
-				removeSprite(sprite);
+		for (List<Sprite<?>> bucket : sprites.getBuckets()) {
+			// backwards, so removing doesn't skip any sprite
+			for (int i = bucket.size() - 1; i >= 0; i--) {
+				Sprite<?> sprite = bucket.get(i);
+				if (!sprite.isObjectAlive()) {
+					removeSprite(sprite);
+				}
 			}
 		}
 	}
@@ -175,27 +340,17 @@ public class PlayGameScreen extends Screen {
 		return new PlayGameScreenPainter(this);
 	}
 
-	public <T extends Sprite<?>> Set<T> getSpritesOfType(Class<T> type) {
-		Set<T> result = new HashSet<T>();
-		for (Sprite<?> sprite : sprites) {
-			if (type.isInstance(sprite)) {
-				result.add(type.cast(sprite));
-			}
-		}
-		return result;
+	/**
+	 * The sprites of the given type. This is a read-only view, which must not
+	 * be iterated while sprites are added or removed.
+	 */
+	public <T extends Sprite<?>> List<T> getSpritesOfType(Class<T> type) {
+		return sprites.getSpritesOfType(type);
 	}
 
 	public <ObjectType, SpriteType extends Sprite<ObjectType>> SpriteType getSpriteOfTypeFor(
 			Class<SpriteType> type, ObjectType object) {
-		if (object == null) {
-			return null;
-		}
-		for (SpriteType sprite : getSpritesOfType(type)) {
-			if (object.equals(sprite.getObject())) {
-				return sprite;
-			}
-		}
-		return null;
+		return sprites.get(type, object);
 	}
 
 	public WormSprite getWormSprite(Worm worm) {
@@ -391,9 +546,25 @@ public class PlayGameScreen extends Screen {
 		painter.drawTurnAngleIndicator(g, wormSprite, currentAngle);
 	}
 
+	public Rectangle2D getTextEntryBounds() {
+		return painter.getTextEntryBounds();
+	}
+
+	public Rectangle2D getTurnAngleIndicatorBounds(WormSprite wormSprite) {
+		return painter.getTurnAngleIndicatorBounds(wormSprite);
+	}
+
+	public Rectangle2D getInstructionsBounds(String message) {
+		return painter.getInstructionsBounds(message);
+	}
+
+	public Rectangle2D getShootingInfoBoundsForSelectedWorm() {
+		return painter.getShootingInfoBounds(getSelectedWormSprite());
+	}
+
 	public <T, S extends Sprite<T>> void removeSpriteFor(Class<S> type, T object) {
 		S sprite = getSpriteOfTypeFor(type, object);
-		sprites.remove(sprite);
+		removeSprite(sprite);
 	}
 
 	@SuppressWarnings("unchecked")
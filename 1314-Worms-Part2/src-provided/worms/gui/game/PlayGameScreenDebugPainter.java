@@ -17,6 +17,8 @@ import worms.gui.game.sprites.FoodSprite;
 import worms.gui.game.sprites.WormSprite;
 import worms.model.ModelException;
 import worms.model.world.World;
+import worms.model.world.entity.Trajectory;
+import worms.util.Position;
 
 public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 
@@ -37,6 +39,24 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 		super.paint(g);
 
 		paintCommandStack(g);
+		paintRenderStatistics(g);
+	}
+
+	protected void paintRenderStatistics(Graphics2D g) {
+		FrameTimer timer = getScreen().getFrameTimer();
+		String text = String.format("frame time p50 %.1f ms, p99 %.1f ms (%.0f fps)",
+				timer.getPercentile(0.5), timer.getPercentile(0.99),
+				timer.getFramerate());
+		g.setColor(Color.WHITE);
+		g.drawString(text, getScreen().getScreenWidth()
+				- g.getFontMetrics().stringWidth(text) - 15, 30);
+
+		SpriteImageCache cache = SpriteImageCache.getInstance();
+		text = String.format("sprite images: %d decoded, %d hits, %d misses, %d evicted",
+				cache.getDecodes(), cache.getHits(), cache.getMisses(),
+				cache.getEvictions());
+		g.drawString(text, getScreen().getScreenWidth()
+				- g.getFontMetrics().stringWidth(text) - 15, 45);
 	}
 
 	protected void paintCommandStack(Graphics2D g) {
@@ -48,9 +68,19 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 		}
 	}
 
+	/**
+	 * The debug information changes in every frame, so the whole screen is
+	 * repainted.
+	 */
 	@Override
-	protected void paintLevel() {
-		super.paintLevel();
+	public void collectDirtyRegions(DirtyRegions regions) {
+		super.collectDirtyRegions(regions);
+		regions.invalidateAll();
+	}
+
+	@Override
+	protected void paintBackgroundLayer() {
+		super.paintBackgroundLayer();
 
 		Level level = getState().getLevel();
 		World world = getState().getWorld();
@@ -144,23 +174,21 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 
 			double[] prevXY = new double[] { currentWormX, currentWormY };
 
-			double time = getFacade().getJumpTime(sprite.getWorm(),
-					GUIConstants.JUMP_TIME_STEP);
+			Trajectory trajectory = getFacade().getJumpTrajectory(
+					sprite.getWorm(), GUIConstants.JUMP_TIME_STEP);
+			double time = trajectory.getLandingTime();
 			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null && prevXY != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					currentGraphics.setColor(JUMP_MARKER_COLOR);
-					currentGraphics.drawLine((int) getScreenX(prevXY[0]),
-							(int) getScreenY(prevXY[1]), (int) jumpX,
-							(int) jumpY);
-					prevXY = xy;
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
+			for (Position position : trajectory.getSamples(n)) {
+				double[] xy = { position.getX(), position.getY() };
+				double jumpX = getScreenX(xy[0]);
+				double jumpY = getScreenY(xy[1]);
+				currentGraphics.setColor(JUMP_MARKER_COLOR);
+				currentGraphics.drawLine((int) getScreenX(prevXY[0]),
+						(int) getScreenY(prevXY[1]), (int) jumpX,
+						(int) jumpY);
+				prevXY = xy;
+				drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
+						JUMP_MARKER_COLOR);
 			}
 		} catch (ModelException e) {
 			// cannot jump; draw nothing
@@ -1,16 +1,25 @@
 package worms.gui.game;
 
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.WeakHashMap;
 
 import worms.gui.AbstractPainter;
 import worms.gui.GUIConstants;
@@ -23,7 +32,9 @@ import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
 import worms.model.ModelException;
 import worms.model.world.World;
+import worms.model.world.entity.Trajectory;
 import worms.model.world.entity.Worm;
+import worms.util.Position;
 
 public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 
@@ -66,19 +77,53 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 	protected static final double JUMP_MARKER_TIME_DISTANCE = 0.1; // worm-seconds
 	protected static final double DIRECTION_INDICATOR_SIZE = 10;
 
+	protected static final int INSTRUCTIONS_LINE_HEIGHT = 25;
+	protected static final int TEXT_ENTRY_HEIGHT = 120;
+
+	private static final double PAINT_MARGIN = 2;
+
+	private static final Font DEFAULT_FONT = new Font(Font.DIALOG, Font.PLAIN,
+			12);
+
 	protected Graphics2D currentGraphics;
-	private Image scaledImage;
+
+	// the level and everything else that doesn't change during a game,
+	// composited once for the current screen size
+	private BufferedImage backgroundLayer;
+
+	// what every sprite looked like and where it was, when it was last
+	// painted
+	private final Map<Sprite<?>, PaintRecord> paintRecords = new IdentityHashMap<Sprite<?>, PaintRecord>();
+	private long frame;
+
+	// cached labels and bars of the worms, dropped along with their sprites
+	private final Map<WormSprite, WormHud> huds = new WeakHashMap<WormSprite, WormHud>();
 
 	public PlayGameScreenPainter(PlayGameScreen screen) {
 		super(screen);
 	}
 
-	private void createBackgroundImage() {
-		if (scaledImage == null) {
-			scaledImage = GUIUtils.scaleTo(getState().getLevel().getMapImage(),
-					getScreen().getScreenWidth(),
-					getScreen().getScreenHeight(), Image.SCALE_SMOOTH);
+	private BufferedImage getBackgroundLayer() {
+		int width = getScreen().getScreenWidth();
+		int height = getScreen().getScreenHeight();
+		if (backgroundLayer == null || backgroundLayer.getWidth() != width
+				|| backgroundLayer.getHeight() != height) {
+			backgroundLayer = new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = backgroundLayer.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+					RenderingHints.VALUE_ANTIALIAS_ON);
+			Color background = getScreen().getContents().getBackground();
+			g.setColor(background == null ? Color.BLACK : background);
+			g.fillRect(0, 0, width, height);
+
+			Graphics2D previous = currentGraphics;
+			currentGraphics = g;
+			paintBackgroundLayer();
+			currentGraphics = previous;
+			g.dispose();
 		}
+		return backgroundLayer;
 	}
 
 	protected GameState getState() {
@@ -97,30 +142,169 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 		return getState().getLevel();
 	}
 
+	/**
+	 * Paint the part of the screen inside the clip of the given graphics.
+	 * Sprites that were last painted outside the clip are skipped.
+	 */
 	public void paint(Graphics2D g) {
 		this.currentGraphics = g;
+		Rectangle clip = g.getClipBounds();
 
 		paintLevel();
 
 		for (FoodSprite sprite : getScreen().getSpritesOfType(FoodSprite.class)) {
-			paintFood(sprite);
+			if (isInside(sprite, clip)) {
+				paintFood(sprite);
+			}
 		}
 
 		for (WormSprite sprite : getScreen().getSpritesOfType(WormSprite.class)) {
-			if (sprite.getWorm() == getScreen().getSelectedWorm()) {
-				drawSelection(sprite);
+			if (isInside(sprite, clip)) {
+				if (sprite.getWorm() == getScreen().getSelectedWorm()) {
+					drawSelection(sprite);
+				}
+				paintWorm(sprite);
 			}
-			paintWorm(sprite);
 		}
 
 		for (ProjectileSprite sprite : getScreen().getSpritesOfType(
 				ProjectileSprite.class)) {
-			paintProjectile(sprite);
+			if (isInside(sprite, clip)) {
+				paintProjectile(sprite);
+			}
 		}
 
 		this.currentGraphics = null;
 	}
 
+	private boolean isInside(Sprite<?> sprite, Rectangle clip) {
+		if (clip == null) {
+			return true;
+		}
+		PaintRecord record = paintRecords.get(sprite);
+		return record == null || record.bounds.intersects(clip);
+	}
+
+	/**
+	 * Add the regions that must be repainted since the previous call: where
+	 * sprites that moved or changed were and are, and where removed sprites
+	 * were.
+	 */
+	public void collectDirtyRegions(DirtyRegions regions) {
+		if (regions.isFull()) {
+			// everything is repainted, so start over from where sprites are
+			paintRecords.clear();
+		}
+		frame++;
+		for (FoodSprite sprite : getScreen().getSpritesOfType(FoodSprite.class)) {
+			collectDirtyRegion(regions, sprite, 0, 0, null, 0, false);
+		}
+		Worm selectedWorm = getScreen().getSelectedWorm();
+		for (WormSprite sprite : getScreen().getSpritesOfType(WormSprite.class)) {
+			Worm worm = sprite.getWorm();
+			collectDirtyRegion(regions, sprite,
+					getFacade().getActionPoints(worm),
+					getFacade().getHitPoints(worm), getLabel(sprite),
+					getFacade().getOrientation(worm), worm == selectedWorm);
+		}
+		for (ProjectileSprite sprite : getScreen().getSpritesOfType(
+				ProjectileSprite.class)) {
+			collectDirtyRegion(regions, sprite, 0, 0, null, 0, false);
+		}
+
+		Iterator<PaintRecord> removed = paintRecords.values().iterator();
+		while (removed.hasNext()) {
+			PaintRecord record = removed.next();
+			if (record.frame != frame) {
+				regions.add(record.bounds);
+				removed.remove();
+			}
+		}
+	}
+
+	private void collectDirtyRegion(DirtyRegions regions, Sprite<?> sprite,
+			int actionPoints, int hitPoints, String label, double orientation,
+			boolean selected) {
+		PaintRecord record = paintRecords.get(sprite);
+		if (record == null) {
+			record = new PaintRecord();
+			paintRecords.put(sprite, record);
+		} else if (record.isUnchanged(sprite, actionPoints, hitPoints, label,
+				orientation, selected)) {
+			record.frame = frame;
+			return;
+		} else {
+			regions.add(record.bounds);
+		}
+		record.update(sprite, actionPoints, hitPoints, label, orientation,
+				selected);
+		Rectangle2D bounds = getPaintBounds(sprite);
+		// antialiased edges and outlines may fall just outside
+		record.bounds = new Rectangle2D.Double(bounds.getX() - PAINT_MARGIN,
+				bounds.getY() - PAINT_MARGIN, bounds.getWidth() + 2
+						* PAINT_MARGIN, bounds.getHeight() + 2 * PAINT_MARGIN);
+		record.frame = frame;
+		regions.add(record.bounds);
+	}
+
+	/**
+	 * The region in which the given sprite is painted, including the
+	 * selection, name, bars and markers of a worm.
+	 */
+	protected Rectangle2D getPaintBounds(Sprite<?> sprite) {
+		double x = sprite.getCenterX();
+		double y = sprite.getCenterY();
+		double width = sprite.getWidth(null);
+		double height = sprite.getHeight(null);
+		double size = Math.max(width, height);
+		Rectangle2D bounds = new Rectangle2D.Double(x - size / 2, y - size
+				/ 2, size, size);
+		if (!(sprite instanceof WormSprite)) {
+			return bounds;
+		}
+		WormSprite wormSprite = (WormSprite) sprite;
+
+		FontMetrics metrics = getTextMetrics();
+		Rectangle2D text = metrics.getStringBounds(getLabel(wormSprite), null);
+		double textY = y - height / 2 - TEXT_BAR_V_OFFSET;
+		bounds.add(new Rectangle2D.Double(x - text.getWidth() / 2
+				- TEXT_BAR_H_MARGIN, textY - text.getHeight()
+				- TEXT_BAR_V_MARGIN, text.getWidth() + 2 * TEXT_BAR_H_MARGIN,
+				text.getHeight() + TEXT_BAR_V_MARGIN + metrics.getDescent()));
+
+		bounds.add(new Rectangle2D.Double(x - ACTION_BAR_WIDTH / 2, y + height
+				/ 2, ACTION_BAR_WIDTH, 2 * ACTION_BAR_HEIGHT));
+
+		if (wormSprite.getWorm() == getScreen().getSelectedWorm()) {
+			double distance = size / 2 + DIRECTION_INDICATOR_SIZE;
+			bounds.add(new Rectangle2D.Double(x - distance, y - distance,
+					2 * distance, 2 * distance));
+			try {
+				Trajectory trajectory = getFacade().getJumpTrajectory(
+						wormSprite.getWorm(), GUIConstants.JUMP_TIME_STEP);
+				int n = 1 + (int) (trajectory.getLandingTime() / JUMP_MARKER_TIME_DISTANCE);
+				for (Position position : trajectory.getSamples(n)) {
+					bounds.add(new Rectangle2D.Double(getScreenX(position
+							.getX()) - JUMP_MARKER_SIZE, getScreenY(position
+							.getY()) - JUMP_MARKER_SIZE, 2 * JUMP_MARKER_SIZE,
+							2 * JUMP_MARKER_SIZE));
+				}
+			} catch (ModelException e) {
+				// cannot jump; no markers
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * Metrics of the font text is drawn with when no other font is set
+	 */
+	protected FontMetrics getTextMetrics() {
+		Component contents = getScreen().getContents();
+		Font font = contents.getFont();
+		return contents.getFontMetrics(font == null ? DEFAULT_FONT : font);
+	}
+
 	protected void paintProjectile(ProjectileSprite sprite) {
 		sprite.draw(currentGraphics);
 	}
@@ -129,9 +313,33 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 		sprite.draw(currentGraphics);
 	}
 
+	/**
+	 * Paint the part of the cached background layer inside the clip.
+	 */
 	protected void paintLevel() {
-		createBackgroundImage();
+		int width = getScreen().getScreenWidth();
+		int height = getScreen().getScreenHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		BufferedImage layer = getBackgroundLayer();
+		Rectangle clip = currentGraphics.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, width, height);
+		}
+		currentGraphics.drawImage(layer, clip.x, clip.y, clip.x + clip.width,
+				clip.y + clip.height, clip.x, clip.y, clip.x + clip.width,
+				clip.y + clip.height, null);
+	}
 
+	/**
+	 * Paint what doesn't change during a game. This is only done when the
+	 * size of the screen changes, the result is kept as the background layer.
+	 */
+	protected void paintBackgroundLayer() {
+		Image scaledImage = GUIUtils.scaleTo(getLevel().getMapImage(),
+				getScreen().getScreenWidth(), getScreen().getScreenHeight(),
+				Image.SCALE_SMOOTH);
 		int x = (int) getScreenX(0);
 		int y = (int) getScreenY(getLevel().getWorldHeight());
 		currentGraphics.drawImage(scaledImage, x, y, null);
@@ -162,85 +370,64 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 
 	protected void drawName(WormSprite sprite) {
 		final double voffset = sprite.getHeight(currentGraphics) / 2;
-		String name = getFacade().getName(sprite.getWorm());
-
-		if (name == null) {
-			name = "(null)";
-		}
+		WormHud hud = getHud(sprite);
+		hud.updateLabel(getFacade(), sprite.getWorm());
+		hud.drawLabel(currentGraphics, sprite.getCenterX(),
+				sprite.getCenterY() - voffset - TEXT_BAR_V_OFFSET);
+	}
 
-		String teamName = null;
-		try {
-			teamName = getFacade().getTeamName(sprite.getWorm());
-		} catch (ModelException e) {
-			// no team
-		}
+	/**
+	 * The name of the worm of the given sprite, followed by the name of its
+	 * team if it has one
+	 */
+	protected String getLabel(WormSprite sprite) {
+		WormHud hud = getHud(sprite);
+		hud.updateLabel(getFacade(), sprite.getWorm());
+		return hud.getLabel();
+	}
 
-		if (teamName != null) {
-			name += " (" + teamName + ")";
+	private WormHud getHud(WormSprite sprite) {
+		WormHud hud = huds.get(sprite);
+		if (hud == null) {
+			hud = new WormHud();
+			huds.put(sprite, hud);
 		}
-
-		Rectangle2D bounds = currentGraphics.getFontMetrics().getStringBounds(
-				name, currentGraphics);
-		final double stringWidth = bounds.getWidth();
-		final double stringHeight = bounds.getHeight();
-
-		final double x = sprite.getCenterX() - stringWidth / 2;
-		final double y = sprite.getCenterY() - voffset - TEXT_BAR_V_OFFSET;
-
-		RoundRectangle2D nameBarFill = new RoundRectangle2D.Double(x
-				- TEXT_BAR_H_MARGIN, y - stringHeight - TEXT_BAR_V_MARGIN,
-				stringWidth + 2 * TEXT_BAR_H_MARGIN, stringHeight + 2
-						* TEXT_BAR_V_MARGIN, 5, 5);
-		currentGraphics.setColor(NAME_BAR_BACKGROUND);
-		currentGraphics.fill(nameBarFill);
-
-		currentGraphics.setColor(NAME_BAR_TEXT);
-
-		currentGraphics.drawString(name, (float) x, (float) (y));
+		return hud;
 	}
 
 	protected void drawActionBar(WormSprite sprite) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double spriteHeight = sprite.getHeight(currentGraphics);
-
-		double actionPoints = getFacade().getActionPoints(sprite.getWorm());
-		double maxActionPoints = getFacade().getMaxActionPoints(
-				sprite.getWorm());
-
-		RoundRectangle2D actionBarFill = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + spriteHeight / 2, actionPoints
-				* ACTION_BAR_WIDTH / maxActionPoints, ACTION_BAR_HEIGHT, 5, 5);
-		currentGraphics.setColor(ACTION_POINTS_COLOR);
-		currentGraphics.fill(actionBarFill);
-
-		RoundRectangle2D actionBar = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + spriteHeight / 2, ACTION_BAR_WIDTH,
-				ACTION_BAR_HEIGHT, 5, 5);
-		currentGraphics.setColor(BAR_OUTLINE_COLOR);
-		currentGraphics.draw(actionBar);
+		Worm worm = sprite.getWorm();
+		RoundRectangle2D actionBarFill = getHud(sprite).getActionBarFill(
+				getFacade().getActionPoints(worm),
+				getFacade().getMaxActionPoints(worm));
+		drawBar(sprite, actionBarFill, ACTION_POINTS_COLOR,
+				WormHud.ACTION_BAR_OUTLINE);
 	}
 
 	protected void drawHitpointsBar(WormSprite sprite) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double spriteHeight = sprite.getHeight(currentGraphics);
-
-		double hitPoints = getFacade().getHitPoints(sprite.getWorm());
-		double maxHitPoints = getFacade().getMaxHitPoints(sprite.getWorm());
-
-		RoundRectangle2D hitpointsBarFill = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + spriteHeight / 2
-				+ ACTION_BAR_HEIGHT, hitPoints * ACTION_BAR_WIDTH
-				/ maxHitPoints, ACTION_BAR_HEIGHT, 5, 5);
-		currentGraphics.setColor(HIT_POINTS_COLOR);
-		currentGraphics.fill(hitpointsBarFill);
+		Worm worm = sprite.getWorm();
+		RoundRectangle2D hitpointsBarFill = getHud(sprite).getHitPointsBarFill(
+				getFacade().getHitPoints(worm),
+				getFacade().getMaxHitPoints(worm));
+		drawBar(sprite, hitpointsBarFill, HIT_POINTS_COLOR,
+				WormHud.HIT_POINTS_BAR_OUTLINE);
+	}
 
-		RoundRectangle2D hitpointsBar = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + spriteHeight / 2
-				+ ACTION_BAR_HEIGHT, ACTION_BAR_WIDTH, ACTION_BAR_HEIGHT, 5, 5);
+	/**
+	 * Draw the given bar shapes, which are relative to the top left corner of
+	 * the bars below the given sprite.
+	 */
+	private void drawBar(WormSprite sprite, Shape fill, Color fillColor,
+			Shape outline) {
+		double x = sprite.getCenterX() - ACTION_BAR_WIDTH / 2;
+		double y = sprite.getCenterY() + sprite.getHeight(currentGraphics) / 2;
+
+		currentGraphics.translate(x, y);
+		currentGraphics.setColor(fillColor);
+		currentGraphics.fill(fill);
 		currentGraphics.setColor(BAR_OUTLINE_COLOR);
-		currentGraphics.draw(hitpointsBar);
+		currentGraphics.draw(outline);
+		currentGraphics.translate(-x, -y);
 	}
 
 	protected void drawSelection(WormSprite sprite) {
@@ -305,20 +492,27 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 		graphics.fill(directionIndicator);
 	}
 
+	Rectangle2D getTurnAngleIndicatorBounds(WormSprite sprite) {
+		if (sprite == null) {
+			return null;
+		}
+		double distance = Math.max(sprite.getWidth(null),
+				sprite.getHeight(null)) / 2 + DIRECTION_INDICATOR_SIZE;
+		return new Rectangle2D.Double(sprite.getCenterX() - distance,
+				sprite.getCenterY() - distance, 2 * distance, 2 * distance);
+	}
+
 	protected void drawJumpMarkers(WormSprite sprite) {
 		try {
-			double time = getFacade().getJumpTime(sprite.getWorm(),
-					GUIConstants.JUMP_TIME_STEP);
+			Trajectory trajectory = getFacade().getJumpTrajectory(
+					sprite.getWorm(), GUIConstants.JUMP_TIME_STEP);
+			double time = trajectory.getLandingTime();
 			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
+			for (Position position : trajectory.getSamples(n)) {
+				double jumpX = getScreenX(position.getX());
+				double jumpY = getScreenY(position.getY());
+				drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
+						JUMP_MARKER_COLOR);
 			}
 		} catch (ModelException e) {
 			// cannot jump; draw nothing
@@ -335,13 +529,18 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 
 	void paintTextEntry(Graphics2D g, String message, String enteredText) {
 		g.setColor(RENAME_BACKGROUND_COLOR);
-		g.fillRect(0, 0, getScreen().getScreenWidth(), 120);
+		g.fill(getTextEntryBounds());
 		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
 		g.setColor(RENAME_TEXT_COLOR);
 		GUIUtils.drawCenteredString(g, message + enteredText + "\u2502",
 				getScreen().getScreenWidth(), 100);
 	}
 
+	Rectangle getTextEntryBounds() {
+		return new Rectangle(0, 0, getScreen().getScreenWidth(),
+				TEXT_ENTRY_HEIGHT);
+	}
+
 	public void drawShootingInfo(Graphics2D currentGraphics, WormSprite sprite,
 			double propulsionFraction) {
 		String weaponName = getFacade().getSelectedWeapon(sprite.getWorm());
@@ -395,39 +594,133 @@ public class PlayGameScreenPainter extends AbstractPainter<PlayGameScreen> {
 
 	}
 
+	/**
+	 * The region in which drawShootingInfo paints for the given sprite, or
+	 * null if it paints nothing
+	 */
+	public Rectangle2D getShootingInfoBounds(WormSprite sprite) {
+		if (sprite == null) {
+			return null;
+		}
+		String weaponName = getFacade().getSelectedWeapon(sprite.getWorm());
+		if (weaponName == null) {
+			return null;
+		}
+
+		double x = sprite.getCenterX();
+		double y = sprite.getCenterY();
+		double hoffset = sprite.getWidth(null);
+		double voffset = sprite.getHeight(null);
+
+		Rectangle2D bounds = new Rectangle2D.Double(x + hoffset
+				+ ACTION_BAR_HEIGHT / 2, y - ACTION_BAR_WIDTH / 2,
+				ACTION_BAR_HEIGHT, ACTION_BAR_WIDTH);
+
+		Rectangle2D text = getTextMetrics().getStringBounds(weaponName, null);
+		bounds.add(new Rectangle2D.Double(x - text.getWidth() / 2
+				- TEXT_BAR_H_MARGIN, y + voffset + TEXT_BAR_V_OFFSET,
+				text.getWidth() + 2 * TEXT_BAR_H_MARGIN, text.getHeight() + 3
+						* TEXT_BAR_V_MARGIN));
+		return bounds;
+	}
+
 	public void paintInstructions(Graphics2D g, String message) {
-		int lineHeight = 25;
+		int lineHeight = INSTRUCTIONS_LINE_HEIGHT;
 		Font oldFont = g.getFont();
-		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 2 * lineHeight / 3));
+		g.setFont(INSTRUCTIONS_FONT);
 
-		StringTokenizer tok = new StringTokenizer(message, "\n");
-		int nbLines = tok.countTokens();
-		List<String> lines = new ArrayList<String>(nbLines);
-		while (tok.hasMoreTokens()) {
-			lines.add(tok.nextToken());
+		List<String> lines = getLines(message);
+		Rectangle bounds = getInstructionsBounds(message);
+		int top = bounds.y;
+		int left = bounds.x;
+
+		g.setColor(new Color(0xa0565656, true));
+		g.fill(bounds);
+		g.setColor(Color.WHITE);
+
+		int y = top + 2 * lineHeight;
+		for (String line : lines) {
+			g.drawString(line, left + lineHeight, y);
+			y += lineHeight;
 		}
 
+		g.setFont(oldFont);
+	}
+
+	private static final Font INSTRUCTIONS_FONT = new Font(Font.SANS_SERIF,
+			Font.PLAIN, 2 * INSTRUCTIONS_LINE_HEIGHT / 3);
+
+	/**
+	 * The region in which paintInstructions paints the given message
+	 */
+	public Rectangle getInstructionsBounds(String message) {
+		int lineHeight = INSTRUCTIONS_LINE_HEIGHT;
+		FontMetrics metrics = getScreen().getContents().getFontMetrics(
+				INSTRUCTIONS_FONT);
+		List<String> lines = getLines(message);
+
 		int maxWidth = 0;
 		for (String line : lines) {
-			Rectangle2D bounds = g.getFontMetrics().getStringBounds(line, g);
+			Rectangle2D bounds = metrics.getStringBounds(line, null);
 			maxWidth = Math.max(maxWidth, (int) (bounds.getWidth() + 0.5));
 		}
 
 		int width = 2 * lineHeight + maxWidth;
-		int height = 2 * lineHeight + lineHeight * nbLines;
-		int top = 0;
-		int left = 0;
+		int height = 2 * lineHeight + lineHeight * lines.size();
+		return new Rectangle(0, 0, width, height);
+	}
 
-		g.setColor(new Color(0xa0565656, true));
-		g.fillRect(left, top, width, height);
-		g.setColor(Color.WHITE);
+	private static List<String> getLines(String message) {
+		StringTokenizer tok = new StringTokenizer(message, "\n");
+		List<String> lines = new ArrayList<String>(tok.countTokens());
+		while (tok.hasMoreTokens()) {
+			lines.add(tok.nextToken());
+		}
+		return lines;
+	}
 
-		int y = top + 2 * lineHeight;
-		for (String line : lines) {
-			g.drawString(line, left + lineHeight, y);
-			y += lineHeight;
+	/**
+	 * What a sprite looked like when it was last painted, and where
+	 */
+	private static final class PaintRecord {
+		private Rectangle2D bounds;
+		private long frame;
+
+		private double x;
+		private double y;
+		private double width;
+		private double height;
+		private int actionPoints;
+		private int hitPoints;
+		private String label;
+		private double orientation;
+		private boolean selected;
+
+		private boolean isUnchanged(Sprite<?> sprite, int actionPoints,
+				int hitPoints, String label, double orientation,
+				boolean selected) {
+			return x == sprite.getCenterX() && y == sprite.getCenterY()
+					&& width == sprite.getWidth(null)
+					&& height == sprite.getHeight(null)
+					&& this.actionPoints == actionPoints
+					&& this.hitPoints == hitPoints
+					&& (this.label == null ? label == null : this.label
+							.equals(label))
+					&& this.orientation == orientation
+					&& this.selected == selected;
 		}
 
-		g.setFont(oldFont);
+		private void update(Sprite<?> sprite, int actionPoints, int hitPoints,
+				String label, double orientation, boolean selected) {
+			this.x = sprite.getCenterX();
+			this.y = sprite.getCenterY();
+			this.width = sprite.getWidth(null);
+			this.height = sprite.getHeight(null);
+			this.actionPoints = actionPoints;
+			this.hitPoints = hitPoints;
+			this.label = label;
+			this.orientation = orientation;
+			this.selected = selected;
+		}
 	}
 }
@@ -0,0 +1,204 @@
+package worms.gui.game;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Process-wide cache of the images drawn by sprites.
+ *
+ * Every image file is read and decoded once. Scaled and horizontally flipped
+ * versions are kept by (file, size in pixels, flip): scales that result in the
+ * same size share one image, so a sprite whose scale changes back and forth
+ * (e.g. a worm growing after eating) finds its images in the cache. When there
+ * are more than the maximal amount of scaled images, the least recently used
+ * one is evicted.
+ */
+public class SpriteImageCache {
+
+	private static final int DEFAULT_MAX_SCALED_IMAGES = 256;
+
+	private static final SpriteImageCache INSTANCE = new SpriteImageCache(
+			DEFAULT_MAX_SCALED_IMAGES);
+
+	/**
+	 * The cache shared by all sprites.
+	 */
+	public static SpriteImageCache getInstance() {
+		return INSTANCE;
+	}
+
+	private final int maxScaledImages;
+
+	private final Map<String, BufferedImage> originals = new HashMap<String, BufferedImage>();
+
+	private final LinkedHashMap<Key, BufferedImage> scaledImages;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long decodes;
+
+	public SpriteImageCache(int maxScaledImages) {
+		if (maxScaledImages <= 0) {
+			throw new IllegalArgumentException(
+					"The cache must be able to hold at least one scaled image.");
+		}
+		this.maxScaledImages = maxScaledImages;
+		// access order, so the eldest entry is the least recently used one
+		this.scaledImages = new LinkedHashMap<Key, BufferedImage>(16, 0.75f,
+				true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Key, BufferedImage> eldest) {
+				if (size() > SpriteImageCache.this.maxScaledImages) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * The image in the given file, at its original size. The file is only read
+	 * the first time.
+	 */
+	public synchronized BufferedImage getImage(String filename) {
+		BufferedImage image = originals.get(filename);
+		if (image == null) {
+			image = readImage(filename);
+			decodes++;
+			originals.put(filename, image);
+		}
+		return image;
+	}
+
+	/**
+	 * The image in the given file, scaled to the given size in pixels and
+	 * flipped horizontally if asked for. The image at its original size isn't
+	 * copied unless it must be flipped.
+	 */
+	public synchronized BufferedImage getImage(String filename, int width,
+			int height, boolean hflipped) {
+		BufferedImage original = getImage(filename);
+		if (!hflipped && width == original.getWidth()
+				&& height == original.getHeight()) {
+			return original;
+		}
+
+		Key key = new Key(filename, width, height, hflipped);
+		BufferedImage image = scaledImages.get(key);
+		if (image != null) {
+			hits++;
+			return image;
+		}
+		misses++;
+		if (hflipped) {
+			image = ImageSprite.hflip(getImage(filename, width, height, false));
+		} else {
+			image = ImageSprite.toBufferedImage(original.getScaledInstance(
+					width, height, Image.SCALE_SMOOTH));
+		}
+		scaledImages.put(key, image);
+		return image;
+	}
+
+	protected BufferedImage readImage(String filename) {
+		try {
+			BufferedImage image = ImageIO.read(new File(filename));
+			if (image == null) {
+				throw new IOException("Unknown image format");
+			}
+			return image;
+		} catch (IOException e) {
+			throw new RuntimeException(
+					"Could not read file '" + filename + "'", e);
+		}
+	}
+
+	/**
+	 * Amount of scaled or flipped images that were found in the cache.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Amount of scaled or flipped images that had to be created.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Amount of scaled or flipped images that were evicted to make room.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Amount of image files that were read and decoded.
+	 */
+	public synchronized long getDecodes() {
+		return decodes;
+	}
+
+	public synchronized int getScaledImageCount() {
+		return scaledImages.size();
+	}
+
+	/**
+	 * Forget all images and reset the counters.
+	 */
+	public synchronized void clear() {
+		originals.clear();
+		scaledImages.clear();
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+		decodes = 0;
+	}
+
+	private static final class Key {
+		private final String filename;
+		private final int width;
+		private final int height;
+		private final boolean hflipped;
+
+		private Key(String filename, int width, int height, boolean hflipped) {
+			this.filename = filename;
+			this.width = width;
+			this.height = height;
+			this.hflipped = hflipped;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return width == other.width && height == other.height
+					&& hflipped == other.hflipped
+					&& filename.equals(other.filename);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = filename.hashCode();
+			result = 31 * result + width;
+			result = 31 * result + height;
+			return 31 * result + (hflipped ? 1 : 0);
+		}
+	}
+}
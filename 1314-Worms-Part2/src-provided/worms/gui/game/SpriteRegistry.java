@@ -0,0 +1,140 @@
+package worms.gui.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sprites of a screen, bucketed by their class.
+ *
+ * Every bucket keeps its sprites in the order they were added, along with an
+ * identity map from model object to sprite, so the sprite for an object is
+ * found in constant time. The sprites of one class can be iterated without
+ * copying; the returned lists are read-only views that must not be iterated
+ * while sprites are added or removed.
+ */
+public class SpriteRegistry {
+
+	private final Map<Class<?>, Bucket> buckets = new LinkedHashMap<Class<?>, Bucket>();
+
+	private final List<List<Sprite<?>>> bucketViews = new ArrayList<List<Sprite<?>>>();
+
+	private int size;
+
+	/**
+	 * Add the given sprite. A sprite of the same class that was added for the
+	 * same object before is replaced.
+	 */
+	public void add(Sprite<?> sprite) {
+		Bucket bucket = getBucket(sprite.getClass());
+		Sprite<?> previous = bucket.byObject.put(sprite.getObject(), sprite);
+		if (previous == sprite) {
+			return;
+		}
+		if (previous != null) {
+			bucket.sprites.remove(previous);
+			size--;
+		}
+		bucket.sprites.add(sprite);
+		size++;
+	}
+
+	/**
+	 * Remove the given sprite, if it was added.
+	 */
+	public void remove(Sprite<?> sprite) {
+		if (sprite == null) {
+			return;
+		}
+		Bucket bucket = buckets.get(sprite.getClass());
+		if (bucket != null && bucket.byObject.get(sprite.getObject()) == sprite) {
+			bucket.byObject.remove(sprite.getObject());
+			bucket.sprites.remove(sprite);
+			size--;
+		}
+	}
+
+	/**
+	 * The sprite of the given type for the given object, or null if there is
+	 * none.
+	 */
+	public <ObjectType, SpriteType extends Sprite<ObjectType>> SpriteType get(
+			Class<SpriteType> type, ObjectType object) {
+		if (object == null) {
+			return null;
+		}
+		Bucket bucket = buckets.get(type);
+		if (bucket != null) {
+			return type.cast(bucket.byObject.get(object));
+		}
+		// not a class of which sprites were added, e.g. an abstract sprite type
+		for (Map.Entry<Class<?>, Bucket> entry : buckets.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				Sprite<?> sprite = entry.getValue().byObject.get(object);
+				if (sprite != null) {
+					return type.cast(sprite);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The sprites of the given type, in the order they were added. For a class
+	 * of which sprites were added, this is a read-only view that isn't copied.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Sprite<?>> List<T> getSpritesOfType(Class<T> type) {
+		Bucket bucket = buckets.get(type);
+		if (bucket != null) {
+			return (List<T>) bucket.view;
+		}
+		List<T> result = new ArrayList<T>();
+		for (Map.Entry<Class<?>, Bucket> entry : buckets.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				result.addAll((List<T>) entry.getValue().view);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Read-only views of the sprites of every class, in the order the classes
+	 * were first added.
+	 */
+	public List<List<Sprite<?>>> getBuckets() {
+		return Collections.unmodifiableList(bucketViews);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		for (Bucket bucket : buckets.values()) {
+			bucket.sprites.clear();
+			bucket.byObject.clear();
+		}
+		size = 0;
+	}
+
+	private Bucket getBucket(Class<?> type) {
+		Bucket bucket = buckets.get(type);
+		if (bucket == null) {
+			bucket = new Bucket();
+			buckets.put(type, bucket);
+			bucketViews.add(bucket.view);
+		}
+		return bucket;
+	}
+
+	private static final class Bucket {
+		private final List<Sprite<?>> sprites = new ArrayList<Sprite<?>>();
+		private final List<Sprite<?>> view = Collections
+				.unmodifiableList(sprites);
+		private final Map<Object, Sprite<?>> byObject = new IdentityHashMap<Object, Sprite<?>>();
+	}
+}
@@ -0,0 +1,177 @@
+package worms.gui.game;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+
+import worms.model.IFacade;
+import worms.model.ModelException;
+import worms.model.Team;
+import worms.model.world.entity.Worm;
+
+/**
+ * What the painter draws around a worm, kept between frames: the name bar is
+ * rendered once into an image, until the worm is renamed or changes team, and
+ * the shapes of the action and hit points bars are only created again when
+ * the points change.
+ *
+ * Bar shapes are relative to the top left corner of the action points bar.
+ */
+class WormHud {
+
+	static final RoundRectangle2D ACTION_BAR_OUTLINE = new RoundRectangle2D.Double(
+			0, 0, PlayGameScreenPainter.ACTION_BAR_WIDTH,
+			PlayGameScreenPainter.ACTION_BAR_HEIGHT, 5, 5);
+
+	static final RoundRectangle2D HIT_POINTS_BAR_OUTLINE = new RoundRectangle2D.Double(
+			0, PlayGameScreenPainter.ACTION_BAR_HEIGHT,
+			PlayGameScreenPainter.ACTION_BAR_WIDTH,
+			PlayGameScreenPainter.ACTION_BAR_HEIGHT, 5, 5);
+
+	// space around the name bar in the label image, for antialiased edges
+	private static final int LABEL_PADDING = 1;
+
+	private String name;
+	// team names don't change, so the facade is only asked again for another team
+	private Team team;
+	private String teamName;
+	private String label;
+
+	private BufferedImage labelImage;
+	private Font labelFont;
+	private double labelWidth;
+	private double labelHeight;
+
+	private int actionPoints = -1;
+	private int maxActionPoints = -1;
+	private RoundRectangle2D actionBarFill;
+
+	private int hitPoints = -1;
+	private int maxHitPoints = -1;
+	private RoundRectangle2D hitPointsBarFill;
+
+	/**
+	 * Get the name of the worm from the facade, and the name of its team when
+	 * the worm joined another team. The label image is dropped if either
+	 * changed.
+	 */
+	void updateLabel(IFacade facade, Worm worm) {
+		String newName = facade.getName(worm);
+		if (newName == null) {
+			newName = "(null)";
+		}
+		Team newTeam = worm.getTeam();
+		String newTeamName = teamName;
+		if (label == null || newTeam != team) {
+			newTeamName = null;
+			try {
+				newTeamName = facade.getTeamName(worm);
+			} catch (ModelException e) {
+				// no team name, asked again when the worm joins a team
+			}
+			this.team = newTeam;
+		}
+
+		if (label != null && newName.equals(name)
+				&& (newTeamName == null ? teamName == null : newTeamName
+						.equals(teamName))) {
+			return;
+		}
+		this.name = newName;
+		this.teamName = newTeamName;
+		this.label = (newTeamName == null) ? newName : newName + " ("
+				+ newTeamName + ")";
+		this.labelImage = null;
+	}
+
+	/**
+	 * The name of the worm, followed by the name of its team if it has one
+	 */
+	String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Draw the name bar with its text on the given baseline, centered around
+	 * the given x coordinate.
+	 */
+	void drawLabel(Graphics2D g, double centerX, double baseline) {
+		if (labelImage == null || !g.getFont().equals(labelFont)) {
+			renderLabel(g);
+		}
+		double left = centerX - labelWidth / 2
+				- PlayGameScreenPainter.TEXT_BAR_H_MARGIN - LABEL_PADDING;
+		double top = baseline - labelHeight
+				- PlayGameScreenPainter.TEXT_BAR_V_MARGIN - LABEL_PADDING;
+		g.drawImage(labelImage, (int) Math.round(left),
+				(int) Math.round(top), null);
+	}
+
+	private void renderLabel(Graphics2D g) {
+		FontMetrics metrics = g.getFontMetrics();
+		Rectangle2D bounds = metrics.getStringBounds(label, g);
+		labelFont = g.getFont();
+		labelWidth = bounds.getWidth();
+		labelHeight = bounds.getHeight();
+
+		double hMargin = PlayGameScreenPainter.TEXT_BAR_H_MARGIN;
+		double vMargin = PlayGameScreenPainter.TEXT_BAR_V_MARGIN;
+		int width = (int) Math.ceil(labelWidth + 2 * hMargin) + 2
+				* LABEL_PADDING;
+		int height = (int) Math.ceil(labelHeight + vMargin
+				+ Math.max(vMargin, metrics.getDescent()))
+				+ 2 * LABEL_PADDING;
+
+		BufferedImage image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setRenderingHints(g.getRenderingHints());
+		imageGraphics.setFont(labelFont);
+		imageGraphics.setColor(PlayGameScreenPainter.NAME_BAR_BACKGROUND);
+		imageGraphics.fill(new RoundRectangle2D.Double(LABEL_PADDING,
+				LABEL_PADDING, labelWidth + 2 * hMargin, labelHeight + 2
+						* vMargin, 5, 5));
+		imageGraphics.setColor(PlayGameScreenPainter.NAME_BAR_TEXT);
+		imageGraphics.drawString(label, (float) (LABEL_PADDING + hMargin),
+				(float) (LABEL_PADDING + labelHeight + vMargin));
+		imageGraphics.dispose();
+		this.labelImage = image;
+	}
+
+	/**
+	 * The filled part of the action points bar
+	 */
+	RoundRectangle2D getActionBarFill(int actionPoints, int maxActionPoints) {
+		if (actionBarFill == null || actionPoints != this.actionPoints
+				|| maxActionPoints != this.maxActionPoints) {
+			this.actionPoints = actionPoints;
+			this.maxActionPoints = maxActionPoints;
+			this.actionBarFill = new RoundRectangle2D.Double(0, 0,
+					(double) actionPoints
+							* PlayGameScreenPainter.ACTION_BAR_WIDTH
+							/ maxActionPoints,
+					PlayGameScreenPainter.ACTION_BAR_HEIGHT, 5, 5);
+		}
+		return actionBarFill;
+	}
+
+	/**
+	 * The filled part of the hit points bar
+	 */
+	RoundRectangle2D getHitPointsBarFill(int hitPoints, int maxHitPoints) {
+		if (hitPointsBarFill == null || hitPoints != this.hitPoints
+				|| maxHitPoints != this.maxHitPoints) {
+			this.hitPoints = hitPoints;
+			this.maxHitPoints = maxHitPoints;
+			this.hitPointsBarFill = new RoundRectangle2D.Double(0,
+					PlayGameScreenPainter.ACTION_BAR_HEIGHT,
+					(double) hitPoints * PlayGameScreenPainter.ACTION_BAR_WIDTH
+							/ maxHitPoints,
+					PlayGameScreenPainter.ACTION_BAR_HEIGHT, 5, 5);
+		}
+		return hitPointsBarFill;
+	}
+}
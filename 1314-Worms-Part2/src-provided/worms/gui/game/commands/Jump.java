@@ -7,13 +7,15 @@ import worms.gui.game.sprites.WormSprite;
 import worms.gui.messages.MessageType;
 import worms.model.IFacade;
 import worms.model.ModelException;
+import worms.model.world.entity.Trajectory;
 import worms.model.world.entity.Worm;
+import worms.util.Position;
 
 public class Jump extends Command {
 	private boolean finished = false;
 	private boolean hasJumped;
 	private final Worm worm;
-	private double jumpDuration;
+	private Trajectory trajectory;
 
 	public Jump(IFacade facade, Worm worm, PlayGameScreen screen) {
 		super(facade, screen);
@@ -36,7 +38,7 @@ public class Jump extends Command {
 	@Override
 	protected void doStartExecution() {
 		try {
-			this.jumpDuration = getFacade().getJumpTime(worm,
+			this.trajectory = getFacade().getJumpTrajectory(worm,
 					GUIConstants.JUMP_TIME_STEP);
 		} catch (ModelException e) {
 			cancelExecution();
@@ -53,7 +55,7 @@ public class Jump extends Command {
 	protected void doUpdate(double dt) {
 		WormSprite sprite = getScreen().getWormSprite(getWorm());
 		try {
-			if (getElapsedTime() >= jumpDuration) {
+			if (getElapsedTime() >= trajectory.getLandingTime()) {
 				if (!hasJumped) {
 					hasJumped = true;
 					getFacade().jump(getWorm(), GUIConstants.JUMP_TIME_STEP);
@@ -66,10 +68,9 @@ public class Jump extends Command {
 					finished = true;
 				}
 			} else {
-				double[] xy = getFacade().getJumpStep(getWorm(),
-						getElapsedTime());
-				sprite.setCenterLocation(getScreen().getScreenX(xy[0]),
-						getScreen().getScreenY(xy[1]));
+				Position position = trajectory.getPosition(getElapsedTime());
+				sprite.setCenterLocation(getScreen().getScreenX(position.getX()),
+						getScreen().getScreenY(position.getY()));
 			}
 		} catch (ModelException e) {
 			e.printStackTrace();
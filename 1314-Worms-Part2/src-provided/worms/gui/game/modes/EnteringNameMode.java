@@ -1,6 +1,7 @@
 package worms.gui.game.modes;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.event.KeyEvent;
 
 import worms.gui.InputMode;
@@ -59,4 +60,9 @@ public class EnteringNameMode extends InputMode<PlayGameScreen> {
 		getScreen().paintTextEntry(g, message, enteredName);
 	}
 
+	@Override
+	public Rectangle2D getOverlayBounds() {
+		return getScreen().getTextEntryBounds();
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package worms.gui.game.modes;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.event.KeyEvent;
 
 import worms.gui.InputMode;
@@ -8,6 +9,8 @@ import worms.gui.game.PlayGameScreen;
 
 public class SetupInputMode extends InputMode<PlayGameScreen> {
 
+	private static final String INSTRUCTIONS = "Press\n'T' to create a new team\n'W' to add a worm\n'F' to add food\n'S' to start the game";
+
 	public SetupInputMode(PlayGameScreen screen,
 			InputMode<PlayGameScreen> previous) {
 		super(screen, previous);
@@ -46,10 +49,12 @@ public class SetupInputMode extends InputMode<PlayGameScreen> {
 
 	@Override
 	public void paintOverlay(Graphics2D g) {
-		getScreen()
-				.showInstructions(
-						g,
-						"Press\n'T' to create a new team\n'W' to add a worm\n'F' to add food\n'S' to start the game");
+		getScreen().showInstructions(g, INSTRUCTIONS);
+	}
+
+	@Override
+	public Rectangle2D getOverlayBounds() {
+		return getScreen().getInstructionsBounds(INSTRUCTIONS);
 	}
 
 }
@@ -1,6 +1,7 @@
 package worms.gui.game.modes;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
@@ -17,6 +18,8 @@ public class ShootingMode extends InputMode<PlayGameScreen> {
 		super(playGameScreen, previous);
 	}
 
+	private static final String INSTRUCTIONS = "Shooting mode\nPress 'W' to toggle weapon\nPress 'S' to shoot\nPress 'ESC' to exit shooting mode";
+
 	private static final int MIN_PROPULSION = 0;
 	private static final int MAX_PROPULSION = 100;
 	private static final int PROPULSION_STEP = 5;
@@ -72,11 +75,22 @@ public class ShootingMode extends InputMode<PlayGameScreen> {
 
 	@Override
 	public void paintOverlay(Graphics2D g) {
-		getScreen().showInstructions(g, "Shooting mode\nPress 'W' to toggle weapon\nPress 'S' to shoot\nPress 'ESC' to exit shooting mode");
+		getScreen().showInstructions(g, INSTRUCTIONS);
 		getScreen().paintShootingInfoForSelectedWorm(
 				g,
 				(double) (propulsion - MIN_PROPULSION)
 						/ (MAX_PROPULSION - MIN_PROPULSION));
 	}
 
+	@Override
+	public Rectangle2D getOverlayBounds() {
+		Rectangle2D bounds = getScreen().getInstructionsBounds(INSTRUCTIONS);
+		Rectangle2D shootingInfo = getScreen()
+				.getShootingInfoBoundsForSelectedWorm();
+		if (shootingInfo != null) {
+			bounds.add(shootingInfo);
+		}
+		return bounds;
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package worms.gui.game.modes;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
@@ -112,4 +113,10 @@ public class TurningMode extends InputMode<PlayGameScreen> {
 		getScreen().drawTurnAngleIndicator(g,
 				getScreen().getSelectedWormSprite(), getCurrentAngle());
 	}
+
+	@Override
+	public Rectangle2D getOverlayBounds() {
+		return getScreen().getTurnAngleIndicatorBounds(
+				getScreen().getSelectedWormSprite());
+	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package worms.gui.messages;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.util.StringTokenizer;
 
 import worms.gui.AbstractPainter;
@@ -38,12 +39,10 @@ public class MessagePainter extends AbstractPainter<Screen> {
 		}
 
 		StringTokenizer tok = new StringTokenizer(message.getText(), "\n");
-		int nbLines = tok.countTokens();
+		Rectangle bounds = getMessageBounds(message);
+		int top = bounds.y;
 
-		int height = LINE_HEIGHT * (nbLines + 2);
-		int top = (getScreen().getScreenHeight() - height) / 2;
-
-		g.fillRect(0, top, getScreen().getScreenWidth(), height);
+		g.fill(bounds);
 		Font oldFont = g.getFont();
 		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 2 * LINE_HEIGHT / 3));
 		g.setColor(MESSAGE_TEXT_COLOR);
@@ -58,4 +57,15 @@ public class MessagePainter extends AbstractPainter<Screen> {
 
 		g.setFont(oldFont);
 	}
+
+	/**
+	 * The band across the screen in which the given message is painted
+	 */
+	public Rectangle getMessageBounds(Message message) {
+		int nbLines = new StringTokenizer(message.getText(), "\n")
+				.countTokens();
+		int height = LINE_HEIGHT * (nbLines + 2);
+		int top = (getScreen().getScreenHeight() - height) / 2;
+		return new Rectangle(0, top, getScreen().getScreenWidth(), height);
+	}
 }
@@ -6,7 +6,9 @@ import java.util.Random;
 import worms.model.world.World;
 import worms.model.world.entity.Food;
 import worms.model.world.entity.Projectile;
+import worms.model.world.entity.Trajectory;
 import worms.model.world.entity.Worm;
+import worms.model.world.terrain.TerrainGrid;
 
 /**
  * Implement this interface to connect your code to the user interface.
@@ -138,6 +140,24 @@ public interface IFacade {
 	public World createWorld(double width, double height,
 			boolean[][] passableMap, Random random);
 
+	/**
+	 * Creates a new world on an already decoded terrain.
+	 * The terrain is immutable, so it can be shared by all worlds created from the same level.
+	 * 
+	 * @param width The width of the world (in meter)
+	 * 
+	 * @param height The height of the world (in meter)
+	 * 
+	 * @param terrain The terrain of the world, e.g. as obtained from Level.getTerrain().
+	 * 
+	 * @param random A random number generator, seeded with the value obtained from the command line or from GUIOptions,
+	 *  that can be used to randomize aspects of the world in a repeatable way.
+	 * 
+	 * @return The world.
+	 */
+	public World createWorldOnTerrain(double width, double height,
+			TerrainGrid terrain, Random random);
+
 	/**
 	 * Create a new worm that is positioned at the given location in the given world,
 	 * looks in the given direction, has the given radius and the given name.
@@ -234,6 +254,20 @@ public interface IFacade {
 	 */
 	double getJumpTime(Worm worm, double timeStep);
 
+	/**
+	 * Returns the trajectory the given worm would jump along, with its landing time determined using the given elementary time interval.
+	 * The trajectory is remembered by the worm until it turns, moves, changes size or spends action points,
+	 * so it can be asked for every frame without simulating the jump again.
+	 * 
+	 * @param worm The worm for which to return the trajectory.
+	 * 
+	 * @param timeStep An elementary time interval during which you may assume
+	 *                 that the worm will not completely move through a piece of impassable terrain.
+	 * 
+	 * @return The trajectory of the worm's jump.
+	 */
+	Trajectory getJumpTrajectory(Worm worm, double timeStep);
+
 	/**
 	 * Returns the mass of the given worm.
 	 */
@@ -0,0 +1,187 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An immutable report on a batch of games played by a BatchRunner: the reports of the games 
+ * and the statistics over them, such as the wins per winner, the turns per game and the time per shot.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class BatchReport {
+
+	/**
+	 * Initialize a new report on the games with the given reports.
+	 * 
+	 * @param reports The reports of the games.
+	 * @param elapsedNanos The (wall clock) time the batch took, in nanoseconds.
+	 * 
+	 * @post	| new.getReports().equals(reports) && new.getElapsedNanos() == elapsedNanos
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When reports is a null reference or holds one, or when the elapsed time is negative.
+	 * 			| reports == null || reports.contains(null) || elapsedNanos < 0
+	 */
+	public BatchReport(List<SimulationReport> reports, long elapsedNanos) throws IllegalArgumentException {
+		if(reports == null || reports.contains(null))
+			throw new IllegalArgumentException("The reports must be effective.");
+		if(elapsedNanos < 0)
+			throw new IllegalArgumentException("The elapsed time can't be negative.");
+		this.reports = Collections.unmodifiableList(new ArrayList<SimulationReport>(reports));
+		this.elapsedNanos = elapsedNanos;
+
+		Map<String, Integer> wins = new TreeMap<String, Integer>();
+		SimulationReport total = new SimulationReport(0, 0, 0, 0, 0, 0, false, null);
+		int finished = 0;
+		for(SimulationReport report : reports) {
+			total = total.plus(report);
+			if(report.isGameFinished()) {
+				finished++;
+				String winner = (report.getWinner() == null) ? NO_WINNER : report.getWinner();
+				Integer count = wins.get(winner);
+				wins.put(winner, (count == null) ? 1 : count + 1);
+			}
+		}
+		this.wins = Collections.unmodifiableMap(wins);
+		this.total = total;
+		this.finishedGames = finished;
+	}
+
+	/**
+	 * Returns the reports of the games, in the order they were started.
+	 */
+	@Basic @Immutable
+	public List<SimulationReport> getReports() {
+		return reports;
+	}
+
+	private final List<SimulationReport> reports;
+
+	/**
+	 * Returns the (wall clock) time the batch took, in nanoseconds.
+	 */
+	@Basic @Immutable
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	private final long elapsedNanos;
+
+	/**
+	 * Returns the amount of games in the batch.
+	 * 
+	 * @return	| result == this.getReports().size()
+	 */
+	public int getGames() {
+		return reports.size();
+	}
+
+	/**
+	 * Returns the amount of games that finished within their maximum amount of turns.
+	 * 
+	 * @return	| result == size({ report in this.getReports() | report.isGameFinished() })
+	 */
+	public int getFinishedGames() {
+		return finishedGames;
+	}
+
+	private final int finishedGames;
+
+	/**
+	 * Returns the amount of finished games won, per winner. Finished games without a winner are listed under NO_WINNER.
+	 * 
+	 * @return	| for each winner in result.keySet():
+	 * 			|	result.get(winner) == size({ report in this.getReports() | report.isGameFinished() 
+	 * 			|		&& (report.getWinner() == null ? NO_WINNER : report.getWinner()).equals(winner) })
+	 */
+	public Map<String, Integer> getWins() {
+		return wins;
+	}
+
+	private final Map<String, Integer> wins;
+
+	/**
+	 * The name under which the finished games without a winner are counted.
+	 */
+	public static final String NO_WINNER = "(none)";
+
+	/**
+	 * Returns the fraction of all games won by the given winner.
+	 * 
+	 * @param winner The name of the winner.
+	 * 
+	 * @return	| if(this.getGames() == 0 || !this.getWins().containsKey(winner))
+	 * 			|	result == 0
+	 * 			| else
+	 * 			|	result == (double) this.getWins().get(winner) / this.getGames()
+	 */
+	public double getWinRate(String winner) {
+		Integer count = wins.get(winner);
+		if(count == null || reports.isEmpty())
+			return 0;
+		return (double) count / reports.size();
+	}
+
+	/**
+	 * Returns the sum of the reports of all games. Its elapsed time is the time the games took together,
+	 * which exceeds the time the batch took when the games were played in parallel.
+	 */
+	@Basic @Immutable
+	public SimulationReport getTotal() {
+		return total;
+	}
+
+	private final SimulationReport total;
+
+	/**
+	 * Returns the average amount of turns of a game.
+	 * 
+	 * @return	| if(this.getGames() == 0)
+	 * 			|	result == 0
+	 * 			| else
+	 * 			|	result == (double) this.getTotal().getTurns() / this.getGames()
+	 */
+	public double getAverageTurns() {
+		if(reports.isEmpty())
+			return 0;
+		return (double) total.getTurns() / reports.size();
+	}
+
+	/**
+	 * Returns the amount of games played per minute of wall clock time.
+	 * 
+	 * @return	| if(this.getElapsedNanos() == 0)
+	 * 			|	result == 0
+	 * 			| else
+	 * 			|	result == this.getGames() / (this.getElapsedNanos() / 6E10)
+	 */
+	public double getGamesPerMinute() {
+		if(elapsedNanos == 0)
+			return 0;
+		return reports.size() / (elapsedNanos / 6E10);
+	}
+
+	/**
+	 * Returns the statistics of this batch, a line per statistic and per winner.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append(String.format("%d games (%d finished) in %.1f ms: %.0f games/minute%n", reports.size(), finishedGames, 
+				elapsedNanos / 1E6, this.getGamesPerMinute()));
+		result.append(String.format("turns per game: %.1f, terrain probes per turn: %.1f, time per shot: %.1f us%n", 
+				this.getAverageTurns(), (total.getTurns() == 0) ? 0 : (double) total.getTerrainProbes() / total.getTurns(), 
+				total.getAverageShotNanos() / 1E3));
+		for(Map.Entry<String, Integer> entry : wins.entrySet())
+			result.append(String.format("  %-20s %5d wins (%.1f%%)%n", entry.getKey(), entry.getValue(), 100 * this.getWinRate(entry.getKey())));
+		return result.toString();
+	}
+
+}
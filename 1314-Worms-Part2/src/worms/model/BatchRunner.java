@@ -0,0 +1,216 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import worms.model.world.terrain.TerrainGrid;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * Plays a batch of independent games on the same terrain in parallel, each game with its own seed, 
+ * and collects their reports in a BatchReport.
+ * 
+ * Worlds and their entities aren't thread-safe, so every game is confined to the worker playing it: 
+ * its facade, SimulationEngine, world and entities are created by that worker and never leave it, 
+ * only its immutable SimulationReport is handed back. The games share nothing mutable:
+ * - the TerrainGrid is immutable, its distance field and pyramid are built once under a lock and immutable afterwards,
+ * - the Facade has no state and every game gets its own one anyway,
+ * - the random generator of every game is created from its seed by its engine,
+ * - the model has no static state other than constants,
+ * - the TurnScript is shared and must not have state either, like the RandomTurnScript.
+ * Since every game only depends on its seed, a batch gives the same reports whatever the amount of workers.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ * 
+ * @invar	The terrain and the script of this runner are effective.
+ * 			| this.getTerrain() != null && this.getScript() != null
+ */
+public class BatchRunner {
+
+	/**
+	 * Initialize a new runner for games on the given terrain.
+	 * 
+	 * @param width The width of the worlds.
+	 * @param height The height of the worlds.
+	 * @param terrain The terrain shared by all worlds.
+	 * @param script The script playing the turns of every game. It is used by all workers at once, so it must not have state.
+	 * @param teams The amount of teams in every game.
+	 * @param wormsPerTeam The amount of worms in every team.
+	 * @param food The amount of food rations in every game.
+	 * @param maxTurns The maximum amount of turns of a game.
+	 * 
+	 * @post	| new.getWidth() == width && new.getHeight() == height && new.getTerrain() == terrain && new.getScript() == script
+	 * 			| && new.getTeams() == teams && new.getWormsPerTeam() == wormsPerTeam && new.getFood() == food
+	 * 			| && new.getMaxTurns() == maxTurns
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the terrain or the script is a null reference, or when one of the amounts is negative.
+	 * 			| terrain == null || script == null || teams < 0 || wormsPerTeam < 0 || food < 0 || maxTurns < 0
+	 */
+	public BatchRunner(double width, double height, TerrainGrid terrain, TurnScript script, 
+			int teams, int wormsPerTeam, int food, int maxTurns) throws IllegalArgumentException {
+		if(terrain == null || script == null)
+			throw new IllegalArgumentException("The terrain and the script must be effective.");
+		if(teams < 0 || wormsPerTeam < 0 || food < 0 || maxTurns < 0)
+			throw new IllegalArgumentException("The amounts of a game can't be negative.");
+		this.width = width;
+		this.height = height;
+		this.terrain = terrain;
+		this.script = script;
+		this.teams = teams;
+		this.wormsPerTeam = wormsPerTeam;
+		this.food = food;
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Returns the width of the worlds of this runner.
+	 */
+	@Basic @Immutable
+	public double getWidth() {
+		return width;
+	}
+
+	private final double width;
+
+	/**
+	 * Returns the height of the worlds of this runner.
+	 */
+	@Basic @Immutable
+	public double getHeight() {
+		return height;
+	}
+
+	private final double height;
+
+	/**
+	 * Returns the terrain shared by the worlds of this runner.
+	 */
+	@Basic @Immutable
+	public TerrainGrid getTerrain() {
+		return terrain;
+	}
+
+	private final TerrainGrid terrain;
+
+	/**
+	 * Returns the script playing the turns of the games of this runner.
+	 */
+	@Basic @Immutable
+	public TurnScript getScript() {
+		return script;
+	}
+
+	private final TurnScript script;
+
+	/**
+	 * Returns the amount of teams in every game.
+	 */
+	@Basic @Immutable
+	public int getTeams() {
+		return teams;
+	}
+
+	private final int teams;
+
+	/**
+	 * Returns the amount of worms in every team.
+	 */
+	@Basic @Immutable
+	public int getWormsPerTeam() {
+		return wormsPerTeam;
+	}
+
+	private final int wormsPerTeam;
+
+	/**
+	 * Returns the amount of food rations in every game.
+	 */
+	@Basic @Immutable
+	public int getFood() {
+		return food;
+	}
+
+	private final int food;
+
+	/**
+	 * Returns the maximum amount of turns of a game.
+	 */
+	@Basic @Immutable
+	public int getMaxTurns() {
+		return maxTurns;
+	}
+
+	private final int maxTurns;
+
+	/**
+	 * Plays a single game with the given seed on the current thread.
+	 * 
+	 * @param seed The seed of the game.
+	 * 
+	 * @return	The report of the game, played on a new engine with the given seed.
+	 * 			| engine = new SimulationEngine(new Facade(), this.getWidth(), this.getHeight(), this.getTerrain(), seed)
+	 * 			| engine.setUp(this.getTeams(), this.getWormsPerTeam(), this.getFood())
+	 * 			| result == engine.run(this.getScript(), this.getMaxTurns())
+	 */
+	public SimulationReport play(long seed) {
+		SimulationEngine engine = new SimulationEngine(new Facade(), width, height, terrain, seed);
+		engine.setUp(teams, wormsPerTeam, food);
+		return engine.run(script, maxTurns);
+	}
+
+	/**
+	 * Plays the given amount of games with consecutive seeds on the given amount of workers.
+	 * 
+	 * @param firstSeed The seed of the first game.
+	 * @param games The amount of games to play.
+	 * @param workers The amount of threads playing games at once.
+	 * 
+	 * @return	The report of the batch, holding the reports of the games in the order of their seeds.
+	 * 			| for each game in 0..games-1:
+	 * 			|	result.getReports().get(game) equals this.play(firstSeed + game)
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the amount of games is negative or the amount of workers isn't positive.
+	 * 			| games < 0 || workers <= 0
+	 * @throws IllegalStateException
+	 * 			When a game fails or the batch is interrupted.
+	 */
+	public BatchReport run(long firstSeed, int games, int workers) throws IllegalArgumentException, IllegalStateException {
+		if(games < 0 || workers <= 0)
+			throw new IllegalArgumentException("The amount of games can't be negative and there must be a worker.");
+
+		List<Callable<SimulationReport>> tasks = new ArrayList<Callable<SimulationReport>>(games);
+		for(int game = 0; game < games; game++) {
+			final long seed = firstSeed + game;
+			tasks.add(new Callable<SimulationReport>() {
+				@Override
+				public SimulationReport call() {
+					return play(seed);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		List<SimulationReport> reports = new ArrayList<SimulationReport>(games);
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			for(Future<SimulationReport> result : pool.invokeAll(tasks))
+				reports.add(result.get());
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The batch was interrupted.", ex);
+		} catch(ExecutionException ex) {
+			throw new IllegalStateException("A game of the batch failed.", ex.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return new BatchReport(reports, System.nanoTime() - start);
+	}
+
+}
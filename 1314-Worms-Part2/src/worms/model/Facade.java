@@ -7,6 +7,7 @@ import java.util.Random;
 import worms.model.equipment.weapons.Weapon;
 import worms.model.world.World;
 import worms.model.world.entity.*;
+import worms.model.world.terrain.TerrainGrid;
 import worms.util.Position;
 
 /**
@@ -189,6 +190,12 @@ public class Facade implements IFacade {
 		return new World(width, height, passableMap, random);
 	}
 
+	@Override
+	public World createWorldOnTerrain(double width, double height,
+			TerrainGrid terrain, Random random) {
+		return new World(width, height, terrain, random);
+	}
+
 	@Override
 	public Worm createWorm(World world, double x, double y, double direction,
 			double radius, String name) {
@@ -236,6 +243,15 @@ public class Facade implements IFacade {
 		return worm.jumpTime(timeStep);
 	}
 
+	@Override
+	public Trajectory getJumpTrajectory(Worm worm, double timeStep) {
+		try {
+			return worm.getTrajectory(timeStep);
+		} catch(IllegalArgumentException exc) {
+			throw new ModelException(exc.getMessage());
+		}
+	}
+
 	@Override
 	public int getMaxHitPoints(Worm worm) {
 		return worm.getMaximumHitPoints();
@@ -0,0 +1,68 @@
+package worms.model;
+
+import java.util.Random;
+
+import worms.model.world.entity.Worm;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A script playing random turns: the worm turns over a random angle, moves a few steps and then jumps or,
+ * every other turn, shoots with a random propulsion yield. The random generator of the engine is used,
+ * so a game only depends on the seed of the engine.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ * 
+ * @invar	The amount of moves per turn is never negative.
+ * 			| this.getMovesPerTurn() >= 0
+ */
+public class RandomTurnScript implements TurnScript {
+
+	/**
+	 * Initialize a new random script with the given amount of moves per turn.
+	 * 
+	 * @param movesPerTurn The maximum amount of moves per turn.
+	 * 
+	 * @post	| new.getMovesPerTurn() == movesPerTurn
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the amount of moves is negative.
+	 * 			| movesPerTurn < 0
+	 */
+	public RandomTurnScript(int movesPerTurn) throws IllegalArgumentException {
+		if(movesPerTurn < 0)
+			throw new IllegalArgumentException("The amount of moves per turn can't be negative.");
+		this.movesPerTurn = movesPerTurn;
+	}
+
+	/**
+	 * Returns the maximum amount of moves per turn of this script.
+	 */
+	@Basic @Immutable
+	public int getMovesPerTurn() {
+		return movesPerTurn;
+	}
+
+	private final int movesPerTurn;
+
+	/**
+	 * Turns over a random angle between -pi/2 and pi/2, moves up to getMovesPerTurn() times 
+	 * and jumps or shoots, while the turn of the worm lasts.
+	 */
+	@Override
+	public void playTurn(SimulationEngine engine, Worm worm) {
+		Random random = engine.getRandom();
+		engine.turn((random.nextDouble() - 0.5) * Math.PI);
+		for(int move = 0; move < movesPerTurn && engine.getCurrentWorm() == worm; move++) {
+			if(!engine.move())
+				break;
+		}
+		if(engine.getCurrentWorm() != worm)
+			return;
+		if(engine.getTurnCount() % 2 == 0)
+			engine.jump();
+		else
+			engine.shoot(random.nextInt(101));
+	}
+
+}
@@ -0,0 +1,367 @@
+package worms.model;
+
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.model.world.World;
+import worms.model.world.entity.Projectile;
+import worms.model.world.entity.Worm;
+import worms.model.world.terrain.TerrainGrid;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * Plays a game of worms without a screen: the turns are played by a TurnScript which moves, turns, jumps, shoots
+ * and falls with the active worm through the actions of this engine. Every action is executed directly through the
+ * IFacade, the way the commands of the user interface do, but at once rather than animated over time.
+ *
+ * Running a game returns a SimulationReport with the amount of turns, actions and terrain probes and the time it took.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The facade and the world of this engine are effective.
+ * 			| this.getFacade() != null && this.getWorld() != null
+ */
+public class SimulationEngine {
+
+	/**
+	 * Initialize a new engine with a new world on the given terrain.
+	 *
+	 * @param facade The facade through which this engine plays.
+	 * @param width The width of the world.
+	 * @param height The height of the world.
+	 * @param terrain The terrain of the world.
+	 * @param seed The seed of the random generator of the world and of the scripts playing on this engine.
+	 *
+	 * @post	The facade of the new engine is the given facade.
+	 * 			| new.getFacade() == facade
+	 * @effect	The world of the new engine is created by the facade on the given terrain, using the random generator of the new engine.
+	 * 			| new.getWorld() == facade.createWorldOnTerrain(width, height, terrain, new.getRandom())
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When facade is a null reference.
+	 * 			| facade == null
+	 * @throws ModelException
+	 * 			When the facade can't create the world.
+	 */
+	public SimulationEngine(IFacade facade, double width, double height, TerrainGrid terrain, long seed)
+			throws IllegalArgumentException, ModelException {
+		if(facade == null)
+			throw new IllegalArgumentException("The facade must be effective.");
+		this.facade = facade;
+		this.random = new Random(seed);
+		this.world = facade.createWorldOnTerrain(width, height, terrain, random);
+	}
+
+	/**
+	 * Returns the facade through which this engine plays.
+	 */
+	@Basic @Immutable
+	public IFacade getFacade() {
+		return facade;
+	}
+
+	private final IFacade facade;
+
+	/**
+	 * Returns the world this engine plays on.
+	 */
+	@Basic @Immutable
+	public World getWorld() {
+		return world;
+	}
+
+	private final World world;
+
+	/**
+	 * Returns the random generator of the world of this engine, to be used by the scripts playing on it
+	 * so a game only depends on the seed of this engine.
+	 */
+	@Basic @Immutable
+	public Random getRandom() {
+		return random;
+	}
+
+	private final Random random;
+
+	/**
+	 * Adds the given amount of teams, each with the given amount of worms, and the given amount of food to the world
+	 * of this engine and starts the game.
+	 *
+	 * @param teams The amount of teams.
+	 * @param wormsPerTeam The amount of worms added to every team.
+	 * @param food The amount of food rations.
+	 *
+	 * @effect	The teams are named TeamA, TeamB, ... and get their worms right after they are added.
+	 * 			Adding a worm is retried up to PLACEMENT_ATTEMPTS times while the facade doesn't find a place for it.
+	 * 			| for each team in 0..teams-1:
+	 * 			|	this.getFacade().addEmptyTeam(this.getWorld(), "Team" + (char) ('A' + team))
+	 * 			|	for each worm in 0..wormsPerTeam-1: this.getFacade().addNewWorm(this.getWorld())
+	 * @effect	The food is added next, retried the same way.
+	 * 			| for each ration in 0..food-1: this.getFacade().addNewFood(this.getWorld())
+	 * @effect	The game is started.
+	 * 			| this.getFacade().startGame(this.getWorld())
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the amount of teams is larger than the amount of teams a world allows.
+	 * 			| teams > Constants.MAX_TEAM_AMOUNT
+	 */
+	public void setUp(int teams, int wormsPerTeam, int food) throws IllegalArgumentException {
+		if(teams > Constants.MAX_TEAM_AMOUNT)
+			throw new IllegalArgumentException("A world can't hold more than " + Constants.MAX_TEAM_AMOUNT + " teams.");
+		for(int team = 0; team < teams; team++) {
+			facade.addEmptyTeam(world, "Team" + (char) ('A' + team));
+			for(int worm = 0; worm < wormsPerTeam; worm++) {
+				int worms = facade.getWorms(world).size();
+				for(int attempt = 0; attempt < PLACEMENT_ATTEMPTS && facade.getWorms(world).size() == worms; attempt++)
+					facade.addNewWorm(world);
+			}
+		}
+		for(int ration = 0; ration < food; ration++) {
+			int rations = facade.getFood(world).size();
+			for(int attempt = 0; attempt < PLACEMENT_ATTEMPTS && facade.getFood(world).size() == rations; attempt++)
+				facade.addNewFood(world);
+		}
+		facade.startGame(world);
+	}
+
+	/**
+	 * The amount of times the facade is asked to add a worm or food before giving up, 
+	 * as it doesn't add one when it doesn't find a passable position at once.
+	 */
+	private static final int PLACEMENT_ATTEMPTS = 100;
+
+	/**
+	 * Returns the worm whose turn it is, or null if there is none.
+	 *
+	 * @return	| result == this.getFacade().getCurrentWorm(this.getWorld())
+	 */
+	public Worm getCurrentWorm() {
+		return facade.getCurrentWorm(world);
+	}
+
+	/**
+	 * Returns whether the game on the world of this engine is finished.
+	 *
+	 * @return	| result == this.getFacade().isGameFinished(this.getWorld())
+	 */
+	public boolean isGameFinished() {
+		return facade.isGameFinished(world);
+	}
+
+	/**
+	 * Turns the current worm over the given angle, if it can.
+	 *
+	 * @param angle The angle to turn over.
+	 *
+	 * @return	Whether the worm turned.
+	 * @effect	| if(this.getCurrentWorm() != null && this.getFacade().canTurn(this.getCurrentWorm(), angle))
+	 * 			|	this.getFacade().turn(this.getCurrentWorm(), angle)
+	 */
+	public boolean turn(double angle) {
+		Worm worm = this.getCurrentWorm();
+		if(worm == null || !facade.canTurn(worm, angle))
+			return false;
+		actionCount++;
+		facade.turn(worm, angle);
+		return true;
+	}
+
+	/**
+	 * Moves the current worm a step in the direction it faces, if it can, and lets it fall afterwards, like the Move command does.
+	 *
+	 * @return	Whether the worm moved.
+	 * @effect	| if(this.getCurrentWorm() != null && this.getFacade().canMove(this.getCurrentWorm()))
+	 * 			|	this.getFacade().move(this.getCurrentWorm())
+	 * 			|	this.fall()
+	 */
+	public boolean move() {
+		Worm worm = this.getCurrentWorm();
+		if(worm == null || !facade.canMove(worm))
+			return false;
+		actionCount++;
+		facade.move(worm);
+		this.fall(worm);
+		return true;
+	}
+
+	/**
+	 * Lets the current worm jump, if it can.
+	 *
+	 * @return	Whether the worm jumped.
+	 * @effect	| if(this.getCurrentWorm() != null && this.getFacade().getActionPoints(this.getCurrentWorm()) > 0)
+	 * 			|	this.getFacade().jump(this.getCurrentWorm(), GUIConstants.JUMP_TIME_STEP)
+	 */
+	public boolean jump() {
+		Worm worm = this.getCurrentWorm();
+		if(worm == null || facade.getActionPoints(worm) <= 0)
+			return false;
+		try {
+			facade.jump(worm, GUIConstants.JUMP_TIME_STEP);
+			actionCount++;
+			return true;
+		} catch(ModelException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Lets the current worm shoot with its selected weapon and the given propulsion yield, if it can,
+	 * and finishes the flight of the projectile like the Shoot command does.
+	 *
+	 * @param yield The propulsion yield to shoot with.
+	 *
+	 * @return	Whether the worm shot.
+	 * @effect	| if(this.getCurrentWorm() != null)
+	 * 			|	this.getFacade().shoot(this.getCurrentWorm(), yield)
+	 * 			|	if(this.getFacade().getActiveProjectile(this.getWorld()) != null)
+	 * 			|		this.getFacade().jump(this.getFacade().getActiveProjectile(this.getWorld()), GUIConstants.JUMP_TIME_STEP)
+	 */
+	public boolean shoot(int yield) {
+		Worm worm = this.getCurrentWorm();
+		if(worm == null)
+			return false;
+		long start = System.nanoTime();
+		try {
+			facade.shoot(worm, yield);
+			actionCount++;
+			Projectile projectile = facade.getActiveProjectile(world);
+			if(projectile != null)
+				facade.jump(projectile, GUIConstants.JUMP_TIME_STEP);
+			shotCount++;
+			shotNanos += System.nanoTime() - start;
+			return true;
+		} catch(ModelException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the amount of shots this engine has executed.
+	 */
+	@Basic
+	public long getShotCount() {
+		return shotCount;
+	}
+
+	private long shotCount;
+
+	/**
+	 * Returns the time (in nanoseconds) this engine spent resolving its shots, the flight of the projectiles included.
+	 */
+	@Basic
+	public long getShotNanos() {
+		return shotNanos;
+	}
+
+	private long shotNanos;
+
+	/**
+	 * Lets the current worm fall, if it can.
+	 *
+	 * @return	Whether the worm fell.
+	 * @effect	| if(this.getCurrentWorm() != null && this.getFacade().canFall(this.getCurrentWorm()))
+	 * 			|	this.getFacade().fall(this.getCurrentWorm())
+	 */
+	public boolean fall() {
+		Worm worm = this.getCurrentWorm();
+		if(worm == null || !this.fall(worm))
+			return false;
+		actionCount++;
+		return true;
+	}
+
+	/**
+	 * Lets the given worm fall, if it is still alive and can fall.
+	 */
+	@Model
+	private boolean fall(Worm worm) {
+		if(!facade.isAlive(worm) || !facade.canFall(worm))
+			return false;
+		facade.fall(worm);
+		return true;
+	}
+
+	/**
+	 * Returns the amount of actions (turns, moves, jumps, shots and falls) this engine has executed.
+	 */
+	@Basic
+	public long getActionCount() {
+		return actionCount;
+	}
+
+	private long actionCount;
+
+	/**
+	 * Plays the turn of the current worm with the given script, and starts the next turn if the turn of that worm
+	 * didn't end by itself.
+	 *
+	 * @param script The script to play the turn.
+	 *
+	 * @return	False if the game was already finished or has no current worm.
+	 * 			| if(this.isGameFinished() || this.getCurrentWorm() == null)
+	 * 			|	result == false
+	 * @effect	Else the script plays the turn of the current worm, and the next turn is started if that worm is still current.
+	 * 			| else
+	 * 			|	script.playTurn(this, this.getCurrentWorm())
+	 * 			|	if(!this.isGameFinished() && this.getCurrentWorm() == worm)
+	 * 			|		this.getFacade().startNextTurn(this.getWorld())
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When script is a null reference.
+	 * 			| script == null
+	 */
+	public boolean playTurn(TurnScript script) throws IllegalArgumentException {
+		if(script == null)
+			throw new IllegalArgumentException("The script must be effective.");
+		Worm worm = this.getCurrentWorm();
+		if(this.isGameFinished() || worm == null)
+			return false;
+		script.playTurn(this, worm);
+		if(!this.isGameFinished() && this.getCurrentWorm() == worm)
+			facade.startNextTurn(world);
+		turnCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the amount of turns this engine has played.
+	 */
+	@Basic
+	public long getTurnCount() {
+		return turnCount;
+	}
+
+	private long turnCount;
+
+	/**
+	 * Plays turns with the given script until the game is finished or the given amount of turns is played,
+	 * and reports on the turns played by this call.
+	 *
+	 * @param script The script to play the turns.
+	 * @param maxTurns The maximum amount of turns to play.
+	 *
+	 * @effect	| while(turns < maxTurns && this.playTurn(script)) turns++
+	 * @return	A report on the turns, actions, terrain probes and shots of the played turns, the time they took,
+	 * 			and the winner if the game is finished.
+	 * 			| result.getTurns() == turns
+	 * 			| result.isGameFinished() == this.isGameFinished()
+	 */
+	public SimulationReport run(TurnScript script, int maxTurns) {
+		long turns = turnCount;
+		long actions = actionCount;
+		long shots = shotCount;
+		long shotTime = shotNanos;
+		long probes = world.getTerrainProbeCount();
+		long start = System.nanoTime();
+		for(int turn = 0; turn < maxTurns; turn++) {
+			if(!this.playTurn(script))
+				break;
+		}
+		long elapsed = System.nanoTime() - start;
+		boolean finished = this.isGameFinished();
+		return new SimulationReport(turnCount - turns, actionCount - actions, world.getTerrainProbeCount() - probes,
+				shotCount - shots, shotNanos - shotTime, elapsed, finished, finished ? facade.getWinner(world) : null);
+	}
+
+}
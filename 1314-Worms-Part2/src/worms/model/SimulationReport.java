@@ -0,0 +1,209 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An immutable report on a run of a SimulationEngine: the amount of turns, actions, terrain probes and shots played,
+ * the time they took and, if the game finished, its winner.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ * 
+ * @invar	The amounts and the times are never negative.
+ * 			| this.getTurns() >= 0 && this.getActions() >= 0 && this.getTerrainProbes() >= 0 
+ * 			|	&& this.getShots() >= 0 && this.getShotNanos() >= 0 && this.getElapsedNanos() >= 0
+ */
+public class SimulationReport {
+
+	/**
+	 * Initialize a new report.
+	 * 
+	 * @param turns The amount of turns played.
+	 * @param actions The amount of actions executed.
+	 * @param terrainProbes The amount of terrain queries answered by the world.
+	 * @param shots The amount of shots executed.
+	 * @param shotNanos The time spent resolving the shots, in nanoseconds.
+	 * @param elapsedNanos The time the run took, in nanoseconds.
+	 * @param gameFinished Whether the game was finished at the end of the run.
+	 * @param winner The name of the winner, or null if there is none.
+	 * 
+	 * @post	| new.getTurns() == turns && new.getActions() == actions && new.getTerrainProbes() == terrainProbes
+	 * 			| && new.getShots() == shots && new.getShotNanos() == shotNanos
+	 * 			| && new.getElapsedNanos() == elapsedNanos && new.isGameFinished() == gameFinished && new.getWinner() == winner
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When one of the amounts or times is negative.
+	 * 			| turns < 0 || actions < 0 || terrainProbes < 0 || shots < 0 || shotNanos < 0 || elapsedNanos < 0
+	 */
+	public SimulationReport(long turns, long actions, long terrainProbes, long shots, long shotNanos, long elapsedNanos, 
+			boolean gameFinished, String winner) throws IllegalArgumentException {
+		if(turns < 0 || actions < 0 || terrainProbes < 0 || shots < 0 || shotNanos < 0 || elapsedNanos < 0)
+			throw new IllegalArgumentException("The amounts and the times of a report can't be negative.");
+		this.turns = turns;
+		this.actions = actions;
+		this.terrainProbes = terrainProbes;
+		this.shots = shots;
+		this.shotNanos = shotNanos;
+		this.elapsedNanos = elapsedNanos;
+		this.gameFinished = gameFinished;
+		this.winner = winner;
+	}
+
+	/**
+	 * Returns the amount of turns played.
+	 */
+	@Basic @Immutable
+	public long getTurns() {
+		return turns;
+	}
+
+	private final long turns;
+
+	/**
+	 * Returns the amount of actions (turns, moves, jumps, shots and falls) executed.
+	 */
+	@Basic @Immutable
+	public long getActions() {
+		return actions;
+	}
+
+	private final long actions;
+
+	/**
+	 * Returns the amount of terrain queries the world answered.
+	 */
+	@Basic @Immutable
+	public long getTerrainProbes() {
+		return terrainProbes;
+	}
+
+	private final long terrainProbes;
+
+	/**
+	 * Returns the amount of shots executed.
+	 */
+	@Basic @Immutable
+	public long getShots() {
+		return shots;
+	}
+
+	private final long shots;
+
+	/**
+	 * Returns the time spent resolving the shots, the flight of the projectiles included, in nanoseconds.
+	 */
+	@Basic @Immutable
+	public long getShotNanos() {
+		return shotNanos;
+	}
+
+	private final long shotNanos;
+
+	/**
+	 * Returns the average time spent resolving a shot, in nanoseconds, or zero if there were no shots.
+	 * 
+	 * @return	| if(this.getShots() == 0)
+	 * 			|	result == 0
+	 * 			| else
+	 * 			|	result == (double) this.getShotNanos() / this.getShots()
+	 */
+	public double getAverageShotNanos() {
+		if(shots == 0)
+			return 0;
+		return (double) shotNanos / shots;
+	}
+
+	/**
+	 * Returns the time the run took, in nanoseconds.
+	 */
+	@Basic @Immutable
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	private final long elapsedNanos;
+
+	/**
+	 * Returns whether the game was finished at the end of the run.
+	 */
+	@Basic @Immutable
+	public boolean isGameFinished() {
+		return gameFinished;
+	}
+
+	private final boolean gameFinished;
+
+	/**
+	 * Returns the name of the winner, or null if there is none.
+	 */
+	@Basic @Immutable
+	public String getWinner() {
+		return winner;
+	}
+
+	private final String winner;
+
+	/**
+	 * Returns the amount of turns played per second.
+	 * 
+	 * @return	| result == this.getTurns() / (this.getElapsedNanos() / 1E9)
+	 */
+	public double getTurnsPerSecond() {
+		return perSecond(turns);
+	}
+
+	/**
+	 * Returns the amount of terrain queries answered per second.
+	 * 
+	 * @return	| result == this.getTerrainProbes() / (this.getElapsedNanos() / 1E9)
+	 */
+	public double getTerrainProbesPerSecond() {
+		return perSecond(terrainProbes);
+	}
+
+	/**
+	 * Returns the given amount divided by the elapsed time in seconds, or zero if no time elapsed.
+	 */
+	@Model
+	private double perSecond(long amount) {
+		if(elapsedNanos == 0)
+			return 0;
+		return amount / (elapsedNanos / 1E9);
+	}
+
+	/**
+	 * Returns a report combining this report with the given one, as if both runs were played one after the other.
+	 * 
+	 * @param other The report to add.
+	 * 
+	 * @return	The amounts and times are summed, the game is finished and the winner is known if it is for the given report.
+	 * 			| result.getTurns() == this.getTurns() + other.getTurns()
+	 * 			| result.getActions() == this.getActions() + other.getActions()
+	 * 			| result.getTerrainProbes() == this.getTerrainProbes() + other.getTerrainProbes()
+	 * 			| result.getShots() == this.getShots() + other.getShots()
+	 * 			| result.getShotNanos() == this.getShotNanos() + other.getShotNanos()
+	 * 			| result.getElapsedNanos() == this.getElapsedNanos() + other.getElapsedNanos()
+	 * 			| result.isGameFinished() == other.isGameFinished() && result.getWinner() == other.getWinner()
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When other is a null reference.
+	 * 			| other == null
+	 */
+	public SimulationReport plus(SimulationReport other) throws IllegalArgumentException {
+		if(other == null)
+			throw new IllegalArgumentException("The report to add must be effective.");
+		return new SimulationReport(turns + other.turns, actions + other.actions, terrainProbes + other.terrainProbes,
+				shots + other.shots, shotNanos + other.shotNanos, elapsedNanos + other.elapsedNanos, other.gameFinished, other.winner);
+	}
+
+	/**
+	 * Returns the throughput of this report on a single line.
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d turns, %d actions, %d terrain probes in %.1f ms: %.0f turns/s, %.0f terrain probes/s, "
+				+ "%.1f us per shot%s", turns, actions, terrainProbes, elapsedNanos / 1E6, this.getTurnsPerSecond(), 
+				this.getTerrainProbesPerSecond(), this.getAverageShotNanos() / 1E3, gameFinished ? ", winner: " + winner : "");
+	}
+
+}
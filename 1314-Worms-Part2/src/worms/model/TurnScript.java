@@ -0,0 +1,22 @@
+package worms.model;
+
+import worms.model.world.entity.Worm;
+
+/**
+ * A script playing the turn of a worm on a SimulationEngine, using the actions of that engine.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public interface TurnScript {
+
+	/**
+	 * Plays the turn of the given worm. The turn ends when the worm has no action points left, 
+	 * or else when this method returns.
+	 * 
+	 * @param engine The engine to play the turn on.
+	 * @param worm The worm whose turn it is.
+	 */
+	public void playTurn(SimulationEngine engine, Worm worm);
+
+}
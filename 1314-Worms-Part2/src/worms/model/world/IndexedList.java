@@ -0,0 +1,157 @@
+package worms.model.world;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A list of distinct elements that knows the index of each element, so looking up and removing an element take constant time.
+ *
+ * An element is removed by moving the last element into its place. Removing therefore changes the order of the elements:
+ * the order of this list is only the order of addition as long as nothing was removed.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	Every element is in this list at most once, and never as a null reference.
+ * 			| for each index i in 0..this.size()-1
+ * 			|	this.get(i) != null && this.indexOf(this.get(i)) == i
+ */
+public class IndexedList<T> extends AbstractList<T> {
+
+	/**
+	 * Initialize an empty indexed list.
+	 *
+	 * @post	The new list is empty.
+	 * 			| new.size() == 0
+	 */
+	public IndexedList() {
+		this.elements = new ArrayList<T>();
+		this.indices = new HashMap<T, Integer>();
+	}
+
+	/**
+	 * Returns the amount of elements in this list.
+	 */
+	@Override @Basic
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 *
+	 * @param index The index of the element.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 * 			When the index is negative or not less than the size of this list.
+	 * 			| index < 0 || index >= this.size()
+	 */
+	@Override
+	public T get(int index) throws IndexOutOfBoundsException {
+		return elements.get(index);
+	}
+
+	/**
+	 * Returns the index of the given element, or -1 if it isn't in this list.
+	 *
+	 * @param object The element to look for.
+	 */
+	@Override
+	public int indexOf(Object object) {
+		Integer index = indices.get(object);
+		return (index == null) ? -1 : index;
+	}
+
+	/**
+	 * Returns whether the given element is in this list.
+	 *
+	 * @param object The element to look for.
+	 */
+	@Override
+	public boolean contains(Object object) {
+		return indices.containsKey(object);
+	}
+
+	/**
+	 * Add an element at the end of this list.
+	 *
+	 * @param element The element to add.
+	 *
+	 * @post	The element is the last element of this list.
+	 * 			| new.get(this.size()) == element
+	 *
+	 * @return	Always true.
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the element is a null reference or already in this list.
+	 * 			| element == null || this.contains(element)
+	 */
+	@Override
+	public boolean add(T element) throws IllegalArgumentException {
+		if(element == null)
+			throw new IllegalArgumentException("Can't add a null reference to an indexed list.");
+		if(indices.containsKey(element))
+			throw new IllegalArgumentException("The element is already in this indexed list.");
+		indices.put(element, elements.size());
+		elements.add(element);
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Remove an element from this list by moving the last element into its place.
+	 *
+	 * @param object The element to remove.
+	 *
+	 * @post	The element isn't in this list anymore.
+	 * 			| !new.contains(object)
+	 * @post	If the element was in this list, the last element takes its index.
+	 * 			| if(this.contains(object))
+	 * 			|	new.get(this.indexOf(object)) == this.get(this.size() - 1) || this.indexOf(object) == this.size() - 1
+	 *
+	 * @return	Whether the element was in this list.
+	 * 			| result == this.contains(object)
+	 */
+	@Override
+	public boolean remove(Object object) {
+		Integer index = indices.remove(object);
+		if(index == null)
+			return false;
+		T last = elements.remove(elements.size() - 1);
+		if(index < elements.size()) {
+			elements.set(index, last);
+			indices.put(last, index);
+		}
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Remove all elements from this list.
+	 *
+	 * @post	This list is empty.
+	 * 			| new.size() == 0
+	 */
+	@Override
+	public void clear() {
+		elements.clear();
+		indices.clear();
+		modCount++;
+	}
+
+	/**
+	 * The elements of this list, in the order of this list.
+	 */
+	private final List<T> elements;
+
+	/**
+	 * The index of every element of this list.
+	 */
+	private final Map<T, Integer> indices;
+
+}
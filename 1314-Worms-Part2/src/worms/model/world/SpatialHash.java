@@ -0,0 +1,342 @@
+package worms.model.world;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import worms.model.world.entity.GameObject;
+import worms.util.Position;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A uniform spatial hash of GameObjects, used by a world to find the objects overlapping a circle without visiting
+ * every object in that world.
+ *
+ * Every object is stored in the square cell holding its position. The cells are at least twice as large as the largest
+ * radius stored so far, so a query only visits the cells within its own radius plus that largest radius of its centre.
+ * The cells are spread over a fixed amount of buckets: objects of different cells may share a bucket, which only costs
+ * a few extra comparisons.
+ *
+ * The hash doesn't observe its objects: whenever the position or the radius of an object changes the hash must be told
+ * by calling update(GameObject).
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The cell size of this hash is either 0 (no objects stored yet) or at least twice the largest radius stored.
+ * 			| this.getCellSize() == 0 || this.getCellSize() >= 2 * this.getMaximumRadius()
+ */
+public class SpatialHash<T extends GameObject> {
+
+	/**
+	 * Initialize an empty spatial hash.
+	 *
+	 * @post	The new hash is empty.
+	 * 			| new.size() == 0
+	 */
+	public SpatialHash() {
+		this.entries = new HashMap<T, Entry<T>>();
+		this.buckets = createBuckets(MINIMUM_BUCKETS);
+	}
+
+	/**
+	 * Returns the amount of objects stored in this hash.
+	 */
+	@Basic
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns whether the given object is stored in this hash.
+	 *
+	 * @param object The object to look for.
+	 */
+	public boolean contains(T object) {
+		return entries.containsKey(object);
+	}
+
+	/**
+	 * Returns the size of the square cells of this hash.
+	 */
+	@Basic
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Returns the largest radius of all objects ever stored in this hash.
+	 * This never shrinks, removing the largest object doesn't make the cells any smaller.
+	 */
+	@Basic
+	public double getMaximumRadius() {
+		return maximumRadius;
+	}
+
+	/**
+	 * Add an object to this hash.
+	 *
+	 * @param object The object to add.
+	 *
+	 * @post	The object is stored in this hash.
+	 * 			| new.contains(object)
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the object is a null reference or is already stored in this hash.
+	 * 			| object == null || this.contains(object)
+	 */
+	public void add(T object) throws IllegalArgumentException {
+		if(object == null)
+			throw new IllegalArgumentException("Can't add a null reference to a spatial hash.");
+		if(entries.containsKey(object))
+			throw new IllegalArgumentException("The object is already stored in this spatial hash.");
+
+		Entry<T> entry = new Entry<T>(object, nextOrder++);
+		entries.put(object, entry);
+		insert(entry);
+		if(!growCells(object.getRadius()) && entries.size() > buckets.length)
+			rehash(cellSize, buckets.length * 2);
+	}
+
+	/**
+	 * Remove an object from this hash.
+	 *
+	 * @param object The object to remove.
+	 *
+	 * @post	The object isn't stored in this hash anymore.
+	 * 			| !new.contains(object)
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the object isn't stored in this hash.
+	 * 			| !this.contains(object)
+	 */
+	public void remove(T object) throws IllegalArgumentException {
+		Entry<T> entry = entries.remove(object);
+		if(entry == null)
+			throw new IllegalArgumentException("The object isn't stored in this spatial hash.");
+		buckets[entry.bucket].remove(entry);
+	}
+
+	/**
+	 * Remove all objects from this hash. The cells keep their size.
+	 * Only the buckets holding an object are visited, so this takes time linear in the amount of objects.
+	 *
+	 * @post	This hash is empty.
+	 * 			| new.size() == 0
+	 */
+	public void clear() {
+		for(Entry<T> entry : entries.values())
+			buckets[entry.bucket].clear();
+		entries.clear();
+	}
+
+	/**
+	 * Move a stored object to the cell of its current position, and grow the cells if its radius became too big.
+	 * Objects which aren't stored in this hash are ignored.
+	 *
+	 * @param object The object whose position or radius changed.
+	 *
+	 * @post	If the object is stored in this hash, queries take its current position and radius into account.
+	 */
+	public void update(T object) {
+		Entry<T> entry = entries.get(object);
+		if(entry == null)
+			return;
+		if(growCells(object.getRadius()))
+			return;
+		int column = getCell(object.getPosition().getX());
+		int row = getCell(object.getPosition().getY());
+		if(column == entry.column && row == entry.row)
+			return;
+		buckets[entry.bucket].remove(entry);
+		insert(entry);
+	}
+
+	/**
+	 * Returns all objects of this hash whose distance to the given position is less than their radius plus the given radius,
+	 * in the order they were added to this hash.
+	 *
+	 * @param position The position to check.
+	 * @param radius The radius to check in.
+	 *
+	 * @return	| for each T object in result
+	 * 			|	object.getPosition().distance(position) < object.getRadius() + radius
+	 * 			| for each T object stored in this hash
+	 * 			|	if(object.getPosition().distance(position) < object.getRadius() + radius)
+	 * 			|		result.contains(object)
+	 */
+	public List<T> getOverlapping(Position position, double radius) {
+		return this.getOverlapping(position.getX(), position.getY(), radius);
+	}
+
+	/**
+	 * Returns the stored objects overlapping the circle with the given center coordinates and radius, in the order they were added.
+	 *
+	 * @param x The x-coordinate of the center of the circle.
+	 * @param y The y-coordinate of the center of the circle.
+	 * @param radius The radius to check in.
+	 *
+	 * @return	| for each T object in result
+	 * 			|	object.getPosition().distance(x, y) < object.getRadius() + radius
+	 * 			| for each T object stored in this hash
+	 * 			|	if(object.getPosition().distance(x, y) < object.getRadius() + radius)
+	 * 			|		result.contains(object)
+	 */
+	public List<T> getOverlapping(double x, double y, double radius) {
+		List<Entry<T>> found = new ArrayList<Entry<T>>();
+		double range = radius + maximumRadius;
+		int minColumn = getCell(x - range);
+		int maxColumn = getCell(x + range);
+		int minRow = getCell(y - range);
+		int maxRow = getCell(y + range);
+
+		if(((long) maxColumn - minColumn + 1) * ((long) maxRow - minRow + 1) >= buckets.length) {
+			//Visiting every cell would touch each bucket more than once.
+			for(Entry<T> entry : entries.values())
+				collect(entry, x, y, radius, found);
+		} else {
+			for(long column = minColumn; column <= maxColumn; column++) {
+				for(long row = minRow; row <= maxRow; row++) {
+					for(Entry<T> entry : buckets[getBucket((int) column, (int) row)]) {
+						//Skip the other cells sharing this bucket, they are visited separately.
+						if(entry.column == column && entry.row == row)
+							collect(entry, x, y, radius, found);
+					}
+				}
+			}
+		}
+
+		if(found.size() > 1)
+			Collections.sort(found, ADDITION_ORDER);
+		List<T> result = new ArrayList<T>(found.size());
+		for(Entry<T> entry : found)
+			result.add(entry.object);
+		return result;
+	}
+
+	/**
+	 * Add the entry to the found entries if its object overlaps the circle.
+	 */
+	private static <T extends GameObject> void collect(Entry<T> entry, double x, double y, double radius, List<Entry<T>> found) {
+		if(entry.object.getPosition().distance(x, y) < entry.object.getRadius() + radius)
+			found.add(entry);
+	}
+
+	/**
+	 * Register a radius of a stored object, rebuilding the hash with cells four times that radius when the current cells
+	 * are too small for it. Returns whether the hash was rebuilt.
+	 */
+	@Model
+	private boolean growCells(double radius) {
+		if(radius <= maximumRadius)
+			return false;
+		maximumRadius = radius;
+		if(2 * radius <= cellSize)
+			return false;
+		//Grow a little more than needed so a growing worm doesn't trigger a rebuild every time it eats.
+		rehash(4 * radius, buckets.length);
+		return true;
+	}
+
+	/**
+	 * Spread all entries over a new set of buckets using the given cell size.
+	 */
+	@Model
+	private void rehash(double cellSize, int bucketCount) {
+		this.cellSize = cellSize;
+		this.buckets = createBuckets(bucketCount);
+		for(Entry<T> entry : entries.values())
+			insert(entry);
+	}
+
+	/**
+	 * Put the entry in the bucket of the cell of its object's current position.
+	 */
+	@Model
+	private void insert(Entry<T> entry) {
+		entry.column = getCell(entry.object.getPosition().getX());
+		entry.row = getCell(entry.object.getPosition().getY());
+		entry.bucket = getBucket(entry.column, entry.row);
+		buckets[entry.bucket].add(entry);
+	}
+
+	/**
+	 * Returns the cell index of a coordinate. Coordinates too large for an int share the outermost cells.
+	 */
+	private int getCell(double coordinate) {
+		if(cellSize == 0)
+			return 0;
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	/**
+	 * Returns the bucket holding the given cell.
+	 */
+	private int getBucket(int column, int row) {
+		return ((column * 73856093) ^ (row * 19349663)) & (buckets.length - 1);
+	}
+
+	/**
+	 * Create the given amount of empty buckets, the amount being a power of 2.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <T extends GameObject> List<Entry<T>>[] createBuckets(int bucketCount) {
+		List<Entry<T>>[] result = new List[bucketCount];
+		for(int i = 0; i < bucketCount; i++)
+			result[i] = new ArrayList<Entry<T>>(2);
+		return result;
+	}
+
+	/**
+	 * The amount of buckets of an empty hash.
+	 */
+	private static final int MINIMUM_BUCKETS = 16;
+
+	private final Map<T, Entry<T>> entries;
+
+	private List<Entry<T>>[] buckets;
+
+	private double cellSize;
+
+	private double maximumRadius;
+
+	/**
+	 * The order given to the next object added, used to return the results of a query in the order of addition.
+	 */
+	private long nextOrder;
+
+	/**
+	 * Orders entries by the order their objects were added.
+	 */
+	private static final Comparator<Entry<?>> ADDITION_ORDER = new Comparator<Entry<?>>() {
+		@Override
+		public int compare(Entry<?> first, Entry<?> second) {
+			return Long.compare(first.order, second.order);
+		}
+	};
+
+	/**
+	 * An object stored in the hash along with the cell it's stored in.
+	 */
+	private static final class Entry<T> {
+
+		private Entry(T object, long order) {
+			this.object = object;
+			this.order = order;
+		}
+
+		private final T object;
+
+		private final long order;
+
+		private int column;
+
+		private int row;
+
+		private int bucket;
+	}
+
+}
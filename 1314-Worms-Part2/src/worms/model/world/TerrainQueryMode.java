@@ -0,0 +1,19 @@
+package worms.model.world;
+
+/**
+ * An enum to set how a world answers its terrain queries (isImpassable, isAdjacent):
+ * - SCAN scans the pixels of the terrain overlapping the queried circle.
+ * - DISTANCE_FIELD looks up the distance to the nearest impassable pixel in the distance field of the terrain
+ * 		and only scans when that distance doesn't settle the query. The field costs a float per pixel.
+ * - PYRAMID walks the pyramid of coarser versions of the terrain, skipping or settling whole blocks of pixels
+ * 		and only looking at single pixels near the edges of the terrain. The pyramid costs less than a bit per pixel.
+ * All modes give the same results. Worlds use PYRAMID unless they are set to another mode.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public enum TerrainQueryMode {
+	SCAN,
+	DISTANCE_FIELD,
+	PYRAMID
+}
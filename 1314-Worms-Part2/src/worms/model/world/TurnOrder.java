@@ -0,0 +1,268 @@
+package worms.model.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import worms.model.Team;
+import worms.model.world.entity.Worm;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * The order in which the living worms of a world get their turn, along with the amount of living worms per team.
+ *
+ * The living worms form a ring in the order they were added. Finding the worm after another one and removing a worm
+ * that died both take constant time, as does deciding whether only one worm or one team is left.
+ *
+ * The turn order doesn't observe its worms: whenever a worm dies or joins a team the turn order must be told
+ * by calling remove(Worm) or updateTeam(Worm).
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The amount of living worms is never negative.
+ * 			| this.size() >= 0
+ */
+public class TurnOrder {
+
+	/**
+	 * Initialize an empty turn order.
+	 *
+	 * @post	The new turn order holds no worms.
+	 * 			| new.size() == 0 && new.getFirst() == null
+	 */
+	public TurnOrder() {
+		this.nodes = new HashMap<Worm, Node>();
+		this.livingWormsPerTeam = new HashMap<Team, Integer>();
+	}
+
+	/**
+	 * Returns the amount of living worms in this turn order.
+	 */
+	@Basic
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the given worm is a living worm of this turn order.
+	 *
+	 * @param worm The worm to look for.
+	 */
+	public boolean contains(Worm worm) {
+		Node node = nodes.get(worm);
+		return node != null && !node.removed;
+	}
+
+	/**
+	 * Returns the living worm that was added first, or null if there are no living worms.
+	 */
+	public Worm getFirst() {
+		return (head == null) ? null : head.worm;
+	}
+
+	/**
+	 * Returns the living worm that gets its turn after the given worm.
+	 * The given worm may have died already, the turn then goes to the living worm that followed it when it died.
+	 *
+	 * @param worm The worm whose turn ends.
+	 *
+	 * @return	If the worm was never added to this turn order, the first living worm other than the given worm.
+	 * 			| if(worm was never added)
+	 * 			|	result == (this.getFirst() == worm) ? null : this.getFirst()
+	 * @return	Else the next living worm in the ring, or null if there is no living worm other than the given worm.
+	 */
+	public Worm getNext(Worm worm) {
+		Node node = nodes.get(worm);
+		if(node == null)
+			return (head == null || head.worm == worm) ? null : head.worm;
+		if(size == 0)
+			return null;
+
+		Node next = node.next;
+		//The next node of a dead worm is the node that followed it when it died, which may have died since.
+		while(next.removed) {
+			if(next.next == next)
+				return head.worm;
+			next = next.next;
+		}
+		return (next == node) ? null : next.worm;
+	}
+
+	/**
+	 * Returns whether there is at most one living worm, or all living worms are in the same team.
+	 *
+	 * @return	| result == (this.size() <= 1 ||
+	 * 			|	(every living worm has a team && all living worms have the same team))
+	 */
+	public boolean isDecided() {
+		return size <= 1 || (livingWormsWithoutTeam == 0 && livingWormsPerTeam.size() == 1);
+	}
+
+	/**
+	 * Add a living worm at the end of this turn order.
+	 *
+	 * @param worm The worm to add.
+	 *
+	 * @post	The worm is the last living worm of this turn order.
+	 * 			| new.contains(worm) && new.getNext(worm) == this.getFirst()
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the worm is a null reference or was added to this turn order before.
+	 * 			| worm == null || (worm was added before)
+	 */
+	public void add(Worm worm) throws IllegalArgumentException {
+		if(worm == null)
+			throw new IllegalArgumentException("Can't add a null reference to a turn order.");
+		if(nodes.containsKey(worm))
+			throw new IllegalArgumentException("The worm was already added to this turn order.");
+
+		Node node = new Node(worm);
+		nodes.put(worm, node);
+		if(head == null) {
+			node.next = node;
+			node.previous = node;
+			head = node;
+		} else {
+			node.next = head;
+			node.previous = head.previous;
+			head.previous.next = node;
+			head.previous = node;
+		}
+		size++;
+		count(node.team, 1);
+	}
+
+	/**
+	 * Remove a worm that died from this turn order. Worms which aren't living worms of this turn order are ignored.
+	 *
+	 * @param worm The worm that died.
+	 *
+	 * @post	The worm isn't a living worm of this turn order anymore.
+	 * 			| !new.contains(worm)
+	 */
+	public void remove(Worm worm) {
+		Node node = nodes.get(worm);
+		if(node == null || node.removed)
+			return;
+
+		node.removed = true;
+		size--;
+		count(node.team, -1);
+		if(size == 0) {
+			head = null;
+			return;
+		}
+		//Keep node.next, getNext(worm) follows it to find the worm after this one.
+		node.previous.next = node.next;
+		node.next.previous = node.previous;
+		if(head == node)
+			head = node.next;
+	}
+
+	/**
+	 * Returns the living worms in the order they get their turn, starting with the first.
+	 *
+	 * @return	| result.size() == this.size() && (this.size() == 0 || result.get(0) == this.getFirst())
+	 * 			| for each index i in 1..result.size()-1
+	 * 			|	result.get(i) == this.getNext(result.get(i - 1))
+	 */
+	public List<Worm> getWorms() {
+		List<Worm> worms = new ArrayList<Worm>(size);
+		if(head == null)
+			return worms;
+		Node node = head;
+		do {
+			worms.add(node.worm);
+			node = node.next;
+		} while(node != head);
+		return worms;
+	}
+
+	/**
+	 * Remove all worms from this turn order, including the ones that died, so they can be added again.
+	 *
+	 * @post	The turn order holds no worms.
+	 * 			| new.size() == 0 && new.getFirst() == null
+	 */
+	public void clear() {
+		nodes.clear();
+		livingWormsPerTeam.clear();
+		livingWormsWithoutTeam = 0;
+		size = 0;
+		head = null;
+	}
+
+	/**
+	 * Count a living worm for the team it's in now. Worms which aren't living worms of this turn order are ignored.
+	 *
+	 * @param worm The worm whose team changed.
+	 */
+	public void updateTeam(Worm worm) {
+		Node node = nodes.get(worm);
+		if(node == null || node.removed || node.team == worm.getTeam())
+			return;
+		count(node.team, -1);
+		node.team = worm.getTeam();
+		count(node.team, 1);
+	}
+
+	/**
+	 * Add the given difference to the amount of living worms of the team, or of the worms without a team.
+	 */
+	@Model
+	private void count(Team team, int difference) {
+		if(team == null) {
+			livingWormsWithoutTeam += difference;
+			return;
+		}
+		Integer amount = livingWormsPerTeam.get(team);
+		int newAmount = ((amount == null) ? 0 : amount) + difference;
+		if(newAmount == 0)
+			livingWormsPerTeam.remove(team);
+		else
+			livingWormsPerTeam.put(team, newAmount);
+	}
+
+	/**
+	 * The nodes of all worms ever added, including the ones that died.
+	 */
+	private final Map<Worm, Node> nodes;
+
+	/**
+	 * The amount of living worms per team, teams without living worms aren't listed.
+	 */
+	private final Map<Team, Integer> livingWormsPerTeam;
+
+	private int livingWormsWithoutTeam;
+
+	private int size;
+
+	/**
+	 * The node of the living worm that was added first.
+	 */
+	private Node head;
+
+	/**
+	 * A worm in the ring along with the team it is counted for.
+	 */
+	private static final class Node {
+
+		private Node(Worm worm) {
+			this.worm = worm;
+			this.team = worm.getTeam();
+		}
+
+		private final Worm worm;
+
+		private Team team;
+
+		private boolean removed;
+
+		private Node next;
+
+		private Node previous;
+	}
+
+}
@@ -2,11 +2,14 @@ package worms.model.world;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
 import worms.model.*;
 import worms.model.world.entity.*;
+import worms.model.world.terrain.TerrainContact;
+import worms.model.world.terrain.TerrainGrid;
 import worms.util.*;
 import be.kuleuven.cs.som.annotate.*;
 
@@ -37,44 +40,78 @@ public class World {
 	 * @param passableMap The Terrain of this world.
 	 * @param random The Random of this world to e.g create GameObjects on a random position.
 	 * 
+	 * @effect	Initialize this world with a TerrainGrid built from the passableMap.
+	 * 			| this(width, height, new TerrainGrid(passableMap), random)
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When passableMap is a null reference.
+	 * 			| passableMap == null
+	 * @throws IllegalArgumentException
+	 * 			When the 2 dimensional boolean array isn't 'rectangle shaped' aka when a row hasn't got the same length as another one.
+	 * 			| !isRectangleDimension(passableMap)
+	 */
+	@Raw
+	public World(double width, double height, boolean[][] passableMap,
+			Random random) throws IllegalArgumentException {
+		this(width, height, createTerrain(passableMap), random);
+	}
+	
+	/**
+	 * Initialize a world with a certain width & height, a certain terrain and a certain instance of Random.
+	 * The terrain is immutable and can therefore be shared with other worlds built from the same map.
+	 * 
+	 * @param width The width of this world.
+	 * @param height The height of this world.
+	 * @param terrain The Terrain of this world.
+	 * @param random The Random of this world to e.g create GameObjects on a random position.
+	 * 
 	 * @post	The width of this world is width.
 	 * 			| new.getWidth() == width
 	 * @post	The height of this world is height.
 	 * 			| new.getHeight() == height
+	 * @post	The terrain of this world is terrain.
+	 * 			| new.getTerrain() == terrain
 	 * @post	The Random of this world is random
 	 * 			| new.getRandom() == random
 	 * @post	The amount of GameObjects in this world is zero.
 	 * 			| new.getGameObjects().size() == 0
+	 * @post	This world answers its terrain queries with the pyramid of the terrain.
+	 * 			| new.getTerrainQueryMode() == TerrainQueryMode.PYRAMID
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			When the dimension isn't valid for a world.
 	 * 			| !isValidDimension(width, height)
 	 * @throws IllegalArgumentException
-	 * 			When random or passableMap is a null reference
-	 * 			| random == null || passableMap == null
-	 * @throws IllegalArgumentException
-	 * 			When the 2 dimensional boolean array isn't 'rectangle shaped' aka when a row hasn't got the same length as another one.
-	 * 			| !isRectangleDimension(passableMap)
+	 * 			When random or terrain is a null reference
+	 * 			| random == null || terrain == null
 	 */
 	@Raw
-	public World(double width, double height, boolean[][] passableMap,
+	public World(double width, double height, TerrainGrid terrain,
 			Random random) throws IllegalArgumentException {
 		if (!isValidDimension(width, height))
 			throw new IllegalArgumentException("The dimension provided isn't a valid dimension for a World");
 		if(random == null)
 			throw new IllegalArgumentException("The random parameter was a null reference, which isn't allowed.");
-		if(passableMap == null)
-			throw new IllegalArgumentException("The passableMap musn't be a null reference.");
-		if(!isRectangleDimension(passableMap))
-			throw new IllegalArgumentException("The passableMap must be a rectangle shaped dimension.");
+		if(terrain == null)
+			throw new IllegalArgumentException("The terrain musn't be a null reference.");
 		
 		this.width = width;
 		this.height = height;
-		//Cloned because we don't want anyone to modify our world while we're playing.
-		this.passableMap = getInvertedMap(Util.deepClone(passableMap));
+		//No need to clone, nobody can modify a TerrainGrid while we're playing.
+		this.terrain = terrain;
 		this.random = random;
-		gameObjList = new ArrayList<GameObject>();
+		gameObjList = new IndexedList<GameObject>();
 		teamList = new ArrayList<Team>();
+		wormList = new IndexedList<Worm>();
+		foodList = new IndexedList<Food>();
+		projectileList = new IndexedList<Projectile>();
+		deadObjects = new ArrayList<GameObject>();
+		wormView = Collections.unmodifiableCollection(wormList);
+		foodView = Collections.unmodifiableCollection(foodList);
+		projectileView = Collections.unmodifiableCollection(projectileList);
+		wormHash = new SpatialHash<Worm>();
+		foodHash = new SpatialHash<Food>();
+		turnOrder = new TurnOrder();
 	}
 	
 	/**
@@ -82,46 +119,29 @@ public class World {
 	 * 
 	 * @param matrix The 2-dimensional array to check.
 	 * 
-	 * @return False if the matrix provided is a null reference.
-	 * 			| if(matrix == null)
-	 * 			|	result == false
-	 * @return False if a length of a row isn't the same as another row.
-	 * 			| int width = matrix[0].length
-	 * 			| for row = 0 to (incl) matrix.length - 1 with step 1
-	 * 			|	if(width != matrix[row].length) 
-	 * 			|		result == false
+	 * @return | result == TerrainGrid.isRectangleDimension(matrix)
 	 */
 	public static boolean isRectangleDimension(boolean[][] matrix) {
-		if(matrix == null)
-			return false;
-		
-		int width = matrix[0].length;
-		for(int row = 0; row < matrix.length; row++) {
-			if(width != matrix[row].length)
-				return false;
-		}
-		return true;
+		return TerrainGrid.isRectangleDimension(matrix);
 	}
 
 	/**
-	 * Invert the passableMap. This was needed as the map provided has the (0,0) in the bottom left.
+	 * Create the terrain for a passableMap as provided by the IFacade.
+	 * 
+	 * @param passableMap The map to create a terrain for.
 	 * 
-	 * @param passableMap The 2-dimensional boolean array to invert.
+	 * @return | result == new TerrainGrid(passableMap)
 	 * 
-	 * @return	The same map but with every row switched to [passableMap.length-1-row]
-	 * 			| boolean[][] resultArr = new boolean[passableMap.length][];
-	 * 			| for each row (index rowIndex) in the passableMap
-	 * 			|	resultArr[rowIndex] = passableMap[passableMap.length-rowIndex-1]
-	 * 			| result = resultArr
+	 * @throws IllegalArgumentException
+	 * 			When the passableMap is a null reference or isn't rectangle shaped.
+	 * 			| passableMap == null || !isRectangleDimension(passableMap)
 	 */
-	private static boolean[][] getInvertedMap(boolean[][] passableMap) {
+	private static TerrainGrid createTerrain(boolean[][] passableMap) throws IllegalArgumentException {
 		if(passableMap == null)
-			return null;
-		
-		boolean[][] result = new boolean[passableMap.length][];
-		for(int row = 0; row < result.length; row++)
-			result[row] = passableMap[passableMap.length-row-1];
-		return result;
+			throw new IllegalArgumentException("The passableMap musn't be a null reference.");
+		if(!isRectangleDimension(passableMap))
+			throw new IllegalArgumentException("The passableMap must be a rectangle shaped dimension.");
+		return new TerrainGrid(passableMap);
 	}
 
 	/**
@@ -164,11 +184,11 @@ public class World {
 	 * Scale of the world (in worm-meter per map pixel)
 	 * 
 	 * @return The scale of the map.
-	 * 			| result == this.getHeight() / passableMap.length
+	 * 			| result == this.getHeight() / this.getTerrain().getHeight()
 	 */
 	@Immutable
 	public double getScale() {
-		return height / passableMap.length;
+		return height / terrain.getHeight();
 	}
 
 	/**
@@ -191,10 +211,83 @@ public class World {
 	private final double height;
 
 	/**
-	 * The terrain map, a clone of the provided one.
+	 * Returns the terrain of this world.
 	 */
-	@Model
-	private final boolean[][] passableMap;
+	@Basic @Immutable
+	public TerrainGrid getTerrain() {
+		return terrain;
+	}
+
+	private final TerrainGrid terrain;
+	
+	/**
+	 * Returns how this world answers its terrain queries.
+	 * A new world uses PYRAMID, the pyramid of the terrain is then built by the first query and shared with
+	 * the other worlds built from the same terrain.
+	 */
+	@Basic
+	public TerrainQueryMode getTerrainQueryMode() {
+		return terrainQueryMode;
+	}
+	
+	/**
+	 * Sets how this world answers its terrain queries. 
+	 * Switching to DISTANCE_FIELD computes the distance field of the terrain if no world sharing the terrain did so yet,
+	 * switching to PYRAMID builds the pyramid of the terrain likewise.
+	 * 
+	 * @param mode The new mode.
+	 * 
+	 * @post	The terrain query mode of this world equals the given mode.
+	 * 			| new.getTerrainQueryMode() == mode
+	 * @effect	If the mode is DISTANCE_FIELD, the distance field of the terrain is computed.
+	 * 			| if(mode == TerrainQueryMode.DISTANCE_FIELD)
+	 * 			|	this.getTerrain().getDistanceField()
+	 * @effect	If the mode is PYRAMID, the pyramid of the terrain is built.
+	 * 			| if(mode == TerrainQueryMode.PYRAMID)
+	 * 			|	this.getTerrain().getPyramid()
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When mode is a null reference.
+	 * 			| mode == null
+	 */
+	public void setTerrainQueryMode(TerrainQueryMode mode) throws IllegalArgumentException {
+		if(mode == null)
+			throw new IllegalArgumentException("The terrain query mode must be effective.");
+		if(mode == TerrainQueryMode.DISTANCE_FIELD)
+			terrain.getDistanceField();
+		else if(mode == TerrainQueryMode.PYRAMID)
+			terrain.getPyramid();
+		this.terrainQueryMode = mode;
+	}
+	
+	private TerrainQueryMode terrainQueryMode = TerrainQueryMode.PYRAMID;
+	
+	/**
+	 * Returns the amount of bytes used to store the terrain of this world, its distance field and its pyramid, if computed.
+	 * Worlds created from the same terrain share this memory.
+	 * 
+	 * @return	| result == this.getTerrain().getMemoryFootprint()
+	 * 			|	+ (this.getTerrain().hasDistanceField() ? this.getTerrain().getDistanceField().getMemoryFootprint() : 0)
+	 * 			|	+ (this.getTerrain().hasPyramid() ? this.getTerrain().getPyramid().getMemoryFootprint() : 0)
+	 */
+	public long getTerrainMemoryFootprint() {
+		long footprint = terrain.getMemoryFootprint();
+		if(terrain.hasDistanceField())
+			footprint += terrain.getDistanceField().getMemoryFootprint();
+		if(terrain.hasPyramid())
+			footprint += terrain.getPyramid().getMemoryFootprint();
+		return footprint;
+	}
+	
+	/**
+	 * Returns the amount of terrain queries (isImpassable, isAdjacent, classify and getClearance) this world has answered.
+	 */
+	@Basic
+	public long getTerrainProbeCount() {
+		return terrainProbeCount;
+	}
+	
+	private long terrainProbeCount;
 
 	/**
 	 * Returns a copy of the list holding all teams currently in this world.
@@ -307,6 +400,7 @@ public class World {
 			throw new IllegalArgumentException("The object to be added musn't be in another world.");
 		
 		gameObjList.add(gameObject);
+		addToIndices(gameObject);
 	}
 
 	/**
@@ -337,24 +431,195 @@ public class World {
 	 *			|	else result == true;
 	 */
 	public boolean liesWithinBoundaries(Position position, double radius) {
-		if (!((position.getX() - radius >= 0) && position.getX() + radius <= this.getWidth()))
+		return this.liesWithinBoundaries(position.getX(), position.getY(), radius);
+	}
+	
+	/**
+	 * Returns whether a circle with the given center coordinates and radius lies within the boundaries of this world.
+	 * 
+	 * @param x The x-coordinate of the center of the circle.
+	 * @param y The y-coordinate of the center of the circle.
+	 * @param radius The radius to check within.
+	 * 
+	 * @return	| result == ((x - radius >= 0) && x + radius <= this.getWidth() && 
+	 * 			|	(y - radius >= 0) && y + radius <= this.getHeight())
+	 */
+	public boolean liesWithinBoundaries(double x, double y, double radius) {
+		if (!((x - radius >= 0) && x + radius <= this.getWidth()))
 			return false;
-		if (!((position.getY() - radius >= 0) && position.getY() + radius <= this.getHeight()))
+		if (!((y - radius >= 0) && y + radius <= this.getHeight()))
 			return false;
 		return true;
 	}
 
 	/**
-	 * Returns a clone of the list of GameObjects on this world.
+	 * Returns a clone of the list of GameObjects on this world, in no defined order.
 	 */
 	public List<GameObject> getGameObjects() {
 		return new ArrayList<GameObject>(gameObjList);
 	}
 
 	/**
-	 * The list containing our GameObjects
+	 * Returns whether the given GameObject is in this world.
+	 * 
+	 * @param gameObject The GameObject to look for.
+	 * 
+	 * @return	| result == this.getGameObjects().contains(gameObject)
+	 */
+	public boolean contains(GameObject gameObject) {
+		return gameObjList.contains(gameObject);
+	}
+
+	/**
+	 * The list containing our GameObjects.
+	 * Removing a GameObject moves the last one into its place, so the order is only kept until something is removed.
+	 */
+	private final IndexedList<GameObject> gameObjList;
+
+	/**
+	 * Let this world know that the position or the radius of a GameObject changed,
+	 * so the spatial hashes used by hitsWorm and eatableFood can keep track of it.
+	 * GameObjects which aren't in this world are ignored.
+	 * 
+	 * @param gameObject The GameObject that moved or changed its radius.
+	 * 
+	 * @post hitsWorm and eatableFood take the current position and radius of the gameObject into account.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the gameObject is a null reference.
+	 * 			| gameObject == null
+	 */
+	public void notifyMoved(GameObject gameObject) throws IllegalArgumentException {
+		if(gameObject == null)
+			throw new IllegalArgumentException("The GameObject that moved musn't be a null reference.");
+		//Objects still being constructed are notified as well, they may not know their radius yet.
+		if(!gameObjList.contains(gameObject))
+			return;
+		if(gameObject instanceof Worm)
+			wormHash.update((Worm) gameObject);
+		else if(gameObject instanceof Food)
+			foodHash.update((Food) gameObject);
+		if(!this.liesWithinBoundaries(gameObject))
+			notifyDeath(gameObject);
+	}
+
+	/**
+	 * Let this world know that a GameObject died or left the world boundaries, so it is removed the next time dead objects are reclaimed.
+	 * GameObjects which aren't in this world are ignored.
+	 * 
+	 * @param gameObject The GameObject that died.
+	 * 
+	 * @post If the gameObject is a worm, it won't be returned by getNextWorm() nor count for gameEnded() and getWinner().
+	 * @post If the gameObject is in this world, it will be removed by the next reclaimDeadObjects() unless it's alive again by then.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the gameObject is a null reference.
+	 * 			| gameObject == null
+	 */
+	public void notifyDeath(GameObject gameObject) throws IllegalArgumentException {
+		if(gameObject == null)
+			throw new IllegalArgumentException("The GameObject that died musn't be a null reference.");
+		if(!gameObjList.contains(gameObject))
+			return;
+		if(gameObject instanceof Worm)
+			turnOrder.remove((Worm) gameObject);
+		deadObjects.add(gameObject);
+	}
+
+	/**
+	 * The GameObjects that died since dead objects were last reclaimed. A GameObject may be listed more than once.
+	 */
+	private final List<GameObject> deadObjects;
+
+	/**
+	 * Let this world know that a worm joined a team, so gameEnded() and getWinner() count it for that team.
+	 * Worms which aren't in this world are ignored.
+	 * 
+	 * @param worm The worm that joined a team.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the worm is a null reference.
+	 * 			| worm == null
+	 */
+	public void notifyTeamChanged(Worm worm) throws IllegalArgumentException {
+		if(worm == null)
+			throw new IllegalArgumentException("The worm that joined a team musn't be a null reference.");
+		turnOrder.updateTeam(worm);
+	}
+
+	/**
+	 * Add a GameObject that was just added to this world to the list and the spatial hash of its type, if there are any.
+	 */
+	@Model
+	private void addToIndices(GameObject gameObject) {
+		if(gameObject instanceof Worm) {
+			wormList.add((Worm) gameObject);
+			wormHash.add((Worm) gameObject);
+			turnOrder.add((Worm) gameObject);
+		} else if(gameObject instanceof Food) {
+			foodList.add((Food) gameObject);
+			foodHash.add((Food) gameObject);
+		} else if(gameObject instanceof Projectile) {
+			projectileList.add((Projectile) gameObject);
+		}
+	}
+
+	/**
+	 * Remove a GameObject that was just removed from this world from the list and the spatial hash of its type, if there are any.
+	 */
+	@Model
+	private void removeFromIndices(GameObject gameObject) {
+		if(gameObject instanceof Worm) {
+			wormList.remove(gameObject);
+			wormHash.remove((Worm) gameObject);
+			turnOrder.remove((Worm) gameObject);
+		} else if(gameObject instanceof Food) {
+			foodList.remove(gameObject);
+			foodHash.remove((Food) gameObject);
+		} else if(gameObject instanceof Projectile) {
+			projectileList.remove(gameObject);
+		}
+	}
+
+	/**
+	 * The list holding every worm in the list of GameObjects.
+	 * Like the list of GameObjects it has no defined order, removing moves its last element into the freed place.
 	 */
-	private List<GameObject> gameObjList;
+	private final IndexedList<Worm> wormList;
+
+	/**
+	 * The list holding every Food in the list of GameObjects.
+	 * Like the list of GameObjects it has no defined order, removing moves its last element into the freed place.
+	 */
+	private final IndexedList<Food> foodList;
+
+	/**
+	 * The list holding every Projectile in the list of GameObjects.
+	 * Like the list of GameObjects it has no defined order, removing moves its last element into the freed place.
+	 */
+	private final IndexedList<Projectile> projectileList;
+
+	/**
+	 * Read-only views on the lists of worms, Food and Projectiles, handed out by the getters so callers don't need a copy.
+	 */
+	private final Collection<Worm> wormView;
+	private final Collection<Food> foodView;
+	private final Collection<Projectile> projectileView;
+
+	/**
+	 * The spatial hash holding every worm in the list of GameObjects.
+	 */
+	private final SpatialHash<Worm> wormHash;
+
+	/**
+	 * The spatial hash holding every Food in the list of GameObjects.
+	 */
+	private final SpatialHash<Food> foodHash;
+
+	/**
+	 * The order in which the living worms in the list of GameObjects get their turn.
+	 */
+	private final TurnOrder turnOrder;
 
 	/**
 	 * Returns the current active worm on this world.
@@ -397,10 +662,10 @@ public class World {
 	 * 			| if(gameEnded())
 	 *			| 	new.getState() = WorldState.ENDED;
 	 *
-	 * @effect  Else set the next worm to active, clean DeadObjects and give the new worm its turn points.
+	 * @effect  Else set the next worm to active, reclaim dead objects and give the new worm its turn points.
 	 * 			| else
 	 *			| 	setActiveWorm(getNextWorm());
-	 *			|	cleanDeadObjects()
+	 *			|	reclaimDeadObjects()
 	 *			| 	this.getActiveWorm().giveTurnPoints()
 	 */
 	public void nextTurn() {
@@ -412,7 +677,7 @@ public class World {
 		else {
 			this.setLivingProjectile(null);
 			setActiveWorm(getNextWorm());
-			cleanDeadObjects(); // Important we do this after.
+			reclaimDeadObjects();
 			this.getActiveWorm().giveTurnPoints();
 		} 
 	}
@@ -470,23 +735,8 @@ public class World {
 		case ENDED:
 			return true;
 		case PLAYING:
-			if (getNextWorm() == null)
-				return true;
-			boolean firstWormFound = false;
-			Team firstTeam = null;
-			
-			for (Worm worm : this.getWorms()) {
-				if (worm.isAlive() && firstWormFound)
-					if (firstTeam == null)
-						return false;
-				if (firstTeam != worm.getTeam() && firstWormFound)
-						return false;
-				if (worm.isAlive() && !firstWormFound) {
-					firstWormFound = true;
-					firstTeam = worm.getTeam();
-				}
-			}
-			return true;
+			//The turn order counts the living worms per team, no need to look at every worm.
+			return turnOrder.isDecided();
 		default:
 			return false;
 		}
@@ -494,58 +744,34 @@ public class World {
 
 	/**
 	 * Returns the next worm.
+	 * The living worms get their turn in the order they were added to this world, as kept by the ring of the turn order.
+	 * This order doesn't depend on the order of this.getGameObjects().
 	 * If there is only one living worm left, returns null.
 	 * 
-	 * @return If the activeWorm is a null reference, find the first worm who is alive in this.getGameObject() and return it.
-	 * 			If none is found return null.
+	 * @return If the activeWorm is a null reference, the first living worm added to this world.
+	 * 			If there is none return null.
 	 * 			| if (this.getActiveWorm() == null) {
-	 * 			| 	for each GameObject gameObject in this.getGameObjects()
-	 *			|		if (gameObject instanceof Worm && ((Worm) gameObject).isAlive())
-	 *			|			result == (Worm) gameObject
+	 * 			| 	for each living Worm worm in this.getWorms(), in the order of addition to this world
+	 *			|		result == worm
 	 *			|	result == null
-	 * @return If the activeWorm isn't a null reference, find the activeWorm and from there on find the next worm. (1)
-	 * 			When the activeWorm is found and no other worm is next in the List, search the list from the start again for the first worm. (2)
+	 * @return If the activeWorm isn't a null reference, the living worm added after the activeWorm. (1)
+	 * 			When there is no living worm added after the activeWorm, the first living worm other than the activeWorm. (2)
+	 * 			If the activeWorm died, its place in the order of addition is kept.
 	 * 			| (1)
-	 * 			| boolean previousWormFound = false;
-	 * 			| for each GameObject gameObject in this.getGameObjects()
-	 *			|	if (previousWormFound && gameObject instanceof Worm && ((Worm) gameObject).isAlive())
-	 *			|		result == (Worm) gameObject
-	 *			|	if (!previousWormFound && gameObject == this.getActiveWorm())
-	 *			|		previousWormFound = true
+	 * 			| for each living Worm worm in this.getWorms(), in the order of addition to this world
+	 *			|	if (worm was added after this.getActiveWorm())
+	 *			|		result == worm
 	 *			|
 	 *			| (2)
-	 *			| for each GameObject gameObject in this.getGameObjects())
-	 *			|	if (gameObject instanceof Worm && ((Worm) gameObject).isAlive() && gameObject != this.getActiveWorm())
-	 *			|		result == (Worm) gameObject
+	 *			| for each living Worm worm in this.getWorms(), in the order of addition to this world
+	 *			|	if (worm != this.getActiveWorm())
+	 *			|		result == worm
 	 *			|	result == null;
 	 */	
 	public Worm getNextWorm() {
-		//REMARK! Do not use getObjectOfType/getWorms/.. this would clean our previous worm if he was dead.
-		if (this.getActiveWorm() == null) {
-			for (GameObject gameObject : this.getGameObjects()) {
-				if (gameObject instanceof Worm && ((Worm) gameObject).isAlive())
-					return (Worm) gameObject;
-			}
-			return null;
-		} else {
-			boolean previousWormFound = false;
-			// First Seek current active Worm, then find next
-			for (GameObject gameObject : this.getGameObjects()) {
-				if (previousWormFound && gameObject instanceof Worm
-						&& ((Worm) gameObject).isAlive())
-					return (Worm) gameObject;
-				if (gameObject == this.getActiveWorm())
-					previousWormFound = true;
-			}
-
-			// Found current active worm but reached end of list, back to the start.
-			for (GameObject gameObject : this.getGameObjects()) {
-				if (gameObject instanceof Worm && ((Worm) gameObject).isAlive()
-						&& gameObject != this.getActiveWorm())
-					return (Worm) gameObject;
-			}
-			return null;
-		}
+		if (this.getActiveWorm() == null)
+			return turnOrder.getFirst();
+		return turnOrder.getNext(this.getActiveWorm());
 	}
 
 	/**
@@ -572,9 +798,15 @@ public class World {
 	 * 
 	 * @post The living Projectile for the new world is equal to livingProjectile.
 	 * 			| new.getLivingProjectile() == livingProjectile
+	 * @effect The previous living Projectile is reported as dead.
+	 * 			| if(this.getLivingProjectile() != null && this.getLivingProjectile() != livingProjectile)
+	 * 			|	this.notifyDeath(this.getLivingProjectile())
 	 */
 	public void setLivingProjectile(Projectile livingProjectile) {
+		Projectile previousProjectile = this.livingProjectile;
 		this.livingProjectile = livingProjectile;
+		if(previousProjectile != null && previousProjectile != livingProjectile)
+			notifyDeath(previousProjectile);
 	}
 
 	private Projectile livingProjectile;
@@ -584,52 +816,65 @@ public class World {
 	 * defined by the given center coordinates and radius,
 	 * is impassable. This means that if any position in that circular region is impassable, the region is impassable.
 	 * 
+	 * The check is pixel exact: the circle is converted to pixel coordinates and compared to the terrain,
+	 * either by scanning the pixels it covers, by using the distance field or by walking the pyramid of the terrain,
+	 * see getTerrainQueryMode().
+	 * Pixels outside of the terrain are passable. An impassable pixel touching the circle within TERRAIN_EPSILON
+	 * (in squared meters) doesn't make the region impassable.
+	 * 
 	 * @param position The position of the center of the circle to check  
 	 * @param radius The radius of the circle to check
 	 * 
-	 * @return True if an impassable tile was found within radius distance of the position, false otherwise.
-	 * 			| double step = 0.1 * radius
-	 *			| double startRow = (position.getY() - radius)
-	 *			| double startColumn = (position.getX() - radius)
-	 *			| double endRow = (position.getY() + radius)
-	 *			| double endColumn = (position.getX() + radius)
-	 *			| for double row = Math.max(startRow, 0) as long as Math.floor(row) <= Math.floor(endRow) && Math.floor(row/this.getScale()) < passableMap.length with step step.
-	 *			|	for double column = Math.max(startColumn, 0) as long as Math.floor(column) <= Math.floor(endColumn) && Math.floor(column/this.getScale()) < passableMap[0].length with step step.
-	 *			|		if (!passableMap[(int) Math.floor(row/this.getScale())][(int) Math.floor(column/this.getScale())])
-	 *			|			if(Util.fuzzyLessThanOrEqualTo(Math.pow(row - position.getY(), 2)
-	 *			|				+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-15) && 
-	 *			|				!Util.fuzzyEquals(Math.pow(row - position.getY(), 2)
-	 *			|						+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-16))
-	 *			|				result == true
-	 *			|		else
-	 *			|			column = column + step*Math.floor((Math.ceil(column/this.getScale()) - column/this.getScale()) / step)
-	 *			| result == false
+	 * @return True if an impassable pixel lies closer than radius to the position, false otherwise.
+	 * 			| result == this.overlapsTerrain(position, radius, TERRAIN_EPSILON)
 	 */
 	public boolean isImpassable(Position position, double radius) {
-		double step = 0.1 * radius;
-		//scale = meter per pixel => row&column = pixels
-		double startRow = (position.getY() - radius);
-		double startColumn = (position.getX() - radius);
-		double endRow = (position.getY() + radius);
-		double endColumn = (position.getX() + radius);
-
-		for (double row = Math.max(startRow, 0); Math.floor(row) <= Math.floor(endRow) && Math.floor(row/this.getScale()) < passableMap.length; row += step) {
-			for (double column = Math.max(startColumn, 0); Math.floor(column) <= Math.floor(endColumn) && Math.floor(column/this.getScale()) < passableMap[0].length; column += step) {
-				if (!passableMap[(int) Math.floor(row/this.getScale())][(int) Math.floor(column/this.getScale())]) {
-					if(Util.fuzzyLessThanOrEqualTo(Math.pow(row - position.getY(), 2)
-							+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-15) 
-								&& !Util.fuzzyEquals(Math.pow(row - position.getY(), 2)
-									+ Math.pow(column - position.getX(), 2), Math.pow(radius, 2), 1E-16)) {
-						return true;
-					}
-				} else {
-					//Skip to the next 'tile'.
-					column = column + step*Math.floor((Math.ceil(column/this.getScale()) - column/this.getScale()) / step);
-				}
-			}
-		}
-		return false;
+		return this.isImpassable(position.getX(), position.getY(), radius);
 	}
+	
+	/**
+	 * Checks whether the circular region of this world with the given center coordinates and radius is impassable,
+	 * without creating a position for it. Used by the loops that probe many positions.
+	 * 
+	 * @param x The x-coordinate of the center of the circle to check.
+	 * @param y The y-coordinate of the center of the circle to check.
+	 * @param radius The radius of the circle to check.
+	 * 
+	 * @return	| result == this.overlapsTerrain(x, y, radius, TERRAIN_EPSILON)
+	 */
+	public boolean isImpassable(double x, double y, double radius) {
+		return this.overlapsTerrain(x, y, radius, TERRAIN_EPSILON);
+	}
+	
+	/**
+	 * Returns whether an impassable pixel lies within the given circle, using the terrain query mode of this world.
+	 * 
+	 * @param x The x-coordinate of the center of the circle.
+	 * @param y The y-coordinate of the center of the circle.
+	 * @param radius The radius of the circle.
+	 * @param tolerance The band (in squared meters) just inside the circle that is still considered outside of it.
+	 * 
+	 * @return	| double scale = this.getScale()
+	 * 			| result == this.getTerrain().overlapsDisc(x / scale, y / scale, radius / scale, 
+	 * 			|	tolerance / (scale * scale))
+	 */
+	@Model
+	private boolean overlapsTerrain(double x, double y, double radius, double tolerance) {
+		terrainProbeCount++;
+		double scale = this.getScale();
+		double pixelX = x / scale;
+		double pixelY = y / scale;
+		if(terrainQueryMode == TerrainQueryMode.DISTANCE_FIELD)
+			return terrain.getDistanceField().overlapsDisc(pixelX, pixelY, radius / scale, tolerance / (scale * scale));
+		if(terrainQueryMode == TerrainQueryMode.PYRAMID)
+			return terrain.getPyramid().overlapsDisc(pixelX, pixelY, radius / scale, tolerance / (scale * scale));
+		return terrain.overlapsDisc(pixelX, pixelY, radius / scale, tolerance / (scale * scale));
+	}
+	
+	/**
+	 * The tolerance (in squared meters) on the distance between a circle and the terrain.
+	 */
+	public static final double TERRAIN_EPSILON = 1E-15;
 
 	/**
 	 * Checks whether the given circular region of this world,
@@ -639,57 +884,107 @@ public class World {
 	 * @param position The position of the center of the circle to check  
 	 * @param radius The radius of the circle to check
 	 * 
-	 * @return False if the provided position is impassable for the provided radius.
-	 * 			| if(this.isImpassable(position, radius))
-	 *			|	result == false
-	 * @return True if an impassable tile is found within radius & radius*1.1 distance around the position, false otherwise.
-	 *			| double step = 0.1 * radius
-	 *			| double checkingWidth = 1.1*radius
-	 *			| double startRow = (position.getY() - checkingWidth)
-	 *			| double startColumn = (position.getX() - checkingWidth)
-	 *			| double endRow = (position.getY() + checkingWidth)
-	 *			| double endColumn = (position.getX() + checkingWidth)
-	 *			|
-	 *			| for double row = Math.max(startRow, 0) as long as Math.floor(row) <= Math.floor(endRow) && Math.floor(row/this.getScale()) < passableMap.length with step step.
-	 *			|	for double column = Math.max(startColumn, 0) as long as Math.floor(column) <= Math.floor(endColumn) && Math.floor(column/this.getScale()) < passableMap[0].length with step step.
-	 *			|		if (!passableMap[(int) Math.floor(row/this.getScale())][(int) Math.floor(column/this.getScale())]
-	 *			|			if(Util.fuzzyGreaterThanOrEqualTo((Math.pow(row - position.getY(), 2)
-	 *			|				+ Math.pow(column - position.getX(), 2)),Math.pow(radius, 2), 1E-15)
-	 *			|				&& Util.fuzzyLessThanOrEqualTo(Math.pow(row - position.getY(), 2)
-	 *			|					+ Math.pow(column - position.getX(), 2), Math.pow(1.1*radius, 2), 1E-15))
-	 *			|				result == true
-	 *			| 		else
-	 *			|			column = column + step*Math.floor((Math.ceil(column/this.getScale()) - column/this.getScale()) / step)
-	 *			| result == false
+	 * @return True if the region is passable and an impassable pixel lies within radius*1.1 distance around the position
+	 * 			(the boundary included, within TERRAIN_EPSILON), false otherwise.
+	 *			| result == (this.classify(position, radius) == TerrainContact.ADJACENT)
 	 */
 	public boolean isAdjacent(Position position, double radius) {
-		if(this.isImpassable(position, radius))
-			return false;
-		
-		double step = 0.1 * radius;
-		double checkingWidth = 1.1*radius;
-		double startRow = (position.getY() - checkingWidth);
-		double startColumn = (position.getX() - checkingWidth);
-		double endRow = (position.getY() + checkingWidth);
-		double endColumn = (position.getX() + checkingWidth);
-
-		for (double row = Math.max(startRow, 0); Math.floor(row) <= Math.floor(endRow) && Math.floor(row/this.getScale()) < passableMap.length; row += step) {
-			for (double column = Math.max(startColumn, 0); Math.floor(column) <= Math.floor(endColumn) && Math.floor(column/this.getScale()) < passableMap[0].length; column += step) {
-				if (!passableMap[(int) Math.floor(row/this.getScale())][(int) Math.floor(column/this.getScale())]) {
-					if(Util.fuzzyGreaterThanOrEqualTo((Math.pow(row - position.getY(), 2)
-							+ Math.pow(column - position.getX(), 2)),Math.pow(radius, 2), 1E-15)
-								&& Util.fuzzyLessThanOrEqualTo(Math.pow(row - position.getY(), 2)
-										+ Math.pow(column - position.getX(), 2), Math.pow(1.1*radius, 2), 1E-15)) {
-						// Outside the inner circle and inside the outer circle
-						return true;
-					}
-				} else {
-					//skip to the next 'tile'.
-					column = column + step*Math.floor((Math.ceil(column/this.getScale()) - column/this.getScale()) / step);
-				}
-			}
-		}
-		return false;
+		return this.classify(position, radius) == TerrainContact.ADJACENT;
+	}
+	
+	/**
+	 * Classifies the given circular region of this world as impassable, adjacent to impassable terrain or free,
+	 * in a single search of the terrain around it.
+	 * 
+	 * @param position The position of the center of the circle to classify  
+	 * @param radius The radius of the circle to classify
+	 * 
+	 * @return IMPASSABLE if an impassable pixel lies closer than radius to the position, within TERRAIN_EPSILON.
+	 * 			| if(this.isImpassable(position, radius))
+	 * 			|	result == TerrainContact.IMPASSABLE
+	 * @return ADJACENT if the region is passable and an impassable pixel lies within radius*1.1 distance around the position,
+	 * 			the boundary included within TERRAIN_EPSILON.
+	 * 			| double scale = this.getScale()
+	 * 			| double outerRadius = 1.1*radius / scale
+	 * 			| else if(this.getTerrain().nearestImpassableSquared(position.getX() / scale, position.getY() / scale, 
+	 * 			|		outerRadius * outerRadius + TERRAIN_EPSILON / (scale * scale)) != Double.POSITIVE_INFINITY)
+	 * 			|	result == TerrainContact.ADJACENT
+	 * @return FREE otherwise.
+	 * 			| else
+	 * 			|	result == TerrainContact.FREE
+	 */
+	public TerrainContact classify(Position position, double radius) {
+		return this.classify(position.getX(), position.getY(), radius);
+	}
+	
+	/**
+	 * Classifies the circular region of this world with the given center coordinates and radius,
+	 * without creating a position for it. Used by the loops that probe many positions.
+	 * 
+	 * @param x The x-coordinate of the center of the circle to classify.
+	 * @param y The y-coordinate of the center of the circle to classify.
+	 * @param radius The radius of the circle to classify.
+	 * 
+	 * @return	| result == this.classify(new Position(x, y), radius)
+	 */
+	public TerrainContact classify(double x, double y, double radius) {
+		terrainProbeCount++;
+		double scale = this.getScale();
+		double pixelX = x / scale;
+		double pixelY = y / scale;
+		double tolerance = TERRAIN_EPSILON / (scale * scale);
+		double innerRadius = radius / scale;
+		double outerRadius = 1.1*radius / scale;
+		double innerSquared = innerRadius * innerRadius - tolerance;
+		double outerSquared = outerRadius * outerRadius + tolerance;
+		if(terrainQueryMode == TerrainQueryMode.DISTANCE_FIELD)
+			return terrain.getDistanceField().classifyDisc(pixelX, pixelY, innerSquared, outerSquared);
+		if(terrainQueryMode == TerrainQueryMode.PYRAMID)
+			return terrain.getPyramid().classifyDisc(pixelX, pixelY, innerSquared, outerSquared);
+		return terrain.classifyDisc(pixelX, pixelY, innerSquared, outerSquared);
+	}
+	
+	/**
+	 * Returns the distance from the given position to the nearest impassable pixel, or the given limit
+	 * if there is no impassable pixel closer than that. 
+	 * A circle around the position can move this distance minus its radius in any direction without reaching impassable terrain.
+	 * 
+	 * @param position The position to measure from.
+	 * @param limit The distance up to which to search.
+	 * 
+	 * @return	| double scale = this.getScale()
+	 * 			| double distanceSquared = this.getTerrain().nearestImpassableSquared(position.getX() / scale, position.getY() / scale, 
+	 * 			|	(limit / scale) * (limit / scale))
+	 * 			| result == Math.min(Math.sqrt(distanceSquared) * scale, limit)
+	 */
+	public double getClearance(Position position, double limit) {
+		return this.getClearance(position.getX(), position.getY(), limit);
+	}
+	
+	/**
+	 * Returns the distance from the given coordinates to the nearest impassable pixel, or the given limit
+	 * if there is no impassable pixel closer than that, without creating a position for them.
+	 * 
+	 * @param x The x-coordinate to measure from.
+	 * @param y The y-coordinate to measure from.
+	 * @param limit The distance up to which to search.
+	 * 
+	 * @return	| result == this.getClearance(new Position(x, y), limit)
+	 */
+	public double getClearance(double x, double y, double limit) {
+		terrainProbeCount++;
+		double scale = this.getScale();
+		double pixelX = x / scale;
+		double pixelY = y / scale;
+		double limitSquared = (limit / scale) * (limit / scale);
+		double distanceSquared;
+		if(terrainQueryMode == TerrainQueryMode.DISTANCE_FIELD)
+			distanceSquared = terrain.getDistanceField().nearestImpassableSquared(pixelX, pixelY, limitSquared);
+		else if(terrainQueryMode == TerrainQueryMode.PYRAMID)
+			distanceSquared = terrain.getPyramid().nearestImpassableSquared(pixelX, pixelY, limitSquared);
+		else
+			distanceSquared = terrain.nearestImpassableSquared(pixelX, pixelY, limitSquared);
+		return Math.min(Math.sqrt(distanceSquared) * scale, limit);
 	}
 
 	/**
@@ -700,6 +995,7 @@ public class World {
 	 * @param radius The radius to check in.
 	 * 
 	 * @return The list that contains all worms to who the distance to, from the position, is less than the radius + their radius.
+	 * 			Only the worms near the position are visited, using the spatial hash of the worms in this world.
 	 * 			| ArrayList<Worm> result = new ArrayList<Worm>();
 	 * 			| for each Worm worm in this.getWorms()
 	 * 			| 	double distance = worm.getPosition().distance(position)
@@ -708,10 +1004,22 @@ public class World {
 	 * 			| return = result
 	 */
 	public ArrayList<Worm> hitsWorm(Position position, double radius) {
+		return this.hitsWorm(position.getX(), position.getY(), radius);
+	}
+	
+	/**
+	 * Returns a list of all worms which are hit by a circle with the given center coordinates and radius.
+	 * 
+	 * @param x The x-coordinate of the center of the circle.
+	 * @param y The y-coordinate of the center of the circle.
+	 * @param radius The radius to check in.
+	 * 
+	 * @return	| result == this.hitsWorm(new Position(x, y), radius)
+	 */
+	public ArrayList<Worm> hitsWorm(double x, double y, double radius) {
 		ArrayList<Worm> result = new ArrayList<Worm>();
-		for (Worm worm : this.getWorms()) {
-			double distance = worm.getPosition().distance(position);
-			if (distance < worm.getRadius() + radius)
+		for (Worm worm : wormHash.getOverlapping(x, y, radius)) {
+			if (worm.isAlive() && this.liesWithinBoundaries(worm))
 				result.add(worm);
 		}
 		return result;
@@ -724,6 +1032,7 @@ public class World {
 	 * @param radius The radius to check in.
 	 * 
 	 * @return The list that contains all Food to who the distance to, from the position, is less than the radius + their radius.
+	 * 			Only the food near the position is visited, using the spatial hash of the food in this world.
 	 * 			| ArrayList<Food> result = new ArrayList<Food>()
 	 * 			| for each Food food in this.getFood()
 	 * 			|	double distance = food.getPosition().distance(position)
@@ -732,12 +1041,23 @@ public class World {
 	 * 			| return = result
 	 */
 	public ArrayList<Food> eatableFood(Position position, double radius) {
+		return this.eatableFood(position.getX(), position.getY(), radius);
+	}
+	
+	/**
+	 * Returns a list of all the food within a circle with the given center coordinates and radius.
+	 * 
+	 * @param x The x-coordinate of the center of the circle.
+	 * @param y The y-coordinate of the center of the circle.
+	 * @param radius The radius to check in.
+	 * 
+	 * @return	| result == this.eatableFood(new Position(x, y), radius)
+	 */
+	public ArrayList<Food> eatableFood(double x, double y, double radius) {
 		ArrayList<Food> result = new ArrayList<Food>();
-		for(Food food: this.getFood()) {
-			double distance = food.getPosition().distance(position);
-			if(distance < food.getRadius() + radius) {
+		for(Food food : foodHash.getOverlapping(x, y, radius)) {
+			if(food.isAlive() && this.liesWithinBoundaries(food))
 				result.add(food);
-			}
 		}
 		return result;
 	}
@@ -762,17 +1082,19 @@ public class World {
 	 *			| result == null
 	 */
 	public Position getRandomPassablePos(double radius) {
-		Position middlePos = new Position(this.getWidth() / 2,
-				this.getHeight() / 2);
-		Position pos = new Position(this.random.nextDouble() * this.getWidth(),
-				this.random.nextDouble() * this.getHeight());
+		double middleX = this.getWidth() / 2;
+		double middleY = this.getHeight() / 2;
+		double x = this.random.nextDouble() * this.getWidth();
+		double y = this.random.nextDouble() * this.getHeight();
 
+		//Only the position found is created.
 		for (int attempt = 0; attempt < 5; attempt++) {
-			if(!this.isImpassable(pos, radius) && this.liesWithinBoundaries(pos, radius))
-				return pos;
-			else
-				pos = new Position((middlePos.getX() - pos.getX()) / 2+ pos.getX(), 
-						(middlePos.getY() - pos.getY()) / 2 + pos.getY());
+			if(!this.isImpassable(x, y, radius) && this.liesWithinBoundaries(x, y, radius))
+				return new Position(x, y);
+			else {
+				x = (middleX - x) / 2 + x;
+				y = (middleY - y) / 2 + y;
+			}
 		}
 		return null;
 	}
@@ -794,10 +1116,9 @@ public class World {
 	 *			| 	result = null
 	 */
 	public String getWinner() {
-		ArrayList<Worm> list = new ArrayList<>(this.getWorms());
+		Worm worm = turnOrder.getFirst();
 		
-		if(list.size() != 0) {
-			Worm worm = list.get(0);
+		if(worm != null) {
 			if(worm.getTeam() != null)
 				return "Team " + worm.getTeam().getName();
 			else
@@ -809,6 +1130,7 @@ public class World {
 
 	/**
 	 * Returns a collection<GameObject> of all objects in this world which are an instance of the given type gameObjType.
+	 * Prefer getWorms(), getFood() and getProjectiles() for those types, they don't need to filter every object.
 	 * 
 	 * @param gameObjType The class type to check for instances of.
 	 * 
@@ -819,9 +1141,9 @@ public class World {
 	 * 			| return == result
 	 */
 	public Collection<GameObject> getObjectsOfType(Class<?> gameObjType) {
-		cleanDeadObjects();
+		reclaimDeadObjects();
 		ArrayList<GameObject> resultList = new ArrayList<GameObject>();
-		for (GameObject obj : this.getGameObjects()) {
+		for (GameObject obj : gameObjList) {
 			if (gameObjType.isInstance(obj))
 				resultList.add(obj);
 		}
@@ -830,32 +1152,43 @@ public class World {
 
 	/**
 	 * Returns all worms in this world.
+	 * The result is a read-only view that follows the worms of this world, copy it to keep the current worms.
 	 * 
-	 * @effect (Collection<Worm>) getObjectsOfType(Worm.Class) along with a cast to cast every instance of type GameObject to Worm.
-	 * 			| (Collection<Worm>) getObjectsOfType(Worm.Class)
+	 * @return All worms in this world, in no defined order.
+	 * 			| result.equals(getObjectsOfType(Worm.Class))
 	 */
 	public Collection<Worm> getWorms() {
-		List<Worm> result = new ArrayList<Worm>();
-		for (GameObject obj : getObjectsOfType(Worm.class))
-			result.add((Worm) obj);
-		return result;
+		reclaimDeadObjects();
+		return wormView;
 	}
 
 	/**
 	 * Returns all Food instances in this world.
+	 * The result is a read-only view that follows the Food of this world, copy it to keep the current Food.
 	 * 
-	 * @effect getObjectsOfType(Food.Class) along with a cast to cast every instance of type GameObject to Food.
-	 * 			| (Collection<Food>) getObjectsOfType(Food.Class)
+	 * @return All Food in this world, in no defined order.
+	 * 			| result.equals(getObjectsOfType(Food.Class))
 	 */
 	public Collection<Food> getFood() {
-		List<Food> result = new ArrayList<Food>();
-		for (GameObject obj : getObjectsOfType(Food.class))
-			result.add((Food) obj);
-		return result;
+		reclaimDeadObjects();
+		return foodView;
+	}
+
+	/**
+	 * Returns all Projectiles in this world.
+	 * The result is a read-only view that follows the Projectiles of this world, copy it to keep the current Projectiles.
+	 * 
+	 * @return All Projectiles in this world, in no defined order.
+	 * 			| result.equals(getObjectsOfType(Projectile.Class))
+	 */
+	public Collection<Projectile> getProjectiles() {
+		reclaimDeadObjects();
+		return projectileView;
 	}
 
 	/**
-	 * Delete objects that aren't alive anymore in this world or left our world Boundaries.
+	 * Delete the objects that died or left our world Boundaries since the last call, as reported by notifyDeath.
+	 * This only visits the reported objects, not every object in this world.
 	 * If the object is a Projectile different from the current livingProjectile, it is removed as well.
 	 * 
 	 * @post	Every GameObject in this world is alive.
@@ -865,16 +1198,18 @@ public class World {
 	 * 			|		this.getLivingProjectile() == gameObj
 	 */
 	@Model
-	private void cleanDeadObjects() {
-		for (GameObject obj : this.getGameObjects()) {
-			if (obj instanceof Projectile && obj != this.getLivingProjectile()) {
-				this.gameObjList.remove(obj);
-			} else if (!obj.isAlive() || !this.liesWithinBoundaries(obj)) {
+	private void reclaimDeadObjects() {
+		//Index based, removing the living projectile reports it again.
+		for (int i = 0; i < deadObjects.size(); i++) {
+			GameObject obj = deadObjects.get(i);
+			if (gameObjList.contains(obj) && (!obj.isAlive() || !this.liesWithinBoundaries(obj))) {
 				this.gameObjList.remove(obj);
+				this.removeFromIndices(obj);
 				if(obj == this.getLivingProjectile())
 					this.setLivingProjectile(null);
 			}
 		}
+		deadObjects.clear();
 	}
 	
 	/**
@@ -899,7 +1234,93 @@ public class World {
 			throw new IllegalArgumentException("The GameObject wasn't in this world's List.");
 		
 		this.gameObjList.remove(gameObject);
+		this.removeFromIndices(gameObject);
 		gameObject.removeWorld();
 	}
 
+	/**
+	 * Take a snapshot of this world, so it can be rolled back to its current state with restore(WorldSnapshot).
+	 * The dead objects are reclaimed first, so the snapshot only records living GameObjects.
+	 * 
+	 * @return	A snapshot of this world holding its current GameObjects, teams, turn order, active worm,
+	 * 			living projectile and state.
+	 * 			| result.getWorld() == this && result.getState() == this.getState() &&
+	 * 			| result.getActiveWorm() == this.getActiveWorm() && result.getLivingProjectile() == this.getLivingProjectile()
+	 */
+	public WorldSnapshot createSnapshot() {
+		reclaimDeadObjects();
+		return new WorldSnapshot(this, gameObjList, turnOrder.getWorms(), teamList, state, activeWorm, livingProjectile);
+	}
+
+	/**
+	 * Roll this world back to the state recorded by a snapshot of it.
+	 * The terrain isn't touched, so this takes time linear in the amount of GameObjects in this world and in the snapshot.
+	 * 
+	 * @param snapshot The snapshot to restore.
+	 * 
+	 * @post	The GameObjects, teams, active worm, living projectile and state of this world are the ones recorded by the snapshot,
+	 * 			each GameObject is back in the state it had when the snapshot was taken and the worms get their turn in the recorded order.
+	 * 			| new.getState() == snapshot.getState() && new.getActiveWorm() == snapshot.getActiveWorm() &&
+	 * 			| new.getLivingProjectile() == snapshot.getLivingProjectile() &&
+	 * 			| new.getGameObjects().size() == snapshot.getGameObjectCount()
+	 * @post	The GameObjects that were added to this world after the snapshot was taken are no longer in this world.
+	 * 			| for each GameObject gameObject in this.getGameObjects()
+	 * 			|	if(!new.getGameObjects().contains(gameObject))
+	 * 			|		(new gameObject).getWorld() == null
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the snapshot is a null reference or wasn't taken of this world.
+	 * 			| snapshot == null || snapshot.getWorld() != this
+	 * @throws IllegalArgumentException
+	 * 			When a GameObject recorded by the snapshot was removed from this world with remove(GameObject) since.
+	 */
+	public void restore(WorldSnapshot snapshot) throws IllegalArgumentException {
+		if(snapshot == null)
+			throw new IllegalArgumentException("The snapshot to restore musn't be a null reference.");
+		if(snapshot.getWorld() != this)
+			throw new IllegalArgumentException("The snapshot wasn't taken of this world.");
+		for(GameObject gameObject : snapshot.gameObjects) {
+			if(gameObject.getWorld() != this)
+				throw new IllegalArgumentException("A GameObject of the snapshot was removed from this world.");
+		}
+
+		//GameObjects added since the snapshot was taken, such as projectiles, are dropped and must be detached.
+		GameObject[] current = gameObjList.toArray(new GameObject[gameObjList.size()]);
+
+		gameObjList.clear();
+		wormList.clear();
+		foodList.clear();
+		projectileList.clear();
+		wormHash.clear();
+		foodHash.clear();
+		turnOrder.clear();
+		deadObjects.clear();
+		teamList.clear();
+		Collections.addAll(teamList, snapshot.teams);
+
+		snapshot.restoreGameObjects();
+		//Not through addToIndices, the turn order is rebuilt in the recorded order rather than the order of the list.
+		for(GameObject gameObject : snapshot.gameObjects) {
+			gameObjList.add(gameObject);
+			if(gameObject instanceof Worm) {
+				wormList.add((Worm) gameObject);
+				wormHash.add((Worm) gameObject);
+			} else if(gameObject instanceof Food) {
+				foodList.add((Food) gameObject);
+				foodHash.add((Food) gameObject);
+			} else if(gameObject instanceof Projectile) {
+				projectileList.add((Projectile) gameObject);
+			}
+		}
+		for(Worm worm : snapshot.turnOrder)
+			turnOrder.add(worm);
+		//Only detaches the GameObjects that aren't in this world anymore.
+		for(GameObject gameObject : current)
+			gameObject.removeWorld();
+
+		this.state = snapshot.getState();
+		this.activeWorm = snapshot.getActiveWorm();
+		this.livingProjectile = snapshot.getLivingProjectile();
+	}
+
 }
@@ -0,0 +1,202 @@
+package worms.model.world;
+
+import java.util.List;
+
+import worms.model.Team;
+import worms.model.world.entity.*;
+import worms.util.Position;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * The state of every GameObject in a world at one moment, so the world can be rolled back to it with World.restore(WorldSnapshot).
+ * A snapshot is taken by World.createSnapshot() and can be restored any amount of times, e.g. to try out several actions
+ * of a worm and keep the best one.
+ *
+ * A snapshot records the GameObjects in the world along with their position, the angle, radius, action points,
+ * hit points, current weapon and team of every worm, the teams, the turn order, the active worm, the living projectile
+ * and the state of the world. The GameObjects, teams and positions themselves are shared with the world, positions
+ * and the terrain are immutable. Taking and restoring a snapshot therefore take time linear in the amount of GameObjects
+ * and never copy the terrain.
+ *
+ * The Random of the world and the amount of terrain probes aren't part of a snapshot.
+ * GameObjects created after the snapshot was taken, such as projectiles, are dropped when it is restored.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public class WorldSnapshot {
+
+	/**
+	 * Record the state of the given world and its GameObjects.
+	 *
+	 * @param world The world to record.
+	 * @param gameObjects The GameObjects of the world, in their order in the world.
+	 * @param turnOrder The living worms of the world in the order they get their turn.
+	 * @param teams The teams of the world.
+	 * @param state The state of the world.
+	 * @param activeWorm The active worm of the world.
+	 * @param livingProjectile The living projectile of the world.
+	 */
+	WorldSnapshot(World world, List<GameObject> gameObjects, List<Worm> turnOrder, List<Team> teams,
+			WorldState state, Worm activeWorm, Projectile livingProjectile) {
+		this.world = world;
+		this.state = state;
+		this.activeWorm = activeWorm;
+		this.livingProjectile = livingProjectile;
+		this.teams = teams.toArray(new Team[teams.size()]);
+		this.turnOrder = turnOrder.toArray(new Worm[turnOrder.size()]);
+
+		int objectCount = gameObjects.size();
+		this.gameObjects = gameObjects.toArray(new GameObject[objectCount]);
+		this.positions = new Position[objectCount];
+		int wormCount = 0;
+		for(int i = 0; i < objectCount; i++) {
+			positions[i] = this.gameObjects[i].getPosition();
+			if(this.gameObjects[i] instanceof Worm)
+				wormCount++;
+		}
+
+		this.worms = new Worm[wormCount];
+		this.angles = new double[wormCount];
+		this.radii = new double[wormCount];
+		this.actionPoints = new int[wormCount];
+		this.hitPoints = new int[wormCount];
+		this.weaponIndices = new int[wormCount];
+		this.wormTeams = new Team[wormCount];
+		int index = 0;
+		for(GameObject gameObject : this.gameObjects) {
+			if(!(gameObject instanceof Worm))
+				continue;
+			Worm worm = (Worm) gameObject;
+			worms[index] = worm;
+			angles[index] = worm.getAngle();
+			radii[index] = worm.getRadius();
+			actionPoints[index] = worm.getCurrentActionPoints();
+			hitPoints[index] = worm.getCurrentHitPoints();
+			weaponIndices[index] = worm.getCurrentWeaponIndex();
+			wormTeams[index] = worm.getTeam();
+			index++;
+		}
+	}
+
+	/**
+	 * Returns the world this snapshot was taken of.
+	 */
+	@Basic @Immutable
+	public World getWorld() {
+		return world;
+	}
+
+	private final World world;
+
+	/**
+	 * Returns the state of the world when this snapshot was taken.
+	 */
+	@Basic @Immutable
+	public WorldState getState() {
+		return state;
+	}
+
+	private final WorldState state;
+
+	/**
+	 * Returns the active worm of the world when this snapshot was taken.
+	 */
+	@Basic @Immutable
+	public Worm getActiveWorm() {
+		return activeWorm;
+	}
+
+	private final Worm activeWorm;
+
+	/**
+	 * Returns the living projectile of the world when this snapshot was taken, or null if there was none.
+	 */
+	@Basic @Immutable
+	public Projectile getLivingProjectile() {
+		return livingProjectile;
+	}
+
+	private final Projectile livingProjectile;
+
+	/**
+	 * Returns the amount of GameObjects in the world when this snapshot was taken.
+	 */
+	public int getGameObjectCount() {
+		return gameObjects.length;
+	}
+
+	/**
+	 * Returns the amount of worms in the world when this snapshot was taken.
+	 */
+	public int getWormCount() {
+		return worms.length;
+	}
+
+	/**
+	 * Returns the amount of bytes used by this snapshot to store its records.
+	 * The GameObjects, teams and positions it refers to are shared with the world and aren't included,
+	 * references are counted as 8 bytes.
+	 *
+	 * @return	| result == 8 * (2 * this.getGameObjectCount() + the amount of teams + the amount of worms in the turn order)
+	 * 			|	+ (8 + 8 + 8 + 4 + 4 + 4 + 8) * this.getWormCount()
+	 */
+	public long getMemoryFootprint() {
+		long references = 2L * gameObjects.length + teams.length + turnOrder.length;
+		return 8 * references + (long) WORM_RECORD_SIZE * worms.length;
+	}
+
+	/**
+	 * The amount of bytes recorded per worm: a reference to the worm, its angle, radius, action points, hit points,
+	 * weapon index and a reference to its team.
+	 */
+	private static final int WORM_RECORD_SIZE = 8 + 8 + 8 + 4 + 4 + 4 + 8;
+
+	/**
+	 * Put every recorded GameObject back in the state it had when this snapshot was taken.
+	 * The world restoring this snapshot must rebuild its lists and indices afterwards.
+	 */
+	void restoreGameObjects() {
+		int index = 0;
+		for(int i = 0; i < gameObjects.length; i++) {
+			GameObject gameObject = gameObjects[i];
+			if(gameObject instanceof Worm) {
+				worms[index].restoreState(positions[i], angles[index], radii[index], actionPoints[index],
+						hitPoints[index], weaponIndices[index], wormTeams[index]);
+				index++;
+			} else if(gameObject instanceof Food) {
+				((Food) gameObject).restore(positions[i]);
+			} else {
+				gameObject.restorePosition(positions[i]);
+			}
+		}
+	}
+
+	/**
+	 * The GameObjects of the world in their order in the world, along with their positions.
+	 */
+	final GameObject[] gameObjects;
+	private final Position[] positions;
+
+	/**
+	 * The living worms of the world in the order they get their turn.
+	 */
+	final Worm[] turnOrder;
+
+	/**
+	 * The teams of the world.
+	 */
+	final Team[] teams;
+
+	/**
+	 * The worms among the GameObjects, in the same order, along with the state of each worm besides its position.
+	 */
+	private final Worm[] worms;
+	private final double[] angles;
+	private final double[] radii;
+	private final int[] actionPoints;
+	private final int[] hitPoints;
+	private final int[] weaponIndices;
+	private final Team[] wormTeams;
+
+}
@@ -71,11 +71,31 @@ public class Food extends GameObject {
 	 * 
 	 * @post This food is not alive anymore.
 	 * 		| new.isAlive() == false
+	 * @effect If this food has a world, that world is notified of its death.
+	 * 		| if(this.getWorld() != null)
+	 * 		|	this.getWorld().notifyDeath(this)
 	 */
 	public void setToEaten() {
 		this.alive = false;
+		if(this.getWorld() != null)
+			this.getWorld().notifyDeath(this);
 	}
 	
+	/**
+	 * Put this food back uneaten on a position it had before, as recorded by a snapshot of its world.
+	 *
+	 * @param position The position to put this food back on.
+	 *
+	 * @post This food isn't eaten.
+	 * 		| new.isAlive() == (new.getWorld() != null && new.getWorld().liesWithinBoundaries(new))
+	 * @effect The position is restored.
+	 * 		| this.restorePosition(position)
+	 */
+	public void restore(Position position) throws IllegalArgumentException {
+		this.restorePosition(position);
+		this.alive = true;
+	}
+
 	private boolean alive;
 
 }
@@ -1,8 +1,10 @@
 package worms.model.world.entity;
 
 import worms.model.world.World;
+import worms.model.world.terrain.TerrainContact;
 import worms.util.Position;
 import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
 import be.kuleuven.cs.som.annotate.Raw;
 
 /**
@@ -50,6 +52,9 @@ public abstract class GameObject {
 	 * 
 	 * @post This GameObject's position is equal to the given position.
 	 * 		 | new.getPosition() == position
+	 * @effect If this GameObject has a world, that world is notified of the move.
+	 * 		 | if(this.getWorld() != null)
+	 * 		 |	this.getWorld().notifyMoved(this)
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			When position is not a valid position.
@@ -60,8 +65,30 @@ public abstract class GameObject {
 			throw new IllegalArgumentException();
 		
 		this.position = position;
+		if(this.getWorld() != null)
+			this.getWorld().notifyMoved(this);
 	}
 	
+	/**
+	 * Put this GameObject back on a position it had before, as recorded by a snapshot of its world.
+	 * Unlike setPosition(Position) nothing else happens: the world restoring the snapshot rebuilds its indices itself.
+	 *
+	 * @param position The position to put this GameObject back on.
+	 *
+	 * @post This GameObject's position is equal to the given position.
+	 * 		 | new.getPosition() == position
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When position is not a valid position.
+	 * 			| !isValidPosition(position)
+	 */
+	@Raw
+	public void restorePosition(Position position) throws IllegalArgumentException {
+		if(!isValidPosition(position))
+			throw new IllegalArgumentException("The position to restore musn't be a null reference.");
+		this.position = position;
+	}
+
 	/**
 	 * Returns whether the position is a valid position
 	 * 
@@ -109,42 +136,96 @@ public abstract class GameObject {
 	 * @return False if this gameObject has no world.
 	 * 			| if(this.getWorld() == null)
 	 * 			| 	result == false
+	 * @return True if this gameObject is neither in nor adjacent to impassable terrain, false otherwise.
+	 * 			| result == (this.getWorld().classify(this.getPosition(), this.getRadius()) == TerrainContact.FREE)
 	 */
 	public boolean canFall() {
 		if (this.getWorld() == null)
 			return false;
-		return !this.getWorld().isAdjacent(this.getPosition(), this.getRadius()) && !this.getWorld().isImpassable(this.getPosition(), this.getRadius());
+		return this.getWorld().classify(this.getPosition(), this.getRadius()) == TerrainContact.FREE;
 	}
 	
 	/**
 	 * Let this gameObject fall down until it leaves the world boundaries or can't fall anymore,
 	 * only if this gameObject has a world.
+	 * The gameObject falls in steps of a tenth of its radius. Steps that are certain to stay free of terrain
+	 * and within the world boundaries, without anything else happening, are passed at once.
 	 * 
 	 * @post The new Y-coordinate of this gameObject will be equal to or less than the current Y.
 	 * 			| new.getPosition().getY() <= this.getPosition().getY()
 	 * @post The new gameObject can not fall or isn't alive because it left world boundaries or it hasn't got a world.
 	 * 			| !new.canFall || !new.isAlive() || (new.getWorld() == null && this.getWorld() == null)
-	 * 
+	 * @effect The gameObject ends up where falling step by step would leave it.
+	 * 			| while(canFall() && this.getWorld().liesWithinBoundaries(this))
+	 * 			|	this.setPosition(new Position(this.getPosition().getX(), this.getPosition().getY() - this.getRadius()*0.1))
 	 */
 	public void fall() {
 		if(this.getWorld() != null) {
-			while(canFall() && this.getWorld().liesWithinBoundaries(this)) { 
-					this.setPosition(new Position(this.getPosition().getX(), this.getPosition().getY() - this.getRadius()*0.1)); // fall with a little bit 
+			while(canFall() && this.getWorld().liesWithinBoundaries(this)) {
+				int skippedSteps = this.getUneventfulFallSteps(this.getFreeFallSteps());
+				double y = this.getPosition().getY();
+				for(int step = 0; step <= skippedSteps; step++)
+					y = y - this.getRadius()*0.1; //the same subtractions as falling step by step, so the same positions.
+				this.setPosition(new Position(this.getPosition().getX(), y)); // fall with a little bit 
 			}
 		}
 	}
 	
+	/**
+	 * Returns how many of the next fall steps certainly end free of terrain and within the world boundaries,
+	 * judging from the clearance below this gameObject.
+	 */
+	@Model
+	private int getFreeFallSteps() {
+		World world = this.getWorld();
+		double radius = this.getRadius();
+		double adjacentRadius = 1.1*radius;
+		double startY = this.getPosition().getY();
+		//Nothing further than the bottom of the world matters.
+		double clearance = world.getClearance(this.getPosition().getX(), startY, (startY - radius) + adjacentRadius + FALL_MARGIN);
+		
+		int steps = 0;
+		double y = startY;
+		while(true) {
+			double nextY = y - radius*0.1;
+			//The clearance shrinks at most as much as we fall.
+			if(!(clearance - (startY - nextY) > adjacentRadius + FALL_MARGIN) || !(nextY - radius >= 0))
+				return steps;
+			y = nextY;
+			steps++;
+		}
+	}
+	
+	/**
+	 * The distance (in meters) by which the clearance must exceed the adjacent radius to pass a fall step without checking it.
+	 * This covers the rounding of the clearance and of the fallen distance.
+	 */
+	private static final double FALL_MARGIN = 1E-9;
+	
+	/**
+	 * Returns how many of the given amount of next fall steps this gameObject can pass without anything happening
+	 * but moving. The step after those is taken as a separate step.
+	 * 
+	 * @param steps The amount of next fall steps that are free of terrain and within the world boundaries.
+	 * 
+	 * @return	A gameObject only moves when it falls.
+	 * 			| result == steps
+	 */
+	protected int getUneventfulFallSteps(int steps) {
+		return steps;
+	}
+	
 	/**
 	 * Remove the set world if needed.
 	 * If a world has to be set to null, remove this Object in that world by calling world.remove(GameObject), that function will call
 	 * this in order to clean both ends.
 	 * 
 	 * @post If the world set doesn't contain this GameObject, set the world to null.
-	 * 			| if(this.getWorld() != null && !this.getWorld().getGameObjects().contains(this))
+	 * 			| if(this.getWorld() != null && !this.getWorld().contains(this))
 	 * 			|	new.getWorld() == null
 	 */
 	public void removeWorld() {
-		if(this.getWorld() != null && !this.getWorld().getGameObjects().contains(this)) {
+		if(this.getWorld() != null && !this.getWorld().contains(this)) {
 				this.world = null;
 		}
 	}
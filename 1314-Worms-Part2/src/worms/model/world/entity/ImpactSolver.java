@@ -0,0 +1,436 @@
+package worms.model.world.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+import worms.model.Constants;
+import worms.model.world.World;
+import worms.util.Position;
+
+/**
+ * Finds the time at which the flight of a weapon projectile ends, when its traject is followed in steps of a given time step.
+ * 
+ * The flight ends one step after the projectile leaves the world, overlaps impassable terrain or hits a worm other than
+ * the owner of its weapon.
+ * Instead of checking every worm and the terrain at every step, the solver first computes for every worm the time windows
+ * in which the parabola comes within the radius of that worm plus the radius of the projectile. Outside of those windows
+ * it skips all steps that can't reach terrain or a boundary within the clearance around the projectile.
+ * Inside a window it checks every step against the worms of that window. 
+ * Because only steps that are certain to be passed are skipped, the result is exactly the fixed step result.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ * 
+ * @invar	The projectile of this solver is effective and lies in a world.
+ * 			| this.getProjectile() != null && this.getProjectile().getWorld() != null
+ * @invar	The time step of this solver is positive.
+ * 			| this.getTimeStep() > 0
+ */
+public class ImpactSolver {
+
+	/**
+	 * Initialize a solver for the flight of the given projectile.
+	 * 
+	 * @param projectile The projectile that flies.
+	 * @param timeStep The time between two positions on the traject of the projectile.
+	 * 
+	 * @post	The projectile of the new solver is the given projectile.
+	 * 			| new.getProjectile() == projectile
+	 * @post	The time step of the new solver is the given time step.
+	 * 			| new.getTimeStep() == timeStep
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When projectile is a null reference or doesn't lie in a world.
+	 * 			| projectile == null || projectile.getWorld() == null
+	 * @throws IllegalArgumentException
+	 * 			When the time step isn't positive.
+	 * 			| !(timeStep > 0)
+	 */
+	public ImpactSolver(WeaponProjectile projectile, double timeStep) throws IllegalArgumentException {
+		if(projectile == null || projectile.getWorld() == null)
+			throw new IllegalArgumentException("The projectile must be effective and lie in a world.");
+		if(!(timeStep > 0))
+			throw new IllegalArgumentException("The time step must be positive.");
+		this.projectile = projectile;
+		this.timeStep = timeStep;
+	}
+	
+	/**
+	 * Returns the projectile that flies.
+	 */
+	@Basic @Immutable
+	public WeaponProjectile getProjectile() {
+		return projectile;
+	}
+	
+	private final WeaponProjectile projectile;
+	
+	/**
+	 * Returns the time between two positions on the traject of the projectile.
+	 */
+	@Basic @Immutable
+	public double getTimeStep() {
+		return timeStep;
+	}
+	
+	private final double timeStep;
+	
+	/**
+	 * Returns the amount of terrain probes the last call to solve() or solveFixedStep() used.
+	 */
+	@Basic
+	public long getProbeCount() {
+		return probeCount;
+	}
+	
+	private long probeCount;
+	
+	/**
+	 * Returns the time the flight of the projectile takes, skipping the steps that are certain to be passed.
+	 * 
+	 * @return	| result == this.solveFixedStep()
+	 */
+	public double solve() {
+		World world = projectile.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+		
+		Position start = projectile.getPosition();
+		double radius = projectile.getRadius();
+		double speed = projectile.getJumpSpeed();
+		double speedX = speed * Math.cos(projectile.getAngle());
+		double speedY = speed * Math.sin(projectile.getAngle());
+		
+		if(!world.liesWithinBoundaries(start, radius) || world.isImpassable(start, radius)) {
+			probeCount = world.getTerrainProbeCount() - probesBefore;
+			return timeStep;
+		}
+		
+		List<HitWindow> windows = this.getHitWindows(world, start, radius, speedX, speedY);
+		List<HitWindow> activeWindows = new ArrayList<HitWindow>();
+		int nextWindow = 0;
+		
+		double loopTime = timeStep;
+		while(true) {
+			//Windows that started are active until they end.
+			while(nextWindow < windows.size() && windows.get(nextWindow).from <= loopTime)
+				activeWindows.add(windows.get(nextWindow++));
+			for(int i = activeWindows.size() - 1; i >= 0; i--) {
+				if(activeWindows.get(i).to < loopTime)
+					activeWindows.remove(i);
+			}
+			
+			//The same formula as Projectile.jumpStep(double), without creating a position.
+			double x = Trajectory.getX(start.getX(), speedX, loopTime);
+			double y = Trajectory.getY(start.getY(), speedY, loopTime);
+			if(!world.liesWithinBoundaries(x, y, radius) || world.isImpassable(x, y, radius) || 
+					hitsWorm(activeWindows, x, y, radius))
+				break;
+			
+			if(activeWindows.isEmpty()) {
+				double nextWindowStart = (nextWindow < windows.size()) ? windows.get(nextWindow).from : Double.POSITIVE_INFINITY;
+				int safeSteps = this.getSafeSteps(this.getSafeDistance(world, x, y, radius), loopTime, speedX, speedY);
+				for(int step = 0; step < safeSteps && loopTime + timeStep < nextWindowStart; step++)
+					loopTime += timeStep; //the same additions as the fixed step loop, so the same times.
+			}
+			loopTime += timeStep;
+		}
+		
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return loopTime + timeStep;
+	}
+	
+	/**
+	 * Returns the time the flight of the projectile takes, checking the terrain and all worms at every step.
+	 * 
+	 * @return 	| double loopTime = this.getTimeStep();
+	 * 			| Position calculatedPosition = this.getProjectile().getPosition();
+	 * 			| ArrayList<Worm> hits = new ArrayList<Worm>();
+	 *			|
+	 *			| while(this.getProjectile().getWorld().liesWithinBoundaries(calculatedPosition, this.getProjectile().getRadius()) &&
+	 *			|	!this.getProjectile().getWorld().isImpassable(calculatedPosition, this.getProjectile().getRadius())
+	 *			|		&& !(hits.size()>1) && !(hits.size()==1 && !hits.contains(this.getProjectile().getUsedWeapon().getOwner())))
+	 *			|			calculatedPosition = this.getProjectile().jumpStep(loopTime)
+	 *			|			loopTime += this.getTimeStep()
+	 *			|			hits = this.getProjectile().getWorld().hitsWorm(calculatedPosition, this.getProjectile().getRadius())
+	 *			| result == loopTime
+	 */
+	public double solveFixedStep() {
+		World world = projectile.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+		
+		double loopTime = timeStep;
+		Position calculatedPosition = projectile.getPosition();
+		ArrayList<Worm> hits = new ArrayList<Worm>();
+		
+		double calcRadius = projectile.getRadius(); //So we don't recalculate this too many times.
+		
+		while(world.liesWithinBoundaries(calculatedPosition, calcRadius) &&
+				!world.isImpassable(calculatedPosition, calcRadius)
+				&& !(hits.size()>1) && !(hits.size()==1 && !hits.contains(projectile.getUsedWeapon().getOwner()))) {
+			calculatedPosition = projectile.jumpStep(loopTime);
+			loopTime += timeStep;
+			hits = world.hitsWorm(calculatedPosition, calcRadius);
+		}
+		
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return loopTime;
+	}
+	
+	/**
+	 * Returns whether the projectile at the given coordinates hits a worm of one of the given windows,
+	 * in the same way World.hitsWorm(Position, double) checks it.
+	 */
+	@Model
+	private static boolean hitsWorm(List<HitWindow> windows, double x, double y, double radius) {
+		for(int i = 0; i < windows.size(); i++) {
+			Worm worm = windows.get(i).worm;
+			if(worm.getPosition().distance(x, y) < worm.getRadius() + radius)
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the time windows, sorted by their start, in which the projectile comes within hitting distance of
+	 * a worm other than the owner of its weapon.
+	 * 
+	 * With d(t) the vector from the worm to the projectile at time t, the projectile is within hitting distance R when
+	 * f(t) = |d(t)|^2 - R^2 is negative. f is a polynomial of the fourth degree, so f' has at most three roots, 
+	 * which are separated by the (at most two) roots of the quadratic f''. Between the roots of f', f is monotone
+	 * and its own roots are found by bisection. The windows are a little too wide (f(t) < HIT_SLACK) to cover rounding errors.
+	 */
+	@Model
+	private List<HitWindow> getHitWindows(World world, Position start, double radius, double speedX, double speedY) {
+		double h = Constants.EARTH_ACCELERATION / 2;
+		//After this time the projectile lies below the world.
+		double horizon = (speedY + Math.sqrt(speedY * speedY + 4 * h * (start.getY() + radius + 1))) / (2 * h) + timeStep;
+		
+		List<HitWindow> windows = new ArrayList<HitWindow>();
+		Worm owner = projectile.getUsedWeapon().getOwner();
+		for(Worm worm : world.getWorms()) {
+			if(worm == owner)
+				continue;
+			double hitDistance = worm.getRadius() + radius;
+			Separation separation = new Separation(start.getX() - worm.getPosition().getX(), start.getY() - worm.getPosition().getY(), 
+					speedX, speedY, h, hitDistance * hitDistance + HIT_SLACK);
+			separation.addWindows(worm, horizon, windows);
+		}
+		
+		Collections.sort(windows, new Comparator<HitWindow>() {
+			@Override
+			public int compare(HitWindow first, HitWindow second) {
+				return Double.compare(first.from, second.from);
+			}
+		});
+		return windows;
+	}
+	
+	/**
+	 * Returns a distance the projectile can travel from the given position, in any direction,
+	 * without reaching impassable terrain or leaving the world. The distance is negative when no distance is certain.
+	 */
+	@Model
+	private double getSafeDistance(World world, double x, double y, double radius) {
+		double clearance = world.getClearance(x, y, 2 * radius + MIN_CLEARANCE_LIMIT);
+		double boundaryDistance = Math.min(
+				Math.min(x - radius, world.getWidth() - (x + radius)),
+				Math.min(y - radius, world.getHeight() - (y + radius)));
+		return Math.min(clearance - radius, boundaryDistance) - SAFETY_MARGIN;
+	}
+	
+	/**
+	 * Returns the amount of steps after the given time during which the projectile travels at most the given distance.
+	 * The speed on a parabola is convex in time, so the largest speed in an interval is the speed at one of its ends.
+	 * 
+	 * @return	Zero if the distance isn't positive.
+	 * 			| if(!(distance > 0))
+	 * 			|	result == 0
+	 */
+	@Model
+	private int getSafeSteps(double distance, double time, double speedX, double speedY) {
+		if(!(distance > 0))
+			return 0;
+		double speedNow = speedAt(time, speedX, speedY);
+		double steps = Math.min(Math.floor(distance / (speedNow * timeStep)), MAX_SAFE_STEPS);
+		double speedLater = speedAt(time + steps * timeStep, speedX, speedY);
+		if(speedLater > speedNow)
+			steps = Math.floor(distance / (speedLater * timeStep));
+		return (int) steps;
+	}
+	
+	/**
+	 * Returns the speed of the projectile at the given time in a flight with the given initial speeds.
+	 */
+	@Model
+	private static double speedAt(double time, double speedX, double speedY) {
+		double currentSpeedY = speedY - Constants.EARTH_ACCELERATION * time;
+		return Math.sqrt(speedX * speedX + currentSpeedY * currentSpeedY);
+	}
+	
+	/**
+	 * A time window in which the projectile may hit a worm.
+	 */
+	private static class HitWindow {
+		
+		private HitWindow(Worm worm, double from, double to) {
+			this.worm = worm;
+			this.from = from;
+			this.to = to;
+		}
+		
+		private final Worm worm;
+		private final double from;
+		private final double to;
+	}
+	
+	/**
+	 * The squared distance between the projectile and a worm, f(t) = (x + vx t)^2 + (y + vy t - h t^2)^2 - limit,
+	 * relative to the position of the worm.
+	 */
+	private static class Separation {
+		
+		private Separation(double x, double y, double speedX, double speedY, double h, double limit) {
+			this.x = x;
+			this.y = y;
+			this.speedX = speedX;
+			this.speedY = speedY;
+			this.h = h;
+			this.limit = limit;
+		}
+		
+		private double value(double t) {
+			double dx = x + speedX * t;
+			double dy = y + speedY * t - h * t * t;
+			return dx * dx + dy * dy - limit;
+		}
+		
+		private double derivative(double t) {
+			double dx = x + speedX * t;
+			double dy = y + speedY * t - h * t * t;
+			return 2 * dx * speedX + 2 * dy * (speedY - 2 * h * t);
+		}
+		
+		/**
+		 * Adds the windows in [0, horizon] in which the value is negative.
+		 */
+		private void addWindows(Worm worm, double horizon, List<HitWindow> windows) {
+			//The roots of f''(t) = 12h^2 t^2 - 12 h vy t + 2(vx^2 + vy^2 - 2 h y) split f' into monotone pieces.
+			List<Double> pieces = new ArrayList<Double>();
+			pieces.add(0.0);
+			double a = 12 * h * h;
+			double b = -12 * h * speedY;
+			double c = 2 * (speedX * speedX + speedY * speedY - 2 * h * y);
+			double discriminant = b * b - 4 * a * c;
+			if(discriminant > 0) {
+				double root = Math.sqrt(discriminant);
+				addIfBetween(pieces, (-b - root) / (2 * a), horizon);
+				addIfBetween(pieces, (-b + root) / (2 * a), horizon);
+			}
+			pieces.add(horizon);
+			
+			//The roots of f' split f into monotone pieces.
+			List<Double> monotone = new ArrayList<Double>();
+			monotone.add(0.0);
+			for(int i = 0; i + 1 < pieces.size(); i++) {
+				double from = pieces.get(i);
+				double to = pieces.get(i + 1);
+				if((derivative(from) < 0) != (derivative(to) < 0))
+					monotone.add(rootOfDerivative(from, to));
+			}
+			monotone.add(horizon);
+			
+			double windowStart = Double.NaN;
+			for(int i = 0; i + 1 < monotone.size(); i++) {
+				double from = monotone.get(i);
+				double to = monotone.get(i + 1);
+				boolean insideFrom = value(from) < 0;
+				boolean insideTo = value(to) < 0;
+				if(insideFrom && Double.isNaN(windowStart))
+					windowStart = from;
+				if(insideFrom && !insideTo) {
+					windows.add(new HitWindow(worm, windowStart, crossing(from, to, true)));
+					windowStart = Double.NaN;
+				} else if(!insideFrom && insideTo) {
+					windowStart = crossing(from, to, false);
+				}
+			}
+			if(!Double.isNaN(windowStart))
+				windows.add(new HitWindow(worm, windowStart, horizon));
+		}
+		
+		/**
+		 * Returns the time in [from, to] at which the derivative changes sign, by bisection.
+		 */
+		private double rootOfDerivative(double from, double to) {
+			boolean negativeFrom = derivative(from) < 0;
+			for(int i = 0; i < BISECTION_STEPS; i++) {
+				double middle = (from + to) / 2;
+				if(middle <= from || middle >= to)
+					break;
+				if((derivative(middle) < 0) == negativeFrom)
+					from = middle;
+				else
+					to = middle;
+			}
+			return (from + to) / 2;
+		}
+		
+		/**
+		 * Returns the time in [from, to] at which the value changes sign, by bisection. The value is negative in from 
+		 * if leaving is true, in to otherwise. The returned time is on the negative side, so the window is never too small.
+		 */
+		private double crossing(double from, double to, boolean leaving) {
+			for(int i = 0; i < BISECTION_STEPS; i++) {
+				double middle = (from + to) / 2;
+				if(middle <= from || middle >= to)
+					break;
+				if((value(middle) < 0) == leaving)
+					from = middle;
+				else
+					to = middle;
+			}
+			return leaving ? to : from;
+		}
+		
+		private static void addIfBetween(List<Double> times, double time, double horizon) {
+			if(time > 0 && time < horizon)
+				times.add(time);
+		}
+		
+		private final double x;
+		private final double y;
+		private final double speedX;
+		private final double speedY;
+		private final double h;
+		private final double limit;
+	}
+	
+	/**
+	 * The slack (in squared meters) on the hitting distance, to cover rounding errors when computing the hit windows.
+	 */
+	private static final double HIT_SLACK = 1E-9;
+	
+	/**
+	 * The amount of bisection steps, enough to reach the precision of a double.
+	 */
+	private static final int BISECTION_STEPS = 200;
+	
+	/**
+	 * The distance (in meters) kept between a skipped step and the nearest terrain or boundary, to cover rounding errors.
+	 */
+	private static final double SAFETY_MARGIN = 1E-9;
+	
+	/**
+	 * The smallest distance (in meters) the terrain is searched for around the projectile.
+	 */
+	private static final double MIN_CLEARANCE_LIMIT = 0.5;
+	
+	/**
+	 * The largest amount of steps skipped at once.
+	 */
+	private static final double MAX_SAFE_STEPS = 1E6;
+	
+}
@@ -0,0 +1,264 @@
+package worms.model.world.entity;
+
+import be.kuleuven.cs.som.annotate.*;
+import worms.model.Constants;
+import worms.model.world.World;
+import worms.model.world.terrain.TerrainContact;
+import worms.util.Position;
+
+/**
+ * Finds the time at which the jump of a worm ends, when its traject is followed in steps of a given time step.
+ * 
+ * The jump ends at the last step before the worm leaves the world, overlaps impassable terrain or becomes adjacent to 
+ * impassable terrain further than its radius from where it started.
+ * Instead of checking the terrain at every step, the solver measures the clearance around the worm and skips 
+ * all steps that can't reach any terrain or boundary within that clearance. Near terrain it checks every step.
+ * Because only steps that are certain to be passed are skipped, the result is exactly the fixed step result.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ * 
+ * @invar	The worm of this solver is effective and lies in a world.
+ * 			| this.getWorm() != null && this.getWorm().getWorld() != null
+ * @invar	The time step of this solver is positive.
+ * 			| this.getTimeStep() > 0
+ */
+public class LandingSolver {
+
+	/**
+	 * Initialize a solver for the jump of the given worm.
+	 * 
+	 * @param worm The worm that jumps.
+	 * @param timeStep The time between two positions on the traject of the jump.
+	 * 
+	 * @post	The worm of the new solver is the given worm.
+	 * 			| new.getWorm() == worm
+	 * @post	The time step of the new solver is the given time step.
+	 * 			| new.getTimeStep() == timeStep
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When worm is a null reference or doesn't lie in a world.
+	 * 			| worm == null || worm.getWorld() == null
+	 * @throws IllegalArgumentException
+	 * 			When the time step isn't positive.
+	 * 			| !(timeStep > 0)
+	 */
+	public LandingSolver(Worm worm, double timeStep) throws IllegalArgumentException {
+		if(worm == null || worm.getWorld() == null)
+			throw new IllegalArgumentException("The worm must be effective and lie in a world.");
+		if(!(timeStep > 0))
+			throw new IllegalArgumentException("The time step must be positive.");
+		this.worm = worm;
+		this.timeStep = timeStep;
+	}
+	
+	/**
+	 * Returns the worm that jumps.
+	 */
+	@Basic @Immutable
+	public Worm getWorm() {
+		return worm;
+	}
+	
+	private final Worm worm;
+	
+	/**
+	 * Returns the time between two positions on the traject of the jump.
+	 */
+	@Basic @Immutable
+	public double getTimeStep() {
+		return timeStep;
+	}
+	
+	private final double timeStep;
+	
+	/**
+	 * Returns the amount of terrain probes the last call to solve() or solveFixedStep() used.
+	 */
+	@Basic
+	public long getProbeCount() {
+		return probeCount;
+	}
+	
+	private long probeCount;
+	
+	/**
+	 * Returns the time the jump of the worm takes, skipping the steps that are certain to be passed.
+	 * The traject is followed by its coordinates, no positions are created along the way.
+	 * 
+	 * @return	| result == this.solveFixedStep()
+	 */
+	public double solve() {
+		World world = worm.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+		
+		Position start = worm.getPosition();
+		double radius = worm.getRadius();
+		double adjacentRadius = 1.1*radius;
+		double speed = worm.getJumpSpeed();
+		double speedX = speed * Math.cos(worm.getAngle());
+		double speedY = speed * Math.sin(worm.getAngle());
+		
+		double loopTime = 0;
+		double x = start.getX();
+		double y = start.getY();
+		while(world.liesWithinBoundaries(x, y, radius)) {
+			TerrainContact contact = world.classify(x, y, radius);
+			if(!this.canContinue(contact, x, y))
+				break;
+			
+			double safeDistance = this.getSafeDistance(contact, x, y, start, radius, adjacentRadius);
+			int safeSteps = this.getSafeSteps(safeDistance, loopTime, speedX, speedY);
+			for(int step = 0; step < safeSteps; step++)
+				loopTime += timeStep; //the same additions as the fixed step loop, so the same times.
+			
+			loopTime += timeStep;
+			//The same formula as Worm.jumpStep(double).
+			x = Trajectory.getX(start.getX(), speedX, loopTime);
+			y = Trajectory.getY(start.getY(), speedY, loopTime);
+		}
+		
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return Math.max(loopTime - timeStep, 0);
+	}
+	
+	/**
+	 * Returns the time the jump of the worm takes, checking the terrain at every step.
+	 * 
+	 * @return	| double loopTime = 0
+	 *			| Position calculatedPosition = this.getWorm().getPosition()
+	 *			| while(this.getWorm().getWorld().liesWithinBoundaries(calculatedPosition, this.getWorm().getRadius()) && 
+	 *			|	this.canContinue(this.getWorm().getWorld().classify(calculatedPosition, this.getWorm().getRadius()), calculatedPosition))
+	 *			|		loopTime += this.getTimeStep()
+	 *			|		calculatedPosition = this.getWorm().jumpStep(loopTime)
+	 *			| loopTime -= this.getTimeStep()
+	 *			| result == Math.max(loopTime,0)
+	 */
+	public double solveFixedStep() {
+		World world = worm.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+		
+		double loopTime = 0;
+		Position calculatedPosition = worm.getPosition();
+		while(world.liesWithinBoundaries(calculatedPosition, worm.getRadius()) && 
+				this.canContinue(world.classify(calculatedPosition, worm.getRadius()), calculatedPosition)) {
+			loopTime += timeStep;
+			calculatedPosition = worm.jumpStep(loopTime);
+		}
+		loopTime -= timeStep; //one step back
+		
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return Math.max(loopTime,0);
+	}
+	
+	/**
+	 * Returns whether a jump can continue past a position with the given terrain contact:
+	 * it can't continue in impassable terrain, nor when it is adjacent to terrain further than its radius from its start.
+	 * 
+	 * @param contact The terrain contact of the worm at the position.
+	 * @param position The position on the traject of the jump.
+	 * 
+	 * @return	| result == (contact == TerrainContact.FREE || 
+	 * 			|	(contact == TerrainContact.ADJACENT && this.getWorm().getPosition().distance(position) <= this.getWorm().getRadius()))
+	 */
+	public boolean canContinue(TerrainContact contact, Position position) {
+		return this.canContinue(contact, position.getX(), position.getY());
+	}
+	
+	/**
+	 * Returns whether a jump can continue past the given coordinates with the given terrain contact.
+	 * 
+	 * @param contact The terrain contact of the worm at the coordinates.
+	 * @param x The x-coordinate on the traject of the jump.
+	 * @param y The y-coordinate on the traject of the jump.
+	 * 
+	 * @return	| result == this.canContinue(contact, new Position(x, y))
+	 */
+	public boolean canContinue(TerrainContact contact, double x, double y) {
+		if(contact == TerrainContact.FREE)
+			return true;
+		return contact == TerrainContact.ADJACENT && worm.getPosition().distance(x, y) <= worm.getRadius();
+	}
+	
+	/**
+	 * Returns a distance the worm can travel from the given position, in any direction, 
+	 * without failing the checks of canContinue or leaving the world.
+	 * 
+	 * While the worm is free it can travel until it could become adjacent.
+	 * While it is near its start it can also travel until it could overlap terrain or get further than its radius from the start.
+	 * The distance is negative when no distance is certain.
+	 * 
+	 * @param contact The terrain contact of the worm at the position.
+	 * @param x The current x-coordinate of the worm.
+	 * @param y The current y-coordinate of the worm.
+	 * @param start The start position of the jump.
+	 * @param radius The radius of the worm.
+	 * @param adjacentRadius The radius within which terrain is adjacent.
+	 */
+	@Model
+	private double getSafeDistance(TerrainContact contact, double x, double y, Position start, double radius, double adjacentRadius) {
+		World world = worm.getWorld();
+		double clearance = world.getClearance(x, y, adjacentRadius + radius);
+		
+		double safeDistance = -1;
+		if(contact == TerrainContact.FREE)
+			safeDistance = clearance - adjacentRadius;
+		double distanceFromStart = start.distance(x, y);
+		if(distanceFromStart <= radius)
+			safeDistance = Math.max(safeDistance, Math.min(clearance - radius, radius - distanceFromStart));
+		
+		double boundaryDistance = Math.min(
+				Math.min(x - radius, world.getWidth() - (x + radius)),
+				Math.min(y - radius, world.getHeight() - (y + radius)));
+		return Math.min(safeDistance, boundaryDistance) - SAFETY_MARGIN;
+	}
+	
+	/**
+	 * Returns the amount of steps after the given time during which the worm travels at most the given distance.
+	 * The speed on a parabola is convex in time, so the largest speed in an interval is the speed at one of its ends.
+	 * 
+	 * @param distance The distance the worm may travel.
+	 * @param time The current time in the jump.
+	 * @param speedX The horizontal speed of the jump.
+	 * @param speedY The initial vertical speed of the jump.
+	 * 
+	 * @return	Zero if the distance isn't positive.
+	 * 			| if(!(distance > 0))
+	 * 			|	result == 0
+	 * @return	An amount of steps during which the largest speed times the time doesn't exceed the distance.
+	 * 			| result * this.getTimeStep() * Math.max(speedAt(time), speedAt(time + result * this.getTimeStep())) <= distance
+	 */
+	@Model
+	private int getSafeSteps(double distance, double time, double speedX, double speedY) {
+		if(!(distance > 0))
+			return 0;
+		double speedNow = speedAt(time, speedX, speedY);
+		double steps = Math.min(Math.floor(distance / (speedNow * timeStep)), MAX_SAFE_STEPS);
+		double speedLater = speedAt(time + steps * timeStep, speedX, speedY);
+		if(speedLater > speedNow)
+			steps = Math.floor(distance / (speedLater * timeStep));
+		return (int) steps;
+	}
+	
+	/**
+	 * Returns the speed of the worm at the given time in a jump with the given initial speeds.
+	 * 
+	 * @return	| result == Math.sqrt(speedX * speedX + (speedY - Constants.EARTH_ACCELERATION * time)^2)
+	 */
+	@Model
+	private static double speedAt(double time, double speedX, double speedY) {
+		double currentSpeedY = speedY - Constants.EARTH_ACCELERATION * time;
+		return Math.sqrt(speedX * speedX + currentSpeedY * currentSpeedY);
+	}
+	
+	/**
+	 * The distance (in meters) kept between a skipped step and the nearest terrain or boundary, to cover rounding errors.
+	 */
+	private static final double SAFETY_MARGIN = 1E-9;
+	
+	/**
+	 * The largest amount of steps skipped at once.
+	 */
+	private static final double MAX_SAFE_STEPS = 1E6;
+	
+}
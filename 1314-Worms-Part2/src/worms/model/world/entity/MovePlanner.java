@@ -0,0 +1,248 @@
+package worms.model.world.entity;
+
+import be.kuleuven.cs.som.annotate.*;
+import worms.model.world.World;
+import worms.util.Position;
+import worms.util.Util;
+
+/**
+ * Finds the position a worm moves to: for every direction within 0.7875 radians of its angle, the worm walks outward
+ * in steps of a tenth of its radius until it would overlap impassable terrain. The direction reaching furthest wins,
+ * ties go to the direction closest to the angle of the worm.
+ *
+ * Instead of checking the terrain for every step in every direction, the solver measures the clearance at a probe and
+ * reuses it for the probes of the next directions at the same step and for the next step in the same direction.
+ * The clearance changes at most as much as the probe moves, so a probe far enough from the radius either way is
+ * decided without looking at the terrain. Only probes close to the edge of the terrain are checked exactly, so
+ * the result is exactly the result of checking every probe.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The worm of this planner is effective and lies in a world.
+ * 			| this.getWorm() != null && this.getWorm().getWorld() != null
+ */
+public class MovePlanner {
+
+	/**
+	 * Initialize a planner for the move of the given worm.
+	 *
+	 * @param worm The worm that moves.
+	 *
+	 * @post	The worm of the new planner is the given worm.
+	 * 			| new.getWorm() == worm
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When worm is a null reference or doesn't lie in a world.
+	 * 			| worm == null || worm.getWorld() == null
+	 */
+	public MovePlanner(Worm worm) throws IllegalArgumentException {
+		if(worm == null || worm.getWorld() == null)
+			throw new IllegalArgumentException("The worm must be effective and lie in a world.");
+		this.worm = worm;
+	}
+
+	/**
+	 * Returns the worm that moves.
+	 */
+	@Basic @Immutable
+	public Worm getWorm() {
+		return worm;
+	}
+
+	private final Worm worm;
+
+	/**
+	 * Returns the amount of terrain probes the last call to plan() or planFixedStep() used.
+	 */
+	@Basic
+	public long getProbeCount() {
+		return probeCount;
+	}
+
+	private long probeCount;
+
+	/**
+	 * Returns the position the worm moves to, deciding probes from the clearance measured at nearby probes where possible.
+	 *
+	 * @return	| result == this.planFixedStep()
+	 */
+	public Position plan() {
+		World world = worm.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+
+		Position start = worm.getPosition();
+		double angle = worm.getAngle();
+		double radius = worm.getRadius();
+		double step = 0.1*radius;
+
+		//The probes at the same step in the previous directions: the last one measured, with its clearance.
+		int steps = (int) Math.ceil(radius / step) + 2;
+		double[] measuredX = new double[steps];
+		double[] measuredY = new double[steps];
+		double[] measuredClearance = new double[steps];
+		boolean[] measured = new boolean[steps];
+
+		double bestAngle = angle;
+		double bestDistance = 0;
+		//The coordinates of the best position, it is only created when it differs from the start.
+		boolean moved = false;
+		double bestX = 0;
+		double bestY = 0;
+		for (double currentAngle = angle - 0.7875; currentAngle <= angle + 0.7875; currentAngle += 0.0175) {
+			double cos = Math.cos(currentAngle);
+			double sin = Math.sin(currentAngle);
+			double distance = 0.1;
+			boolean found = false;
+			for (int k = 0; distance <= radius && !found; k++) {
+				double posX = distance * cos + start.getX();
+				double posY = distance * sin + start.getY();
+				if (!this.isImpassable(world, posX, posY, radius, k, measuredX, measuredY, measuredClearance, measured))
+					distance += step;
+				else
+					found = true;
+			}
+			distance -= step;
+			if (distance >= 0.1) {
+				if(distance > bestDistance) {
+					bestDistance = distance;
+					bestAngle = currentAngle;
+					moved = true;
+					bestX = distance * cos + start.getX();
+					bestY = distance * sin + start.getY();
+				} else if(Util.fuzzyEquals(bestDistance, distance, 1E-4)) {
+					if(Math.abs(angle - currentAngle) < Math.abs(angle - bestAngle)) {
+						bestDistance = distance;
+						bestAngle = currentAngle;
+						moved = true;
+						bestX = distance * cos + start.getX();
+						bestY = distance * sin + start.getY();
+					}
+				}
+			}
+		}
+
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return moved ? new Position(bestX, bestY) : start;
+	}
+
+	/**
+	 * Returns whether the worm overlaps impassable terrain at the k'th probe of a direction.
+	 * The clearance of the last measured probe at step k, or else at step k-1, decides the probe if it is far enough
+	 * from the radius. Else the clearance of this probe is measured and stored for step k.
+	 */
+	@Model
+	private boolean isImpassable(World world, double posX, double posY, double radius, int k,
+			double[] measuredX, double[] measuredY, double[] measuredClearance, boolean[] measured) {
+		for (int previous = k; previous >= Math.max(k - 1, 0); previous--) {
+			if (!measured[previous])
+				continue;
+			double moved = Math.hypot(posX - measuredX[previous], posY - measuredY[previous]);
+			if (measuredClearance[previous] - moved > radius + MARGIN)
+				return false;
+			if (measuredClearance[previous] + moved < radius - MARGIN)
+				return true;
+		}
+
+		double clearance = world.getClearance(posX, posY, CLEARANCE_LIMIT*radius);
+		measuredX[k] = posX;
+		measuredY[k] = posY;
+		measuredClearance[k] = clearance;
+		measured[k] = true;
+		if (clearance > radius + MARGIN)
+			return false;
+		if (clearance < radius - MARGIN)
+			return true;
+		//Too close to call from the clearance, rounding could go either way.
+		return world.isImpassable(posX, posY, radius);
+	}
+
+	/**
+	 * How far (in radii) the clearance is measured. Probes further than this from terrain are all decided alike.
+	 */
+	private static final double CLEARANCE_LIMIT = 2;
+
+	/**
+	 * The distance (in meters) by which a clearance must differ from the radius to decide a probe without checking it exactly.
+	 * This covers the rounding of the clearance and of the distance between probes.
+	 */
+	private static final double MARGIN = 1E-9;
+
+	/**
+	 * Returns the position the worm moves to, checking the terrain at every probe.
+	 *
+	 * @return check for every angle between the worm's current angle +/- 0.7875 with a step of 0.0175
+	 * 			what the maximum distance is and for all angles with equal maximum distances,
+	 * 			search the angle with the minimum divergence between the angle and the worm's current angle.
+	 *			| double bestAngle = this.getWorm().getAngle()
+	 *			| double bestDistance = 0
+	 *			| Position bestPos = this.getWorm().getPosition()
+	 *			| for double currentAngle = this.getWorm().getAngle() - 0.7875 until currentAngle <= this.getWorm().getAngle() + 0.7875
+	 *			|		with step currentAngle += 0.0175
+	 *			|	double distance = 0.1
+	 *			|	boolean found = false
+	 *			|	while (distance <= this.getWorm().getRadius() && !found)
+	 *			|		double posX = distance * Math.cos(currentAngle) + this.getWorm().getPosition().getX()
+	 *			|		double posY = distance * Math.sin(currentAngle) + this.getWorm().getPosition().getY()
+	 *			|		Position pos = new Position(posX, posY)
+	 *			|		if (!this.getWorm().getWorld().isImpassable(pos, this.getWorm().getRadius()))
+	 *			|			distance += 0.1*this.getWorm().getRadius()
+	 *			|		else
+	 *			|			found = true
+	 *			|	distance -= 0.1*this.getWorm().getRadius()
+	 *			| 	Position newPos = new Position(distance * Math.cos(currentAngle) + this.getWorm().getPosition().getX(),
+	 *			|							distance * Math.sin(currentAngle) + this.getWorm().getPosition().getY())
+	 *			|	if (distance >= 0.1)
+	 *			|		if(distance > bestDistance)
+	 *			|			bestDistance = distance
+	 *			|			bestAngle = currentAngle
+	 *			|			bestPos = newPos
+	 *			|	else if(Util.fuzzyEquals(bestDistance, distance, 1E-4))
+	 *			|		if(Math.abs(this.getWorm().getAngle() - currentAngle) < Math.abs(this.getWorm().getAngle() - bestAngle))
+	 *			|			bestDistance = distance
+	 *			|			bestAngle = currentAngle
+	 *			|			bestPos = newPos
+	 *			| result == bestPos
+	 */
+	public Position planFixedStep() {
+		World world = worm.getWorld();
+		long probesBefore = world.getTerrainProbeCount();
+
+		double bestAngle = worm.getAngle();
+		double bestDistance = 0;
+		Position bestPos = worm.getPosition();
+		for (double currentAngle = worm.getAngle() - 0.7875; currentAngle <= worm.getAngle() + 0.7875; currentAngle += 0.0175) {
+			double distance = 0.1;
+			boolean found = false;
+			while (distance <= worm.getRadius() && !found) {
+				double posX = distance * Math.cos(currentAngle) + worm.getPosition().getX();
+				double posY = distance * Math.sin(currentAngle) + worm.getPosition().getY();
+				Position pos = new Position(posX, posY);
+				if (!world.isImpassable(pos, worm.getRadius()))
+					distance += 0.1*worm.getRadius();
+				else
+					found = true;
+			}
+			distance -= 0.1*worm.getRadius();
+			Position newPos = new Position(distance * Math.cos(currentAngle) + worm.getPosition().getX(),
+											distance * Math.sin(currentAngle) + worm.getPosition().getY());
+			if (distance >= 0.1) {
+				if(distance > bestDistance) {
+					bestDistance = distance;
+					bestAngle = currentAngle;
+					bestPos = newPos;
+				} else if(Util.fuzzyEquals(bestDistance, distance, 1E-4)) {
+					if(Math.abs(worm.getAngle() - currentAngle) < Math.abs(worm.getAngle() - bestAngle)) {
+						bestDistance = distance;
+						bestAngle = currentAngle;
+						bestPos = newPos;
+					}
+				}
+			}
+		}
+
+		probeCount = world.getTerrainProbeCount() - probesBefore;
+		return bestPos;
+	}
+
+}
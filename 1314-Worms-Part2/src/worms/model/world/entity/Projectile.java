@@ -1,6 +1,5 @@
 package worms.model.world.entity;
 
-import worms.model.Constants;
 import worms.model.world.World;
 import worms.util.Position;
 import be.kuleuven.cs.som.annotate.*;
@@ -62,11 +61,13 @@ public abstract class Projectile extends GameObject {
 	/**
 	 * Returns the mass of the projectile.
 	 */
+	@Immutable
 	public abstract double getMass();
 
 	/**
 	 * Returns the density of the projectile.
 	 */
+	@Immutable
 	public abstract double getDensity();
 	
 	
@@ -151,9 +152,49 @@ public abstract class Projectile extends GameObject {
 
 	/**
 	 * Returns the radius of this Projectile.
+	 * The mass and density never change, so the radius is computed once.
+	 * 
+	 * @return	| result == Math.pow((this.getMass() * 3.0) / (getDensity() * 4.0 * Math.PI),(1.0 / 3))
 	 */
+	@Immutable
 	public double getRadius() {
-		return Math.pow((this.getMass() * 3.0) / (getDensity() * 4.0 * Math.PI),(1.0 / 3));
+		if (Double.isNaN(radius)) {
+			radius = Math.pow((this.getMass() * 3.0) / (getDensity() * 4.0 * Math.PI),(1.0 / 3));
+			radiusComputationCount++;
+		}
+		return radius;
+	}
+
+	/**
+	 * The radius of this projectile, or Not a Number until it is computed.
+	 */
+	private double radius = Double.NaN;
+
+	/**
+	 * Returns the amount of times this projectile computed its radius.
+	 */
+	@Basic
+	public long getRadiusComputationCount() {
+		return radiusComputationCount;
+	}
+
+	private long radiusComputationCount;
+
+	/**
+	 * Returns the speed at which this projectile starts its flight.
+	 * 
+	 * @return	| result == (this.getForce() / this.getMass()) * this.getForceTime()
+	 * 
+	 * @throws IllegalStateException
+	 * 			When the mass is less than or equal to zero.
+	 * 			| this.getMass() <= 0
+	 */
+	public double getJumpSpeed() throws IllegalStateException {
+		double mass = this.getMass(); //efficiency.
+		
+		if(mass <= 0)
+			throw new IllegalStateException("The mass was less than or equal to zero.");
+		return (this.getForce() / mass) * this.getForceTime();
 	}
 
 	/**
@@ -188,19 +229,12 @@ public abstract class Projectile extends GameObject {
 		if (time == 0)
 			return this.getPosition();
 		
-		double mass = this.getMass(); //efficiency.
-		
-		if(mass <= 0)
-			throw new IllegalStateException("The mass was less than or equal to zero.");
 		// Calculation
-		double startSpeed = (this.getForce() / mass) * this.getForceTime();
+		double startSpeed = this.getJumpSpeed();
 		double startSpeedX = startSpeed * Math.cos(this.getAngle());
 		double startSpeedY = startSpeed * Math.sin(this.getAngle());
-		double x = this.getPosition().getX() + (startSpeedX * time);
-		double y = this.getPosition().getY() + (startSpeedY * time 
-				- Constants.EARTH_ACCELERATION * Math.pow(time, 2) / 2.0);
 		// Return
-		return new Position(x, y);
+		return Trajectory.getPosition(this.getPosition(), startSpeedX, startSpeedY, time);
 	}
 
 	/**
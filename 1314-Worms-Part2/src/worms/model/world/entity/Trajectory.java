@@ -0,0 +1,183 @@
+package worms.model.world.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+import worms.model.Constants;
+import worms.util.Position;
+
+/**
+ * The ballistic traject of a jump: where it starts, how fast it goes and when it lands.
+ * A trajectory never changes, a worm that turns, moves, grows or spends action points jumps along a new trajectory.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The start of this trajectory is effective.
+ * 			| this.getStart() != null
+ * @invar	The landing time of this trajectory is not negative.
+ * 			| this.getLandingTime() >= 0
+ */
+public class Trajectory {
+
+	/**
+	 * Initialize a trajectory with a start, a start speed and a landing time.
+	 *
+	 * @param start The position the jump starts from.
+	 * @param speedX The horizontal speed at the start of the jump.
+	 * @param speedY The vertical speed at the start of the jump.
+	 * @param landingTime The time at which the jump ends.
+	 *
+	 * @post	| new.getStart() == start
+	 * @post	| new.getLandingTime() == landingTime
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When start is a null reference or the landing time is negative.
+	 * 			| start == null || !(landingTime >= 0)
+	 */
+	public Trajectory(Position start, double speedX, double speedY, double landingTime) throws IllegalArgumentException {
+		if(start == null)
+			throw new IllegalArgumentException("The start of a trajectory musn't be a null reference.");
+		if(!(landingTime >= 0))
+			throw new IllegalArgumentException("The landing time of a trajectory can't be negative.");
+		this.start = start;
+		this.speedX = speedX;
+		this.speedY = speedY;
+		this.landingTime = landingTime;
+		this.landingPosition = this.getPosition(landingTime);
+	}
+
+	/**
+	 * Returns the position this trajectory starts from.
+	 */
+	@Basic @Immutable
+	public Position getStart() {
+		return start;
+	}
+
+	private final Position start;
+
+	private final double speedX;
+
+	private final double speedY;
+
+	/**
+	 * Returns the time at which the jump along this trajectory ends.
+	 */
+	@Basic @Immutable
+	public double getLandingTime() {
+		return landingTime;
+	}
+
+	private final double landingTime;
+
+	/**
+	 * Returns the position at which the jump along this trajectory ends.
+	 *
+	 * @return	| result.equals(this.getPosition(this.getLandingTime()))
+	 */
+	@Immutable
+	public Position getLandingPosition() {
+		return landingPosition;
+	}
+
+	private final Position landingPosition;
+
+	/**
+	 * Returns the position on this trajectory at the given time.
+	 *
+	 * @param time The time since the start of the jump.
+	 *
+	 * @return	| result == getPosition(this.getStart(), speedX, speedY, time)
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When time is a negative value.
+	 * 			| (time < 0)
+	 */
+	public Position getPosition(double time) throws IllegalArgumentException {
+		return getPosition(start, speedX, speedY, time);
+	}
+
+	/**
+	 * Returns the given amount of positions spread evenly in time over this trajectory, the landing position included
+	 * and the start excluded.
+	 * The positions of the last amount asked for are remembered, so drawing the same trajectory again doesn't compute them again.
+	 *
+	 * @param amount The amount of positions.
+	 *
+	 * @return	| for each i in 1..amount
+	 * 			|	result.get(i - 1).equals(this.getPosition(i * this.getLandingTime() / amount))
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When the amount isn't positive.
+	 * 			| amount <= 0
+	 */
+	public List<Position> getSamples(int amount) throws IllegalArgumentException {
+		if(amount <= 0)
+			throw new IllegalArgumentException("The amount of samples must be positive.");
+		List<Position> result = samples;
+		if(result == null || result.size() != amount) {
+			List<Position> positions = new ArrayList<Position>(amount);
+			for(int i = 1; i <= amount; i++)
+				positions.add(this.getPosition(i * landingTime / amount));
+			result = Collections.unmodifiableList(positions);
+			samples = result;
+		}
+		return result;
+	}
+
+	private volatile List<Position> samples;
+
+	/**
+	 * Returns the position at the given time of a jump with the given start and start speed.
+	 *
+	 * @param start The position the jump starts from.
+	 * @param speedX The horizontal speed at the start of the jump.
+	 * @param speedY The vertical speed at the start of the jump.
+	 * @param time The time since the start of the jump.
+	 *
+	 * @return	When the time equals 0 the start will be returned, else the position at that time.
+	 * 			| if(time == 0) then
+	 * 			| 	result == start
+	 * 			| else
+	 * 			| 	x = start.getX() + (speedX * time)
+	 * 			| 	y = start.getY() + (speedY * time - Constants.EARTH_ACCELERATION * Math.pow(time,2) / 2)
+	 * 			| 	result == new Position(x,y)
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When time is a negative value.
+	 * 			| (time < 0)
+	 */
+	public static Position getPosition(Position start, double speedX, double speedY, double time) throws IllegalArgumentException {
+		if (time < 0)
+			throw new IllegalArgumentException("The time can't be negative.");
+		if (time == 0)
+			return start;
+		return new Position(getX(start.getX(), speedX, time), getY(start.getY(), speedY, time));
+	}
+
+	/**
+	 * Returns the x-coordinate at the given time of a jump with the given start and start speed,
+	 * for the loops that follow a jump without creating positions.
+	 *
+	 * @return	| result == startX + (speedX * time)
+	 */
+	public static double getX(double startX, double speedX, double time) {
+		return startX + (speedX * time);
+	}
+
+	/**
+	 * Returns the y-coordinate at the given time of a jump with the given start and start speed,
+	 * for the loops that follow a jump without creating positions.
+	 *
+	 * @return	| result == startY + (speedY * time - Constants.EARTH_ACCELERATION * Math.pow(time,2) / 2)
+	 */
+	public static double getY(double startY, double speedY, double time) {
+		return startY
+				+ (speedY * time - Constants.EARTH_ACCELERATION
+						* Math.pow(time, 2) / 2);
+	}
+
+}
@@ -87,37 +87,19 @@ public class WeaponProjectile extends Projectile {
 	
 	/**
 	 * Returns the jump time if jumped with this projectile's current angle.
+	 * The positions on the traject that are certain not to hit terrain or a worm are skipped, see ImpactSolver.
 	 * 
 	 * @param timeStep The time Step to check the position for.
 	 * 
 	 * @return The time to reach an impassable location or to leave the world boundaries or to hit a worm (excl itself).
-	 * 			| double loopTime = timeStep;
-	 * 			| Position calculatedPosition = this.getPosition();
-	 * 			| ArrayList<Worm> hits = new ArrayList<Worm>();
-	 *			|
-	 *			| while(this.getWorld().liesWithinBoundaries(calculatedPosition, this.getRadius()) &&
-	 *			|	!this.getWorld().isImpassable(calculatedPosition, this.getRadius())
-	 *			|		&& !(hits.size()>1) && !(hits.size()==1 && !hits.contains(this.getUsedWeapon().getOwner())))
-	 *			|			calculatedPosition = this.jumpStep(loopTime)
-	 *			|			loopTime += timeStep
-	 *			|			hits = this.getWorld().hitsWorm(calculatedPosition, this.getRadius())
-	 *			| result == loopTime
+	 * 			| result == new ImpactSolver(this, timeStep).solveFixedStep()
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the time step isn't positive.
+	 * 			| !(timeStep > 0)
 	 */
-	public double jumpTime(double timeStep) {
-		double loopTime = timeStep;
-		Position calculatedPosition = this.getPosition();
-		ArrayList<Worm> hits = new ArrayList<Worm>();
-		
-		double calcRadius = this.getRadius(); //So we don't recalculate this too many times.
-		
-		while(this.getWorld().liesWithinBoundaries(calculatedPosition, calcRadius) &&
-				!this.getWorld().isImpassable(calculatedPosition, calcRadius)
-				&& !(hits.size()>1) && !(hits.size()==1 && !hits.contains(this.getUsedWeapon().getOwner()))) {
-			calculatedPosition = this.jumpStep(loopTime);
-			loopTime += timeStep;
-			hits = this.getWorld().hitsWorm(calculatedPosition, calcRadius);
-		}
-		return loopTime;
+	public double jumpTime(double timeStep) throws IllegalArgumentException {
+		return new ImpactSolver(this, timeStep).solve();
 	}
 	
 	/**
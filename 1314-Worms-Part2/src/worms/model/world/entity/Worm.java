@@ -8,6 +8,7 @@ import worms.gui.GUIConstants;
 import worms.model.*;
 import worms.model.equipment.weapons.*;
 import worms.model.world.World;
+import worms.model.world.terrain.TerrainContact;
 import worms.util.*;
 
 /**
@@ -143,11 +144,11 @@ public class Worm extends GameObject {
 	 * 
 	 * @effect The new position of this worm is calculated and set if the current amount of actionPoints is higher than 0.
 	 * 			| if(this.getCurrentActionpoints() > 0)
-	 * 			| this.setPosition(this.jumpStep(this.jumpTime()))
+	 * 			| this.setPosition(this.getTrajectory(timeStep).getLandingPosition())
 	 */
 	public void jump(double timeStep) {
 		if(this.getCurrentActionPoints() > 0) {
-			this.setPosition(this.jumpStep(this.jumpTime(timeStep)));
+			this.setPosition(this.getTrajectory(timeStep).getLandingPosition());
 			this.setCurrentActionPoints(0);
 		}
 	}
@@ -183,20 +184,13 @@ public class Worm extends GameObject {
 		}
 
 		// Calculation
-		double force = 5 * this.getCurrentActionPoints() + this.getMass()
-				* Constants.EARTH_ACCELERATION;
-		double startSpeed = (force / this.getMass()) * this.getForceTime();
+		double startSpeed = this.getJumpSpeed();
 
 		double startSpeedX = startSpeed * Math.cos(this.getAngle());
 		double startSpeedY = startSpeed * Math.sin(this.getAngle());
 
-		double x = this.getPosition().getX() + (startSpeedX * time);
-		double y = this.getPosition().getY()
-				+ (startSpeedY * time - Constants.EARTH_ACCELERATION
-						* Math.pow(time, 2) / 2);
-
 		// Return
-		return new Position(x, y);
+		return Trajectory.getPosition(this.getPosition(), startSpeedX, startSpeedY, time);
 	}
 	
 	/**
@@ -207,35 +201,80 @@ public class Worm extends GameObject {
 		return Constants.FORCE_TIME;
 	}
 
+	/**
+	 * Returns the speed at which this worm starts a jump.
+	 * 
+	 * @return	| force = 5 * this.getCurrentActionPoints() + this.getMass() * Constants.EARTH_ACCELERATION
+	 * 			| result == (force / this.getMass()) * this.getForceTime()
+	 */
+	public double getJumpSpeed() {
+		double force = 5 * this.getCurrentActionPoints() + this.getMass()
+				* Constants.EARTH_ACCELERATION;
+		return (force / this.getMass()) * this.getForceTime();
+	}
+
 	/**
 	 * Returns the jump time if jumped with this worm's current angle.
+	 * The positions on the traject that are certain to be passable are skipped, see LandingSolver.
 	 * 
 	 * @param timeStep the time between two positions on the traject of the jump.
 	 * 
 	 * @return the time needed to jump from the worm's current position, with the worm's current angle and in the world he is located in.
-	 * 			| double loopTime = 0
-	 *			| Position calculatedPosition = this.getPosition()
-	 *			| while(this.getWorld().liesWithinBoundaries(calculatedPosition, this.getRadius()) && (!this.getWorld().isAdjacent(calculatedPosition, this.getRadius()) || this.getPosition().distance(calculatedPosition) <= this.getRadius()) && 
-	 *			|	!this.getWorld().isImpassable(calculatedPosition, this.getRadius()))
-	 *			|		loopTime += timeStep
-	 *			|		calculatedPosition = this.jumpStep(loopTime)
-	 *			| loopTime -= timeStep
-	 *			| result == Math.max(loopTime,0)
-	 */
-	public double jumpTime(double timeStep) {
-		double loopTime = 0;
-		Position calculatedPosition = this.getPosition();
-		
-		while(this.getWorld().liesWithinBoundaries(calculatedPosition, this.getRadius()) && (!this.getWorld().isAdjacent(calculatedPosition, this.getRadius()) || this.getPosition().distance(calculatedPosition) <= this.getRadius()) && 
-				!this.getWorld().isImpassable(calculatedPosition, this.getRadius())) {
-			loopTime += timeStep;
-			calculatedPosition = this.jumpStep(loopTime);
+	 * 			| result == new LandingSolver(this, timeStep).solveFixedStep()
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the time step isn't positive.
+	 * 			| !(timeStep > 0)
+	 */
+	public double jumpTime(double timeStep) throws IllegalArgumentException {
+		return this.getTrajectory(timeStep).getLandingTime();
+	}
+
+	/**
+	 * Returns the trajectory this worm would jump along with its current position, angle, action points and radius.
+	 * The result is remembered until one of those changes, so the painter, the jump command and the jump itself
+	 * compute the landing only once.
+	 * 
+	 * @param timeStep the time between two positions on the traject of the jump.
+	 * 
+	 * @return	| startSpeed = this.getJumpSpeed()
+	 * 			| result.getStart() == this.getPosition() &&
+	 * 			| result.getPosition(time) == this.jumpStep(time) for every time >= 0 &&
+	 * 			| result.getLandingTime() == new LandingSolver(this, timeStep).solveFixedStep()
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When this worm doesn't lie in a world or the time step isn't positive.
+	 * 			| this.getWorld() == null || !(timeStep > 0)
+	 */
+	public Trajectory getTrajectory(double timeStep) throws IllegalArgumentException {
+		if (trajectory == null || trajectory.getStart() != this.getPosition()
+				|| trajectoryForWorld != this.getWorld() || trajectoryForAngle != this.getAngle()
+				|| trajectoryForActionPoints != this.getCurrentActionPoints()
+				|| trajectoryForRadius != this.getRadius() || trajectoryForTimeStep != timeStep) {
+			double landingTime = new LandingSolver(this, timeStep).solve();
+			double startSpeed = this.getJumpSpeed();
+			trajectory = new Trajectory(this.getPosition(), startSpeed * Math.cos(this.getAngle()),
+					startSpeed * Math.sin(this.getAngle()), landingTime);
+			trajectoryForWorld = this.getWorld();
+			trajectoryForAngle = this.getAngle();
+			trajectoryForActionPoints = this.getCurrentActionPoints();
+			trajectoryForRadius = this.getRadius();
+			trajectoryForTimeStep = timeStep;
 		}
-		loopTime -= timeStep; //one step back
-		
-		return Math.max(loopTime,0);
+		return trajectory;
 	}
 
+	/**
+	 * The result of the last call to getTrajectory(double), along with the world, angle, action points, radius
+	 * and time step it was computed for. The trajectory holds the position it starts from itself.
+	 */
+	private Trajectory trajectory;
+	private World trajectoryForWorld;
+	private double trajectoryForAngle;
+	private int trajectoryForActionPoints;
+	private double trajectoryForRadius;
+	private double trajectoryForTimeStep;
+
 	/**
 	 * Returns the cost to move for this worm if this would be a legal position to move to.
 	 * 
@@ -284,14 +323,13 @@ public class Worm extends GameObject {
 	 * 
 	 * @effect	This worm's new action points is set to the old amount of action points minus the cost to turn.
 	 * 			| this.setCurrentActionPoints(this.getCurrentActionPoints() - getTurnCost(angle))
-	 * @effect	This worm's new direction is set to the old angle plus the given angle plus 2*Math.PI modulo 2*Math.PI.
-	 * 			| this.setAngle(Util.modulo(this.getAngle() + angle + 2*Math.PI, 2*Math.PI));
+	 * @effect	This worm's new direction is set to the old angle plus the given angle, wrapped between 0 and 2*Math.PI.
+	 * 			| this.setAngle(Util.wrapAngle(this.getAngle() + angle));
 	 */
 	public void turn(double angle) {
 		assert isValidAngle(Math.abs(2 * angle)) || Util.fuzzyEquals(Math.abs(angle), Math.PI);
 		assert canTurn(angle);
-		this.setAngle(Util.modulo(this.getAngle() + angle + 2 * Math.PI,
-				2 * Math.PI));
+		this.setAngle(Util.wrapAngle(this.getAngle() + angle));
 		this.setCurrentActionPoints(this.getCurrentActionPoints()
 				- getTurnCost(angle));
 	}
@@ -348,12 +386,20 @@ public class Worm extends GameObject {
 	}
 
 	/**
-	 * Set the new radius of this worm and update the action points accordingly.
+	 * Set the new radius of this worm and update the mass, the maximum amounts of points and the current amounts of points accordingly.
 	 * 
 	 * @param radius The new radius of this worm.
 	 * 
 	 * @post	The radius of this worm is equal to the given radius.
 	 * 			| new.getRadius() == radius
+	 * @post	The mass of this worm follows from the new radius.
+	 * 			| new.getMass() == getDensity() * (4.0 / 3.0) * Math.PI * Math.pow(radius, 3)
+	 * @effect	The current amounts of points are brought within the new maximum amounts.
+	 * 			| this.setCurrentActionPoints(this.getCurrentActionPoints())
+	 * 			| this.setCurrentHitPoints(this.getCurrentHitPoints())
+	 * @effect	If this worm has a world, that world is notified of the new radius.
+	 * 			| if(this.getWorld() != null)
+	 * 			|	this.getWorld().notifyMoved(this)
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			When the given radius is less than the minimum radius.
@@ -369,6 +415,11 @@ public class Worm extends GameObject {
 		if (Double.isNaN(radius))
 			throw new IllegalArgumentException("The radius must be a number.");
 		this.radius = radius;
+		this.computeMass();
+		this.setCurrentActionPoints(this.currentActionPoints);
+		this.setCurrentHitPoints(this.currentHitPoints);
+		if (this.getWorld() != null)
+			this.getWorld().notifyMoved(this);
 	}
 
 	/**
@@ -380,6 +431,16 @@ public class Worm extends GameObject {
 		return minRadius;
 	}
 
+	/**
+	 * Compute the mass of this worm and the maximum amounts of points that follow from it, for the current radius.
+	 */
+	@Raw @Model
+	private void computeMass() {
+		this.mass = getDensity() * (4.0 / 3.0) * Math.PI * Math.pow(this.radius, 3);
+		this.maximumPoints = (this.mass > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) Math.round(this.mass);
+		massComputationCount++;
+	}
+
 	private double radius;
 
 	private final double minRadius = 0.25; // Initialize in constructor later
@@ -387,12 +448,30 @@ public class Worm extends GameObject {
 
 	/**
 	 * Returns the mass of this worm.
+	 * The mass is computed when the radius is set, along with the maximum amounts of points that follow from it.
 	 */
-	@Basic
+	@Basic @Raw
 	public double getMass() {
-		return getDensity() * (4.0 / 3.0) * Math.PI * Math.pow(this.getRadius(), 3);
+		return mass;
 	}
 
+	private double mass;
+
+	/**
+	 * The maximum amount of action points, which is also the maximum amount of hit points.
+	 */
+	private int maximumPoints;
+
+	/**
+	 * Returns the amount of times this worm computed its mass and the quantities derived from it.
+	 */
+	@Basic
+	public long getMassComputationCount() {
+		return massComputationCount;
+	}
+
+	private long massComputationCount;
+
 	/**
 	 * Returns this worm's density.
 	 */
@@ -472,6 +551,9 @@ public class Worm extends GameObject {
 	 * @post	If the hitPoints is less than zero, zero will be set for the new Worm's HP.
 	 * 			| if(hitPoints < 0)
 	 * 			| new.getCurrentHitPoints() == 0
+	 * @effect If this worm had hit points left and has none anymore, its world is notified of its death.
+	 * 			| if(this.getCurrentHitPoints() > 0 && new.getCurrentHitPoints() == 0 && this.getWorld() != null)
+	 * 			|		this.getWorld().notifyDeath(this)
 	 * @effect If hitPoints is less than or equal to zero, the currentHP is different and the active worm in the world is this one, call this.getWorld().nextTurn().
 	 * 			| if(hitPoints <= 0 && this.getCurrentHitPoints() > hitPoints && this.getWorld() != null && this.getWorld().getActiveWorm() == this)
 	 * 			|		this.getWorld().nextTurn()
@@ -480,6 +562,8 @@ public class Worm extends GameObject {
 	private void setCurrentHitPoints(int hitPoints) {
 		int oldHP = this.currentHitPoints;
 		this.currentHitPoints = (hitPoints <= 0) ? 0 : Math.min(hitPoints, getMaximumHitPoints());
+		if (oldHP > 0 && this.currentHitPoints == 0 && this.getWorld() != null)
+			this.getWorld().notifyDeath(this);
 		if (hitPoints <= 0 && oldHP > hitPoints && this.getWorld() != null && this.getWorld().getActiveWorm() == this) //so this doesn't get called by this.getCurrentHP()
 				this.getWorld().nextTurn();
 	}
@@ -496,23 +580,24 @@ public class Worm extends GameObject {
 	}
 
 	/**
-	 * Return the current amount of hit points in valid form.
+	 * Return the current amount of hit points.
+	 * setRadius(double) keeps it within the maximum amount, so reading it changes nothing.
 	 */
+	@Basic @Raw
 	public int getCurrentHitPoints() {
-		// Call setCurrentHitPoints to make sure we're in valid bounds.
-		//(if the radius changed, meaning the mass changed, meaning the maximum amount of hit points changed)
-		setCurrentHitPoints(currentHitPoints);
 		return currentHitPoints;
 	}
 
 	/**
 	 * Returns this worm's maximum amount of hit points.
+	 * 
+	 * @return	| if(this.getMass() > Integer.MAX_VALUE)
+	 * 			|	result == Integer.MAX_VALUE
+	 * 			| else
+	 * 			|	result == (int) Math.round(this.getMass())
 	 */
 	public int getMaximumHitPoints() {
-		double mass = this.getMass();
-		if (mass > Integer.MAX_VALUE)
-			return Integer.MAX_VALUE;
-		return (int) Math.round(mass);
+		return maximumPoints;
 	}
 
 	private int currentHitPoints;
@@ -544,13 +629,11 @@ public class Worm extends GameObject {
 	}
 
 	/**
-	 * Returns the current amount of action points in valid form.
+	 * Returns the current amount of action points.
+	 * setRadius(double) keeps it within the maximum amount, so reading it changes nothing.
 	 */
 	@Basic @Raw
 	public int getCurrentActionPoints() {
-		// Call setCurrentActionPoints to make sure we're in valid bounds.
-		//(if the radius changed, meaning the mass changed, meaning the maximum amount of hit points changed)
-		setCurrentActionPoints(currentActionPoints);
 		return currentActionPoints;
 	}
 	
@@ -573,12 +656,14 @@ public class Worm extends GameObject {
 
 	/**
 	 * Returns the maximum amount of action points.
+	 * 
+	 * @return	| if(this.getMass() > Integer.MAX_VALUE)
+	 * 			|	result == Integer.MAX_VALUE
+	 * 			| else
+	 * 			|	result == (int) Math.round(this.getMass())
 	 */
 	public int getMaximumActionPoints() {
-		double mass = this.getMass();
-		if (mass > Integer.MAX_VALUE)
-			return Integer.MAX_VALUE;
-		return (int) Math.round(mass);
+		return maximumPoints;
 	}
 
 	private int currentActionPoints;
@@ -590,6 +675,9 @@ public class Worm extends GameObject {
 	 * 
 	 * @post The team of this worm will be equal to team.
 	 * 		 | new.getTeam() == team
+	 * @effect If this worm has a world, that world is notified of the new team.
+	 * 		 | if(this.getWorld() != null)
+	 * 		 |	this.getWorld().notifyTeamChanged(this)
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			When this worm isn't a member of team.
@@ -600,6 +688,8 @@ public class Worm extends GameObject {
 		if (!team.isMember(this))
 			throw new IllegalArgumentException("This worm also has to be a member of the team.");
 		this.team = team;
+		if (this.getWorld() != null)
+			this.getWorld().notifyTeamChanged(this);
 	}
 
 	/**
@@ -669,6 +759,16 @@ public class Worm extends GameObject {
 		this.currentWeaponIndex = weaponList.indexOf(weapon);
 	}
 
+	/**
+	 * Returns the index of the current weapon in the list of weapons, or -1 if this worm hasn't got a weapon equipped.
+	 * 
+	 * @return	| result == this.getWeaponList().indexOf(this.getCurrentWeapon())
+	 */
+	@Basic @Raw
+	public int getCurrentWeaponIndex() {
+		return currentWeaponIndex;
+	}
+
 	private int currentWeaponIndex = -1;
 
 	/**
@@ -770,81 +870,98 @@ public class Worm extends GameObject {
 			this.setCurrentHitPoints(this.getCurrentHitPoints() + 10);
 	}
 
+	/**
+	 * Put this worm back in a state it had before, as recorded by a snapshot of its world.
+	 * Unlike the setters nothing else happens: no food is eaten, no turn ends and the world isn't notified,
+	 * the world restoring the snapshot rebuilds its indices itself.
+	 * 
+	 * @param position The position to put this worm back on.
+	 * @param angle The angle to restore.
+	 * @param radius The radius to restore.
+	 * @param actionPoints The amount of action points to restore.
+	 * @param hitPoints The amount of hit points to restore.
+	 * @param weaponIndex The index of the current weapon in the list of weapons, or -1 for no weapon.
+	 * @param team The team to restore, may be null.
+	 * 
+	 * @pre		The amounts of points don't exceed the maximum amounts for the radius, as they were recorded from this worm.
+	 * 			| actionPoints <= the maximum amount for radius && hitPoints <= the maximum amount for radius
+	 * 
+	 * @post	| new.getAngle() == angle && new.getRadius() == radius
+	 * 			| new.getCurrentActionPoints() == actionPoints && new.getCurrentHitPoints() == hitPoints
+	 * 			| new.getCurrentWeaponIndex() == weaponIndex && new.getTeam() == team
+	 * @effect	The position is restored.
+	 * 			| this.restorePosition(position)
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When the angle or radius isn't valid for a worm.
+	 * 			| !isValidAngle(angle) || !Util.fuzzyGreaterThanOrEqualTo(radius, this.getMinimumRadius())
+	 * @throws IllegalArgumentException
+	 * 			When an amount of points is negative.
+	 * 			| actionPoints < 0 || hitPoints < 0
+	 * @throws IllegalArgumentException
+	 * 			When the weapon index doesn't point into the list of weapons, or the worm isn't a member of the team.
+	 * 			| weaponIndex < -1 || weaponIndex >= this.getWeaponList().size() || (team != null && !team.isMember(this))
+	 */
+	@Raw
+	public void restoreState(Position position, double angle, double radius, int actionPoints, int hitPoints,
+			int weaponIndex, Team team) throws IllegalArgumentException {
+		if (!isValidAngle(angle))
+			throw new IllegalArgumentException("The angle to restore isn't a valid angle.");
+		if (Double.isNaN(radius) || !Util.fuzzyGreaterThanOrEqualTo(radius, getMinimumRadius()))
+			throw new IllegalArgumentException("The radius to restore has to be greater than or equal to the minimum radius " + this.minRadius);
+		if (weaponIndex < -1 || weaponIndex >= weaponList.size())
+			throw new IllegalArgumentException("The weapon index to restore doesn't point into the list of weapons.");
+		if (team != null && !team.isMember(this))
+			throw new IllegalArgumentException("The worm to restore has to be a member of the team.");
+		if (actionPoints < 0 || hitPoints < 0)
+			throw new IllegalArgumentException("The amounts of points to restore musn't be negative.");
+		this.restorePosition(position);
+		if (radius != this.radius) {
+			this.radius = radius;
+			this.computeMass();
+		}
+		this.angle = angle;
+		this.currentActionPoints = actionPoints;
+		this.currentHitPoints = hitPoints;
+		this.currentWeaponIndex = weaponIndex;
+		this.team = team;
+	}
+
 	/**
 	 * Returns the position where the worm would be if he would move.
+	 * The result is remembered until the position, angle or radius of this worm changes,
+	 * so asking whether the worm can move and then moving it only searches once.
 	 * 
 	 * @return check for every angle between the worm's current angle +/- 0.7875 with a step of 0.0175
 	 * 			what the maximum distance is and for all angles with equal maximum distances,
 	 * 			search the angle with the minimum divergence between the angle and the worm's current angle.
 	 * 			| if (this.getWorld() == null)
 	 *			|	result == null
-	 *			| double bestAngle = this.getAngle()
-	 *			| double bestDistance = 0
-	 *			| Position bestPos = this.getPosition()
-	 *			| for double currentAngle = this.getAngle() - 0.7875 until currentAngle <= this.getAngle() + 0.7875 with step currentAngle += 0.0175
-	 *			|	double distance = 0.1
-	 *			|	boolean found = false
-	 *			|	while (distance <= this.getRadius() && !found)
-	 *			|		double posX = distance * Math.cos(currentAngle) + this.getPosition().getX()
-	 *			|		double posY = distance * Math.sin(currentAngle) + this.getPosition().getY()
-	 *			|		Position pos = new Position(posX, posY)
-	 *			|		if (!this.getWorld().isImpassable(pos, this.getRadius()))
-	 *			|			distance += 0.1*this.getRadius()
-	 *			|		else
-	 *			|			found = true
-	 *			|	distance -= 0.1*this.getRadius()
-	 *			| 	Position newPos = new Position(distance * Math.cos(currentAngle) + this.getPosition().getX(),
-	 *			|							distance * Math.sin(currentAngle) + this.getPosition().getY())
-	 *			|	if (distance >= 0.1)
-	 *			|		if(distance > bestDistance)
-	 *			|			bestDistance = distance
-	 *			|			bestAngle = currentAngle
-	 *			|			bestPos = newPos
-	 *			|	else if(Util.fuzzyEquals(bestDistance, distance, 1E-4))
-	 *			|		if(Math.abs(this.getAngle() - currentAngle) < Math.abs(this.getAngle() - bestAngle))
-	 *			|			bestDistance = distance
-	 *			|			bestAngle = currentAngle
-	 *			|			bestPos = newPos
-	 *			| result == bestPos
+	 *			| else
+	 *			|	result == new MovePlanner(this).planFixedStep()
 	 */
 	public Position getMovePosition() {
 		if (this.getWorld() == null)
 			return null;
-		double bestAngle = this.getAngle();
-		double bestDistance = 0;
-		Position bestPos = this.getPosition();
-		for (double currentAngle = this.getAngle() - 0.7875; currentAngle <= this.getAngle() + 0.7875; currentAngle += 0.0175) {
-			double distance = 0.1;
-			boolean found = false;
-			while (distance <= this.getRadius() && !found) {
-				double posX = distance * Math.cos(currentAngle) + this.getPosition().getX();
-				double posY = distance * Math.sin(currentAngle) + this.getPosition().getY();
-				Position pos = new Position(posX, posY);
-				if (!this.getWorld().isImpassable(pos, this.getRadius()))
-					distance += 0.1*this.getRadius();
-				else
-					found = true;
-			}
-			distance -= 0.1*this.getRadius();
-			Position newPos = new Position(distance * Math.cos(currentAngle) + this.getPosition().getX(),
-											distance * Math.sin(currentAngle) + this.getPosition().getY());
-			if (distance >= 0.1) {
-				if(distance > bestDistance) {
-					bestDistance = distance;
-					bestAngle = currentAngle;
-					bestPos = newPos;
-				} else if(Util.fuzzyEquals(bestDistance, distance, 1E-4)) {
-					if(Math.abs(this.getAngle() - currentAngle) < Math.abs(this.getAngle() - bestAngle)) {
-						bestDistance = distance;
-						bestAngle = currentAngle;
-						bestPos = newPos;
-					}
-				}
-			}
+		if (plannedMovePosition == null || plannedFromPosition != this.getPosition()
+				|| plannedForAngle != this.getAngle() || plannedForRadius != this.getRadius()) {
+			plannedMovePosition = new MovePlanner(this).plan();
+			plannedFromPosition = this.getPosition();
+			plannedForAngle = this.getAngle();
+			plannedForRadius = this.getRadius();
 		}
-		return bestPos;
+		return plannedMovePosition;
 	}
 
+	/**
+	 * The result of the last call to getMovePosition(), along with the position, angle and radius it was computed for.
+	 * The terrain never changes, so nothing else can change the result.
+	 */
+	private Position plannedMovePosition;
+	private Position plannedFromPosition;
+	private double plannedForAngle;
+	private double plannedForRadius;
+
 	/**
 	 * Move the worm to a position by checking for every angle between the worm's current angle +/- 0.7875 with a step of 0.0175
 	 * what the maximum distance is and for all angles with equal maximum distances,
@@ -876,10 +993,10 @@ public class Worm extends GameObject {
 	 * @param finalPosition The position to check if we can reach.
 	 * 
 	 * @return Whether this worm is alive and whether he has enough AP to perform the move.
-	 * 			| result == this.isAlive() && this.getMoveCost(this.getMovePosition()) <= this.getCurrentActionPoints();
+	 * 			| result == this.isAlive() && this.getMoveCost(finalPosition) <= this.getCurrentActionPoints();
 	 */
 	public boolean canMove(Position finalPosition) {
-		return this.isAlive() && this.getMoveCost(this.getMovePosition()) <= this.getCurrentActionPoints();
+		return this.isAlive() && this.getMoveCost(finalPosition) <= this.getCurrentActionPoints();
 	}
 
 	/**
@@ -892,7 +1009,7 @@ public class Worm extends GameObject {
 	 * 			| if(this.getWorld().isImpassable(this.getPosition(), this.getRadius())
 	 * 			|	result == false
 	 * @return False if there is impassable terrain adjacent to this worm.
-	 * 			| result == !this.getWorld().isAdjacent(this.getPosition(), this.getRadius())
+	 * 			| result == (this.getWorld().classify(this.getPosition(), this.getRadius()) == TerrainContact.FREE)
 	 */
 	public boolean canFall() {
 		if (this.getWorld() == null)
@@ -912,10 +1029,7 @@ public class Worm extends GameObject {
 			}
 		}
 		return true;*/
-		if(this.getWorld().isImpassable(this.getPosition(), this.getRadius()))
-			return false;
-				
-		return !this.getWorld().isAdjacent(this.getPosition(), this.getRadius());
+		return this.getWorld().classify(this.getPosition(), this.getRadius()) == TerrainContact.FREE;
 	}
 	
 	/**
@@ -947,6 +1061,45 @@ public class Worm extends GameObject {
 		super.fall();
 	}
 
+	/**
+	 * Returns how many of the given amount of next fall steps this worm can pass without eating food.
+	 * 
+	 * @param steps The amount of next fall steps that are free of terrain and within the world boundaries.
+	 * 
+	 * @return	The amount of steps before the first step at which this worm would eat food.
+	 * 			| for each step in 0..steps-1
+	 * 			|	if(this.getWorld().eatableFood(position after step+1 fall steps, this.getRadius()).size() > 0)
+	 * 			|		result == step
+	 * 			| result == steps
+	 */
+	@Override
+	protected int getUneventfulFallSteps(int steps) {
+		if (steps == 0)
+			return 0;
+		double radius = this.getRadius();
+		double x = this.getPosition().getX();
+		double top = this.getPosition().getY();
+		double bottom = top;
+		for (int step = 0; step < steps; step++)
+			bottom = bottom - radius*0.1;
+		
+		//Only the food near the segment we fall along can be eaten, ask the world for it once.
+		List<Food> nearbyFood = this.getWorld().eatableFood(x, (top + bottom) / 2, (top - bottom) / 2 + radius + 1E-9);
+		if (nearbyFood.isEmpty())
+			return steps;
+		
+		double y = top;
+		for (int step = 0; step < steps; step++) {
+			y = y - radius*0.1;
+			for (int i = 0; i < nearbyFood.size(); i++) {
+				Food food = nearbyFood.get(i);
+				if (food.getPosition().distance(x, y) < food.getRadius() + radius)
+					return step;
+			}
+		}
+		return steps;
+	}
+
 	/**
 	 * Set the position of this worm and eat food within its reach.
 	 * When this worm is outside of the world boundaries and listed as active worm for that world, execute the nextTurn()
@@ -0,0 +1,275 @@
+package worms.model.world.terrain;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A Euclidean distance transform of a TerrainGrid: for every pixel the distance (in pixels) between its center 
+ * and the center of the nearest impassable pixel, stored as a float per pixel.
+ * 
+ * Because the distance is only known between pixel centers it bounds the real distance from a point in the pixel
+ * to the nearest impassable pixel. Most disc queries are settled by those bounds with a single lookup,
+ * the others fall back to the exact scan of the TerrainGrid.
+ * 
+ * The transform is computed with the lower envelope of parabolas algorithm of Felzenszwalb and Huttenlocher, 
+ * once per column and then once per row, in time linear in the amount of pixels.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The distance of every impassable pixel is zero, the distance of every passable pixel is positive.
+ * 			| for each row, column: (this.getDistance(row, column) == 0) == !this.getTerrain().isPassable(row, column)
+ */
+public class DistanceField {
+
+	/**
+	 * Compute the distance field of the given terrain.
+	 * 
+	 * @param terrain The terrain to compute the distances for.
+	 * 
+	 * @post	The terrain of the new distance field is the given terrain.
+	 * 			| new.getTerrain() == terrain
+	 * @post	The distance of every pixel is the distance between its center and the center of the nearest impassable pixel,
+	 * 			or positive infinity when there is no impassable pixel.
+	 * 			| for each row, column:
+	 * 			|	new.getDistance(row, column) == min({ Math.hypot(row - r, column - c) | !terrain.isPassable(r, c) })
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			When terrain is a null reference.
+	 * 			| terrain == null
+	 */
+	public DistanceField(TerrainGrid terrain) throws IllegalArgumentException {
+		if(terrain == null)
+			throw new IllegalArgumentException("The terrain must be effective.");
+		
+		this.terrain = terrain;
+		this.width = terrain.getWidth();
+		this.height = terrain.getHeight();
+		this.distances = new float[width * height];
+		
+		int length = Math.max(width, height);
+		double[] values = new double[length];
+		double[] result = new double[length];
+		int[] parabolas = new int[length];
+		double[] boundaries = new double[length + 1];
+		
+		//Squared distances per column first, stored temporarily in a double array to keep them exact.
+		double[] columnDistances = new double[width * height];
+		for(int column = 0; column < width; column++) {
+			for(int row = 0; row < height; row++)
+				values[row] = terrain.isPassable(row, column) ? INFINITY : 0;
+			transform(values, height, result, parabolas, boundaries);
+			for(int row = 0; row < height; row++)
+				columnDistances[row * width + column] = result[row];
+		}
+		
+		for(int row = 0; row < height; row++) {
+			System.arraycopy(columnDistances, row * width, values, 0, width);
+			transform(values, width, result, parabolas, boundaries);
+			for(int column = 0; column < width; column++)
+				distances[row * width + column] = (result[column] >= INFINITY) ? Float.POSITIVE_INFINITY : (float) Math.sqrt(result[column]);
+		}
+	}
+	
+	/**
+	 * Computes the one dimensional squared distance transform of the given values: 
+	 * result[q] = min over p of ((q - p)^2 + values[p]).
+	 * 
+	 * @param values The sampled function, INFINITY where there is no impassable pixel.
+	 * @param length The amount of values to use.
+	 * @param result The array to store the transformed values in.
+	 * @param parabolas Scratch array holding the locations of the parabolas in the lower envelope.
+	 * @param boundaries Scratch array holding the boundaries between the parabolas in the lower envelope.
+	 */
+	@Model
+	private static void transform(double[] values, int length, double[] result, int[] parabolas, double[] boundaries) {
+		int count = 0;
+		for(int q = 0; q < length; q++) {
+			if(values[q] >= INFINITY)
+				continue;
+			double intersection = Double.NEGATIVE_INFINITY;
+			while(count > 0) {
+				int p = parabolas[count - 1];
+				intersection = ((values[q] + q * (double) q) - (values[p] + p * (double) p)) / (2.0 * q - 2.0 * p);
+				if(intersection > boundaries[count - 1])
+					break;
+				count--;
+			}
+			if(count == 0)
+				intersection = Double.NEGATIVE_INFINITY;
+			parabolas[count] = q;
+			boundaries[count] = intersection;
+			count++;
+		}
+		
+		if(count == 0) {
+			for(int q = 0; q < length; q++)
+				result[q] = INFINITY;
+			return;
+		}
+		
+		int k = 0;
+		for(int q = 0; q < length; q++) {
+			while(k + 1 < count && boundaries[k + 1] < q)
+				k++;
+			int p = parabolas[k];
+			result[q] = (q - p) * (double) (q - p) + values[p];
+		}
+	}
+
+	/**
+	 * Returns the terrain these distances were computed for.
+	 */
+	@Basic @Immutable
+	public TerrainGrid getTerrain() {
+		return terrain;
+	}
+	
+	private final TerrainGrid terrain;
+	
+	/**
+	 * Returns the distance (in pixels) between the center of the given pixel and the center of the nearest impassable pixel.
+	 * Returns positive infinity if the terrain has no impassable pixels.
+	 * 
+	 * @param row The row of the pixel.
+	 * @param column The column of the pixel.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 * 			When the pixel doesn't lie within the terrain.
+	 * 			| !this.getTerrain().isInside(row, column)
+	 */
+	@Basic @Immutable
+	public float getDistance(int row, int column) throws IndexOutOfBoundsException {
+		if(!terrain.isInside(row, column))
+			throw new IndexOutOfBoundsException("The pixel (" + row + ", " + column + ") doesn't lie within the terrain.");
+		return distances[row * width + column];
+	}
+	
+	/**
+	 * Returns whether an impassable pixel lies (partly) within the open disc with the given center and radius.
+	 * This is the same query as TerrainGrid.overlapsDisc(double, double, double, double), 
+	 * answered from the distance of the pixel holding the center when that distance allows it.
+	 * 
+	 * If D is the distance of that pixel, the nearest impassable pixel lies at least D - sqrt(2) 
+	 * and at most D + (sqrt(2) - 1) / 2 from any point of the pixel.
+	 * 
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param radius The radius of the disc, in pixels.
+	 * @param tolerance The band (in squared pixels) just inside the circle that is still considered outside of the disc.
+	 * 
+	 * @return	| result == this.getTerrain().overlapsDisc(centerX, centerY, radius, tolerance)
+	 */
+	public boolean overlapsDisc(double centerX, double centerY, double radius, double tolerance) {
+		double radiusSquared = radius * radius - tolerance;
+		if(!(radius > 0) || !(radiusSquared > 0))
+			return false;
+		
+		int row = (int) Math.floor(centerY);
+		int column = (int) Math.floor(centerX);
+		if(terrain.isInside(row, column)) {
+			float distance = distances[row * width + column];
+			if(distance == 0)
+				return true;
+			double effectiveRadius = Math.sqrt(radiusSquared);
+			if(effectiveRadius <= distance - LOWER_MARGIN)
+				return false;
+			if(effectiveRadius > distance + UPPER_MARGIN)
+				return true;
+		}
+		return terrain.overlapsDisc(centerX, centerY, radius, tolerance);
+	}
+	
+	/**
+	 * Returns the squared distance from the given point to the nearest impassable pixel, if that is less than the given limit.
+	 * This is the same query as TerrainGrid.nearestImpassableSquared(double, double, double), 
+	 * answered without a search when the lower bound on the distance of the pixel holding the point exceeds the limit.
+	 * 
+	 * @param centerX The x-coordinate of the point, in pixels.
+	 * @param centerY The y-coordinate of the point, in pixels.
+	 * @param limitSquared The squared distance up to which to search.
+	 * 
+	 * @return	| result == this.getTerrain().nearestImpassableSquared(centerX, centerY, limitSquared)
+	 */
+	public double nearestImpassableSquared(double centerX, double centerY, double limitSquared) {
+		int row = (int) Math.floor(centerY);
+		int column = (int) Math.floor(centerX);
+		if(terrain.isInside(row, column)) {
+			float distance = distances[row * width + column];
+			if(distance == 0)
+				return (limitSquared > 0) ? 0 : Double.POSITIVE_INFINITY;
+			double lower = Math.max(distance - LOWER_MARGIN, 0);
+			if(lower * lower >= limitSquared)
+				return Double.POSITIVE_INFINITY;
+		}
+		return terrain.nearestImpassableSquared(centerX, centerY, limitSquared);
+	}
+	
+	/**
+	 * Returns how the disc with the given center and radii lies with respect to the terrain.
+	 * This is the same query as TerrainGrid.classifyDisc(double, double, double, double), 
+	 * answered from the bounds on the distance of the pixel holding the center when they allow it.
+	 * 
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param innerSquared The squared distance within which an impassable pixel makes the disc impassable.
+	 * @param outerSquared The squared distance within which an impassable pixel makes the disc adjacent.
+	 * 
+	 * @return	| result == this.getTerrain().classifyDisc(centerX, centerY, innerSquared, outerSquared)
+	 */
+	public TerrainContact classifyDisc(double centerX, double centerY, double innerSquared, double outerSquared) {
+		int row = (int) Math.floor(centerY);
+		int column = (int) Math.floor(centerX);
+		if(terrain.isInside(row, column)) {
+			float distance = distances[row * width + column];
+			if(distance == 0)
+				return TerrainContact.forDistance(0, innerSquared, outerSquared);
+			double lower = Math.max(distance - LOWER_MARGIN, 0);
+			double upper = distance + UPPER_MARGIN;
+			double lowerSquared = lower * lower;
+			double upperSquared = upper * upper;
+			if(upperSquared < innerSquared)
+				return TerrainContact.IMPASSABLE;
+			if(lowerSquared >= outerSquared)
+				return TerrainContact.FREE;
+			if(lowerSquared >= innerSquared && upperSquared < outerSquared)
+				return TerrainContact.ADJACENT;
+		}
+		return terrain.classifyDisc(centerX, centerY, innerSquared, outerSquared);
+	}
+	
+	/**
+	 * Returns the amount of bytes used to store the distances.
+	 * 
+	 * @return	| result == 4 * this.getTerrain().getWidth() * this.getTerrain().getHeight()
+	 */
+	public long getMemoryFootprint() {
+		return 4L * distances.length;
+	}
+	
+	private final int width;
+	private final int height;
+	
+	/**
+	 * The distances of the pixels, row after row.
+	 */
+	private final float[] distances;
+	
+	/**
+	 * A squared distance larger than any squared distance within a terrain.
+	 */
+	private static final double INFINITY = 1E20;
+	
+	/**
+	 * The amount to subtract from a stored distance to get a lower bound on the distance from any point in the pixel:
+	 * sqrt(2) for the offset from the pixel center and the nearest point of the impassable pixel, plus a margin for float rounding.
+	 */
+	private static final double LOWER_MARGIN = Math.sqrt(2) + 1E-3;
+	
+	/**
+	 * The amount to add to a stored distance to get an upper bound on the distance from any point in the pixel:
+	 * sqrt(2)/2 for the offset from the pixel center minus 1/2 for the nearest side of the impassable pixel, 
+	 * plus a margin for float rounding.
+	 */
+	private static final double UPPER_MARGIN = (Math.sqrt(2) - 1) / 2 + 1E-3;
+	
+}
@@ -0,0 +1,38 @@
+package worms.model.world.terrain;
+
+/**
+ * An enum describing how a circular region lies with respect to the terrain:
+ * - IMPASSABLE when an impassable pixel lies within the circle.
+ * - ADJACENT when the circle is passable but an impassable pixel lies within 1.1 times its radius.
+ * - FREE when there is no impassable pixel within 1.1 times its radius.
+ * 
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ */
+public enum TerrainContact {
+	IMPASSABLE,
+	ADJACENT,
+	FREE;
+	
+	/**
+	 * Returns the contact for the given squared distance to the nearest impassable pixel.
+	 * 
+	 * @param distanceSquared The squared distance to the nearest impassable pixel.
+	 * @param innerSquared The squared radius within which the region is impassable.
+	 * @param outerSquared The squared radius within which the region is adjacent.
+	 * 
+	 * @return	| if(distanceSquared < innerSquared)
+	 * 			|	result == IMPASSABLE
+	 * 			| else if(distanceSquared < outerSquared)
+	 * 			|	result == ADJACENT
+	 * 			| else
+	 * 			|	result == FREE
+	 */
+	public static TerrainContact forDistance(double distanceSquared, double innerSquared, double outerSquared) {
+		if(distanceSquared < innerSquared)
+			return IMPASSABLE;
+		if(distanceSquared < outerSquared)
+			return ADJACENT;
+		return FREE;
+	}
+}
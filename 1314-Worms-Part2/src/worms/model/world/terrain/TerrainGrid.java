@@ -0,0 +1,555 @@
+package worms.model.world.terrain;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An immutable grid of pixels, each pixel being either passable or impassable.
+ * Every row is stored as a bitset of longs (64 pixels per word), a set bit meaning the pixel is impassable.
+ *
+ * The rows are stored bottom up: row 0 represents the pixels with the smallest y-coordinates,
+ * column 0 represents the pixels with the smallest x-coordinates.
+ *
+ * Because a TerrainGrid can't be modified once created it can be shared between all worlds built from the same map.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	The width and the height of this grid are never negative.
+ * 			| this.getWidth() >= 0 && this.getHeight() >= 0
+ */
+public class TerrainGrid {
+
+	/**
+	 * Initialize a TerrainGrid from a passable map as provided by the IFacade.
+	 *
+	 * @param passableMap A rectangular matrix where passableMap[r][c] is true if the pixel at row r and column c is passable.
+	 * 			The first row (row 0) represents the pixels at the top of the terrain.
+	 *
+	 * @post	The height of the new grid equals the amount of rows of passableMap.
+	 * 			| new.getHeight() == passableMap.length
+	 * @post	The width of the new grid equals the length of a row of passableMap.
+	 * 			| new.getWidth() == passableMap[0].length
+	 * @post	Every pixel of the new grid is passable if and only if it is passable in the (inverted) passableMap.
+	 * 			| for each row in 0..new.getHeight()-1, for each column in 0..new.getWidth()-1
+	 * 			|	new.isPassable(row, column) == passableMap[passableMap.length - row - 1][column]
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When passableMap is a null reference or isn't rectangle shaped.
+	 * 			| !isRectangleDimension(passableMap)
+	 */
+	public TerrainGrid(boolean[][] passableMap) throws IllegalArgumentException {
+		if(!isRectangleDimension(passableMap))
+			throw new IllegalArgumentException("The passableMap must be a rectangle shaped dimension.");
+
+		this.height = passableMap.length;
+		this.width = (height == 0) ? 0 : passableMap[0].length;
+		this.wordsPerRow = (width + WORD_SIZE - 1) / WORD_SIZE;
+		this.bits = new long[height * wordsPerRow];
+
+		for(int row = 0; row < height; row++) {
+			//The provided map has (0,0) in the top left, we store (0,0) in the bottom left.
+			boolean[] mapRow = passableMap[height - row - 1];
+			int offset = row * wordsPerRow;
+			for(int column = 0; column < width; column++) {
+				if(!mapRow[column])
+					bits[offset + (column >>> WORD_SHIFT)] |= 1L << column;
+			}
+		}
+	}
+
+	/**
+	 * Check whether the lengths of the 2-Dimensional array are rectangle shaped. aka The lengths of every row should be equal.
+	 *
+	 * @param matrix The 2-dimensional array to check.
+	 *
+	 * @return False if the matrix provided is a null reference.
+	 * 			| if(matrix == null)
+	 * 			|	result == false
+	 * @return False if a row is a null reference or if a length of a row isn't the same as another row.
+	 * 			| for row = 0 to (incl) matrix.length - 1 with step 1
+	 * 			|	if(matrix[row] == null || matrix[0].length != matrix[row].length)
+	 * 			|		result == false
+	 */
+	public static boolean isRectangleDimension(boolean[][] matrix) {
+		if(matrix == null)
+			return false;
+
+		for(int row = 0; row < matrix.length; row++) {
+			if(matrix[row] == null || matrix[0].length != matrix[row].length)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the width of this grid, in pixels.
+	 */
+	@Basic @Immutable
+	public int getWidth() {
+		return width;
+	}
+
+	private final int width;
+
+	/**
+	 * Returns the height of this grid, in pixels.
+	 */
+	@Basic @Immutable
+	public int getHeight() {
+		return height;
+	}
+
+	private final int height;
+
+	/**
+	 * Returns whether the given row and column lie within this grid.
+	 *
+	 * @param row The row to check.
+	 * @param column The column to check.
+	 *
+	 * @return	| result == (row >= 0 && row < this.getHeight() && column >= 0 && column < this.getWidth())
+	 */
+	public boolean isInside(int row, int column) {
+		return row >= 0 && row < height && column >= 0 && column < width;
+	}
+
+	/**
+	 * Returns whether the pixel on the given row and column is passable.
+	 *
+	 * @param row The row of the pixel, row 0 being the bottom row.
+	 * @param column The column of the pixel, column 0 being the leftmost column.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 * 			When the pixel doesn't lie within this grid.
+	 * 			| !isInside(row, column)
+	 */
+	@Immutable
+	public boolean isPassable(int row, int column) throws IndexOutOfBoundsException {
+		if(!isInside(row, column))
+			throw new IndexOutOfBoundsException("The pixel (" + row + ", " + column + ") doesn't lie within this grid.");
+		return (bits[row * wordsPerRow + (column >>> WORD_SHIFT)] & (1L << column)) == 0;
+	}
+
+	/**
+	 * Returns whether any pixel on the given row between fromColumn (inclusive) and toColumn (inclusive) is impassable.
+	 * Whole words of 64 pixels are tested at once. Columns outside of this grid are considered passable.
+	 *
+	 * @param row The row to check.
+	 * @param fromColumn The first column to check.
+	 * @param toColumn The last column to check.
+	 *
+	 * @return	False if the row doesn't lie within this grid.
+	 * 			| if(row < 0 || row >= this.getHeight())
+	 * 			|	result == false
+	 * @return	Whether an impassable pixel is found in the span.
+	 * 			| result == (for some column in Math.max(fromColumn, 0)..Math.min(toColumn, this.getWidth()-1):
+	 * 			|	!this.isPassable(row, column))
+	 */
+	public boolean containsImpassable(int row, int fromColumn, int toColumn) {
+		if(row < 0 || row >= height)
+			return false;
+		if(fromColumn < 0)
+			fromColumn = 0;
+		if(toColumn >= width)
+			toColumn = width - 1;
+		if(fromColumn > toColumn)
+			return false;
+
+		int offset = row * wordsPerRow;
+		int firstWord = fromColumn >>> WORD_SHIFT;
+		int lastWord = toColumn >>> WORD_SHIFT;
+		long firstMask = -1L << fromColumn;
+		long lastMask = -1L >>> (WORD_SIZE - 1 - (toColumn & (WORD_SIZE - 1)));
+
+		if(firstWord == lastWord)
+			return (bits[offset + firstWord] & firstMask & lastMask) != 0;
+		if((bits[offset + firstWord] & firstMask) != 0)
+			return true;
+		for(int word = firstWord + 1; word < lastWord; word++) {
+			if(bits[offset + word] != 0)
+				return true;
+		}
+		return (bits[offset + lastWord] & lastMask) != 0;
+	}
+
+	/**
+	 * Returns the first impassable column on the given row between fromColumn (inclusive) and toColumn (inclusive).
+	 * Columns outside of this grid are considered passable.
+	 *
+	 * @param row The row to search.
+	 * @param fromColumn The first column to search.
+	 * @param toColumn The last column to search.
+	 *
+	 * @return	The smallest column in the span holding an impassable pixel, or -1 if there is none.
+	 * 			| if(!this.containsImpassable(row, fromColumn, toColumn))
+	 * 			|	result == -1
+	 * 			| else
+	 * 			|	!this.isPassable(row, result) && !this.containsImpassable(row, fromColumn, result - 1)
+	 */
+	public int nextImpassable(int row, int fromColumn, int toColumn) {
+		if(row < 0 || row >= height)
+			return -1;
+		if(fromColumn < 0)
+			fromColumn = 0;
+		if(toColumn >= width)
+			toColumn = width - 1;
+		if(fromColumn > toColumn)
+			return -1;
+
+		int offset = row * wordsPerRow;
+		int lastWord = toColumn >>> WORD_SHIFT;
+		int word = fromColumn >>> WORD_SHIFT;
+		long bitsInWord = bits[offset + word] & (-1L << fromColumn);
+		while(bitsInWord == 0) {
+			if(++word > lastWord)
+				return -1;
+			bitsInWord = bits[offset + word];
+		}
+		int column = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bitsInWord);
+		return (column <= toColumn) ? column : -1;
+	}
+
+	/**
+	 * Returns the last impassable column on the given row between fromColumn (inclusive) and toColumn (inclusive).
+	 * Columns outside of this grid are considered passable.
+	 *
+	 * @param row The row to search.
+	 * @param fromColumn The first column to search.
+	 * @param toColumn The last column to search.
+	 *
+	 * @return	The largest column in the span holding an impassable pixel, or -1 if there is none.
+	 * 			| if(!this.containsImpassable(row, fromColumn, toColumn))
+	 * 			|	result == -1
+	 * 			| else
+	 * 			|	!this.isPassable(row, result) && !this.containsImpassable(row, result + 1, toColumn)
+	 */
+	public int previousImpassable(int row, int fromColumn, int toColumn) {
+		if(row < 0 || row >= height)
+			return -1;
+		if(fromColumn < 0)
+			fromColumn = 0;
+		if(toColumn >= width)
+			toColumn = width - 1;
+		if(fromColumn > toColumn)
+			return -1;
+
+		int offset = row * wordsPerRow;
+		int firstWord = fromColumn >>> WORD_SHIFT;
+		int word = toColumn >>> WORD_SHIFT;
+		long bitsInWord = bits[offset + word] & (-1L >>> (WORD_SIZE - 1 - (toColumn & (WORD_SIZE - 1))));
+		while(bitsInWord == 0) {
+			if(--word < firstWord)
+				return -1;
+			bitsInWord = bits[offset + word];
+		}
+		int column = (word << WORD_SHIFT) + (WORD_SIZE - 1 - Long.numberOfLeadingZeros(bitsInWord));
+		return (column >= fromColumn) ? column : -1;
+	}
+
+	/**
+	 * Returns the given word of the given row: bit i is set if the pixel on column 64 * word + i is impassable.
+	 * Rows outside of this grid are passable. Used by the TerrainPyramid to build its first level.
+	 *
+	 * @return	| for each i in 0..63:
+	 * 			|	((result >>> i) & 1) == 1 == (this.isInside(row, 64 * word + i) && !this.isPassable(row, 64 * word + i))
+	 */
+	long getWord(int row, int word) {
+		if(row < 0 || row >= height)
+			return 0;
+		return bits[row * wordsPerRow + word];
+	}
+
+	/**
+	 * Returns the amount of words a row of this grid is stored in.
+	 *
+	 * @return	| result == (this.getWidth() + 63) / 64
+	 */
+	int getWordsPerRow() {
+		return wordsPerRow;
+	}
+
+	/**
+	 * Returns the squared distance from the given point to the nearest point of the nearest impassable pixel,
+	 * if that distance is less than the given limit. All coordinates are expressed in pixels.
+	 * 
+	 * Only the rows within the limit are searched, starting at the row of the point, 
+	 * and on each row only the nearest impassable pixel left and right of the point is looked at. 
+	 * The limit shrinks as closer pixels are found.
+	 *
+	 * @param centerX The x-coordinate of the point, in pixels.
+	 * @param centerY The y-coordinate of the point, in pixels.
+	 * @param limitSquared The squared distance up to which to search.
+	 *
+	 * @return	The smallest squared distance to an impassable pixel if it is less than limitSquared, positive infinity otherwise.
+	 * 			| if(for some row, column with !this.isPassable(row, column): distanceSquared(centerX, centerY, row, column) < limitSquared)
+	 * 			|	result == min({ distanceSquared(centerX, centerY, row, column) | !this.isPassable(row, column) })
+	 * 			| else
+	 * 			|	result == Double.POSITIVE_INFINITY
+	 */
+	public double nearestImpassableSquared(double centerX, double centerY, double limitSquared) {
+		double best = limitSquared;
+		boolean found = false;
+
+		int centerRow = (int) Math.floor(centerY);
+		for(int row = Math.min(centerRow, height - 1); row >= 0; row--) {
+			double dy = distanceToInterval(centerY, row);
+			if(!(dy * dy < best))
+				break;
+			double nearest = this.nearestImpassableSquared(row, centerX, dy * dy, best);
+			if(nearest < best) {
+				best = nearest;
+				found = true;
+			}
+		}
+		for(int row = Math.max(centerRow + 1, 0); row < height; row++) {
+			double dy = distanceToInterval(centerY, row);
+			if(!(dy * dy < best))
+				break;
+			double nearest = this.nearestImpassableSquared(row, centerX, dy * dy, best);
+			if(nearest < best) {
+				best = nearest;
+				found = true;
+			}
+		}
+		return found ? best : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the squared distance from the given point to the nearest impassable pixel on the given row, 
+	 * if that distance is less than the given limit.
+	 *
+	 * @return	| result == min({ distanceSquared(centerX, row, column) | !this.isPassable(row, column) } U { limitSquared })
+	 */
+	@Model
+	private double nearestImpassableSquared(int row, double centerX, double dySquared, double limitSquared) {
+		return this.nearestImpassableSquared(row, centerX, dySquared, limitSquared, 0, width - 1);
+	}
+
+	/**
+	 * Returns the squared distance from the given point to the nearest impassable pixel on the given row
+	 * between firstColumn (inclusive) and lastColumn (inclusive), if that distance is less than the given limit.
+	 * Used by the TerrainPyramid to search a single block.
+	 *
+	 * @return	| result == min({ distanceSquared(centerX, row, column) | !this.isPassable(row, column) 
+	 * 			|	&& firstColumn <= column && column <= lastColumn } U { limitSquared })
+	 */
+	double nearestImpassableSquared(int row, double centerX, double dySquared, double limitSquared, int firstColumn, int lastColumn) {
+		double maxDx = Math.sqrt(limitSquared - dySquared);
+		double centerColumn = Math.floor(centerX);
+		int fromColumn = (int) Math.max(Math.floor(centerX - maxDx) - 1, -1);
+		int toColumn = (int) Math.min(Math.floor(centerX + maxDx), width);
+		int middle = (int) Math.max(Math.min(centerColumn, width), -1);
+
+		double best = limitSquared;
+		int right = this.nextImpassable(row, Math.max(middle, firstColumn), Math.min(toColumn, lastColumn));
+		if(right != -1) {
+			double dx = distanceToInterval(centerX, right);
+			best = Math.min(best, dx * dx + dySquared);
+		}
+		int left = this.previousImpassable(row, Math.max(fromColumn, firstColumn), Math.min(middle - 1, lastColumn));
+		if(left != -1) {
+			double dx = distanceToInterval(centerX, left);
+			best = Math.min(best, dx * dx + dySquared);
+		}
+		return best;
+	}
+
+	/**
+	 * Returns how the disc with the given center and radii lies with respect to this grid, in a single search.
+	 * All coordinates are expressed in pixels.
+	 *
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param innerSquared The squared distance within which an impassable pixel makes the disc impassable.
+	 * @param outerSquared The squared distance within which an impassable pixel makes the disc adjacent.
+	 *
+	 * @return	| result == TerrainContact.forDistance(this.nearestImpassableSquared(centerX, centerY, outerSquared), 
+	 * 			|	innerSquared, outerSquared)
+	 */
+	public TerrainContact classifyDisc(double centerX, double centerY, double innerSquared, double outerSquared) {
+		return TerrainContact.forDistance(this.nearestImpassableSquared(centerX, centerY, outerSquared), innerSquared, outerSquared);
+	}
+
+	/**
+	 * Returns whether an impassable pixel of this grid lies (partly) within the open disc
+	 * with the given center and radius. All coordinates are expressed in pixels,
+	 * pixel (row, column) covering the square [column, column+1] x [row, row+1].
+	 * Pixels outside of this grid are considered passable.
+	 *
+	 * Each row crossing the disc is reduced to a single span of columns (its scanline half-width)
+	 * which is then tested a whole word at a time.
+	 *
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param radius The radius of the disc, in pixels.
+	 * @param tolerance The band (in squared pixels) just inside the circle that is still considered outside of the disc.
+	 *
+	 * @return	Whether the squared distance from the center to the nearest point of any impassable pixel
+	 * 			is less than the squared radius minus the tolerance.
+	 * 			| result == (for some row, column with !this.isPassable(row, column):
+	 * 			|	distanceSquared(centerX, centerY, row, column) < radius * radius - tolerance)
+	 */
+	public boolean overlapsDisc(double centerX, double centerY, double radius, double tolerance) {
+		final double radiusSquared = radius * radius - tolerance;
+		if(!(radius > 0) || !(radiusSquared > 0))
+			return false;
+
+		final int firstRow = (int) Math.max(Math.floor(centerY - radius), 0);
+		final int lastRow = (int) Math.min(Math.floor(centerY + radius), height - 1);
+		return this.overlapsDisc(centerX, centerY, radiusSquared, firstRow, lastRow, 0, width - 1);
+	}
+
+	/**
+	 * Returns whether an impassable pixel of this grid between the given rows and columns (all inclusive)
+	 * lies (partly) within the open disc with the given center and squared radius. 
+	 * Used by the TerrainPyramid to search a single block.
+	 *
+	 * @return	| result == (for some row in firstRow..lastRow, column in firstColumn..lastColumn with !this.isPassable(row, column):
+	 * 			|	distanceSquared(centerX, centerY, row, column) < radiusSquared)
+	 */
+	boolean overlapsDisc(double centerX, double centerY, double radiusSquared, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+		for(int row = firstRow; row <= lastRow; row++) {
+			double dy = distanceToInterval(centerY, row);
+			double rest = radiusSquared - dy * dy;
+			if(rest <= 0)
+				continue;
+
+			double halfWidth = Math.sqrt(rest);
+			int fromColumn = (int) Math.floor(centerX - halfWidth);
+			int toColumn = (int) Math.floor(centerX + halfWidth);
+
+			//The square root may be off by an ulp, settle the outer pixels exactly.
+			double dySquared = dy * dy;
+			if(isWithin(centerX, fromColumn - 1, dySquared, radiusSquared))
+				fromColumn--;
+			while(fromColumn <= toColumn && !isWithin(centerX, fromColumn, dySquared, radiusSquared))
+				fromColumn++;
+			if(isWithin(centerX, toColumn + 1, dySquared, radiusSquared))
+				toColumn++;
+			while(toColumn >= fromColumn && !isWithin(centerX, toColumn, dySquared, radiusSquared))
+				toColumn--;
+
+			if(containsImpassable(row, Math.max(fromColumn, firstColumn), Math.min(toColumn, lastColumn)))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the distance between a coordinate and the interval [start, start+1] covered by a pixel.
+	 *
+	 * @param coordinate The coordinate to measure from.
+	 * @param start The first coordinate of the pixel.
+	 *
+	 * @return	Zero if the coordinate lies within the interval, else the distance to the nearest end.
+	 * 			| if(coordinate < start) result == start - coordinate
+	 * 			| else if(coordinate > start + 1) result == coordinate - (start + 1)
+	 * 			| else result == 0
+	 */
+	@Model
+	private static double distanceToInterval(double coordinate, int start) {
+		if(coordinate < start)
+			return start - coordinate;
+		if(coordinate > start + 1)
+			return coordinate - (start + 1);
+		return 0;
+	}
+
+	/**
+	 * Returns whether the nearest point of a pixel in the given column lies strictly within a radius,
+	 * given the squared vertical distance to the row of that pixel.
+	 *
+	 * @return	| result == Math.pow(distanceToInterval(centerX, column), 2) + dySquared < radiusSquared
+	 */
+	@Model
+	private static boolean isWithin(double centerX, int column, double dySquared, double radiusSquared) {
+		double dx = distanceToInterval(centerX, column);
+		return dx * dx + dySquared < radiusSquared;
+	}
+
+	/**
+	 * Returns the amount of bytes used to store the pixels of this grid.
+	 *
+	 * @return	| result == 8 * this.getHeight() * ((this.getWidth() + 63) / 64)
+	 */
+	public long getMemoryFootprint() {
+		return 8L * bits.length;
+	}
+
+	/**
+	 * Returns the distance field of this grid. It is computed the first time it is asked for and shared afterwards,
+	 * also between threads.
+	 * 
+	 * @return	The distance field of this grid.
+	 * 			| result.getTerrain() == this
+	 */
+	public DistanceField getDistanceField() {
+		DistanceField field = distanceField;
+		if(field == null) {
+			synchronized(this) {
+				if(distanceField == null)
+					distanceField = new DistanceField(this);
+				field = distanceField;
+			}
+		}
+		return field;
+	}
+	
+	/**
+	 * Returns whether the distance field of this grid has already been computed.
+	 */
+	public boolean hasDistanceField() {
+		return distanceField != null;
+	}
+	
+	private volatile DistanceField distanceField;
+
+	/**
+	 * Returns the pyramid of coarser versions of this grid. It is built the first time it is asked for and shared afterwards,
+	 * also between threads.
+	 * 
+	 * @return	The pyramid of this grid.
+	 * 			| result.getTerrain() == this
+	 */
+	public TerrainPyramid getPyramid() {
+		TerrainPyramid result = pyramid;
+		if(result == null) {
+			synchronized(this) {
+				if(pyramid == null)
+					pyramid = new TerrainPyramid(this);
+				result = pyramid;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns whether the pyramid of this grid has already been built.
+	 */
+	public boolean hasPyramid() {
+		return pyramid != null;
+	}
+	
+	private volatile TerrainPyramid pyramid;
+
+	/**
+	 * The amount of longs used to store a single row.
+	 */
+	private final int wordsPerRow;
+
+	/**
+	 * The pixels of this grid, row after row. A set bit represents an impassable pixel.
+	 */
+	private final long[] bits;
+
+	/**
+	 * The amount of pixels stored in a single long.
+	 */
+	private static final int WORD_SIZE = 64;
+
+	/**
+	 * log2(WORD_SIZE), to find the word of a column.
+	 */
+	private static final int WORD_SHIFT = 6;
+
+}
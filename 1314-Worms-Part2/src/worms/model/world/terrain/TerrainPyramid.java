@@ -0,0 +1,444 @@
+package worms.model.world.terrain;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A pyramid of coarser versions of a TerrainGrid. Level 0 is the grid itself, on level k every block covers
+ * 2^k by 2^k pixels and remembers whether any of its pixels is impassable and whether all of them are.
+ * The top level has a single block covering the whole grid. Pixels outside of the grid are passable,
+ * so a block sticking out of the grid is never completely impassable.
+ *
+ * Disc queries start at the top block and only descend into the blocks that hold both passable and impassable
+ * pixels and that the disc partly covers. Blocks without impassable pixels or out of reach of the disc are skipped
+ * as a whole, completely impassable blocks are settled by their nearest point. Only near the edges of the terrain
+ * single pixels are looked at, so the cost of a query depends on the length of the terrain edge near the disc
+ * rather than on the amount of pixels it covers.
+ *
+ * The distances are computed with the same expressions as the TerrainGrid uses, so both give exactly the same answers.
+ *
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ * @invar	A block holds an impassable pixel if and only if one of the blocks it consists of does,
+ * 			and it is completely impassable if and only if all of them are.
+ * 			| for each level in 1..this.getLevelCount()-1, for each row, column:
+ * 			|	this.containsImpassable(level, row, column) == (for some r in 2*row..2*row+1, c in 2*column..2*column+1:
+ * 			|		this.containsImpassable(level - 1, r, c))
+ */
+public class TerrainPyramid {
+
+	/**
+	 * Build the pyramid of the given terrain.
+	 *
+	 * @param terrain The terrain to build the pyramid for.
+	 *
+	 * @post	The terrain of the new pyramid is the given terrain.
+	 * 			| new.getTerrain() == terrain
+	 * @post	The pyramid has enough levels for its top level to consist of a single block.
+	 * 			| new.getLevelCount() == 1 + ceil(log2(max(terrain.getWidth(), terrain.getHeight(), 1)))
+	 *
+	 * @throws IllegalArgumentException
+	 * 			When terrain is a null reference.
+	 * 			| terrain == null
+	 */
+	public TerrainPyramid(TerrainGrid terrain) throws IllegalArgumentException {
+		if(terrain == null)
+			throw new IllegalArgumentException("The terrain must be effective.");
+
+		this.terrain = terrain;
+		int size = Math.max(Math.max(terrain.getWidth(), terrain.getHeight()), 1);
+		int levels = 1;
+		while((1 << (levels - 1)) < size)
+			levels++;
+
+		this.widths = new int[levels];
+		this.heights = new int[levels];
+		this.anyImpassable = new long[levels][];
+		this.allImpassable = new long[levels][];
+		widths[0] = terrain.getWidth();
+		heights[0] = terrain.getHeight();
+
+		for(int level = 1; level < levels; level++) {
+			int width = (widths[level - 1] + 1) / 2;
+			int height = (heights[level - 1] + 1) / 2;
+			widths[level] = width;
+			heights[level] = height;
+			anyImpassable[level] = new long[(width * height + WORD_SIZE - 1) / WORD_SIZE];
+			allImpassable[level] = new long[anyImpassable[level].length];
+			if(level == 1)
+				this.buildFirstLevel();
+			else
+				this.buildLevel(level);
+		}
+	}
+
+	/**
+	 * Fills the first level from the words of the terrain, 32 blocks per word of both rows they cover.
+	 */
+	@Model
+	private void buildFirstLevel() {
+		int width = widths[1];
+		long[] any = anyImpassable[1];
+		long[] all = allImpassable[1];
+		for(int row = 0; row < heights[1]; row++) {
+			for(int word = 0; word < terrain.getWordsPerRow(); word++) {
+				long lower = terrain.getWord(2 * row, word);
+				long upper = terrain.getWord(2 * row + 1, word);
+				//Bit 2i tells whether the pixels on columns 2i and 2i + 1 of the word (on both rows) hold one or are all impassable.
+				long anyPairs = (lower | upper) | ((lower | upper) >>> 1);
+				long allPairs = (lower & upper) & ((lower & upper) >>> 1);
+				if(anyPairs == 0)
+					continue;
+				int firstColumn = word * (WORD_SIZE / 2);
+				int lastColumn = Math.min(firstColumn + WORD_SIZE / 2, width) - 1;
+				for(int column = firstColumn; column <= lastColumn; column++) {
+					int bit = 2 * (column - firstColumn);
+					int index = row * width + column;
+					if(((anyPairs >>> bit) & 1) != 0)
+						any[index >>> WORD_SHIFT] |= 1L << index;
+					if(((allPairs >>> bit) & 1) != 0)
+						all[index >>> WORD_SHIFT] |= 1L << index;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fills the given level, above the first, from the blocks of the level below it.
+	 */
+	@Model
+	private void buildLevel(int level) {
+		int width = widths[level];
+		long[] any = anyImpassable[level];
+		long[] all = allImpassable[level];
+		for(int row = 0; row < heights[level]; row++) {
+			for(int column = 0; column < width; column++) {
+				boolean anyChild = false;
+				boolean allChildren = true;
+				for(int childRow = 2 * row; childRow <= 2 * row + 1; childRow++) {
+					for(int childColumn = 2 * column; childColumn <= 2 * column + 1; childColumn++) {
+						anyChild |= this.containsImpassable(level - 1, childRow, childColumn);
+						allChildren &= this.isImpassable(level - 1, childRow, childColumn);
+					}
+				}
+				int index = row * width + column;
+				if(anyChild)
+					any[index >>> WORD_SHIFT] |= 1L << index;
+				if(allChildren)
+					all[index >>> WORD_SHIFT] |= 1L << index;
+			}
+		}
+	}
+
+	/**
+	 * Returns the terrain this pyramid was built for.
+	 */
+	@Basic @Immutable
+	public TerrainGrid getTerrain() {
+		return terrain;
+	}
+
+	private final TerrainGrid terrain;
+
+	/**
+	 * Returns the amount of levels of this pyramid, the terrain itself included.
+	 */
+	@Basic @Immutable
+	public int getLevelCount() {
+		return widths.length;
+	}
+
+	/**
+	 * Returns whether the block on the given level, row and column holds an impassable pixel.
+	 * Blocks outside of the pyramid hold none.
+	 *
+	 * @param level The level of the block, level 0 being the terrain itself.
+	 * @param row The row of the block on its level.
+	 * @param column The column of the block on its level.
+	 *
+	 * @return	| result == (for some r in row*2^level..(row+1)*2^level-1, c in column*2^level..(column+1)*2^level-1:
+	 * 			|	this.getTerrain().isInside(r, c) && !this.getTerrain().isPassable(r, c))
+	 */
+	public boolean containsImpassable(int level, int row, int column) {
+		if(row < 0 || row >= heights[level] || column < 0 || column >= widths[level])
+			return false;
+		if(level == 0)
+			return !terrain.isPassable(row, column);
+		int index = row * widths[level] + column;
+		return (anyImpassable[level][index >>> WORD_SHIFT] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns whether all pixels of the block on the given level, row and column are impassable.
+	 *
+	 * @param level The level of the block, level 0 being the terrain itself.
+	 * @param row The row of the block on its level.
+	 * @param column The column of the block on its level.
+	 *
+	 * @return	| result == (for each r in row*2^level..(row+1)*2^level-1, c in column*2^level..(column+1)*2^level-1:
+	 * 			|	this.getTerrain().isInside(r, c) && !this.getTerrain().isPassable(r, c))
+	 */
+	public boolean isImpassable(int level, int row, int column) {
+		if(row < 0 || row >= heights[level] || column < 0 || column >= widths[level])
+			return false;
+		if(level == 0)
+			return !terrain.isPassable(row, column);
+		int index = row * widths[level] + column;
+		return (allImpassable[level][index >>> WORD_SHIFT] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns whether an impassable pixel lies (partly) within the open disc with the given center and radius.
+	 * This is the same query as TerrainGrid.overlapsDisc(double, double, double, double), answered block by block.
+	 *
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param radius The radius of the disc, in pixels.
+	 * @param tolerance The band (in squared pixels) just inside the circle that is still considered outside of the disc.
+	 *
+	 * @return	| result == this.getTerrain().overlapsDisc(centerX, centerY, radius, tolerance)
+	 */
+	public boolean overlapsDisc(double centerX, double centerY, double radius, double tolerance) {
+		double radiusSquared = radius * radius - tolerance;
+		if(!(radius > 0) || !(radiusSquared > 0))
+			return false;
+		return this.overlapsDisc(centerX, centerY, radiusSquared);
+	}
+
+	/**
+	 * Returns whether an impassable pixel lies (partly) within the open disc with the given center and squared radius.
+	 *
+	 * @return	| result == (for some row, column with !this.getTerrain().isPassable(row, column):
+	 * 			|	distanceSquared(centerX, centerY, row, column) < radiusSquared)
+	 */
+	@Model
+	private boolean overlapsDisc(double centerX, double centerY, double radiusSquared) {
+		if(!(radiusSquared > 0))
+			return false;
+
+		//A pixel more, so no block within reach is lost to the rounding of the square root.
+		double radius = Math.sqrt(radiusSquared) + 1;
+		int level = this.getStartLevel(radius);
+		int size = 1 << level;
+		int firstRow = (int) Math.max(Math.floor((centerY - radius) / size), 0);
+		int lastRow = (int) Math.min(Math.floor((centerY + radius) / size), heights[level] - 1);
+		int firstColumn = (int) Math.max(Math.floor((centerX - radius) / size), 0);
+		int lastColumn = (int) Math.min(Math.floor((centerX + radius) / size), widths[level] - 1);
+		for(int row = firstRow; row <= lastRow; row++) {
+			for(int column = firstColumn; column <= lastColumn; column++) {
+				if(this.overlapsDisc(level, row, column, centerX, centerY, radiusSquared))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether an impassable pixel of the given block lies within the disc.
+	 *
+	 * @return	| result == (for some pixel (r, c) of the block:
+	 * 			|	!this.getTerrain().isPassable(r, c) && distanceSquared(centerX, centerY, r, c) < radiusSquared)
+	 */
+	@Model
+	private boolean overlapsDisc(int level, int row, int column, double centerX, double centerY, double radiusSquared) {
+		int size = 1 << level;
+		double dx = distanceToInterval(centerX, column * size, size);
+		double dy = distanceToInterval(centerY, row * size, size);
+		if(!(dx * dx + dy * dy < radiusSquared))
+			return false;
+		if(!this.containsImpassable(level, row, column))
+			return false;
+		//The nearest point of the block lies in one of its pixels, at the same distance.
+		if(level == 0 || this.isImpassable(level, row, column))
+			return true;
+		//If the farthest corner lies within the disc, so does every pixel.
+		double farX = Math.max(centerX - column * size, (column + 1) * size - centerX);
+		double farY = Math.max(centerY - row * size, (row + 1) * size - centerY);
+		if(farX * farX + farY * farY < radiusSquared)
+			return true;
+
+		if(level <= SCAN_LEVEL) {
+			return terrain.overlapsDisc(centerX, centerY, radiusSquared, row * size, Math.min((row + 1) * size, heights[0]) - 1, 
+					column * size, Math.min((column + 1) * size, widths[0]) - 1);
+		}
+		for(int childRow = 2 * row; childRow <= 2 * row + 1; childRow++) {
+			for(int childColumn = 2 * column; childColumn <= 2 * column + 1; childColumn++) {
+				if(this.overlapsDisc(level - 1, childRow, childColumn, centerX, centerY, radiusSquared))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the squared distance from the given point to the nearest point of the nearest impassable pixel,
+	 * if that distance is less than the given limit.
+	 * This is the same query as TerrainGrid.nearestImpassableSquared(double, double, double), answered block by block,
+	 * visiting the nearest child block first.
+	 *
+	 * @param centerX The x-coordinate of the point, in pixels.
+	 * @param centerY The y-coordinate of the point, in pixels.
+	 * @param limitSquared The squared distance up to which to search.
+	 *
+	 * @return	| result == this.getTerrain().nearestImpassableSquared(centerX, centerY, limitSquared)
+	 */
+	public double nearestImpassableSquared(double centerX, double centerY, double limitSquared) {
+		if(!(limitSquared > 0))
+			return Double.POSITIVE_INFINITY;
+
+		double limit = Math.sqrt(limitSquared) + 1;
+		int level = this.getStartLevel(limit);
+		int size = 1 << level;
+		int firstRow = (int) Math.max(Math.floor((centerY - limit) / size), 0);
+		int lastRow = (int) Math.min(Math.floor((centerY + limit) / size), heights[level] - 1);
+		int firstColumn = (int) Math.max(Math.floor((centerX - limit) / size), 0);
+		int lastColumn = (int) Math.min(Math.floor((centerX + limit) / size), widths[level] - 1);
+		//Start with the block nearest to the point, the others are often pruned by it.
+		int nearestRow = (int) Math.max(Math.min(Math.floor(centerY / size), lastRow), firstRow);
+		int nearestColumn = (int) Math.max(Math.min(Math.floor(centerX / size), lastColumn), firstColumn);
+		double best = this.nearestImpassableSquared(level, nearestRow, nearestColumn, centerX, centerY, limitSquared);
+		for(int row = firstRow; row <= lastRow; row++) {
+			for(int column = firstColumn; column <= lastColumn; column++) {
+				if(row != nearestRow || column != nearestColumn)
+					best = this.nearestImpassableSquared(level, row, column, centerX, centerY, best);
+			}
+		}
+		return (best < limitSquared) ? best : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the squared distance to the nearest impassable pixel of the given block, if it is less than the given limit.
+	 *
+	 * @return	| result == min({ distanceSquared(centerX, centerY, r, c) | (r, c) impassable pixel of the block } U { limitSquared })
+	 */
+	@Model
+	private double nearestImpassableSquared(int level, int row, int column, double centerX, double centerY, double limitSquared) {
+		int size = 1 << level;
+		double dx = distanceToInterval(centerX, column * size, size);
+		double dy = distanceToInterval(centerY, row * size, size);
+		double distanceSquared = dx * dx + dy * dy;
+		if(!(distanceSquared < limitSquared) || !this.containsImpassable(level, row, column))
+			return limitSquared;
+		if(level == 0 || this.isImpassable(level, row, column))
+			return distanceSquared;
+
+		if(level <= SCAN_LEVEL) {
+			double best = limitSquared;
+			int lastRow = Math.min((row + 1) * size, heights[0]) - 1;
+			int lastColumn = Math.min((column + 1) * size, widths[0]) - 1;
+			for(int pixelRow = row * size; pixelRow <= lastRow; pixelRow++) {
+				double pixelDy = distanceToInterval(centerY, pixelRow, 1);
+				if(pixelDy * pixelDy < best)
+					best = terrain.nearestImpassableSquared(pixelRow, centerX, pixelDy * pixelDy, best, column * size, lastColumn);
+			}
+			return best;
+		}
+
+		//Start with the child holding (or nearest to) the point, the others are often pruned by it.
+		int half = size / 2;
+		int firstRow = (centerY < row * size + half) ? 2 * row : 2 * row + 1;
+		int firstColumn = (centerX < column * size + half) ? 2 * column : 2 * column + 1;
+		int otherRow = 4 * row + 1 - firstRow;
+		int otherColumn = 4 * column + 1 - firstColumn;
+		double best = limitSquared;
+		best = this.nearestImpassableSquared(level - 1, firstRow, firstColumn, centerX, centerY, best);
+		best = this.nearestImpassableSquared(level - 1, firstRow, otherColumn, centerX, centerY, best);
+		best = this.nearestImpassableSquared(level - 1, otherRow, firstColumn, centerX, centerY, best);
+		best = this.nearestImpassableSquared(level - 1, otherRow, otherColumn, centerX, centerY, best);
+		return best;
+	}
+
+	/**
+	 * Returns the level to start a query of the given reach on: the lowest level on which a block is at least 
+	 * as large as the diameter, so at most two by two blocks are visited there, but never below SCAN_LEVEL.
+	 *
+	 * @param reach The radius of the disc to query, in pixels.
+	 */
+	@Model
+	private int getStartLevel(double reach) {
+		int level = SCAN_LEVEL + 1;
+		while(level < widths.length - 1 && (1 << level) < 2 * reach)
+			level++;
+		return Math.min(level, widths.length - 1);
+	}
+
+	/**
+	 * Returns how the disc with the given center and radii lies with respect to the terrain.
+	 * This is the same query as TerrainGrid.classifyDisc(double, double, double, double), answered block by block.
+	 * Rather than searching the nearest impassable pixel, it checks whether there is one within the inner radius
+	 * and else whether there is one within the outer radius, which is settled by coarser blocks more often.
+	 *
+	 * @param centerX The x-coordinate of the center of the disc, in pixels.
+	 * @param centerY The y-coordinate of the center of the disc, in pixels.
+	 * @param innerSquared The squared distance within which an impassable pixel makes the disc impassable.
+	 * @param outerSquared The squared distance within which an impassable pixel makes the disc adjacent.
+	 *
+	 * @return	| result == this.getTerrain().classifyDisc(centerX, centerY, innerSquared, outerSquared)
+	 */
+	public TerrainContact classifyDisc(double centerX, double centerY, double innerSquared, double outerSquared) {
+		if(innerSquared < outerSquared && this.overlapsDisc(centerX, centerY, innerSquared))
+			return TerrainContact.IMPASSABLE;
+		if(this.overlapsDisc(centerX, centerY, outerSquared))
+			return (innerSquared < outerSquared) ? TerrainContact.ADJACENT : TerrainContact.IMPASSABLE;
+		return TerrainContact.FREE;
+	}
+
+	/**
+	 * Returns the distance between a coordinate and the interval [start, start+size] covered by a block.
+	 * For blocks of a single pixel this is the distance TerrainGrid computes.
+	 *
+	 * @return	| if(coordinate < start) result == start - coordinate
+	 * 			| else if(coordinate > start + size) result == coordinate - (start + size)
+	 * 			| else result == 0
+	 */
+	@Model
+	private static double distanceToInterval(double coordinate, int start, int size) {
+		if(coordinate < start)
+			return start - coordinate;
+		if(coordinate > start + size)
+			return coordinate - (start + size);
+		return 0;
+	}
+
+	/**
+	 * Returns the amount of bytes used to store the coarser levels. The terrain itself isn't included.
+	 *
+	 * @return	| result == sum({ 2 * 8 * ceil(width(level) * height(level) / 64) | level in 1..this.getLevelCount()-1 })
+	 */
+	public long getMemoryFootprint() {
+		long footprint = 0;
+		for(int level = 1; level < widths.length; level++)
+			footprint += 8L * (anyImpassable[level].length + allImpassable[level].length);
+		return footprint;
+	}
+
+	/**
+	 * The amount of blocks in a row and in a column, per level.
+	 */
+	private final int[] widths;
+	private final int[] heights;
+
+	/**
+	 * Per level (the terrain itself excluded), a bitset holding for every block whether it holds an impassable pixel
+	 * and one holding whether all of its pixels are impassable. The blocks are stored row after row.
+	 */
+	private final long[][] anyImpassable;
+	private final long[][] allImpassable;
+
+	/**
+	 * The highest level on which the blocks that hold both passable and impassable pixels are scanned row by row
+	 * in the terrain, a word of pixels at a time, rather than split up further.
+	 */
+	private static final int SCAN_LEVEL = 3;
+
+	/**
+	 * The amount of blocks stored in a single long.
+	 */
+	private static final int WORD_SIZE = 64;
+
+	/**
+	 * log2(WORD_SIZE), to find the word of a block.
+	 */
+	private static final int WORD_SHIFT = 6;
+
+}
@@ -63,12 +63,35 @@ public class Position {
 	 * @param position The position to calculate the distance for.
 	 * 
 	 * @return The distance between the 2 positions.
-	 * 			| result ==  Math.sqrt(Math.pow(this.getX() - position.getX(), 2) + Math.pow(this.getY() - position.getY(), 2));
+	 * 			| result == distance(this.getX(), this.getY(), position.getX(), position.getY())
 	 */
 	public double distance(Position position) {
 		if(position == null)
 			return 0;
-		return Math.sqrt(Math.pow(this.getX() - position.getX(), 2) + Math.pow(this.getY() - position.getY(), 2));
+		return distance(this.getX(), this.getY(), position.getX(), position.getY());
+	}
+	
+	/**
+	 * Returns the distance between this position and the given coordinates.
+	 * 
+	 * @param x The x-coordinate to calculate the distance for.
+	 * @param y The y-coordinate to calculate the distance for.
+	 * 
+	 * @return	| result == distance(this.getX(), this.getY(), x, y)
+	 */
+	public double distance(double x, double y) {
+		return distance(this.getX(), this.getY(), x, y);
+	}
+	
+	/**
+	 * Returns the distance between two points given by their coordinates, without creating positions for them.
+	 * 
+	 * @return	| result == Math.sqrt((x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2))
+	 */
+	public static double distance(double x1, double y1, double x2, double y2) {
+		double dx = x1 - x2;
+		double dy = y1 - y2;
+		return Math.sqrt(dx * dx + dy * dy);
 	}
 	
 	/**
@@ -85,12 +108,14 @@ public class Position {
 	}
 	
 	/**
-	 * Hashcode provided:
-	 * Integer.parseInt(this.getX() + "" + this.getY()) % 97
+	 * Positions are equal when their coordinates are fuzzy equal, and a chain of fuzzy equal positions can span any distance.
+	 * Equal positions must have the same hashcode, so all positions have the same hashcode.
+	 * 
+	 * @return	| result == 0
 	 */
 	@Override
 	public int hashCode() {
-		return Integer.parseInt(this.getX() + "" + this.getY()) % 97;
+		return 0;
 	}
 	
 }
@@ -4,13 +4,15 @@ public class Util {
 	public static final double DEFAULT_EPSILON = 1e-4;
 	
 	/**
-	 * This function replaces % with more precision and is meant to be used when working with modulo Math.PI.
-	 * This function returns the rest of the dividend / divisor.
+	 * This function returns the rest of the dividend / divisor and is meant to be used when working with modulo Math.PI.
+	 * The rest is computed exactly and in constant time, as the floating point remainder (%) of the dividend and divisor,
+	 * so it has the sign of the dividend and is smaller than the divisor in absolute value.
 	 * 
 	 * @param dividend The dividend
 	 * @param divisor The divisor
 	 * 
 	 * @return  The rest of dividend/divisor.
+	 * 			| result == dividend - n * divisor, with n the integer part of dividend / divisor, without rounding
 	 * 
 	 * @return If dividend or divisor is Not a Number this returns Double.NaN
 	 * 			| if(Double.isNaN(dividend) || Double.isNaN(divisor)) then
@@ -41,15 +43,38 @@ public class Util {
     	if(Util.fuzzyEquals(divisor, 0, 1E-9) || Util.fuzzyEquals(divisor, 1, 1E-9))
     		return dividend;
     	
-    	while(Math.abs(dividend / divisor) >= 1) {
-    		if(dividend / divisor >= 1) {
-    			dividend -= divisor;
-    		} else if(dividend / divisor <= -1) {
-    			dividend += divisor;
-    		}
+    	//A dividend less than twice the divisor needs at most one subtraction, which is exact, and much cheaper than %.
+    	double absDividend = Math.abs(dividend);
+    	double absDivisor = Math.abs(divisor);
+    	if(absDividend < absDivisor)
+    		return dividend;
+    	if(absDividend < 2 * absDivisor)
+    		return (dividend > 0) ? dividend - absDivisor : dividend + absDivisor;
+    	return dividend % divisor;
+    }
+    
+    /**
+     * Returns the given angle wrapped to an angle between 0 (inclusive) and 2*Math.PI (exclusive), in constant time.
+     * 
+     * @param angle The angle to wrap.
+     * 
+     * @return	Not a Number if the angle is Not a Number or infinite.
+     * 			| if(Double.isNaN(angle) || Double.isInfinite(angle))
+     * 			|	result == Double.NaN
+     * @return	The angle plus 2*Math.PI modulo 2*Math.PI, plus another 2*Math.PI when that is negative.
+     * 			| else if(modulo(angle + 2*Math.PI, 2*Math.PI) >= 0)
+     * 			|	result == modulo(angle + 2*Math.PI, 2*Math.PI)
+     * 			| else
+     * 			|	result == modulo(angle + 2*Math.PI, 2*Math.PI) + 2*Math.PI, or 0 when that rounds to 2*Math.PI
+     */
+    public static double wrapAngle(double angle) {
+    	double wrapped = modulo(angle + 2 * Math.PI, 2 * Math.PI);
+    	if(wrapped < 0) {
+    		wrapped += 2 * Math.PI;
+    		if(wrapped >= 2 * Math.PI)
+    			wrapped = 0;
     	}
-    	
-    	return dividend;
+    	return wrapped;
     }
 
 	public static boolean fuzzyEquals(double x, double y) {
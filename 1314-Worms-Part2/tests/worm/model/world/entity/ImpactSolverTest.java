@@ -0,0 +1,117 @@
+package worm.model.world.entity;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.GUIConstants;
+import worms.model.Constants;
+import worms.model.equipment.weapons.Bazooka;
+import worms.model.equipment.weapons.Rifle;
+import worms.model.equipment.weapons.Weapon;
+import worms.model.world.World;
+import worms.model.world.entity.ImpactSolver;
+import worms.model.world.entity.WeaponProjectile;
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class ImpactSolverTest {
+
+	private Random random;
+
+	private World world;
+
+	private List<Worm> worms;
+
+	/**
+	 * Creates a world of 30 by 15 meters with hills at the bottom and some floating blocks, with 40 worms on it.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(7357);
+		boolean[][] map = new boolean[150][300];
+		for (int row = 0; row < map.length; row++) {
+			for (int column = 0; column < map[row].length; column++) {
+				int height = 150 - row;
+				map[row][column] = height > 20 + 10 * Math.sin(column / 15.0);
+			}
+		}
+		for (int block = 0; block < 12; block++) {
+			int top = 20 + random.nextInt(90);
+			int left = random.nextInt(280);
+			for (int row = top; row < top + 6; row++)
+				for (int column = left; column < left + 20; column++)
+					map[row][column] = false;
+		}
+		world = new World(30, 15, map, random);
+
+		worms = new ArrayList<Worm>();
+		while (worms.size() < 40) {
+			double radius = 0.25 + random.nextDouble() * 0.3;
+			Position position = world.getRandomPassablePos(radius);
+			if (position == null)
+				continue;
+			Worm worm = new Worm(world, position, 0, radius, "Target");
+			if (random.nextBoolean())
+				worm.fall();
+			if (worm.getWorld() != null)
+				worms.add(worm);
+		}
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.ImpactSolver#ImpactSolver(WeaponProjectile, double)}.
+	 * Test creating a solver with a time step that isn't positive.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testImpactSolver_IllegalTimeStep() {
+		Worm owner = worms.get(0);
+		WeaponProjectile projectile = new WeaponProjectile(owner.getPosition(), 0, Constants.FORCE_TIME, 50, new Rifle(owner));
+		ImpactSolver solver = new ImpactSolver(projectile, -1);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.ImpactSolver#solve()}.
+	 * Test that shots from random worms with random angles and yields end at exactly the same time as the fixed step flight,
+	 * using fewer terrain probes.
+	 */
+	@Test
+	public void testSolve_SameAsFixedStep() {
+		long probes = 0;
+		long fixedStepProbes = 0;
+		int shots = 0;
+		while (shots < 200) {
+			Worm owner = worms.get(random.nextInt(worms.size()));
+			double angle = random.nextDouble() * 2 * Math.PI;
+			Weapon weapon = random.nextBoolean() ? new Bazooka(owner) : new Rifle(owner);
+			Position position = new Position(owner.getPosition().getX() + owner.getRadius() * Math.cos(angle),
+					owner.getPosition().getY() + owner.getRadius() * Math.sin(angle));
+			if (!world.liesWithinBoundaries(position, 0.1))
+				continue;
+			WeaponProjectile projectile = new WeaponProjectile(position, angle, Constants.FORCE_TIME, random.nextInt(101), weapon);
+
+			ImpactSolver solver = new ImpactSolver(projectile, GUIConstants.JUMP_TIME_STEP);
+			double expected = solver.solveFixedStep();
+			fixedStepProbes += solver.getProbeCount();
+			assertEquals(expected, solver.solve(), 0);
+			probes += solver.getProbeCount();
+			assertEquals(expected, projectile.jumpTime(GUIConstants.JUMP_TIME_STEP), 0);
+			shots++;
+		}
+		assertTrue(probes * 5 < fixedStepProbes);
+	}
+
+}
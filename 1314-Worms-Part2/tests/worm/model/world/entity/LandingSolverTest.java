@@ -0,0 +1,95 @@
+package worm.model.world.entity;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.GUIConstants;
+import worms.model.world.World;
+import worms.model.world.entity.LandingSolver;
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class LandingSolverTest {
+
+	private Random random;
+
+	private World world;
+
+	/**
+	 * Creates a world of 30 by 15 meters with hills at the bottom and some floating blocks.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(7357);
+		boolean[][] map = new boolean[150][300];
+		for (int row = 0; row < map.length; row++) {
+			for (int column = 0; column < map[row].length; column++) {
+				int height = 150 - row;
+				map[row][column] = height > 20 + 10 * Math.sin(column / 15.0);
+			}
+		}
+		for (int block = 0; block < 12; block++) {
+			int top = 20 + random.nextInt(90);
+			int left = random.nextInt(280);
+			for (int row = top; row < top + 6; row++)
+				for (int column = left; column < left + 20; column++)
+					map[row][column] = false;
+		}
+		world = new World(30, 15, map, random);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.LandingSolver#LandingSolver(Worm, double)}.
+	 * Test creating a solver with a time step that isn't positive.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testLandingSolver_IllegalTimeStep() {
+		Worm worm = new Worm(world, new Position(15, 10), 0, 0.5, "Test");
+		LandingSolver solver = new LandingSolver(worm, 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.LandingSolver#solve()}.
+	 * Test that jumps from random positions with random angles end at exactly the same time as the fixed step jump,
+	 * using fewer terrain probes.
+	 */
+	@Test
+	public void testSolve_SameAsFixedStep() {
+		long probes = 0;
+		long fixedStepProbes = 0;
+		int jumps = 0;
+		while (jumps < 150) {
+			double radius = 0.25 + random.nextDouble() * 0.5;
+			Position position = world.getRandomPassablePos(radius);
+			if (position == null)
+				continue;
+			Worm worm = new Worm(world, position, random.nextDouble() * 2 * Math.PI, radius, "Jumper");
+			if (random.nextBoolean())
+				worm.fall();
+			if (worm.getWorld() == null)
+				continue;
+
+			LandingSolver solver = new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP);
+			double expected = solver.solveFixedStep();
+			fixedStepProbes += solver.getProbeCount();
+			assertEquals(expected, solver.solve(), 0);
+			probes += solver.getProbeCount();
+			assertEquals(expected, worm.jumpTime(GUIConstants.JUMP_TIME_STEP), 0);
+			jumps++;
+		}
+		assertTrue(probes * 10 < fixedStepProbes);
+	}
+
+}
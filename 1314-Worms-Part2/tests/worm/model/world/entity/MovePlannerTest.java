@@ -0,0 +1,97 @@
+package worm.model.world.entity;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.model.world.World;
+import worms.model.world.entity.MovePlanner;
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class MovePlannerTest {
+
+	private Random random;
+
+	private World world;
+
+	/**
+	 * Creates a world of 30 by 15 meters with hills at the bottom and some floating blocks.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(7357);
+		boolean[][] map = new boolean[150][300];
+		for (int row = 0; row < map.length; row++) {
+			for (int column = 0; column < map[row].length; column++) {
+				int height = 150 - row;
+				map[row][column] = height > 20 + 10 * Math.sin(column / 15.0);
+			}
+		}
+		for (int block = 0; block < 12; block++) {
+			int top = 20 + random.nextInt(90);
+			int left = random.nextInt(280);
+			for (int row = top; row < top + 6; row++)
+				for (int column = left; column < left + 20; column++)
+					map[row][column] = false;
+		}
+		world = new World(30, 15, map, random);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.MovePlanner#MovePlanner(Worm)}.
+	 * Test creating a planner for a worm without a world.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testMovePlanner_NoWorld() {
+		Worm worm = new Worm(world, new Position(15, 10), 0, 0.5, "Test");
+		world.remove(worm);
+		MovePlanner planner = new MovePlanner(worm);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.entity.MovePlanner#plan()}.
+	 * Test that moves from random positions with random angles end at exactly the same position as checking every probe,
+	 * using fewer terrain probes.
+	 */
+	@Test
+	public void testPlan_SameAsFixedStep() {
+		long probes = 0;
+		long fixedStepProbes = 0;
+		int moves = 0;
+		while (moves < 200) {
+			double radius = 0.25 + random.nextDouble() * 0.5;
+			Position position = world.getRandomPassablePos(radius);
+			if (position == null)
+				continue;
+			Worm worm = new Worm(world, position, random.nextDouble() * 2 * Math.PI, radius, "Mover");
+			if (random.nextBoolean())
+				worm.fall();
+			if (worm.getWorld() == null)
+				continue;
+
+			MovePlanner planner = new MovePlanner(worm);
+			Position expected = planner.planFixedStep();
+			fixedStepProbes += planner.getProbeCount();
+			Position planned = planner.plan();
+			probes += planner.getProbeCount();
+			assertEquals(expected.getX(), planned.getX(), 0);
+			assertEquals(expected.getY(), planned.getY(), 0);
+			assertEquals(planned, worm.getMovePosition());
+			moves++;
+		}
+		assertTrue(probes * 5 < fixedStepProbes);
+	}
+
+}
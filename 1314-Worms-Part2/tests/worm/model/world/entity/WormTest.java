@@ -5,8 +5,11 @@ package worm.model.world.entity;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Before;
@@ -19,6 +22,8 @@ import worms.model.Team;
 import worms.model.equipment.weapons.BrentsWeaponOfDoom;
 import worms.model.equipment.weapons.Weapon;
 import worms.model.world.World;
+import worms.model.world.entity.LandingSolver;
+import worms.model.world.entity.Trajectory;
 import worms.model.world.entity.Worm;
 import worms.util.Position;
 import worms.util.Util;
@@ -150,6 +155,50 @@ public class WormTest {
 		assertEquals(worm.getCurrentHitPoints(),previousHitPoints);
 	}
 	
+	/**
+	 * Test method for {@link worms.model.world.entity.Worm#fall()}.
+	 * Test that worms falling on a hilly world full of food end up at exactly the same position, with the same radius
+	 * and the same food eaten, as worms falling step by step on a copy of that world.
+	 */
+	@Test
+	public void testFall_SameAsStepByStep() {
+		World world = createHillsWithFood(42);
+		World copy = createHillsWithFood(42);
+		Random positions = new Random(7357);
+		for (int i = 0; i < 100; i++) {
+			double x = 1 + positions.nextDouble() * 28;
+			double y = 10 + positions.nextDouble() * 4;
+			Worm worm = new Worm(world, new Position(x, y), 0, 0.25 + positions.nextDouble() * 0.25, "Faller");
+			Worm stepper = new Worm(copy, new Position(x, y), 0, worm.getRadius(), "Faller");
+			
+			worm.softFall();
+			while (stepper.canFall() && copy.liesWithinBoundaries(stepper))
+				stepper.setPosition(new Position(stepper.getPosition().getX(), stepper.getPosition().getY() - stepper.getRadius()*0.1));
+			
+			assertEquals(stepper.getPosition().getY(), worm.getPosition().getY(), 0);
+			assertEquals(stepper.getRadius(), worm.getRadius(), 0);
+			assertEquals(copy.getFood().size(), world.getFood().size());
+		}
+	}
+	
+	/**
+	 * Creates a world of 30 by 15 meters with hills at the bottom and 300 Food in the air above them, below a height of 9 meters.
+	 */
+	private World createHillsWithFood(long seed) {
+		boolean[][] map = new boolean[150][300];
+		for (int row = 0; row < map.length; row++) {
+			for (int column = 0; column < map[row].length; column++) {
+				int height = 150 - row;
+				map[row][column] = height > 20 + 10 * Math.sin(column / 15.0);
+			}
+		}
+		Random random = new Random(seed);
+		World world = new World(30, 15, map, random);
+		for (int i = 0; i < 300; i++)
+			facade.createFood(world, 1 + random.nextDouble() * 28, 4 + random.nextDouble() * 5);
+		return world;
+	}
+
 	/**
 	 * Test method for {@link worms.model.world.entity.Worm#jump(double)}.
 	 * Test if when jumped with 0 AP our position remains.
@@ -215,6 +264,55 @@ public class WormTest {
 		assertEquals(worm.jumpTime(GUIConstants.JUMP_TIME_STEP), 0, 0);
 	}
 
+	/**
+	 * Test method for {@link worms.model.world.entity.Worm#getTrajectory(double)}.
+	 * Test that the trajectory lands at the time and position of the fixed step jump and follows jumpStep.
+	 */
+	@Test
+	public void testGetTrajectory() {
+		World world = createHillsWithFood(42);
+		Worm worm = new Worm(world, new Position(15, 14), Math.PI/3, 0.5, "Jumper");
+		Trajectory trajectory = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP);
+		double landingTime = new LandingSolver(worm, GUIConstants.JUMP_TIME_STEP).solveFixedStep();
+		assertEquals(landingTime, trajectory.getLandingTime(), 0);
+		assertEquals(worm.jumpStep(landingTime).getX(), trajectory.getLandingPosition().getX(), 0);
+		assertEquals(worm.jumpStep(landingTime).getY(), trajectory.getLandingPosition().getY(), 0);
+		assertSame(worm.getPosition(), trajectory.getPosition(0));
+		
+		List<Position> samples = trajectory.getSamples(5);
+		assertEquals(5, samples.size());
+		for (int i = 1; i <= 5; i++) {
+			assertEquals(worm.jumpStep(i * landingTime / 5).getX(), samples.get(i - 1).getX(), 0);
+			assertEquals(worm.jumpStep(i * landingTime / 5).getY(), samples.get(i - 1).getY(), 0);
+		}
+		
+		Position landing = trajectory.getLandingPosition();
+		worm.jump(GUIConstants.JUMP_TIME_STEP);
+		assertSame(landing, worm.getPosition());
+	}
+	
+	/**
+	 * Test method for {@link worms.model.world.entity.Worm#getTrajectory(double)}.
+	 * Test that the trajectory is remembered, until the time step changes, the worm turns or gets its action points back.
+	 */
+	@Test
+	public void testGetTrajectory_Remembered() {
+		Worm worm = new Worm(world, new Position(2, 2), Math.PI/4, 0.5, "Jumper");
+		Trajectory trajectory = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP);
+		assertSame(trajectory, worm.getTrajectory(GUIConstants.JUMP_TIME_STEP));
+		assertSame(trajectory.getSamples(3), trajectory.getSamples(3));
+		
+		Trajectory other = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP / 2);
+		assertNotSame(trajectory, other);
+		
+		worm.turn(0.1);
+		Trajectory turned = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP / 2);
+		assertNotSame(other, turned);
+		
+		worm.giveTurnPoints();
+		assertNotSame(turned, worm.getTrajectory(GUIConstants.JUMP_TIME_STEP / 2));
+	}
+
 	/**
 	 * Test method for {@link worms.model.world.entity.Worm#getMoveCost(worms.util.Position)}.
 	 * Test if it does cost 1 to move 0.5 over a straight line.
@@ -0,0 +1,113 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.model.world.terrain.TerrainGrid;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class BatchRunnerTest {
+
+	private BatchRunner runner;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		// An 80 by 40 map with a floor of 6 pixels.
+		boolean[][] map = new boolean[40][80];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = row < 34;
+		runner = new BatchRunner(20, 10, new TerrainGrid(map), new RandomTurnScript(3), 2, 1, 2, 100);
+	}
+
+	/**
+	 * Test method for {@link worms.model.BatchRunner#BatchRunner(double, double, TerrainGrid, TurnScript, int, int, int, int)}.
+	 * Test creating a runner without a script.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testBatchRunner_IllegalScript() {
+		BatchRunner batch = new BatchRunner(20, 10, runner.getTerrain(), null, 2, 1, 2, 100);
+	}
+
+	/**
+	 * Test method for {@link worms.model.BatchRunner#run(long, int, int)}.
+	 * Test running a batch without workers.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRun_NoWorkers() {
+		runner.run(0, 4, 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.BatchRunner#run(long, int, int)}.
+	 * Test that the games played in parallel give the same reports as when played one after the other,
+	 * so the games don't share any state.
+	 */
+	@Test
+	public void testRun_SameAsSequential() {
+		BatchReport sequential = runner.run(7357, 12, 1);
+		BatchReport parallel = runner.run(7357, 12, 4);
+		assertEquals(12, sequential.getGames());
+		assertEquals(12, parallel.getGames());
+		for (int game = 0; game < 12; game++) {
+			SimulationReport expected = sequential.getReports().get(game);
+			SimulationReport actual = parallel.getReports().get(game);
+			assertEquals(expected.getTurns(), actual.getTurns());
+			assertEquals(expected.getActions(), actual.getActions());
+			assertEquals(expected.getTerrainProbes(), actual.getTerrainProbes());
+			assertEquals(expected.getShots(), actual.getShots());
+			assertEquals(expected.isGameFinished(), actual.isGameFinished());
+			assertEquals(expected.getWinner(), actual.getWinner());
+		}
+		assertEquals(sequential.getWins(), parallel.getWins());
+		assertEquals(runner.play(7357 + 5).getTerrainProbes(), parallel.getReports().get(5).getTerrainProbes());
+	}
+
+	/**
+	 * Test method for {@link worms.model.BatchReport#BatchReport(java.util.List, long)}.
+	 * Test the statistics over the reports of a batch.
+	 */
+	@Test
+	public void testBatchReport() {
+		BatchReport report = new BatchReport(Arrays.asList(
+				new SimulationReport(10, 30, 1000, 2, 2000, 1000, true, "Team TeamA"),
+				new SimulationReport(20, 60, 3000, 2, 6000, 1000, true, "Team TeamA"),
+				new SimulationReport(30, 90, 2000, 0, 0, 1000, true, null),
+				new SimulationReport(40, 120, 4000, 0, 0, 1000, false, null)), 60000000000L);
+		assertEquals(4, report.getGames());
+		assertEquals(3, report.getFinishedGames());
+		assertEquals(2, (int) report.getWins().get("Team TeamA"));
+		assertEquals(1, (int) report.getWins().get(BatchReport.NO_WINNER));
+		assertEquals(0.5, report.getWinRate("Team TeamA"), 1E-12);
+		assertEquals(0, report.getWinRate("Team TeamB"), 0);
+		assertEquals(25, report.getAverageTurns(), 1E-12);
+		assertEquals(2000, report.getTotal().getAverageShotNanos(), 1E-12);
+		assertEquals(4, report.getGamesPerMinute(), 1E-12);
+	}
+
+	/**
+	 * Test method for {@link worms.model.BatchReport#BatchReport(java.util.List, long)}.
+	 * Test creating a report holding a null reference.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testBatchReport_Illegal() {
+		ArrayList<SimulationReport> reports = new ArrayList<SimulationReport>();
+		reports.add(null);
+		BatchReport report = new BatchReport(reports, 0);
+	}
+
+}
@@ -0,0 +1,150 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.model.world.terrain.TerrainGrid;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class SimulationEngineTest {
+
+	private IFacade facade;
+
+	private TerrainGrid terrain;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		facade = new Facade();
+		// An 80 by 40 map with a floor of 6 pixels and a wall in the middle.
+		boolean[][] map = new boolean[40][80];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = row < 34 && !(column >= 38 && column <= 41 && row >= 20);
+		terrain = new TerrainGrid(map);
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationEngine#SimulationEngine(IFacade, double, double, TerrainGrid, long)}.
+	 * Test creating an engine without facade.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testSimulationEngine_IllegalFacade() {
+		SimulationEngine engine = new SimulationEngine(null, 20, 10, terrain, 7357);
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationEngine#setUp(int, int, int)}.
+	 * Test that the teams, worms and food are added and the game is started.
+	 */
+	@Test
+	public void testSetUp() {
+		SimulationEngine engine = new SimulationEngine(facade, 20, 10, terrain, 7357);
+		engine.setUp(2, 2, 1);
+		assertEquals(2, engine.getWorld().getTeamAmount());
+		assertEquals(4, facade.getWorms(engine.getWorld()).size());
+		assertNotNull(engine.getCurrentWorm());
+		assertEquals(0, engine.getTurnCount());
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationEngine#playTurn(TurnScript)}.
+	 * Test that the next worm gets its turn when the script doesn't end the turn itself.
+	 */
+	@Test
+	public void testPlayTurn_NextWorm() {
+		SimulationEngine engine = new SimulationEngine(facade, 20, 10, terrain, 7357);
+		engine.setUp(2, 1, 0);
+		final double angle = Math.PI / 4;
+		final double[] orientation = new double[1];
+		assertTrue(engine.playTurn(new TurnScript() {
+			@Override
+			public void playTurn(SimulationEngine engine, worms.model.world.entity.Worm worm) {
+				assertTrue(engine.turn(angle));
+				orientation[0] = facade.getOrientation(worm);
+			}
+		}));
+		assertEquals(1, engine.getTurnCount());
+		assertEquals(1, engine.getActionCount());
+		assertEquals(angle, orientation[0], 1E-12);
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationEngine#run(TurnScript, int)}.
+	 * Test that a run reports the turns it played and doesn't play beyond the given amount.
+	 */
+	@Test
+	public void testRun() {
+		SimulationEngine engine = new SimulationEngine(facade, 20, 10, terrain, 7357);
+		engine.setUp(2, 2, 2);
+		SimulationReport report = engine.run(new RandomTurnScript(3), 10);
+		assertTrue(report.getTurns() <= 10);
+		assertEquals(engine.getTurnCount(), report.getTurns());
+		assertEquals(engine.getActionCount(), report.getActions());
+		assertEquals(engine.getShotCount(), report.getShots());
+		assertTrue(report.getTerrainProbes() > 0);
+		assertEquals(report.isGameFinished(), engine.isGameFinished());
+		if (report.getTurns() < 10)
+			assertTrue(report.isGameFinished());
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationEngine#run(TurnScript, int)}.
+	 * Test that a game only depends on the seed of the engine.
+	 */
+	@Test
+	public void testRun_Deterministic() {
+		SimulationReport first = play(7357);
+		SimulationReport second = play(7357);
+		assertEquals(first.getTurns(), second.getTurns());
+		assertEquals(first.getActions(), second.getActions());
+		assertEquals(first.getTerrainProbes(), second.getTerrainProbes());
+		assertEquals(first.getWinner(), second.getWinner());
+	}
+
+	private SimulationReport play(long seed) {
+		SimulationEngine engine = new SimulationEngine(facade, 20, 10, terrain, seed);
+		engine.setUp(2, 2, 2);
+		return engine.run(new RandomTurnScript(3), 200);
+	}
+
+	/**
+	 * Test method for {@link worms.model.RandomTurnScript#RandomTurnScript(int)}.
+	 * Test creating a script with a negative amount of moves.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testRandomTurnScript_Illegal() {
+		RandomTurnScript script = new RandomTurnScript(-1);
+	}
+
+	/**
+	 * Test method for {@link worms.model.SimulationReport#plus(SimulationReport)}.
+	 * Test combining two reports and the throughput derived from them.
+	 */
+	@Test
+	public void testSimulationReport_Plus() {
+		SimulationReport first = new SimulationReport(10, 30, 1000, 4, 4000, 500000000L, false, null);
+		SimulationReport second = new SimulationReport(5, 20, 500, 1, 6000, 250000000L, true, "TeamA");
+		SimulationReport sum = first.plus(second);
+		assertEquals(15, sum.getTurns());
+		assertEquals(50, sum.getActions());
+		assertEquals(1500, sum.getTerrainProbes());
+		assertTrue(sum.isGameFinished());
+		assertEquals("TeamA", sum.getWinner());
+		assertEquals(20, sum.getTurnsPerSecond(), 1E-9);
+		assertEquals(2000, sum.getTerrainProbesPerSecond(), 1E-9);
+		assertEquals(5, sum.getShots());
+		assertEquals(2000, sum.getAverageShotNanos(), 1E-9);
+	}
+
+}
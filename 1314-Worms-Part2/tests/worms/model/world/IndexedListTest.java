@@ -0,0 +1,56 @@
+package worms.model.world;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class IndexedListTest {
+
+	private IndexedList<String> list;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		list = new IndexedList<String>();
+		list.add("First");
+		list.add("Second");
+		list.add("Third");
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.IndexedList#add(java.lang.Object)}.
+	 * Test adding an element that is already in the list.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAdd_Twice() {
+		list.add("Second");
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.IndexedList#remove(java.lang.Object)}.
+	 * Test that the last element takes the place of the removed one and every index stays correct.
+	 */
+	@Test
+	public void testRemove() {
+		assertTrue(list.remove("First"));
+		assertFalse(list.remove("First"));
+		assertEquals(2, list.size());
+		assertEquals("Third", list.get(0));
+		assertEquals(0, list.indexOf("Third"));
+		assertEquals(1, list.indexOf("Second"));
+		assertFalse(list.contains("First"));
+
+		assertTrue(list.remove("Second"));
+		assertEquals(1, list.size());
+		assertEquals(0, list.indexOf("Third"));
+	}
+
+}
@@ -0,0 +1,153 @@
+package worms.model.world;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class SpatialHashTest {
+
+	private World world;
+
+	private Random random;
+
+	private SpatialHash<Worm> hash;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(7357);
+		boolean[][] map = new boolean[200][200];
+		for (boolean[] row : map)
+			Arrays.fill(row, true);
+		world = new World(200, 200, map, random);
+		hash = new SpatialHash<Worm>();
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#add(worms.model.world.entity.GameObject)}.
+	 * Test adding a null reference.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAdd_Null() {
+		hash.add(null);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#add(worms.model.world.entity.GameObject)}.
+	 * Test adding the same worm twice.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAdd_Twice() {
+		Worm worm = new Worm(world, new Position(10, 10), 0, 1, "Vincent");
+		hash.add(worm);
+		hash.add(worm);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#remove(worms.model.world.entity.GameObject)}.
+	 * Test removing a worm that was never added.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRemove_NotContained() {
+		hash.remove(new Worm(world, new Position(10, 10), 0, 1, "Vincent"));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#getOverlapping(worms.util.Position, double)}.
+	 * Test that the cells grow along with the largest radius.
+	 */
+	@Test
+	public void testGetCellSize() {
+		assertEquals(0, hash.getCellSize(), 0);
+		Worm worm = new Worm(world, new Position(10, 10), 0, 1, "Vincent");
+		hash.add(worm);
+		assertTrue(hash.getCellSize() >= 2);
+		worm.setRadius(10);
+		hash.update(worm);
+		assertEquals(10, hash.getMaximumRadius(), 0);
+		assertTrue(hash.getCellSize() >= 20);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#getOverlapping(worms.util.Position, double)}.
+	 * Test that random queries return the same worms, in the same order, as checking every worm
+	 * while worms are added, moved, grown and removed.
+	 */
+	@Test
+	public void testGetOverlapping_SameAsLinearScan() {
+		List<Worm> worms = new ArrayList<Worm>();
+		for (int i = 0; i < 300; i++) {
+			Worm worm = new Worm(world, new Position(2 + random.nextDouble() * 196, 2 + random.nextDouble() * 196), 0, 0.25 + random.nextDouble(), "Worm");
+			worms.add(worm);
+			hash.add(worm);
+		}
+
+		for (int i = 0; i < 3000; i++) {
+			int action = random.nextInt(10);
+			if (action == 0 && worms.size() > 1) {
+				hash.remove(worms.remove(random.nextInt(worms.size())));
+			} else if (action == 1) {
+				Worm worm = worms.get(random.nextInt(worms.size()));
+				worm.setRadius(worm.getRadius() * 1.1);
+				hash.update(worm);
+			} else if (action < 5) {
+				Worm worm = worms.get(random.nextInt(worms.size()));
+				worm.setPosition(randomPosition());
+				hash.update(worm);
+			}
+
+			Position position = randomPosition();
+			double radius = random.nextDouble() * 5;
+			List<Worm> expected = new ArrayList<Worm>();
+			for (Worm worm : worms)
+				if (worm.getPosition().distance(position) < worm.getRadius() + radius)
+					expected.add(worm);
+			assertEquals(expected, hash.getOverlapping(position, radius));
+		}
+		assertEquals(worms.size(), hash.size());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.SpatialHash#clear()}.
+	 * Test that a cleared hash finds nothing and takes the same worms again.
+	 */
+	@Test
+	public void testClear() {
+		Worm first = new Worm(world, new Position(10, 10), 0, 1, "First");
+		Worm second = new Worm(world, new Position(50, 50), 0, 1, "Second");
+		hash.add(first);
+		hash.add(second);
+		hash.clear();
+		assertEquals(0, hash.size());
+		assertFalse(hash.contains(first));
+		assertTrue(hash.getOverlapping(new Position(10, 10), 1).isEmpty());
+
+		hash.add(second);
+		hash.add(first);
+		assertEquals(Arrays.asList(second, first), hash.getOverlapping(new Position(30, 30), 40));
+	}
+
+	/**
+	 * Returns a random position, possibly a little outside of the world.
+	 */
+	private Position randomPosition() {
+		return new Position(random.nextDouble() * 220 - 10, random.nextDouble() * 220 - 10);
+	}
+
+}
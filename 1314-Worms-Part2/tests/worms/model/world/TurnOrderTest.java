@@ -0,0 +1,159 @@
+package worms.model.world;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.model.Team;
+import worms.model.world.entity.Worm;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class TurnOrderTest {
+
+	private World world;
+
+	private TurnOrder turnOrder;
+
+	private Worm first, second, third;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		boolean[][] map = new boolean[20][20];
+		for (boolean[] row : map)
+			Arrays.fill(row, true);
+		world = new World(20, 20, map, new Random(7357));
+		turnOrder = new TurnOrder();
+		first = new Worm(world, new Position(5, 5), 0, 1, "First");
+		second = new Worm(world, new Position(10, 5), 0, 1, "Second");
+		third = new Worm(world, new Position(15, 5), 0, 1, "Third");
+		turnOrder.add(first);
+		turnOrder.add(second);
+		turnOrder.add(third);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#add(worms.model.world.entity.Worm)}.
+	 * Test adding the same worm twice.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAdd_Twice() {
+		turnOrder.add(first);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#getNext(worms.model.world.entity.Worm)}.
+	 * Test that the turn goes around in the order the worms were added.
+	 */
+	@Test
+	public void testGetNext() {
+		assertSame(first, turnOrder.getFirst());
+		assertSame(second, turnOrder.getNext(first));
+		assertSame(third, turnOrder.getNext(second));
+		assertSame(first, turnOrder.getNext(third));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#getNext(worms.model.world.entity.Worm)}.
+	 * Test that a dead worm keeps its place: the turn goes to the living worm after it, even when that one died as well.
+	 */
+	@Test
+	public void testGetNext_Dead() {
+		turnOrder.remove(second);
+		assertFalse(turnOrder.contains(second));
+		assertSame(third, turnOrder.getNext(second));
+		assertSame(third, turnOrder.getNext(first));
+
+		turnOrder.remove(third);
+		assertSame(first, turnOrder.getNext(second));
+		assertNull(turnOrder.getNext(first));
+
+		turnOrder.remove(first);
+		assertEquals(0, turnOrder.size());
+		assertNull(turnOrder.getFirst());
+		assertNull(turnOrder.getNext(second));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#isDecided()}.
+	 * Test that the turn order is decided when all living worms are in one team, or only one worm is alive.
+	 */
+	@Test
+	public void testIsDecided() {
+		assertFalse(turnOrder.isDecided());
+		Team team = new Team("Awesomeness");
+		team.add(first);
+		team.add(second);
+		turnOrder.updateTeam(first);
+		turnOrder.updateTeam(second);
+		assertFalse(turnOrder.isDecided());
+
+		turnOrder.remove(third);
+		assertTrue(turnOrder.isDecided());
+
+		turnOrder.remove(second);
+		assertTrue(turnOrder.isDecided());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#getWorms()}.
+	 * Test that the living worms are listed in the order they get their turn.
+	 */
+	@Test
+	public void testGetWorms() {
+		assertEquals(Arrays.asList(first, second, third), turnOrder.getWorms());
+		turnOrder.remove(first);
+		assertEquals(Arrays.asList(second, third), turnOrder.getWorms());
+		turnOrder.remove(second);
+		turnOrder.remove(third);
+		assertTrue(turnOrder.getWorms().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.TurnOrder#clear()}.
+	 * Test that a cleared turn order forgets the dead worms as well, so every worm can be added again.
+	 */
+	@Test
+	public void testClear() {
+		turnOrder.remove(second);
+		turnOrder.clear();
+		assertEquals(0, turnOrder.size());
+		assertNull(turnOrder.getFirst());
+		assertTrue(turnOrder.isDecided());
+
+		turnOrder.add(third);
+		turnOrder.add(second);
+		assertEquals(Arrays.asList(third, second), turnOrder.getWorms());
+		assertSame(third, turnOrder.getNext(second));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#getNextWorm()}.
+	 * Test that a world keeps giving turns to the living worms only.
+	 */
+	@Test
+	public void testWorldNextTurn() {
+		world.startGame();
+		assertSame(first, world.getActiveWorm());
+		second.inflictHitDamage(Integer.MAX_VALUE);
+		world.nextTurn();
+		assertSame(third, world.getActiveWorm());
+		assertFalse(world.gameEnded());
+
+		third.inflictHitDamage(Integer.MAX_VALUE);
+		assertTrue(world.gameEnded());
+		assertEquals("First", world.getWinner());
+	}
+
+}
@@ -0,0 +1,256 @@
+package worms.model.world;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.GUIConstants;
+import worms.model.Team;
+import worms.model.world.entity.*;
+import worms.util.Position;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class WorldSnapshotTest {
+
+	private World world;
+
+	private Worm first, second, third, fourth;
+
+	private Food food;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		// A 40 by 20 map with a floor of 4 pixels.
+		boolean[][] map = new boolean[20][40];
+		for (int row = 0; row < map.length; row++)
+			Arrays.fill(map[row], row < 16);
+		world = new World(40, 20, map, new Random(7357));
+		Team teamA = new Team("TeamA");
+		Team teamB = new Team("TeamB");
+		world.add(teamA);
+		world.add(teamB);
+		first = new Worm(world, new Position(5, 4.5), 0, 0.5, "First");
+		second = new Worm(world, new Position(15, 4.5), Math.PI, 0.5, "Second");
+		third = new Worm(world, new Position(25, 4.5), 0, 0.5, "Third");
+		fourth = new Worm(world, new Position(35, 4.5), Math.PI, 0.5, "Fourth");
+		teamA.add(first);
+		teamB.add(second);
+		teamA.add(third);
+		teamB.add(fourth);
+		food = new Food(world, new Position(10, 4.2));
+		world.startGame();
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#createSnapshot()}.
+	 * Test that a snapshot records the world it was taken of.
+	 */
+	@Test
+	public void testCreateSnapshot() {
+		WorldSnapshot snapshot = world.createSnapshot();
+		assertSame(world, snapshot.getWorld());
+		assertSame(WorldState.PLAYING, snapshot.getState());
+		assertSame(first, snapshot.getActiveWorm());
+		assertNull(snapshot.getLivingProjectile());
+		assertEquals(5, snapshot.getGameObjectCount());
+		assertEquals(4, snapshot.getWormCount());
+		assertTrue(snapshot.getMemoryFootprint() > 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test restoring a null reference.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestore_Null() {
+		world.restore(null);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test restoring a snapshot of another world.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestore_OtherWorld() {
+		World other = new World(40, 20, world.getTerrain(), new Random(7357));
+		other.restore(world.createSnapshot());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that turning and jumping is rolled back, including the turn that ended by jumping.
+	 */
+	@Test
+	public void testRestore_Jump() {
+		Position position = first.getPosition();
+		int actionPoints = first.getCurrentActionPoints();
+		int hitPoints = first.getCurrentHitPoints();
+		WorldSnapshot snapshot = world.createSnapshot();
+
+		first.turn(Math.PI / 4);
+		first.jump(GUIConstants.JUMP_TIME_STEP);
+		assertNotSame(first, world.getActiveWorm());
+
+		world.restore(snapshot);
+		assertSame(first, world.getActiveWorm());
+		assertSame(position, first.getPosition());
+		assertEquals(0, first.getAngle(), 0);
+		assertEquals(actionPoints, first.getCurrentActionPoints());
+		assertEquals(hitPoints, first.getCurrentHitPoints());
+		assertSame(world.getTerrain(), snapshot.getWorld().getTerrain());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that playing the same actions after restoring gives the same result, as often as the snapshot is restored.
+	 */
+	@Test
+	public void testRestore_Replay() {
+		WorldSnapshot snapshot = world.createSnapshot();
+		first.turn(Math.PI / 3);
+		first.jump(GUIConstants.JUMP_TIME_STEP);
+		Position landing = first.getPosition();
+		Worm next = world.getActiveWorm();
+
+		for (int i = 0; i < 3; i++) {
+			world.restore(snapshot);
+			first.turn(Math.PI / 3);
+			first.jump(GUIConstants.JUMP_TIME_STEP);
+			assertEquals(landing.getX(), first.getPosition().getX(), 0);
+			assertEquals(landing.getY(), first.getPosition().getY(), 0);
+			assertSame(next, world.getActiveWorm());
+		}
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that worms which died and were removed come back, in their place in the turn order and in the hashes.
+	 */
+	@Test
+	public void testRestore_Death() {
+		WorldSnapshot snapshot = world.createSnapshot();
+		second.inflictHitDamage(Integer.MAX_VALUE);
+		fourth.inflictHitDamage(Integer.MAX_VALUE);
+		assertTrue(world.gameEnded());
+		world.nextTurn();
+		assertEquals(WorldState.ENDED, world.getState());
+		assertEquals(2, world.getWorms().size());
+
+		world.restore(snapshot);
+		assertEquals(WorldState.PLAYING, world.getState());
+		assertFalse(world.gameEnded());
+		assertEquals(new HashSet<Worm>(Arrays.asList(first, second, third, fourth)), new HashSet<Worm>(world.getWorms()));
+		assertTrue(second.isAlive());
+		assertEquals(Arrays.asList(second), world.hitsWorm(new Position(15, 4.5), 0.1));
+
+		List<Worm> order = new ArrayList<Worm>();
+		for (int i = 0; i < 4; i++) {
+			order.add(world.getActiveWorm());
+			world.nextTurn();
+		}
+		assertEquals(Arrays.asList(first, second, third, fourth), order);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that eaten food comes back and the worm that ate it shrinks back.
+	 */
+	@Test
+	public void testRestore_FoodEaten() {
+		double radius = first.getRadius();
+		double mass = first.getMass();
+		WorldSnapshot snapshot = world.createSnapshot();
+		first.setPosition(new Position(10, 4.5));
+		assertFalse(food.isAlive());
+		assertTrue(first.getRadius() > radius);
+		assertTrue(world.getFood().isEmpty());
+
+		world.restore(snapshot);
+		assertTrue(food.isAlive());
+		assertEquals(Arrays.asList(food), new ArrayList<Food>(world.getFood()));
+		assertEquals(Arrays.asList(food), world.eatableFood(new Position(10, 4.2), 0.1));
+		assertEquals(radius, first.getRadius(), 0);
+		assertEquals(mass, first.getMass(), 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that a projectile shot after the snapshot was taken is dropped, and the weapon and action points are rolled back.
+	 */
+	@Test
+	public void testRestore_Shot() {
+		int actionPoints = first.getCurrentActionPoints();
+		int hitPoints = second.getCurrentHitPoints();
+		int weaponIndex = first.getCurrentWeaponIndex();
+		WorldSnapshot snapshot = world.createSnapshot();
+		first.setCurrentWeapon(first.getNextWeapon());
+		first.shoot(100);
+		assertTrue(first.getCurrentActionPoints() < actionPoints);
+
+		world.restore(snapshot);
+		assertNull(world.getLivingProjectile());
+		assertTrue(world.getProjectiles().isEmpty());
+		assertEquals(5, world.getGameObjects().size());
+		assertEquals(actionPoints, first.getCurrentActionPoints());
+		assertEquals(hitPoints, second.getCurrentHitPoints());
+		assertEquals(weaponIndex, first.getCurrentWeaponIndex());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test that GameObjects added after the snapshot was taken are detached from the world.
+	 */
+	@Test
+	public void testRestore_Added() {
+		// Worms can only be added while setting up a world.
+		World setUp = new World(40, 20, world.getTerrain(), new Random(7357));
+		Worm kept = new Worm(setUp, new Position(5, 4.5), 0, 0.5, "Kept");
+		WorldSnapshot setUpSnapshot = setUp.createSnapshot();
+		Worm added = new Worm(setUp, new Position(30, 4.5), 0, 0.5, "Added");
+
+		setUp.restore(setUpSnapshot);
+		assertNull(added.getWorld());
+		assertFalse(setUp.contains(added));
+		assertEquals(Arrays.asList(kept), new ArrayList<Worm>(setUp.getWorms()));
+		assertTrue(setUp.hitsWorm(new Position(30, 4.5), 0.1).isEmpty());
+		assertSame(setUp, kept.getWorld());
+
+		WorldSnapshot snapshot = world.createSnapshot();
+		first.setCurrentWeapon(first.getNextWeapon());
+		first.shoot(100);
+		Projectile projectile = world.getLivingProjectile();
+		assertNotNull(projectile);
+
+		world.restore(snapshot);
+		assertNull(projectile.getWorld());
+		assertFalse(world.contains(projectile));
+		assertSame(world, first.getWorld());
+		assertSame(world, food.getWorld());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#restore(WorldSnapshot)}.
+	 * Test restoring a snapshot recording a GameObject that was removed from the world since.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestore_Removed() {
+		WorldSnapshot snapshot = world.createSnapshot();
+		world.remove(food);
+		world.restore(snapshot);
+	}
+
+}
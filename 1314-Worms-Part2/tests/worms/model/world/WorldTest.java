@@ -2,6 +2,7 @@ package worms.model.world;
 
 import static org.junit.Assert.*;
 
+import java.util.Collection;
 import java.util.Random;
 
 import org.junit.Before;
@@ -12,6 +13,7 @@ import worms.model.IFacade;
 import worms.model.Team;
 import worms.model.equipment.weapons.Bazooka;
 import worms.model.world.entity.*;
+import worms.model.world.terrain.TerrainContact;
 import worms.util.Position;
 
 /**
@@ -440,6 +442,152 @@ public class WorldTest {
 		assertTrue(world.isAdjacent(worm.getPosition(), worm.getRadius()));
 	}
 
+	/**
+	 * Test method for {@link worms.model.world.World#classify(worms.util.Position, double)}.
+	 * Test a circle in, next to and away from impassable terrain.
+	 */
+	@Test
+	public void testClassify() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+
+		assertEquals(TerrainContact.IMPASSABLE, world.classify(new Position(1.5, 1.5), 1));
+		assertEquals(TerrainContact.ADJACENT, world.classify(new Position(1.5, 1.5), 0.5));
+		assertEquals(TerrainContact.FREE, world.classify(new Position(0.5, 2), 0.5));
+		//Touching the terrain at exactly 1.1 times the radius is adjacent.
+		assertEquals(TerrainContact.ADJACENT, world.classify(new Position(0.5, 2), 1 / 1.1));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#getClearance(worms.util.Position, double)}.
+	 * Test the distance to the nearest impassable pixel, within and beyond the limit, and that it counts as a terrain probe.
+	 */
+	@Test
+	public void testGetClearance() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+		long probes = world.getTerrainProbeCount();
+
+		assertEquals(0.5, world.getClearance(new Position(1.5, 1.5), 10), 1E-12);
+		assertEquals(Math.sqrt(0.5), world.getClearance(new Position(2.5, 2.5), 10), 1E-12);
+		assertEquals(0.3, world.getClearance(new Position(1.5, 1.5), 0.3), 0);
+		assertEquals(probes + 3, world.getTerrainProbeCount());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#setTerrainQueryMode(TerrainQueryMode)}.
+	 * Test that the distance field gives the same answers as scanning the terrain, and that it is accounted for.
+	 */
+	@Test
+	public void testSetTerrainQueryMode() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+		world.setTerrainQueryMode(TerrainQueryMode.SCAN);
+		assertEquals(TerrainQueryMode.SCAN, world.getTerrainQueryMode());
+		long scanFootprint = world.getTerrainMemoryFootprint();
+
+		world.setTerrainQueryMode(TerrainQueryMode.DISTANCE_FIELD);
+		assertEquals(TerrainQueryMode.DISTANCE_FIELD, world.getTerrainQueryMode());
+		assertEquals(scanFootprint + 4 * 3 * 4, world.getTerrainMemoryFootprint());
+		assertTrue(world.isImpassable(new Position(1.5, 1.5), 1));
+		assertFalse(world.isImpassable(new Position(1.5, 2), 0.5));
+		assertTrue(world.isAdjacent(new Position(1.5, 1.5), 0.5));
+		assertFalse(world.isAdjacent(new Position(0.5, 2), 0.5));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#setTerrainQueryMode(TerrainQueryMode)}.
+	 * Test that the pyramid gives the same answers as scanning the terrain, and that it is accounted for.
+	 */
+	@Test
+	public void testSetTerrainQueryMode_Pyramid() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+		long scanFootprint = world.getTerrainMemoryFootprint();
+
+		world.setTerrainQueryMode(TerrainQueryMode.PYRAMID);
+		assertEquals(TerrainQueryMode.PYRAMID, world.getTerrainQueryMode());
+		assertEquals(scanFootprint + 4 * 8, world.getTerrainMemoryFootprint());
+		assertTrue(world.isImpassable(new Position(1.5, 1.5), 1));
+		assertFalse(world.isImpassable(new Position(1.5, 2), 0.5));
+		assertTrue(world.isAdjacent(new Position(1.5, 1.5), 0.5));
+		assertFalse(world.isAdjacent(new Position(0.5, 2), 0.5));
+		assertEquals(Math.sqrt(0.5), world.getClearance(new Position(2.5, 2.5), 10), 1E-12);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#getTerrainQueryMode()}.
+	 * Test that a new world uses the pyramid, built by its first terrain query.
+	 */
+	@Test
+	public void testGetTerrainQueryMode_Default() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+		assertEquals(TerrainQueryMode.PYRAMID, world.getTerrainQueryMode());
+		assertFalse(world.getTerrain().hasPyramid());
+
+		assertTrue(world.isImpassable(new Position(1.5, 1.5), 1));
+		assertTrue(world.getTerrain().hasPyramid());
+		assertFalse(world.isImpassable(new Position(1.5, 2), 0.5));
+		assertTrue(world.isAdjacent(new Position(1.5, 1.5), 0.5));
+		assertFalse(world.isAdjacent(new Position(0.5, 2), 0.5));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#setTerrainQueryMode(TerrainQueryMode)}.
+	 * Test setting a null reference as mode.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetTerrainQueryMode_Illegal() {
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+		world.setTerrainQueryMode(null);
+	}
+
 	/**
 	 * Test method for {@link worms.model.world.World#hitsWorm(worms.util.Position, double)}.
 	 * Test if 2 worms are detected as a "hit" when they are within the radius of a position.
@@ -463,6 +611,28 @@ public class WorldTest {
 		assertEquals(world.hitsWorm(new Position(1.4, 1.4), 0.5).size(), 2);
 	}
 
+	/**
+	 * Test method for {@link worms.model.world.World#hitsWorm(worms.util.Position, double)}.
+	 * Test that a worm is found at its new position after moving across the world and after growing.
+	 */
+	@Test
+	public void testHitsWorm_MovedAndGrown() {
+		boolean[][] map = new boolean[100][100];
+		for (boolean[] row : map)
+			java.util.Arrays.fill(row, true);
+		World world = facade.createWorld(100.0, 100.0, map, random);
+		Worm worm = facade.createWorm(world, 10, 10, 0, 0.5, "Vincent");
+
+		assertEquals(0, world.hitsWorm(new Position(80, 80), 0.5).size());
+		worm.setPosition(new Position(80, 80));
+		assertEquals(1, world.hitsWorm(new Position(80, 80), 0.5).size());
+		assertEquals(0, world.hitsWorm(new Position(10, 10), 0.5).size());
+
+		assertEquals(0, world.hitsWorm(new Position(85, 80), 0.5).size());
+		worm.setRadius(5);
+		assertEquals(worm, world.hitsWorm(new Position(85, 80), 0.5).get(0));
+	}
+
 	/**
 	 * Test method for {@link worms.model.world.World#eatableFood(worms.util.Position, double)}.
 	 * Test if 2 Food are detected as eatable when they are within the radius of a position.
@@ -629,6 +799,59 @@ public class WorldTest {
 		facade.createFood(world, 2.0, 2.0);
 		assertEquals(world.getFood().size(), 2);
 	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#getFood()}.
+	 * Test that eaten Food is reclaimed the next time the Food of the world is asked for.
+	 */
+	@Test
+	public void testGetFood_Eaten() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+
+		Food eaten = facade.createFood(world, 1.5, 1.5);
+		Food food = facade.createFood(world, 2.0, 2.0);
+		eaten.setToEaten();
+		assertEquals(1, world.getFood().size());
+		assertTrue(world.getFood().contains(food));
+		assertFalse(world.contains(eaten));
+		assertTrue(world.contains(food));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.World#getWorms()}.
+	 * Test that getWorms() follows removed worms and can't be modified.
+	 */
+	@Test(expected=UnsupportedOperationException.class)
+	public void testGetWorms_ReadOnlyView() {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		World world = facade.createWorld(3.0, 4.0, new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		}, random);
+
+		Worm worm = facade.createWorm(world, 1.5, 1.5, 0, 1, "Test");
+		facade.createWorm(world, 2.0, 2.0, 0, 1, "Test");
+		Collection<Worm> worms = world.getWorms();
+		world.remove(worm);
+		assertEquals(1, worms.size());
+		assertFalse(worms.contains(worm));
+
+		worms.clear();
+	}
 	
 	/**
 	 * Test the removing of a gameObject from the world.
@@ -0,0 +1,131 @@
+package worms.model.world.terrain;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class DistanceFieldTest {
+
+	private TerrainGrid grid;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		grid = new TerrainGrid(new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		});
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.DistanceField#DistanceField(TerrainGrid)}.
+	 * Test creating a distance field without terrain.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testDistanceField_IllegalTerrain() {
+		DistanceField field = new DistanceField(null);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.DistanceField#getDistance(int, int)}.
+	 * Test the distances between the pixel centers and the nearest impassable pixel center.
+	 */
+	@Test
+	public void testGetDistance() {
+		DistanceField field = grid.getDistanceField();
+		assertSame(grid, field.getTerrain());
+		assertEquals(0, field.getDistance(0, 2), 0);
+		assertEquals(0, field.getDistance(3, 1), 0);
+		assertEquals(1, field.getDistance(1, 0), 0);
+		assertEquals(1, field.getDistance(2, 1), 0);
+		assertEquals(Math.sqrt(2), field.getDistance(2, 0), 1E-6);
+		assertEquals(4 * 3 * 4, field.getMemoryFootprint());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.DistanceField#getDistance(int, int)}.
+	 * Test a terrain without impassable pixels.
+	 */
+	@Test
+	public void testGetDistance_NoImpassable() {
+		DistanceField field = new DistanceField(new TerrainGrid(new boolean[][] { { true, true } }));
+		assertEquals(Float.POSITIVE_INFINITY, field.getDistance(0, 1), 0);
+		assertFalse(field.overlapsDisc(1, 0.5, 100, 0));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#getDistanceField()}.
+	 * Test that the distance field is computed once and shared.
+	 */
+	@Test
+	public void testGetDistanceField_Shared() {
+		assertFalse(grid.hasDistanceField());
+		DistanceField field = grid.getDistanceField();
+		assertTrue(grid.hasDistanceField());
+		assertSame(field, grid.getDistanceField());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.DistanceField#overlapsDisc(double, double, double, double)}.
+	 * Test that random discs on a random terrain get the same answer as the scan of the terrain.
+	 */
+	@Test
+	public void testOverlapsDisc_SameAsScan() {
+		Random random = new Random(7357);
+		boolean[][] map = new boolean[60][90];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = random.nextDouble() < 0.97;
+		TerrainGrid terrain = new TerrainGrid(map);
+		DistanceField field = terrain.getDistanceField();
+
+		for (int i = 0; i < 20000; i++) {
+			double x = random.nextDouble() * 100 - 5;
+			double y = random.nextDouble() * 70 - 5;
+			double radius = random.nextDouble() * 8;
+			assertEquals(terrain.overlapsDisc(x, y, radius, 0), field.overlapsDisc(x, y, radius, 0));
+		}
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.DistanceField#classifyDisc(double, double, double, double)}.
+	 * Test that random discs on a random terrain get the same classification as from the terrain itself.
+	 */
+	@Test
+	public void testClassifyDisc_SameAsScan() {
+		Random random = new Random(7357);
+		boolean[][] map = new boolean[60][90];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = random.nextDouble() < 0.97;
+		TerrainGrid terrain = new TerrainGrid(map);
+		DistanceField field = terrain.getDistanceField();
+
+		for (int i = 0; i < 20000; i++) {
+			double x = random.nextDouble() * 100 - 5;
+			double y = random.nextDouble() * 70 - 5;
+			double radius = random.nextDouble() * 8;
+			double inner = radius * radius;
+			double outer = 1.21 * radius * radius;
+			assertEquals(terrain.classifyDisc(x, y, inner, outer), field.classifyDisc(x, y, inner, outer));
+		}
+	}
+
+}
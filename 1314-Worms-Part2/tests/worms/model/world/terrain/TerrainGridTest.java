@@ -0,0 +1,187 @@
+package worms.model.world.terrain;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class TerrainGridTest {
+
+	private TerrainGrid grid;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		grid = new TerrainGrid(new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		});
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#TerrainGrid(boolean[][])}.
+	 * Test creating a grid with a map that isn't rectangle shaped.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testTerrainGrid_IllegalMap() {
+		TerrainGrid illegal = new TerrainGrid(new boolean[][] {
+				{ true, false, true },
+				{ true, true }
+		});
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#isPassable(int, int)}.
+	 * Test whether the rows are stored bottom up: row 0 is the last row of the provided map.
+	 */
+	@Test
+	public void testIsPassable() {
+		assertEquals(3, grid.getWidth());
+		assertEquals(4, grid.getHeight());
+		assertFalse(grid.isPassable(0, 0));
+		assertTrue(grid.isPassable(1, 1));
+		assertTrue(grid.isPassable(3, 0));
+		assertFalse(grid.isPassable(3, 1));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#containsImpassable(int, int, int)}.
+	 * Test spans within a single word and spans outside of the grid.
+	 */
+	@Test
+	public void testContainsImpassable() {
+		assertTrue(grid.containsImpassable(0, 0, 2));
+		assertFalse(grid.containsImpassable(1, 0, 2));
+		assertFalse(grid.containsImpassable(3, 2, 2));
+		assertTrue(grid.containsImpassable(3, -5, 1));
+		assertFalse(grid.containsImpassable(-1, 0, 2));
+		assertFalse(grid.containsImpassable(4, 0, 2));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#containsImpassable(int, int, int)}.
+	 * Test a span crossing several words of 64 pixels.
+	 */
+	@Test
+	public void testContainsImpassable_MultipleWords() {
+		boolean[][] map = new boolean[1][200];
+		for (int column = 0; column < 200; column++)
+			map[0][column] = true;
+		map[0][130] = false;
+		TerrainGrid wide = new TerrainGrid(map);
+
+		assertTrue(wide.containsImpassable(0, 10, 190));
+		assertTrue(wide.containsImpassable(0, 130, 130));
+		assertFalse(wide.containsImpassable(0, 0, 129));
+		assertFalse(wide.containsImpassable(0, 131, 199));
+		assertEquals(8 * 4, wide.getMemoryFootprint());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#overlapsDisc(double, double, double, double)}.
+	 * Test discs touching the bottom row and the impassable pixel at the top.
+	 */
+	@Test
+	public void testOverlapsDisc() {
+		//Bottom row covers y in [0, 1].
+		assertTrue(grid.overlapsDisc(1.5, 1.5, 0.6, 0));
+		assertFalse(grid.overlapsDisc(1.5, 1.5, 0.4, 0));
+		//Exactly touching isn't overlapping.
+		assertFalse(grid.overlapsDisc(1.5, 2, 1, 0));
+		//Nearest point of the top pixel (row 3, column 1) is its corner (2, 3).
+		assertFalse(grid.overlapsDisc(2.5, 2.5, Math.sqrt(0.5) - 1E-9, 0));
+		assertTrue(grid.overlapsDisc(2.5, 2.5, Math.sqrt(0.5) + 1E-9, 0));
+		//Pixels outside of the grid are passable.
+		assertFalse(grid.overlapsDisc(10, 10, 5, 0));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#overlapsDisc(double, double, double, double)}.
+	 * Test that an overlap smaller than the tolerance isn't an overlap.
+	 */
+	@Test
+	public void testOverlapsDisc_Tolerance() {
+		assertTrue(grid.overlapsDisc(1.5, 2 - 1E-12, 1, 0));
+		assertFalse(grid.overlapsDisc(1.5, 2 - 1E-12, 1, 1E-11));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#nextImpassable(int, int, int)} and
+	 * {@link worms.model.world.terrain.TerrainGrid#previousImpassable(int, int, int)}.
+	 * Test searching a span crossing several words of 64 pixels in both directions.
+	 */
+	@Test
+	public void testNextAndPreviousImpassable() {
+		boolean[][] map = new boolean[1][200];
+		for (int column = 0; column < 200; column++)
+			map[0][column] = true;
+		map[0][5] = false;
+		map[0][130] = false;
+		TerrainGrid wide = new TerrainGrid(map);
+
+		assertEquals(5, wide.nextImpassable(0, -10, 300));
+		assertEquals(130, wide.nextImpassable(0, 6, 199));
+		assertEquals(-1, wide.nextImpassable(0, 6, 129));
+		assertEquals(130, wide.previousImpassable(0, 0, 300));
+		assertEquals(5, wide.previousImpassable(0, 0, 129));
+		assertEquals(-1, wide.previousImpassable(0, 131, 199));
+		assertEquals(-1, wide.nextImpassable(1, 0, 199));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#nearestImpassableSquared(double, double, double)}.
+	 * Test the nearest impassable pixel from a few points, within and beyond the limit.
+	 */
+	@Test
+	public void testNearestImpassableSquared() {
+		assertEquals(0.25, grid.nearestImpassableSquared(1.5, 1.5, 100), 1E-12);
+		assertEquals(0.5, grid.nearestImpassableSquared(2.5, 2.5, 100), 1E-12);
+		assertEquals(0, grid.nearestImpassableSquared(1.5, 0.5, 100), 0);
+		assertEquals(Double.POSITIVE_INFINITY, grid.nearestImpassableSquared(1.5, 1.5, 0.25), 0);
+		assertEquals(Double.POSITIVE_INFINITY, grid.nearestImpassableSquared(10, 10, 1), 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#classifyDisc(double, double, double, double)}.
+	 * Test that random discs on a random terrain get the same classification as two separate overlap checks.
+	 */
+	@Test
+	public void testClassifyDisc_SameAsOverlaps() {
+		Random random = new Random(7357);
+		boolean[][] map = new boolean[60][150];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = random.nextDouble() < 0.97;
+		TerrainGrid terrain = new TerrainGrid(map);
+
+		for (int i = 0; i < 20000; i++) {
+			double x = random.nextDouble() * 160 - 5;
+			double y = random.nextDouble() * 70 - 5;
+			double radius = random.nextDouble() * 8;
+			double outer = 1.1 * radius;
+			TerrainContact expected = TerrainContact.FREE;
+			if (terrain.overlapsDisc(x, y, radius, 0))
+				expected = TerrainContact.IMPASSABLE;
+			else if (terrain.overlapsDisc(x, y, outer, 0))
+				expected = TerrainContact.ADJACENT;
+			assertEquals(expected, terrain.classifyDisc(x, y, radius * radius, outer * outer));
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+package worms.model.world.terrain;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Derkinderen Vincent
+ * @author Coosemans Brent
+ *
+ */
+public class TerrainPyramidTest {
+
+	private TerrainGrid grid;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		// . X .
+		// . . .
+		// . . .
+		// X X X
+		grid = new TerrainGrid(new boolean[][] {
+				{ true, false, true },
+				{ true, true, true },
+				{ true, true, true },
+				{ false, false, false }
+		});
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#TerrainPyramid(TerrainGrid)}.
+	 * Test building a pyramid without terrain.
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected=IllegalArgumentException.class)
+	public void testTerrainPyramid_IllegalTerrain() {
+		TerrainPyramid pyramid = new TerrainPyramid(null);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#containsImpassable(int, int, int)}
+	 * and {@link worms.model.world.terrain.TerrainPyramid#isImpassable(int, int, int)}.
+	 * Test the blocks of every level.
+	 */
+	@Test
+	public void testBlocks() {
+		TerrainPyramid pyramid = grid.getPyramid();
+		assertSame(grid, pyramid.getTerrain());
+		assertEquals(3, pyramid.getLevelCount());
+
+		//Level 1: the bottom row of blocks covers the row of impassable pixels and the empty row above it.
+		assertTrue(pyramid.containsImpassable(1, 0, 0));
+		assertFalse(pyramid.isImpassable(1, 0, 0));
+		assertTrue(pyramid.containsImpassable(1, 1, 0));
+		assertFalse(pyramid.containsImpassable(1, 1, 1));
+		assertFalse(pyramid.containsImpassable(1, 2, 0));
+
+		assertTrue(pyramid.containsImpassable(2, 0, 0));
+		assertFalse(pyramid.isImpassable(2, 0, 0));
+		assertEquals(2 * 8 + 2 * 8, pyramid.getMemoryFootprint());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#isImpassable(int, int, int)}.
+	 * Test that a block is only completely impassable if all of its pixels lie within the terrain.
+	 */
+	@Test
+	public void testIsImpassable_Edge() {
+		TerrainPyramid pyramid = new TerrainGrid(new boolean[][] {
+				{ false, false, false },
+				{ false, false, false }
+		}).getPyramid();
+		assertTrue(pyramid.isImpassable(1, 0, 0));
+		assertFalse(pyramid.isImpassable(1, 0, 1));
+		assertTrue(pyramid.containsImpassable(1, 0, 1));
+		assertFalse(pyramid.isImpassable(2, 0, 0));
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#containsImpassable(int, int, int)}
+	 * and {@link worms.model.world.terrain.TerrainPyramid#isImpassable(int, int, int)}.
+	 * Test that the blocks of every level of a random terrain, wider than a word, agree with their pixels.
+	 */
+	@Test
+	public void testBlocks_SameAsPixels() {
+		TerrainGrid terrain = new TerrainGrid(randomMap(new Random(7357)));
+		TerrainPyramid pyramid = terrain.getPyramid();
+		for (int level = 1; level < pyramid.getLevelCount(); level++) {
+			int size = 1 << level;
+			for (int row = 0; row * size < terrain.getHeight(); row++) {
+				for (int column = 0; column * size < terrain.getWidth(); column++) {
+					boolean any = false;
+					boolean all = true;
+					for (int r = row * size; r < (row + 1) * size; r++) {
+						for (int c = column * size; c < (column + 1) * size; c++) {
+							boolean impassable = terrain.isInside(r, c) && !terrain.isPassable(r, c);
+							any |= impassable;
+							all &= impassable;
+						}
+					}
+					assertEquals(any, pyramid.containsImpassable(level, row, column));
+					assertEquals(all, pyramid.isImpassable(level, row, column));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainGrid#getPyramid()}.
+	 * Test that the pyramid is built once and shared.
+	 */
+	@Test
+	public void testGetPyramid_Shared() {
+		assertFalse(grid.hasPyramid());
+		TerrainPyramid pyramid = grid.getPyramid();
+		assertTrue(grid.hasPyramid());
+		assertSame(pyramid, grid.getPyramid());
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#overlapsDisc(double, double, double, double)}.
+	 * Test a terrain without impassable pixels and an empty terrain.
+	 */
+	@Test
+	public void testOverlapsDisc_NoImpassable() {
+		assertFalse(new TerrainGrid(new boolean[][] { { true, true } }).getPyramid().overlapsDisc(1, 0.5, 100, 0));
+		assertFalse(new TerrainGrid(new boolean[0][]).getPyramid().overlapsDisc(0, 0, 100, 0));
+		assertEquals(Double.POSITIVE_INFINITY, new TerrainGrid(new boolean[0][]).getPyramid().nearestImpassableSquared(0, 0, 100), 0);
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#overlapsDisc(double, double, double, double)}.
+	 * Test that random discs on a random terrain with solid regions get the same answer as the scan of the terrain.
+	 */
+	@Test
+	public void testOverlapsDisc_SameAsScan() {
+		Random random = new Random(7357);
+		TerrainGrid terrain = new TerrainGrid(randomMap(random));
+		TerrainPyramid pyramid = terrain.getPyramid();
+
+		for (int i = 0; i < 20000; i++) {
+			double x = random.nextDouble() * 110 - 5;
+			double y = random.nextDouble() * 80 - 5;
+			double radius = random.nextDouble() * 20;
+			double tolerance = (i % 2 == 0) ? 0 : 1E-9;
+			assertEquals(terrain.overlapsDisc(x, y, radius, tolerance), pyramid.overlapsDisc(x, y, radius, tolerance));
+		}
+	}
+
+	/**
+	 * Test method for {@link worms.model.world.terrain.TerrainPyramid#nearestImpassableSquared(double, double, double)}
+	 * and {@link worms.model.world.terrain.TerrainPyramid#classifyDisc(double, double, double, double)}.
+	 * Test that random discs on a random terrain get the same distances and classification as from the terrain itself.
+	 */
+	@Test
+	public void testClassifyDisc_SameAsScan() {
+		Random random = new Random(7357);
+		TerrainGrid terrain = new TerrainGrid(randomMap(random));
+		TerrainPyramid pyramid = terrain.getPyramid();
+
+		for (int i = 0; i < 20000; i++) {
+			double x = random.nextDouble() * 110 - 5;
+			double y = random.nextDouble() * 80 - 5;
+			double radius = random.nextDouble() * 20;
+			double inner = radius * radius;
+			double outer = 1.21 * radius * radius;
+			assertEquals(terrain.nearestImpassableSquared(x, y, outer), pyramid.nearestImpassableSquared(x, y, outer), 0);
+			assertEquals(terrain.classifyDisc(x, y, inner, outer), pyramid.classifyDisc(x, y, inner, outer));
+		}
+	}
+
+	/**
+	 * Returns a map of 70 by 100 pixels with a few solid rectangles and scattered impassable pixels,
+	 * so the pyramid has empty, solid and mixed blocks on every level.
+	 */
+	private static boolean[][] randomMap(Random random) {
+		boolean[][] map = new boolean[70][100];
+		for (int row = 0; row < map.length; row++)
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = random.nextDouble() < 0.99;
+		for (int rectangle = 0; rectangle < 6; rectangle++) {
+			int top = random.nextInt(60);
+			int left = random.nextInt(90);
+			int bottom = top + 1 + random.nextInt(30);
+			int right = left + 1 + random.nextInt(40);
+			for (int row = top; row < Math.min(bottom, map.length); row++)
+				for (int column = left; column < Math.min(right, map[row].length); column++)
+					map[row][column] = false;
+		}
+		return map;
+	}
+
+}
@@ -5,6 +5,9 @@ package worms.util;
 
 import static org.junit.Assert.*;
 
+import java.math.BigDecimal;
+import java.util.Random;
+
 import org.junit.Test;
 
 import worms.util.Util;
@@ -41,5 +44,61 @@ public class UtilTest {
 		assertEquals(Util.modulo(Math.PI, 2*Math.PI), Math.PI, 1E-9);
 		assertEquals(Util.modulo(2*Math.PI + 3.0/4 * Math.PI, 2*Math.PI), 3.0/4 * Math.PI, 1E-9);
 	}
+	
+	/**
+	 * Test method for {@link worms.util.Util#modulo(double, double)}.
+	 * Test for random dividends of all magnitudes, up to 1E15, and random divisors that the rest is exactly
+	 * the dividend minus the integer part of the quotient times the divisor.
+	 */
+	@Test
+	public void testModulo_Exact() {
+		Random random = new Random(7357);
+		for (int i = 0; i < 10000; i++) {
+			double dividend = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16));
+			double divisor = (random.nextBoolean()) ? 2*Math.PI : (random.nextDouble() - 0.5) * 100;
+			if (Util.fuzzyEquals(divisor, 0, 1E-9) || Util.fuzzyEquals(divisor, 1, 1E-9))
+				continue;
+			double expected = new BigDecimal(dividend).remainder(new BigDecimal(divisor)).doubleValue();
+			double rest = Util.modulo(dividend, divisor);
+			assertEquals(expected, rest, 0);
+			assertTrue(Math.abs(rest) < Math.abs(divisor));
+			assertTrue(rest == 0 || Math.signum(rest) == Math.signum(dividend));
+		}
+	}
+	
+	/**
+	 * Test method for {@link worms.util.Util#wrapAngle(double)}.
+	 * Test that random angles of all magnitudes are wrapped between 0 and 2*Math.PI,
+	 * and that the angles a worm can reach by turning are wrapped exactly as before.
+	 */
+	@Test
+	public void testWrapAngle() {
+		Random random = new Random(7357);
+		for (int i = 0; i < 10000; i++) {
+			double angle = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(10));
+			double wrapped = Util.wrapAngle(angle);
+			assertTrue(wrapped >= 0 && wrapped < 2*Math.PI);
+			
+			double turned = random.nextDouble() * 2*Math.PI + (random.nextDouble() - 0.5) * 2*Math.PI;
+			assertEquals(subtractingModulo(turned + 2*Math.PI, 2*Math.PI), Util.wrapAngle(turned), 0);
+		}
+		assertEquals(0, Util.wrapAngle(-1E-20), 0);
+		assertEquals(0, Util.wrapAngle(2*Math.PI), 0);
+		assertTrue(Double.isNaN(Util.wrapAngle(Double.NaN)));
+		assertTrue(Double.isNaN(Util.wrapAngle(Double.NEGATIVE_INFINITY)));
+	}
+	
+	/**
+	 * The modulo as it was computed before, by subtracting the divisor until the rest is small enough.
+	 */
+	private static double subtractingModulo(double dividend, double divisor) {
+		while (Math.abs(dividend / divisor) >= 1) {
+			if (dividend / divisor >= 1)
+				dividend -= divisor;
+			else if (dividend / divisor <= -1)
+				dividend += divisor;
+		}
+		return dividend;
+	}
 
 }